@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import frc.robot.util.MatchState;
+import frc.robot.util.MatchTimeline;
+
+/** Common setup for the JMH benchmarks. */
+public final class BenchmarkSupport {
+  private static boolean isInitialized;
+
+  /**
+   * Initializes the simulated HAL and Driver Station so robot code can run headless on the desktop.
+   * The robot is enabled in teleop on the blue alliance.
+   */
+  public static synchronized void initialize() {
+    if (isInitialized) {
+      return;
+    }
+
+    if (!HAL.initialize(500, 0)) {
+      throw new IllegalStateException("Failed to initialize the simulated HAL");
+    }
+
+    DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+    DriverStationSim.setAutonomous(false);
+    DriverStationSim.setEnabled(true);
+    DriverStationSim.notifyNewData();
+    DriverStation.refreshData();
+
+    MatchState.update();
+    MatchTimeline.update();
+
+    isInitialized = true;
+  }
+
+  private BenchmarkSupport() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
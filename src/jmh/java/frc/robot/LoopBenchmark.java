@@ -0,0 +1,542 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj.simulation.XboxControllerSim;
+import frc.robot.Constants.OperatorConstants;
+import frc.robot.commands.Autos;
+import frc.robot.subsystems.Swerve;
+import frc.robot.util.FieldUtils;
+import frc.robot.util.LoopPipeline;
+import frc.robot.util.LoopPipeline.Phase;
+import frc.robot.util.MultiRateScheduler;
+import frc.robot.util.MultiRateScheduler.RateGroup;
+import frc.robot.util.PreferenceSnapshotBenchmark;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Runs the complete robot loop in simulation with scripted driving and shooting and checks the
+ * per-loop wall time, sensor to output latency and allocations against budgets.
+ *
+ * <p>The robot is disabled for a few seconds, runs the selected autonomous routine and then
+ * repeats a teleop cycle of driving, intaking, aligning and shooting until the configured duration
+ * has elapsed. Simulated time is stepped one robot period at a time, so each loop runs as fast as
+ * the desktop allows and its wall time is measured without waiting for the loop timer. Allocations
+ * are measured on the main robot thread only.
+ *
+ * <p>The time from enabling autonomous to the first drive command is also reported, which shows
+ * whether the selected auto was served from the auto cache built while disabled.
+ *
+ * <p>While the driver is aligning to the hub, high-confidence vision poses are injected in the
+ * estimate phase the way a camera adds them, alternately placing the hub to the robot's left and
+ * to its right. The rotation the drive is commanded to turn in the same loop must be toward the
+ * hub, which checks that an input read in a loop reaches that loop's outputs rather than the next.
+ *
+ * <p>After each loop, the preference reads made by one loop are timed both directly from
+ * NetworkTables and from the {@code PreferenceSnapshot}, against the preferences of the running
+ * robot. The difference is reported as the saving per loop and as a share of the mean loop time.
+ * These timings are not part of the loop times and have no budget.
+ *
+ * <p>The results are written as JSON so they can be tracked over time. The process exits with a
+ * non-zero status, failing the Gradle task, if the p99 loop time, the p99 latency from reading the
+ * sensors to sending the outputs or the mean allocated bytes per loop exceeds its budget, or if an
+ * injected pose did not reach the outputs of its loop. The benchmark is configured using the
+ * following system properties:
+ *
+ * <ul>
+ *   <li>{@code loopBenchmark.duration} - The simulated duration in seconds.
+ *   <li>{@code loopBenchmark.warmup} - The simulated time in seconds excluded from the results.
+ *   <li>{@code loopBenchmark.p99BudgetMillis} - The p99 loop time budget in milliseconds.
+ *   <li>{@code loopBenchmark.p99LatencyBudgetMillis} - The p99 sensor to output latency budget in
+ *       milliseconds.
+ *   <li>{@code loopBenchmark.allocationBudgetBytes} - The mean allocation budget per loop.
+ *   <li>{@code loopBenchmark.resultsFile} - The path of the JSON results file.
+ * </ul>
+ */
+public final class LoopBenchmark {
+  private static final double DISABLED_DURATION = 3.0;
+  private static final double AUTONOMOUS_DURATION = 15.0;
+  private static final double TELEOP_DURATION = 140.0;
+  private static final double TELEOP_CYCLE_DURATION = 20.0;
+
+  /**
+   * The script times, in seconds, at which a vision pose is injected while the driver is aligning
+   * to the hub in the first teleop cycle.
+   */
+  private static final double[] INJECTION_TIMES = {28.0, 28.5, 29.0, 29.5};
+
+  /** The distance, in meters, from the hub of the injected poses. */
+  private static final double INJECTION_DISTANCE = 2.0;
+
+  /** The standard deviations of the injected vision poses, which are trusted over the odometry. */
+  private static final Matrix<N3, N1> INJECTION_STD_DEVS = VecBuilder.fill(0.001, 0.001, 0.001);
+
+  /**
+   * The number of times one loop's preference reads are repeated when timing them, since a single
+   * read takes less time than the resolution of the timer.
+   */
+  private static final int PREFERENCE_READ_REPETITIONS = 100;
+
+  /** Exposes the robot loop so it can be stepped one period at a time. */
+  private static final class SteppedRobot extends Robot {
+    private int stepCount;
+
+    /** Runs one iteration of the robot loop and the rate group runs due during it. */
+    void step() {
+      loopFunc();
+
+      for (RateGroup group : RateGroup.values()) {
+        double runsPerStep = Robot.kDefaultPeriod / group.getPeriod();
+
+        if (runsPerStep >= 1.0) {
+          for (int i = 0; i < Math.round(runsPerStep); i++) {
+            MultiRateScheduler.run(group);
+          }
+        } else if (stepCount % Math.round(1.0 / runsPerStep) == 0) {
+          MultiRateScheduler.run(group);
+        }
+      }
+
+      stepCount++;
+    }
+  }
+
+  private final double duration;
+  private final double warmup;
+  private final double p99BudgetMillis;
+  private final double p99LatencyBudgetMillis;
+  private final long allocationBudgetBytes;
+  private final Path resultsFile;
+
+  private final XboxControllerSim driver =
+      new XboxControllerSim(OperatorConstants.DRIVER_CONTROLLER_PORT);
+  private final XboxControllerSim manipulator =
+      new XboxControllerSim(OperatorConstants.MANIPULATOR_CONTROLLER_PORT);
+
+  private final com.sun.management.ThreadMXBean threadBean =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private Swerve drivetrain;
+  private Pose2d injectedPose;
+  private int injectionChecks;
+  private int injectionFailures;
+
+  private final PreferenceSnapshotBenchmark preferenceReads = new PreferenceSnapshotBenchmark();
+  private double preferenceReadSink;
+
+  private LoopBenchmark() {
+    duration = Double.parseDouble(System.getProperty("loopBenchmark.duration", "180"));
+    warmup = Double.parseDouble(System.getProperty("loopBenchmark.warmup", "10"));
+    p99BudgetMillis =
+        Double.parseDouble(System.getProperty("loopBenchmark.p99BudgetMillis", "10.0"));
+    p99LatencyBudgetMillis =
+        Double.parseDouble(System.getProperty("loopBenchmark.p99LatencyBudgetMillis", "8.0"));
+    allocationBudgetBytes =
+        Long.parseLong(System.getProperty("loopBenchmark.allocationBudgetBytes", "524288"));
+    resultsFile =
+        Path.of(
+            System.getProperty(
+                "loopBenchmark.resultsFile", "build/reports/loop-benchmark/results.json"));
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (!HAL.initialize(500, 0)) {
+      throw new IllegalStateException("Failed to initialize the simulated HAL");
+    }
+
+    int status = new LoopBenchmark().run() ? 0 : 1;
+
+    // The robot leaves non-daemon threads running, so exit explicitly.
+    System.exit(status);
+  }
+
+  /**
+   * Runs the benchmark and writes the results.
+   *
+   * @return True if the loop is within its budgets.
+   * @throws IOException If the results cannot be written.
+   */
+  private boolean run() throws IOException {
+    SimHooks.pauseTiming();
+    DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+    DriverStationSim.setEnabled(false);
+    DriverStationSim.notifyNewData();
+
+    SteppedRobot robot = new SteppedRobot();
+    robot.simulationInit();
+
+    drivetrain = robot.getRobotContainer().getSubsystems().drivetrain;
+    LoopPipeline.register(Phase.ESTIMATE, this::injectVisionPose);
+
+    int loopCount = (int) Math.round(duration / Robot.kDefaultPeriod);
+    int warmupCount = (int) Math.round(warmup / Robot.kDefaultPeriod);
+    long[] loopTimes = new long[Math.max(loopCount - warmupCount, 0)];
+    long[] latencies = new long[loopTimes.length];
+    long[] allocations = new long[loopTimes.length];
+    long[] directReadTimes = new long[loopTimes.length];
+    long[] snapshotReadTimes = new long[loopTimes.length];
+    int injectionIndex = 0;
+
+    for (int i = 0; i < loopCount; i++) {
+      double expectedTurn = 0.0;
+
+      if (injectionIndex < INJECTION_TIMES.length
+          && i == Math.round(INJECTION_TIMES[injectionIndex] / Robot.kDefaultPeriod)) {
+        boolean isHubOnLeft = injectionIndex % 2 == 0;
+
+        injectedPose = createInjectedPose(isHubOnLeft);
+        expectedTurn = isHubOnLeft ? 1.0 : -1.0;
+        injectionIndex++;
+      }
+
+      updateScript(i * Robot.kDefaultPeriod);
+      SimHooks.stepTiming(Robot.kDefaultPeriod);
+
+      long startAllocatedBytes = threadBean.getCurrentThreadAllocatedBytes();
+      long startTime = System.nanoTime();
+
+      robot.step();
+
+      long loopTime = System.nanoTime() - startTime;
+      long allocatedBytes = threadBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+
+      if (expectedTurn != 0.0) {
+        checkInjectedPose(expectedTurn);
+      }
+
+      if (i >= warmupCount) {
+        loopTimes[i - warmupCount] = loopTime;
+        latencies[i - warmupCount] = LoopPipeline.getLatencyNanos();
+        allocations[i - warmupCount] = allocatedBytes;
+        directReadTimes[i - warmupCount] = timePreferenceReads(preferenceReads::readPreferences);
+        snapshotReadTimes[i - warmupCount] = timePreferenceReads(preferenceReads::readSnapshot);
+      }
+    }
+
+    return report(loopTimes, latencies, allocations, directReadTimes, snapshotReadTimes);
+  }
+
+  /**
+   * Creates a pose a short distance from the blue hub with the hub 90 degrees to the robot's left
+   * or right.
+   *
+   * @param isHubOnLeft Whether the hub is to the robot's left.
+   * @return The pose.
+   */
+  private static Pose2d createInjectedPose(boolean isHubOnLeft) {
+    Translation2d hub = FieldUtils.getHubLocation(false);
+
+    // The hub is along the x axis from the pose, so facing a side wall puts it to one side.
+    return new Pose2d(
+        hub.getX() - INJECTION_DISTANCE,
+        hub.getY(),
+        isHubOnLeft ? Rotation2d.kCW_90deg : Rotation2d.kCCW_90deg);
+  }
+
+  /**
+   * Adds the pending injected pose as a vision measurement that overrides the odometry, the same
+   * way a camera's high-confidence pose is added. This runs at the end of the estimate phase.
+   */
+  private void injectVisionPose() {
+    if (injectedPose == null) {
+      return;
+    }
+
+    drivetrain.addVisionMeasurement(injectedPose, Timer.getFPGATimestamp(), INJECTION_STD_DEVS);
+    drivetrain.resetPosition(drivetrain.getPosition());
+    injectedPose = null;
+  }
+
+  /**
+   * Checks that the drive was commanded to turn toward the hub in the loop the pose was injected.
+   *
+   * @param expectedTurn The expected direction of the turn, 1 for counter-clockwise and -1 for
+   *     clockwise.
+   */
+  private void checkInjectedPose(double expectedTurn) {
+    double omega = drivetrain.getCommandedChassisSpeeds().omegaRadiansPerSecond;
+
+    injectionChecks++;
+
+    if (Math.signum(omega) != expectedTurn) {
+      injectionFailures++;
+      System.err.printf(
+          Locale.ROOT,
+          "Injected pose at %.2f s was not used by that loop's drive command (omega %.3f rad/s)%n",
+          Timer.getFPGATimestamp(),
+          omega);
+    }
+  }
+
+  /**
+   * Times one loop's preference reads.
+   *
+   * @param reads Makes the preference reads of one loop.
+   * @return The total time, in nanoseconds, of {@link #PREFERENCE_READ_REPETITIONS} repetitions.
+   */
+  private long timePreferenceReads(DoubleSupplier reads) {
+    long startTime = System.nanoTime();
+
+    for (int i = 0; i < PREFERENCE_READ_REPETITIONS; i++) {
+      preferenceReadSink += reads.getAsDouble();
+    }
+
+    return System.nanoTime() - startTime;
+  }
+
+  /**
+   * Updates the Driver Station and controller state for the specified time in the script.
+   *
+   * @param time The time, in seconds, since the start of the script.
+   */
+  private void updateScript(double time) {
+    double autonomousStart = DISABLED_DURATION;
+    double teleopStart = autonomousStart + AUTONOMOUS_DURATION;
+
+    if (time < autonomousStart) {
+      DriverStationSim.setEnabled(false);
+      DriverStationSim.setMatchTime(-1);
+    } else if (time < teleopStart) {
+      DriverStationSim.setAutonomous(true);
+      DriverStationSim.setEnabled(true);
+      DriverStationSim.setMatchTime(AUTONOMOUS_DURATION - (time - autonomousStart));
+    } else {
+      double teleopTime = time - teleopStart;
+
+      DriverStationSim.setAutonomous(false);
+      DriverStationSim.setEnabled(true);
+      DriverStationSim.setGameSpecificMessage("R");
+      DriverStationSim.setMatchTime(Math.max(TELEOP_DURATION - teleopTime, 0));
+      updateTeleopControls(teleopTime % TELEOP_CYCLE_DURATION);
+    }
+
+    DriverStationSim.notifyNewData();
+  }
+
+  /**
+   * Updates the controllers for the specified time within a teleop cycle.
+   *
+   * @param time The time, in seconds, since the start of the teleop cycle.
+   */
+  private void updateTeleopControls(double time) {
+    boolean isDriving = time < 6.0;
+    boolean isIntaking = time >= 6.0 && time < 9.0;
+    boolean isAligningAndShooting = time >= 9.0 && time < 13.0;
+    boolean isShootingFromHub = time >= 13.0 && time < 16.0;
+    boolean isShootingWithXLock = time >= 16.0;
+    double speed = isDriving ? 0.8 : isAligningAndShooting ? 0.2 : 0.0;
+
+    driver.setLeftX(speed * Math.sin(time));
+    driver.setLeftY(speed * Math.cos(time));
+    driver.setRightX(isDriving ? 0.5 * Math.sin(2 * time) : 0.0);
+    driver.setRightBumperButton(isIntaking);
+    driver.setAButton(isAligningAndShooting);
+    driver.setPOV(isShootingFromHub ? 0 : -1);
+    driver.setXButton(isShootingWithXLock);
+
+    manipulator.setPOV(isShootingFromHub ? 0 : -1);
+  }
+
+  /**
+   * Prints and writes the results and checks them against the budgets.
+   *
+   * @param loopTimes The wall time of each loop in nanoseconds.
+   * @param latencies The time from reading the sensors to sending the outputs in each loop in
+   *     nanoseconds.
+   * @param allocations The bytes allocated by each loop.
+   * @param directReadTimes The time of {@link #PREFERENCE_READ_REPETITIONS} repetitions of one
+   *     loop's preference reads from NetworkTables after each loop in nanoseconds.
+   * @param snapshotReadTimes The time of {@link #PREFERENCE_READ_REPETITIONS} repetitions of one
+   *     loop's preference reads from the snapshot after each loop in nanoseconds.
+   * @return True if the loop is within its budgets.
+   * @throws IOException If the results cannot be written.
+   */
+  private boolean report(
+      long[] loopTimes,
+      long[] latencies,
+      long[] allocations,
+      long[] directReadTimes,
+      long[] snapshotReadTimes)
+      throws IOException {
+    long[] sortedLoopTimes = loopTimes.clone();
+    long[] sortedLatencies = latencies.clone();
+    long[] sortedAllocations = allocations.clone();
+
+    Arrays.sort(sortedLoopTimes);
+    Arrays.sort(sortedLatencies);
+    Arrays.sort(sortedAllocations);
+
+    double p50Millis = percentile(sortedLoopTimes, 0.50) / 1e6;
+    double p90Millis = percentile(sortedLoopTimes, 0.90) / 1e6;
+    double p99Millis = percentile(sortedLoopTimes, 0.99) / 1e6;
+    double maxMillis = percentile(sortedLoopTimes, 1.0) / 1e6;
+    double meanMillis = Arrays.stream(loopTimes).average().orElse(0) / 1e6;
+    double enableToMotion = Autos.getEnableToMotion();
+    String enableToMotionMillis =
+        Double.isNaN(enableToMotion)
+            ? "null"
+            : String.format(Locale.ROOT, "%.1f", enableToMotion * 1000.0);
+    double p50LatencyMillis = percentile(sortedLatencies, 0.50) / 1e6;
+    double p99LatencyMillis = percentile(sortedLatencies, 0.99) / 1e6;
+    double maxLatencyMillis = percentile(sortedLatencies, 1.0) / 1e6;
+    double meanAllocation = Arrays.stream(allocations).average().orElse(0);
+    long p99Allocation = percentile(sortedAllocations, 0.99);
+    double meanDirectReadNanos =
+        Arrays.stream(directReadTimes).average().orElse(0) / PREFERENCE_READ_REPETITIONS;
+    double meanSnapshotReadNanos =
+        Arrays.stream(snapshotReadTimes).average().orElse(0) / PREFERENCE_READ_REPETITIONS;
+    double preferenceReadSaving = meanDirectReadNanos - meanSnapshotReadNanos;
+    double preferenceReadSavingPercent =
+        meanMillis > 0.0 ? 100.0 * preferenceReadSaving / (meanMillis * 1e6) : 0.0;
+
+    boolean isLoopTimeWithinBudget = p99Millis <= p99BudgetMillis;
+    boolean isLatencyWithinBudget = p99LatencyMillis <= p99LatencyBudgetMillis;
+    boolean isAllocationWithinBudget = meanAllocation <= allocationBudgetBytes;
+    boolean isInjectionPassed = injectionFailures == 0;
+    boolean isWithinBudget =
+        isLoopTimeWithinBudget
+            && isLatencyWithinBudget
+            && isAllocationWithinBudget
+            && isInjectionPassed;
+
+    String results =
+        String.format(
+            Locale.ROOT,
+            """
+            {
+              "loops": %d,
+              "autoEnableToMotionMillis": %s,
+              "loopTimeMillis": {
+                "mean": %.4f,
+                "p50": %.4f,
+                "p90": %.4f,
+                "p99": %.4f,
+                "max": %.4f,
+                "p99Budget": %.4f,
+                "withinBudget": %b
+              },
+              "sensorToOutputLatencyMillis": {
+                "p50": %.4f,
+                "p99": %.4f,
+                "max": %.4f,
+                "p99Budget": %.4f,
+                "withinBudget": %b
+              },
+              "allocatedBytesPerLoop": {
+                "mean": %.1f,
+                "p99": %d,
+                "meanBudget": %d,
+                "withinBudget": %b
+              },
+              "preferenceReadNanosPerLoop": {
+                "direct": %.1f,
+                "snapshot": %.1f,
+                "saving": %.1f,
+                "savingPercentOfLoop": %.4f
+              },
+              "sameLoopInput": {
+                "checks": %d,
+                "failures": %d,
+                "passed": %b
+              },
+              "withinBudget": %b
+            }
+            """,
+            loopTimes.length,
+            enableToMotionMillis,
+            meanMillis,
+            p50Millis,
+            p90Millis,
+            p99Millis,
+            maxMillis,
+            p99BudgetMillis,
+            isLoopTimeWithinBudget,
+            p50LatencyMillis,
+            p99LatencyMillis,
+            maxLatencyMillis,
+            p99LatencyBudgetMillis,
+            isLatencyWithinBudget,
+            meanAllocation,
+            p99Allocation,
+            allocationBudgetBytes,
+            isAllocationWithinBudget,
+            meanDirectReadNanos,
+            meanSnapshotReadNanos,
+            preferenceReadSaving,
+            preferenceReadSavingPercent,
+            injectionChecks,
+            injectionFailures,
+            isInjectionPassed,
+            isWithinBudget);
+
+    Path parent = resultsFile.toAbsolutePath().getParent();
+
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    Files.writeString(resultsFile, results);
+
+    System.out.print(results);
+
+    if (!isLoopTimeWithinBudget) {
+      System.err.printf(
+          Locale.ROOT,
+          "p99 loop time %.3f ms exceeds the budget of %.3f ms%n",
+          p99Millis,
+          p99BudgetMillis);
+    }
+
+    if (!isLatencyWithinBudget) {
+      System.err.printf(
+          Locale.ROOT,
+          "p99 sensor to output latency %.3f ms exceeds the budget of %.3f ms%n",
+          p99LatencyMillis,
+          p99LatencyBudgetMillis);
+    }
+
+    if (!isAllocationWithinBudget) {
+      System.err.printf(
+          Locale.ROOT,
+          "Mean allocation of %.0f bytes per loop exceeds the budget of %d bytes%n",
+          meanAllocation,
+          allocationBudgetBytes);
+    }
+
+    return isWithinBudget;
+  }
+
+  /** {@return the value at the specified percentile of the sorted values} */
+  private static long percentile(long[] sortedValues, double percentile) {
+    if (sortedValues.length == 0) {
+      return 0;
+    }
+
+    int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+
+    return sortedValues[Math.max(0, Math.min(index, sortedValues.length - 1))];
+  }
+}
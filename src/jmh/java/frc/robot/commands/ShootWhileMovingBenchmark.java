@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.commands;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import frc.robot.BenchmarkSupport;
+import frc.robot.commands.ShootWhileMoving.MovingShot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks the shot compensation calculated every loop while shooting on the move. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShootWhileMovingBenchmark {
+  /** The number of distinct inputs cycled through so results are not constant folded. */
+  private static final int INPUT_COUNT = 64;
+
+  private final ChassisSpeeds[] chassisSpeeds = new ChassisSpeeds[INPUT_COUNT];
+  private final Rotation2d[] orientations = new Rotation2d[INPUT_COUNT];
+  private final double[] shooterVelocities = new double[INPUT_COUNT];
+  private final double[] anglesToTarget = new double[INPUT_COUNT];
+  private int index;
+
+  @Setup
+  public void setup() {
+    BenchmarkSupport.initialize();
+
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      double fraction = (double) i / INPUT_COUNT;
+
+      chassisSpeeds[i] = new ChassisSpeeds(3.0 * (fraction - 0.5), 1.5 * (0.5 - fraction), 0.0);
+      orientations[i] = Rotation2d.fromRadians(2 * Math.PI * fraction - Math.PI);
+      shooterVelocities[i] = 12.0 + 6.0 * fraction;
+      anglesToTarget[i] = Math.PI * (1 - 2 * fraction);
+    }
+  }
+
+  @Benchmark
+  public MovingShot calculateMovingShot() {
+    index = (index + 1) % INPUT_COUNT;
+
+    return ShootWhileMoving.calculateMovingShot(
+        chassisSpeeds[index], orientations[index], shooterVelocities[index], anglesToTarget[index]);
+  }
+}
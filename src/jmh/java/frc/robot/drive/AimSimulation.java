@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import static frc.robot.RobotPreferences.ROTATION_PID_CONTROLLER;
+
+import edu.wpi.first.math.MathUtil;
+import frc.robot.BenchmarkSupport;
+import frc.robot.commands.DriveAutoRotation;
+import frc.robot.subsystems.Swerve;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Simulates aligning to the hub while strafing past it and compares pure feedback on the bearing to
+ * the target with the {@link AimController}'s latency compensation and bearing rate feedforward.
+ *
+ * <p>The robot starts 3 m from the target, turned away from it, and strafes past it at a constant
+ * speed while it turns toward the target. The compensated robot computes its rotation speed with
+ * {@link DriveAutoRotation#calculateRotationSpeed}, the same code the driver's auto-rotation
+ * commands run, using the rotation PID controller preference and an aim controller with the
+ * drivetrain's latency and alignment tolerance. The feedback-only robot uses the same preference
+ * controller on an aim controller without latency compensation and adds no feedforward. The
+ * rotation speed is scaled by the maximum rotational speed as {@link SwerveDrive#drive} does. It
+ * takes effect one loop after it is computed, and the drive responds to it with a first order lag.
+ * Shots are fired on every loop the controller reports the robot is aligned, and a shot is
+ * misaligned if the robot's heading is outside the alignment tolerance when it takes effect a loop
+ * later.
+ *
+ * <p>For each strafe speed, the time until the robot is first aligned and the number of shots and
+ * misaligned shots are written as JSON to the path given by the {@code aimSimulation.resultsFile}
+ * system property.
+ */
+public final class AimSimulation {
+  private static final double PERIOD = 0.02;
+  private static final int SUBSTEPS = 20;
+  private static final double DURATION = 3.0;
+  private static final double DRIVE_TIME_CONSTANT = 0.06;
+  private static final double START_DISTANCE = 3.0;
+  private static final double START_HEADING_ERROR = Math.toRadians(45);
+  private static final double[] STRAFE_SPEEDS = {0.0, 1.0, 2.0, 3.0};
+
+  /** The results of aligning at one strafe speed. */
+  private record Result(double timeToAligned, int shots, int misalignedShots) {
+    /** {@return the result as a JSON object} */
+    String toJson() {
+      return String.format(
+          Locale.ROOT,
+          "{ \"timeToAligned\": %s, \"shots\": %d, \"misalignedShots\": %d }",
+          Double.isNaN(timeToAligned)
+              ? "null"
+              : String.format(Locale.ROOT, "%.3f", timeToAligned),
+          shots,
+          misalignedShots);
+    }
+  }
+
+  private AimSimulation() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path resultsFile =
+        Path.of(System.getProperty("aimSimulation.resultsFile", "build/reports/aim/results.json"));
+
+    BenchmarkSupport.initialize();
+
+    StringBuilder results = new StringBuilder("{\n  \"runs\": [\n");
+
+    for (int i = 0; i < STRAFE_SPEEDS.length; i++) {
+      double speed = STRAFE_SPEEDS[i];
+
+      results.append(
+          String.format(
+              Locale.ROOT,
+              "    { \"strafeSpeed\": %.1f, \"feedbackOnly\": %s, \"aimController\": %s }%s\n",
+              speed,
+              simulate(speed, false).toJson(),
+              simulate(speed, true).toJson(),
+              i < STRAFE_SPEEDS.length - 1 ? "," : ""));
+    }
+
+    results.append("  ]\n}\n");
+
+    Path parent = resultsFile.toAbsolutePath().getParent();
+
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    Files.writeString(resultsFile, results);
+
+    System.out.print(results);
+
+    // The simulated HAL leaves non-daemon threads running, so exit explicitly.
+    System.exit(0);
+  }
+
+  /**
+   * Simulates aligning while strafing past the target.
+   *
+   * @param strafeSpeed The strafe speed in m/s.
+   * @param isCompensated Whether to use latency compensation and feedforward.
+   * @return The results.
+   */
+  private static Result simulate(double strafeSpeed, boolean isCompensated) {
+    double maxRotationalSpeed = Swerve.getMaxRotationalSpeed();
+    AimController aim =
+        new AimController(
+            isCompensated ? AimController.DEFAULT_LATENCY : 0.0,
+            maxRotationalSpeed,
+            Swerve::getHubAlignmentTolerance);
+    // The target is at the origin and the robot strafes along y, starting half the duration away.
+    double x = -START_DISTANCE;
+    double y = -strafeSpeed * DURATION / 2.0;
+    double heading = Math.atan2(-y, -x) - START_HEADING_ERROR;
+    double angularVelocity = 0.0;
+    double pendingCommand = 0.0;
+    boolean isShotPending = false;
+    double timeToAligned = Double.NaN;
+    int shots = 0;
+    int misalignedShots = 0;
+    int loops = (int) Math.round(DURATION / PERIOD);
+
+    DriveAutoRotation.resetRotationController(Swerve.getHubAlignmentTolerance(Math.hypot(x, y)));
+
+    for (int loop = 0; loop < loops; loop++) {
+      double distance = Math.hypot(x, y);
+
+      // Check the shot fired last loop now that it has taken effect.
+      if (isShotPending) {
+        double error = MathUtil.angleModulus(Math.atan2(-y, -x) - heading);
+
+        shots++;
+
+        if (Math.abs(error) > Swerve.getHubAlignmentTolerance(distance)) {
+          misalignedShots++;
+        }
+      }
+
+      aim.update(x, y, heading, 0.0, strafeSpeed, angularVelocity, 0.0, 0.0);
+
+      double rotationSpeed =
+          isCompensated
+              ? DriveAutoRotation.calculateRotationSpeed(aim, heading)
+              : ROTATION_PID_CONTROLLER.calculate(heading, aim.getTargetBearing());
+
+      isShotPending = aim.isAligned();
+
+      if (isShotPending && Double.isNaN(timeToAligned)) {
+        timeToAligned = loop * PERIOD;
+      }
+
+      // The command computed last loop takes effect now.
+      double command = pendingCommand;
+
+      pendingCommand = rotationSpeed * maxRotationalSpeed;
+
+      for (int substep = 0; substep < SUBSTEPS; substep++) {
+        double dt = PERIOD / SUBSTEPS;
+
+        angularVelocity += (command - angularVelocity) * dt / DRIVE_TIME_CONSTANT;
+        heading = MathUtil.angleModulus(heading + angularVelocity * dt);
+        y += strafeSpeed * dt;
+      }
+    }
+
+    return new Result(timeToAligned, shots, misalignedShots);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import frc.robot.BenchmarkSupport;
+import frc.robot.parameters.SwerveDriveParameters;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the time to plan typical paths to the shooting positions and the depot over the
+ * navigation grid deployed to the robot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfinderBenchmark {
+  private static final File NAV_GRID_FILE = new File("src/main/deploy/pathplanner/navgrid.json");
+
+  /** Typical start positions in the neutral zone, the opposing alliance zone and our own zone. */
+  private static final Translation2d[] STARTS = {
+    new Translation2d(8.27, 1.5),
+    new Translation2d(8.27, 6.5),
+    new Translation2d(12.5, 4.0),
+    new Translation2d(3.5, 0.8),
+  };
+
+  /** Typical goals: shooting positions around the blue hub and the blue depot. */
+  private static final Translation2d[] GOALS = {
+    new Translation2d(2.6, 4.0), new Translation2d(3.2, 2.2), new Translation2d(1.0, 5.9),
+  };
+
+  private Pathfinder pathfinder;
+  private int index;
+
+  @Setup
+  public void setup() throws IOException {
+    BenchmarkSupport.initialize();
+
+    pathfinder =
+        new Pathfinder(NavGrid.load(NAV_GRID_FILE), SwerveDriveParameters.CompetitionBase2026);
+  }
+
+  /** {@return the start position of the next query} */
+  private Translation2d nextStart() {
+    index = (index + 1) % (STARTS.length * GOALS.length);
+    return STARTS[index / GOALS.length];
+  }
+
+  /** {@return the goal position of the current query} */
+  private Translation2d currentGoal() {
+    return GOALS[index % GOALS.length];
+  }
+
+  /** Measures the Theta* search alone. */
+  @Benchmark
+  public List<Translation2d> findPath() {
+    Translation2d start = nextStart();
+
+    return pathfinder.findPath(0, start, currentGoal());
+  }
+
+  /**
+   * Measures a complete plan, including generating the trajectory. Consecutive queries have goals
+   * far enough apart that each plan searches rather than reusing the previous path.
+   */
+  @Benchmark
+  public Pathfinder.Plan plan() {
+    Pose2d start = new Pose2d(nextStart(), Rotation2d.kZero);
+
+    return pathfinder.plan(0, start, new ChassisSpeeds(), currentGoal());
+  }
+}
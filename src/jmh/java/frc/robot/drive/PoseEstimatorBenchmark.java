@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import frc.robot.BenchmarkSupport;
+import frc.robot.parameters.SwerveDriveParameters;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of a robot loop's worth of pose estimation with the WPILib {@link
+ * SwerveDrivePoseEstimator} and the {@link FusedPoseEstimator}. Each invocation applies the next
+ * update of a recorded drive and the vision measurement that arrives with it, if any, which is
+ * every fifth update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoseEstimatorBenchmark {
+  private static final double DURATION = 30.0;
+
+  private PoseEstimatorScenario scenario;
+  private SwerveDrivePoseEstimator wpilibEstimator;
+  private FusedPoseEstimator fusedEstimator;
+  private int wpilibStep;
+  private int fusedStep;
+  private int wpilibLap;
+  private int fusedLap;
+
+  @Setup
+  public void setup() {
+    BenchmarkSupport.initialize();
+
+    SwerveDriveParameters parameters = SwerveDriveParameters.CompetitionBase2026;
+
+    scenario = new PoseEstimatorScenario(parameters, DURATION, 2026);
+    wpilibEstimator =
+        new SwerveDrivePoseEstimator(
+            new SwerveDriveKinematics(parameters.getWheelPositions()),
+            scenario.gyroAngles[0],
+            scenario.wheelPositions[0],
+            scenario.truePoses[0]);
+    fusedEstimator =
+        new FusedPoseEstimator(
+            parameters.getWheelPositions(),
+            parameters.getMaxDriveAcceleration(),
+            scenario.timestamps[0],
+            scenario.gyroAngles[0],
+            scenario.wheelPositions[0],
+            scenario.truePoses[0]);
+  }
+
+  /** Measures an update of the WPILib pose estimator. */
+  @Benchmark
+  public Pose2d wpilib() {
+    // The wheel distances start over on each lap, so reset the estimator and offset the time to
+    // keep it increasing.
+    if (++wpilibStep == scenario.steps) {
+      wpilibStep = 1;
+      wpilibLap++;
+      wpilibEstimator.resetPosition(
+          scenario.gyroAngles[0], scenario.wheelPositions[0], scenario.truePoses[0]);
+    }
+
+    int step = wpilibStep;
+    double timeOffset = wpilibLap * DURATION;
+
+    wpilibEstimator.updateWithTime(
+        scenario.timestamps[step] + timeOffset,
+        scenario.gyroAngles[step],
+        scenario.wheelPositions[step]);
+
+    if (scenario.visionPoses[step] != null) {
+      wpilibEstimator.addVisionMeasurement(
+          scenario.visionPoses[step],
+          scenario.visionTimestamps[step] + timeOffset,
+          VecBuilder.fill(
+              PoseEstimatorScenario.VISION_STD_DEV_XY,
+              PoseEstimatorScenario.VISION_STD_DEV_XY,
+              PoseEstimatorScenario.VISION_STD_DEV_THETA));
+    }
+
+    return wpilibEstimator.getEstimatedPosition();
+  }
+
+  /** Measures an update of the fused pose estimator. */
+  @Benchmark
+  public Pose2d fused() {
+    if (++fusedStep == scenario.steps) {
+      fusedStep = 1;
+      fusedLap++;
+      fusedEstimator.resetPosition(
+          scenario.gyroAngles[0], scenario.wheelPositions[0], scenario.truePoses[0]);
+    }
+
+    int step = fusedStep;
+    double timeOffset = fusedLap * DURATION;
+
+    fusedEstimator.update(
+        scenario.timestamps[step] + timeOffset,
+        scenario.gyroAngles[step],
+        scenario.yawRates[step],
+        scenario.accelerationsX[step],
+        scenario.accelerationsY[step],
+        scenario.wheelPositions[step]);
+
+    if (scenario.visionPoses[step] != null) {
+      fusedEstimator.addVisionMeasurement(
+          scenario.visionPoses[step],
+          scenario.visionTimestamps[step] + timeOffset,
+          PoseEstimatorScenario.VISION_STD_DEV_XY,
+          PoseEstimatorScenario.VISION_STD_DEV_XY,
+          PoseEstimatorScenario.VISION_STD_DEV_THETA);
+    }
+
+    return fusedEstimator.getEstimatedPosition();
+  }
+}
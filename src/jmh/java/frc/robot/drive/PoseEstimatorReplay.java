@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import frc.robot.BenchmarkSupport;
+import frc.robot.parameters.SwerveDriveParameters;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Replays a recorded drive with known ground truth through the WPILib {@link
+ * SwerveDrivePoseEstimator} and the {@link FusedPoseEstimator}, with and without the {@link
+ * SlipDetector}, and compares their accuracy.
+ *
+ * <p>Every estimator sees the same sensor readings from a {@link PoseEstimatorScenario}. The RMS
+ * and maximum position error and the RMS heading error of each are written as JSON. The replay is
+ * configured using the following system properties:
+ *
+ * <ul>
+ *   <li>{@code poseEstimatorReplay.duration} - The duration of the drive in seconds.
+ *   <li>{@code poseEstimatorReplay.seed} - The seed of the sensor errors.
+ *   <li>{@code poseEstimatorReplay.resultsFile} - The path of the JSON results file.
+ * </ul>
+ */
+public final class PoseEstimatorReplay {
+  /** The accuracy of an estimator over the replay. */
+  private static final class Accuracy {
+    private double sumSquaredPositionError;
+    private double maxPositionError;
+    private double sumSquaredHeadingError;
+    private int count;
+
+    /** Adds the error of an estimate. */
+    void add(Pose2d estimate, Pose2d truth) {
+      double positionError = estimate.getTranslation().getDistance(truth.getTranslation());
+      double headingError = estimate.getRotation().minus(truth.getRotation()).getRadians();
+
+      sumSquaredPositionError += positionError * positionError;
+      maxPositionError = Math.max(maxPositionError, positionError);
+      sumSquaredHeadingError += headingError * headingError;
+      count++;
+    }
+
+    /** {@return the results as a JSON object} */
+    String toJson() {
+      return String.format(
+          Locale.ROOT,
+          "{ \"rmsPositionError\": %.4f, \"maxPositionError\": %.4f, \"rmsHeadingErrorDegrees\":"
+              + " %.3f }",
+          Math.sqrt(sumSquaredPositionError / count),
+          maxPositionError,
+          Math.toDegrees(Math.sqrt(sumSquaredHeadingError / count)));
+    }
+  }
+
+  private PoseEstimatorReplay() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  public static void main(String[] args) throws IOException {
+    double duration = Double.parseDouble(System.getProperty("poseEstimatorReplay.duration", "150"));
+    long seed = Long.parseLong(System.getProperty("poseEstimatorReplay.seed", "2026"));
+    Path resultsFile =
+        Path.of(
+            System.getProperty(
+                "poseEstimatorReplay.resultsFile", "build/reports/pose-estimator/results.json"));
+
+    BenchmarkSupport.initialize();
+
+    SwerveDriveParameters parameters = SwerveDriveParameters.CompetitionBase2026;
+    PoseEstimatorScenario scenario = new PoseEstimatorScenario(parameters, duration, seed);
+    SwerveDrivePoseEstimator wpilibEstimator =
+        new SwerveDrivePoseEstimator(
+            new SwerveDriveKinematics(parameters.getWheelPositions()),
+            scenario.gyroAngles[0],
+            scenario.wheelPositions[0],
+            scenario.truePoses[0]);
+    FusedPoseEstimator fusedEstimator =
+        new FusedPoseEstimator(
+            parameters.getWheelPositions(),
+            parameters.getMaxDriveAcceleration(),
+            scenario.timestamps[0],
+            scenario.gyroAngles[0],
+            scenario.wheelPositions[0],
+            scenario.truePoses[0]);
+    FusedPoseEstimator slipGatedEstimator =
+        new FusedPoseEstimator(
+            parameters.getWheelPositions(),
+            parameters.getMaxDriveAcceleration(),
+            scenario.timestamps[0],
+            scenario.gyroAngles[0],
+            scenario.wheelPositions[0],
+            scenario.truePoses[0]);
+    SlipDetector slipDetector =
+        new SlipDetector(
+            parameters.getWheelPositions(),
+            parameters.getMaxDriveAcceleration(),
+            scenario.timestamps[0],
+            scenario.wheelPositions[0]);
+    Accuracy wpilibAccuracy = new Accuracy();
+    Accuracy fusedAccuracy = new Accuracy();
+    Accuracy slipGatedAccuracy = new Accuracy();
+
+    for (int step = 1; step < scenario.steps; step++) {
+      wpilibEstimator.updateWithTime(
+          scenario.timestamps[step], scenario.gyroAngles[step], scenario.wheelPositions[step]);
+      fusedEstimator.update(
+          scenario.timestamps[step],
+          scenario.gyroAngles[step],
+          scenario.yawRates[step],
+          scenario.accelerationsX[step],
+          scenario.accelerationsY[step],
+          scenario.wheelPositions[step]);
+      slipDetector.update(
+          scenario.timestamps[step],
+          scenario.wheelPositions[step],
+          scenario.accelerationsX[step],
+          scenario.accelerationsY[step],
+          scenario.commandedSpeeds[step],
+          0.0);
+      slipGatedEstimator.update(
+          scenario.timestamps[step],
+          scenario.gyroAngles[step],
+          scenario.yawRates[step],
+          scenario.accelerationsX[step],
+          scenario.accelerationsY[step],
+          scenario.wheelPositions[step],
+          slipDetector.getModuleWeights());
+
+      if (scenario.visionPoses[step] != null) {
+        double scale = slipDetector.getVisionStdDevScale();
+
+        wpilibEstimator.addVisionMeasurement(
+            scenario.visionPoses[step],
+            scenario.visionTimestamps[step],
+            VecBuilder.fill(
+                PoseEstimatorScenario.VISION_STD_DEV_XY,
+                PoseEstimatorScenario.VISION_STD_DEV_XY,
+                PoseEstimatorScenario.VISION_STD_DEV_THETA));
+        fusedEstimator.addVisionMeasurement(
+            scenario.visionPoses[step],
+            scenario.visionTimestamps[step],
+            PoseEstimatorScenario.VISION_STD_DEV_XY,
+            PoseEstimatorScenario.VISION_STD_DEV_XY,
+            PoseEstimatorScenario.VISION_STD_DEV_THETA);
+        slipGatedEstimator.addVisionMeasurement(
+            scenario.visionPoses[step],
+            scenario.visionTimestamps[step],
+            PoseEstimatorScenario.VISION_STD_DEV_XY * scale,
+            PoseEstimatorScenario.VISION_STD_DEV_XY * scale,
+            PoseEstimatorScenario.VISION_STD_DEV_THETA * scale);
+      }
+
+      wpilibAccuracy.add(wpilibEstimator.getEstimatedPosition(), scenario.truePoses[step]);
+      fusedAccuracy.add(fusedEstimator.getEstimatedPosition(), scenario.truePoses[step]);
+      slipGatedAccuracy.add(slipGatedEstimator.getEstimatedPosition(), scenario.truePoses[step]);
+    }
+
+    String results =
+        String.format(
+            Locale.ROOT,
+            """
+            {
+              "updates": %d,
+              "wpilib": %s,
+              "fused": %s,
+              "fusedWithSlipDetection": %s
+            }
+            """,
+            scenario.steps - 1,
+            wpilibAccuracy.toJson(),
+            fusedAccuracy.toJson(),
+            slipGatedAccuracy.toJson());
+
+    Path parent = resultsFile.toAbsolutePath().getParent();
+
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    Files.writeString(resultsFile, results);
+
+    System.out.print(results);
+
+    // The simulated HAL leaves non-daemon threads running, so exit explicitly.
+    System.exit(0);
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import frc.robot.parameters.SwerveDriveParameters;
+import java.util.Random;
+
+/**
+ * A recorded drive with known ground truth for comparing pose estimators.
+ *
+ * <p>The robot follows a figure eight around the center of the field while turning back and forth.
+ * The sensor readings are generated from the true motion with realistic errors: a wheel scale error
+ * and noise on every module, a burst of wheel spin on one module every ten seconds, gyro drift and
+ * noise, accelerometer noise and noisy vision poses that arrive 30 to 120 ms after they were
+ * captured at 10 Hz.
+ */
+final class PoseEstimatorScenario {
+  /** The time between updates in seconds. */
+  static final double PERIOD = 0.02;
+
+  /** The standard deviations reported with each vision measurement. */
+  static final double VISION_STD_DEV_XY = 0.1;
+
+  static final double VISION_STD_DEV_THETA = 0.2;
+
+  private static final double CENTER_X = 8.27;
+  private static final double CENTER_Y = 4.1;
+  private static final double AMPLITUDE_X = 3.0;
+  private static final double AMPLITUDE_Y = 1.5;
+  private static final double FREQUENCY = 0.4;
+  private static final double TURN_AMPLITUDE = 0.8;
+  private static final double TURN_FREQUENCY = 0.25;
+
+  private static final double WHEEL_SCALE_ERROR = 0.02;
+  private static final double WHEEL_NOISE = 0.0005;
+  private static final double WHEEL_SPIN_INTERVAL = 10.0;
+  private static final double WHEEL_SPIN_DURATION = 0.5;
+  private static final double WHEEL_SPIN_SCALE = 1.5;
+  private static final double GYRO_DRIFT_RATE = Math.toRadians(0.5) / 60.0;
+  private static final double GYRO_NOISE = 0.0005;
+  private static final double GYRO_RATE_NOISE = 0.01;
+  private static final double ACCELEROMETER_NOISE = 0.3;
+  private static final double VISION_NOISE_XY = 0.05;
+  private static final double VISION_NOISE_THETA = 0.03;
+  private static final int VISION_INTERVAL = 5;
+  private static final double MIN_VISION_LATENCY = 0.03;
+  private static final double MAX_VISION_LATENCY = 0.12;
+
+  final int steps;
+  final double[] timestamps;
+  final Pose2d[] truePoses;
+  final Rotation2d[] gyroAngles;
+  final double[] yawRates;
+  final double[] accelerationsX;
+  final double[] accelerationsY;
+  final SwerveModulePosition[][] wheelPositions;
+
+  // The robot-relative speeds commanded at each step, which the robot follows exactly.
+  final ChassisSpeeds[] commandedSpeeds;
+
+  // The vision measurement that arrives at each step, or null if none does.
+  final Pose2d[] visionPoses;
+  final double[] visionTimestamps;
+
+  /**
+   * Generates a new scenario.
+   *
+   * @param parameters The drive base parameters.
+   * @param duration The duration of the drive in seconds.
+   * @param seed The seed of the sensor errors.
+   */
+  PoseEstimatorScenario(SwerveDriveParameters parameters, double duration, long seed) {
+    Random random = new Random(seed);
+    Translation2d[] modules = parameters.getWheelPositions();
+    double[] scaleErrors = new double[modules.length];
+    double[] distances = new double[modules.length];
+    Rotation2d[] angles = new Rotation2d[modules.length];
+
+    for (int i = 0; i < modules.length; i++) {
+      scaleErrors[i] = (2 * random.nextDouble() - 1) * WHEEL_SCALE_ERROR;
+      angles[i] = Rotation2d.kZero;
+    }
+
+    steps = (int) (duration / PERIOD);
+    timestamps = new double[steps];
+    truePoses = new Pose2d[steps];
+    gyroAngles = new Rotation2d[steps];
+    yawRates = new double[steps];
+    accelerationsX = new double[steps];
+    accelerationsY = new double[steps];
+    wheelPositions = new SwerveModulePosition[steps][modules.length];
+    commandedSpeeds = new ChassisSpeeds[steps];
+    visionPoses = new Pose2d[steps];
+    visionTimestamps = new double[steps];
+
+    for (int step = 0; step < steps; step++) {
+      double t = step * PERIOD;
+      Pose2d pose = getTruePose(t);
+      double theta = pose.getRotation().getRadians();
+      double cos = Math.cos(theta);
+      double sin = Math.sin(theta);
+      double omega = TURN_AMPLITUDE * TURN_FREQUENCY * Math.cos(TURN_FREQUENCY * t);
+      double vx = AMPLITUDE_X * FREQUENCY * Math.cos(FREQUENCY * t);
+      double vy = AMPLITUDE_Y * 2 * FREQUENCY * Math.cos(2 * FREQUENCY * t);
+      double ax = -AMPLITUDE_X * FREQUENCY * FREQUENCY * Math.sin(FREQUENCY * t);
+      double ay = -AMPLITUDE_Y * 4 * FREQUENCY * FREQUENCY * Math.sin(2 * FREQUENCY * t);
+      double robotVx = cos * vx + sin * vy;
+      double robotVy = -sin * vx + cos * vy;
+      boolean isWheelSpinning = t % WHEEL_SPIN_INTERVAL < WHEEL_SPIN_DURATION && t > 1.0;
+
+      timestamps[step] = t;
+      truePoses[step] = pose;
+      gyroAngles[step] =
+          new Rotation2d(theta + GYRO_DRIFT_RATE * t + random.nextGaussian() * GYRO_NOISE);
+      yawRates[step] = omega + random.nextGaussian() * GYRO_RATE_NOISE;
+      accelerationsX[step] = cos * ax + sin * ay + random.nextGaussian() * ACCELEROMETER_NOISE;
+      accelerationsY[step] = -sin * ax + cos * ay + random.nextGaussian() * ACCELEROMETER_NOISE;
+      commandedSpeeds[step] = new ChassisSpeeds(robotVx, robotVy, omega);
+
+      for (int i = 0; i < modules.length; i++) {
+        double moduleVx = robotVx - omega * modules[i].getY();
+        double moduleVy = robotVy + omega * modules[i].getX();
+        double speed = Math.hypot(moduleVx, moduleVy);
+        double scale = 1.0 + scaleErrors[i];
+
+        if (speed > 1e-3) {
+          angles[i] = new Rotation2d(moduleVx, moduleVy);
+        }
+
+        if (i == 0 && isWheelSpinning) {
+          scale *= WHEEL_SPIN_SCALE;
+        }
+
+        distances[i] += speed * PERIOD * scale + random.nextGaussian() * WHEEL_NOISE;
+        wheelPositions[step][i] = new SwerveModulePosition(distances[i], angles[i]);
+      }
+
+      if (step % VISION_INTERVAL == 0 && t > MAX_VISION_LATENCY) {
+        double latency =
+            MIN_VISION_LATENCY + random.nextDouble() * (MAX_VISION_LATENCY - MIN_VISION_LATENCY);
+        Pose2d capturedPose = getTruePose(t - latency);
+
+        visionTimestamps[step] = t - latency;
+        visionPoses[step] =
+            new Pose2d(
+                capturedPose.getX() + random.nextGaussian() * VISION_NOISE_XY,
+                capturedPose.getY() + random.nextGaussian() * VISION_NOISE_XY,
+                capturedPose
+                    .getRotation()
+                    .plus(new Rotation2d(random.nextGaussian() * VISION_NOISE_THETA)));
+      }
+    }
+  }
+
+  /** {@return the true pose of the robot at the specified time} */
+  private static Pose2d getTruePose(double t) {
+    return new Pose2d(
+        CENTER_X + AMPLITUDE_X * Math.sin(FREQUENCY * t),
+        CENTER_Y + AMPLITUDE_Y * Math.sin(2 * FREQUENCY * t),
+        new Rotation2d(TURN_AMPLITUDE * Math.sin(TURN_FREQUENCY * t)));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.BenchmarkSupport;
+import frc.robot.parameters.SwerveDriveParameters;
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks generating the shot map from the navigation grid deployed to the robot and looking up
+ * the nearest shooting position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShotMapBenchmark {
+  private static final File NAV_GRID_FILE = new File("src/main/deploy/pathplanner/navgrid.json");
+
+  /** Typical positions in the neutral zone, the opposing alliance zone and our own zone. */
+  private static final Translation2d[] POSITIONS = {
+    new Translation2d(8.27, 1.5),
+    new Translation2d(8.27, 6.5),
+    new Translation2d(12.5, 4.0),
+    new Translation2d(3.5, 0.8),
+  };
+
+  private NavGrid grid;
+  private ShotMap shotMap;
+  private int index;
+
+  @Setup
+  public void setup() throws IOException {
+    BenchmarkSupport.initialize();
+
+    grid = NavGrid.load(NAV_GRID_FILE);
+    shotMap = new ShotMap(grid, SwerveDriveParameters.CompetitionBase2026);
+  }
+
+  /** Measures generating the maps of both alliances. */
+  @Benchmark
+  public ShotMap generate() {
+    return new ShotMap(grid, SwerveDriveParameters.CompetitionBase2026);
+  }
+
+  /** Measures looking up the nearest shooting position. */
+  @Benchmark
+  public Optional<Pose2d> getNearestShotPose() {
+    index = (index + 1) % POSITIONS.length;
+
+    return shotMap.getNearestShotPose(POSITIONS[index]);
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.BenchmarkSupport;
+import frc.robot.Robot;
+import frc.robot.parameters.SwerveDriveParameters;
+import frc.robot.util.MultiRateScheduler.RateGroup;
+import frc.robot.util.NullMotorAdapter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the swerve drive control path run every robot loop.
+ *
+ * <p>A module's drive motor is driven from the robot loop by {@link SwerveModule#setState}, while
+ * its steering motor is driven by the steering loop in the {@link RateGroup#CONTROL} rate group.
+ * So {@code moduleSetState} only measures the robot loop's share of the work. The {@code
+ * moduleUpdateSteering} benchmark measures one run of the steering loop, and {@code
+ * moduleControlLoop} measures all the work of a module in one robot loop: setting its state and
+ * running the steering loop as many times as it runs in one robot loop period.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwerveDriveBenchmark {
+  private static final SwerveDriveParameters PARAMETERS = SwerveDriveParameters.CompetitionBase2026;
+
+  /** The number of distinct inputs cycled through so results are not constant folded. */
+  private static final int INPUT_COUNT = 64;
+
+  /** The number of times the steering loop runs each robot loop. */
+  private static final int STEERING_UPDATES_PER_LOOP =
+      (int) Math.round(Robot.kDefaultPeriod / RateGroup.CONTROL.getPeriod());
+
+  private SwerveDrive drive;
+  private SwerveModule module;
+
+  private final ChassisSpeeds[] chassisSpeeds = new ChassisSpeeds[INPUT_COUNT];
+  private final double[] joystickInputs = new double[INPUT_COUNT];
+  private final Rotation2d[] moduleAngles = new Rotation2d[INPUT_COUNT];
+  private final SwerveModuleState moduleState = new SwerveModuleState();
+  private int index;
+
+  @Setup
+  public void setup() {
+    BenchmarkSupport.initialize();
+
+    SwerveModule[] modules = new SwerveModule[4];
+
+    for (int i = 0; i < modules.length; i++) {
+      modules[i] = newModule("Module" + i);
+    }
+
+    drive = new SwerveDrive(PARAMETERS, modules, () -> Rotation2d.fromDegrees(30));
+    module = newModule("Benchmark");
+
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      double fraction = (double) i / INPUT_COUNT;
+
+      chassisSpeeds[i] =
+          new ChassisSpeeds(
+              PARAMETERS.getMaxDriveSpeed() * (fraction - 0.5),
+              PARAMETERS.getMaxDriveSpeed() * (0.5 - fraction) / 2,
+              PARAMETERS.getMaxRotationalSpeed() * fraction);
+      joystickInputs[i] = 2 * fraction - 1;
+      moduleAngles[i] = Rotation2d.fromRadians(2 * Math.PI * fraction);
+    }
+
+    // Give the steering loop a goal so it runs.
+    moduleState.angle = moduleAngles[INPUT_COUNT / 4];
+    module.setState(moduleState);
+  }
+
+  /** Creates a swerve module with null motors. */
+  private static SwerveModule newModule(String name) {
+    return new SwerveModule(
+        PARAMETERS,
+        new NullMotorAdapter(),
+        () -> 0.0,
+        () -> 0.0,
+        new NullMotorAdapter(),
+        () -> Rotation2d.kZero,
+        () -> 0.0,
+        name);
+  }
+
+  /** {@return the index of the next input} */
+  private int nextIndex() {
+    index = (index + 1) % INPUT_COUNT;
+    return index;
+  }
+
+  @Benchmark
+  public void setChassisSpeeds() {
+    drive.setChassisSpeeds(chassisSpeeds[nextIndex()]);
+  }
+
+  @Benchmark
+  public void driveFieldRelative() {
+    int i = nextIndex();
+    drive.drive(joystickInputs[i], joystickInputs[INPUT_COUNT - 1 - i], joystickInputs[i], true);
+  }
+
+  @Benchmark
+  public void driveRobotRelative() {
+    int i = nextIndex();
+    drive.drive(joystickInputs[i], joystickInputs[INPUT_COUNT - 1 - i], joystickInputs[i], false);
+  }
+
+  @Benchmark
+  public void moduleSetState() {
+    int i = nextIndex();
+
+    // setState optimizes the state in place, so restore the desired state each invocation.
+    moduleState.speedMetersPerSecond = joystickInputs[i] * PARAMETERS.getMaxDriveSpeed();
+    moduleState.angle = moduleAngles[i];
+
+    module.setState(moduleState);
+  }
+
+  @Benchmark
+  public void moduleUpdateSteering() {
+    module.updateSteering();
+  }
+
+  @Benchmark
+  public void moduleControlLoop() {
+    int i = nextIndex();
+
+    moduleState.speedMetersPerSecond = joystickInputs[i] * PARAMETERS.getMaxDriveSpeed();
+    moduleState.angle = moduleAngles[i];
+
+    module.setState(moduleState);
+
+    for (int update = 0; update < STEERING_UPDATES_PER_LOOP; update++) {
+      module.updateSteering();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.subsystems;
+
+import frc.robot.BenchmarkSupport;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks the shooter velocity lookup run while aiming. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShooterBenchmark {
+  /** The number of distinct inputs cycled through so results are not constant folded. */
+  private static final int INPUT_COUNT = 64;
+
+  private Shooter shooter;
+
+  private final double[] distances = new double[INPUT_COUNT];
+  private int index;
+
+  @Setup
+  public void setup() {
+    BenchmarkSupport.initialize();
+
+    shooter = new Shooter();
+
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      distances[i] = Shooter.HUB_SHOT_DISTANCE + (Shooter.SHOOTING_RANGE * i) / (INPUT_COUNT - 1);
+    }
+  }
+
+  /** {@return the next shot distance} */
+  private double nextDistance() {
+    index = (index + 1) % INPUT_COUNT;
+    return distances[index];
+  }
+
+  @Benchmark
+  public double interpolationTableLookup() {
+    return shooter.getVelocityFromInterpolationTable(nextDistance());
+  }
+
+  @Benchmark
+  public void setGoalDistance() {
+    shooter.setGoalDistance(nextDistance());
+  }
+}
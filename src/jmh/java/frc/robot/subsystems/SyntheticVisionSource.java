@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.subsystems;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation3d;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.photonvision.targeting.MultiTargetPNPResult;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+import org.photonvision.targeting.PnpResult;
+import org.photonvision.targeting.TargetCorner;
+
+/**
+ * Fabricates PhotonVision pipeline results for a single camera without a coprocessor.
+ *
+ * <p>Each frame reports a fixed number of the AprilTags closest to the camera, preferring tags in
+ * front of it, with camera-to-tag transforms computed from the field layout. The pose ambiguity of
+ * each target is drawn around a nominal value. Frames with more than one target also carry a
+ * multi-tag PnP result so every pose estimation strategy has the inputs it expects.
+ */
+final class SyntheticVisionSource {
+  /** The time between capturing a frame and publishing its result. */
+  private static final double PIPELINE_LATENCY = 0.030;
+
+  /** Added to the distance of tags behind the camera so visible tags are preferred. */
+  private static final double BEHIND_CAMERA_PENALTY = 100.0;
+
+  private static final List<TargetCorner> CORNERS =
+      List.of(
+          new TargetCorner(100, 100),
+          new TargetCorner(140, 100),
+          new TargetCorner(140, 140),
+          new TargetCorner(100, 140));
+
+  private final AprilTagFieldLayout layout;
+  private final Transform3d robotToCamera;
+  private final int tagCount;
+  private final double ambiguity;
+  private final Random random;
+
+  /**
+   * Creates a new SyntheticVisionSource.
+   *
+   * @param layout The AprilTag field layout.
+   * @param robotToCamera The transform from the robot to the camera.
+   * @param tagCount The number of tags reported in each frame.
+   * @param ambiguity The nominal pose ambiguity of each target.
+   * @param seed The seed of the random number generator used to vary the targets.
+   */
+  SyntheticVisionSource(
+      AprilTagFieldLayout layout,
+      Transform3d robotToCamera,
+      int tagCount,
+      double ambiguity,
+      long seed) {
+    this.layout = layout;
+    this.robotToCamera = robotToCamera;
+    this.tagCount = tagCount;
+    this.ambiguity = ambiguity;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Creates the pipeline result for a frame captured with the robot at the specified pose.
+   *
+   * @param sequenceID The sequence number of the frame.
+   * @param timestamp The time, in seconds, at which the result is published.
+   * @param robotPose The pose of the robot on the field.
+   * @return The pipeline result.
+   */
+  PhotonPipelineResult createFrame(long sequenceID, double timestamp, Pose2d robotPose) {
+    Pose3d cameraPose = new Pose3d(robotPose).transformBy(robotToCamera);
+    List<edu.wpi.first.apriltag.AprilTag> tags = new ArrayList<>(layout.getTags());
+
+    tags.sort(Comparator.comparingDouble((tag) -> rankTag(cameraPose, tag)));
+
+    List<PhotonTrackedTarget> targets = new ArrayList<>();
+    List<Short> fiducialIDs = new ArrayList<>();
+
+    for (int i = 0; i < Math.min(tagCount, tags.size()); i++) {
+      edu.wpi.first.apriltag.AprilTag tag = tags.get(i);
+      Transform3d cameraToTag = new Transform3d(cameraPose, tag.pose);
+      Transform3d altCameraToTag =
+          cameraToTag.plus(
+              new Transform3d(
+                  new Translation3d(0.1 * random.nextGaussian(), 0.1 * random.nextGaussian(), 0),
+                  new Rotation3d(0, 0, Math.PI * ambiguity)));
+      Translation3d translation = cameraToTag.getTranslation();
+      double distance = translation.getNorm();
+      double yaw = -Math.toDegrees(Math.atan2(translation.getY(), translation.getX()));
+      double pitch =
+          Math.toDegrees(
+              Math.atan2(translation.getZ(), Math.hypot(translation.getX(), translation.getY())));
+
+      targets.add(
+          new PhotonTrackedTarget(
+              yaw,
+              pitch,
+              100.0 / (1.0 + distance * distance),
+              0.0,
+              tag.ID,
+              -1,
+              -1.0f,
+              cameraToTag,
+              altCameraToTag,
+              ambiguity * (0.5 + random.nextDouble()),
+              CORNERS,
+              CORNERS));
+      fiducialIDs.add((short) tag.ID);
+    }
+
+    Optional<MultiTargetPNPResult> multiTagResult =
+        targets.size() > 1
+            ? Optional.of(
+                new MultiTargetPNPResult(
+                    new PnpResult(new Transform3d(new Pose3d(), cameraPose), 0.1), fiducialIDs))
+            : Optional.empty();
+
+    long publishTimestamp = (long) (timestamp * 1e6);
+    long captureTimestamp = publishTimestamp - (long) (PIPELINE_LATENCY * 1e6);
+
+    return new PhotonPipelineResult(
+        sequenceID, captureTimestamp, publishTimestamp, 0, targets, multiTagResult);
+  }
+
+  /** {@return the rank of a tag for selection, with lower ranks selected first} */
+  private static double rankTag(Pose3d cameraPose, edu.wpi.first.apriltag.AprilTag tag) {
+    Transform3d cameraToTag = new Transform3d(cameraPose, tag.pose);
+    double distance = cameraToTag.getTranslation().getNorm();
+
+    return cameraToTag.getX() > 0 ? distance : distance + BEHIND_CAMERA_PENALTY;
+  }
+}
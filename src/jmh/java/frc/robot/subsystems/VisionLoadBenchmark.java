@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.subsystems;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import frc.robot.BenchmarkSupport;
+import frc.robot.drive.FusedPoseEstimator;
+import frc.robot.parameters.PoseEstimationStrategy;
+import frc.robot.parameters.SwerveDriveParameters;
+import frc.robot.util.FieldUtils;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.photonvision.EstimatedRobotPose;
+import org.photonvision.targeting.PhotonPipelineResult;
+
+/**
+ * Measures how much AprilTag vision load the robot code can sustain.
+ *
+ * <p>Synthetic pipeline results with a configurable number of tags and pose ambiguity are
+ * generated ahead of time for up to four cameras as the robot drives a circle around the center of
+ * the field. Each benchmark operation processes one frame from the next camera: the robot pose is
+ * estimated with the selected strategy, the standard deviations of the estimate are updated, and
+ * the estimate is fused into the {@link FusedPoseEstimator} the drivetrain uses, the same way
+ * {@code Subsystems.updateEstimatedPose} and {@link Swerve#addVisionMeasurement} do. The pose
+ * estimator is updated once per round of frames at the camera frame rate, so each vision
+ * measurement replays the updates since it was captured.
+ *
+ * <p>The {@code throughput} benchmark reports frames per second, which must comfortably exceed
+ * {@code cameraCount * frameRate} for the load to be sustainable alongside the rest of the robot
+ * loop. The {@code latency} benchmark reports the per-frame latency percentiles. Run with the GC
+ * profiler to report allocations per frame.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VisionLoadBenchmark {
+  /** The number of frames generated for each camera. */
+  private static final int FRAME_COUNT = 128;
+
+  private static final double PATH_RADIUS = 2.5;
+
+  /** The time between capturing a frame and using its estimate. */
+  private static final double LATENCY = 0.030;
+
+  private static final Transform3d[] ROBOT_TO_CAMERAS = {
+    AprilTag.ROBOT_TO_FRONT_LEFT_CAMERA,
+    AprilTag.ROBOT_TO_FRONT_RIGHT_CAMERA,
+    AprilTag.ROBOT_TO_BACK_LEFT_CAMERA,
+    AprilTag.ROBOT_TO_BACK_RIGHT_CAMERA
+  };
+
+  @Param({"1", "4"})
+  public int cameraCount;
+
+  @Param({"1", "2", "4"})
+  public int tagCount;
+
+  @Param({"0.1"})
+  public double ambiguity;
+
+  @Param({"50"})
+  public double frameRate;
+
+  @Param public PoseEstimationStrategy strategy;
+
+  private AprilTag[] cameras;
+  private PhotonPipelineResult[][] frames;
+  private Pose2d[] robotPoses;
+  private SwerveModulePosition[] modulePositions;
+  private FusedPoseEstimator poseEstimator;
+  private double yawRate;
+
+  private int frameIndex;
+  private int cameraIndex;
+  private double timestamp;
+
+  @Setup
+  public void setup() {
+    BenchmarkSupport.initialize();
+
+    AprilTagFieldLayout layout = FieldUtils.getFieldLayout();
+    double centerX = layout.getFieldLength() / 2;
+    double centerY = layout.getFieldWidth() / 2;
+
+    robotPoses = new Pose2d[FRAME_COUNT];
+
+    for (int i = 0; i < FRAME_COUNT; i++) {
+      double angle = (2 * Math.PI * i) / FRAME_COUNT;
+
+      robotPoses[i] =
+          new Pose2d(
+              centerX + PATH_RADIUS * Math.cos(angle),
+              centerY + PATH_RADIUS * Math.sin(angle),
+              Rotation2d.fromRadians(angle + Math.PI / 2));
+    }
+
+    cameras = new AprilTag[cameraCount];
+    frames = new PhotonPipelineResult[cameraCount][FRAME_COUNT];
+
+    for (int c = 0; c < cameraCount; c++) {
+      String cameraName = "BenchmarkCamera" + c;
+
+      cameras[c] =
+          new AprilTag(
+              cameraName,
+              ROBOT_TO_CAMERAS[c],
+              cameraName + "_Output_MJPEG_Server",
+              "http://localhost:1181/stream.mjpg",
+              cameraName);
+
+      SyntheticVisionSource source =
+          new SyntheticVisionSource(layout, ROBOT_TO_CAMERAS[c], tagCount, ambiguity, c);
+
+      for (int i = 0; i < FRAME_COUNT; i++) {
+        frames[c][i] = source.createFrame(i, i / frameRate, robotPoses[i]);
+      }
+    }
+
+    modulePositions = new SwerveModulePosition[4];
+
+    for (int i = 0; i < modulePositions.length; i++) {
+      modulePositions[i] = new SwerveModulePosition();
+    }
+
+    SwerveDriveParameters parameters = SwerveDriveParameters.CompetitionBase2026;
+
+    poseEstimator =
+        new FusedPoseEstimator(
+            parameters.getWheelPositions(),
+            parameters.getMaxDriveAcceleration(),
+            timestamp,
+            robotPoses[0].getRotation(),
+            modulePositions,
+            robotPoses[0]);
+
+    // The robot turns once around the circle every FRAME_COUNT rounds of frames.
+    yawRate = 2 * Math.PI * frameRate / FRAME_COUNT;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public void throughput() {
+    processNextFrame();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void latency() {
+    processNextFrame();
+  }
+
+  /** Processes the next frame from the next camera. */
+  private void processNextFrame() {
+    if (cameraIndex == 0) {
+      // Start a new round of frames.
+      timestamp += 1.0 / frameRate;
+      frameIndex = (frameIndex + 1) % FRAME_COUNT;
+      poseEstimator.update(
+          timestamp, robotPoses[frameIndex].getRotation(), yawRate, 0.0, 0.0, modulePositions);
+    }
+
+    AprilTag camera = cameras[cameraIndex];
+    Optional<EstimatedRobotPose> estimate =
+        camera.processResult(frames[cameraIndex][frameIndex], strategy);
+
+    if (estimate.isPresent()) {
+      Matrix<N3, N1> stdDevs = camera.getEstimationStdDevs();
+
+      poseEstimator.addVisionMeasurement(
+          estimate.get().estimatedPose.toPose2d(),
+          timestamp - LATENCY,
+          stdDevs.get(0, 0),
+          stdDevs.get(1, 0),
+          stdDevs.get(2, 0));
+
+      if (camera.shouldUpdateOdometry()) {
+        poseEstimator.resetPosition(
+            robotPoses[frameIndex].getRotation(),
+            modulePositions,
+            poseEstimator.getEstimatedPosition());
+      }
+    }
+
+    cameraIndex = (cameraIndex + 1) % cameraCount;
+  }
+}
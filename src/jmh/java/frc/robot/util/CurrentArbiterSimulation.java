@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import frc.robot.BenchmarkSupport;
+import frc.robot.util.CurrentArbiter.Priority;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Simulates the robot's current draw on a battery model and compares the configured static supply
+ * current limits with the limits assigned by the {@link CurrentArbiter}.
+ *
+ * <p>The battery is modeled as an open-circuit voltage that falls as it discharges in series with
+ * an internal resistance, which is higher than the arbiter assumes. The robot repeats a cycle of
+ * sprinting to the neutral zone while intaking, returning and shooting while being pushed by a
+ * defender. Each mechanism demands a scripted current at the nominal battery voltage, which falls
+ * in proportion to the battery voltage, and draws the smaller of that and its supply current limit.
+ * Limit changes take effect one loop after they are requested, as the configuration writes are not
+ * waited for. Devices the arbiter does not manage draw a constant current. When the battery voltage
+ * falls below the brownout voltage, the roboRIO disables the motor outputs for the next loop.
+ *
+ * <p>For each run, the lowest battery voltage, the time spent below the roboRIO brownout voltage
+ * and the fraction of the current demanded by the shooter while shooting and by the drive that was
+ * delivered are written as JSON to the path given by the {@code
+ * currentArbiterSimulation.resultsFile} system property.
+ */
+public final class CurrentArbiterSimulation {
+  private static final double PERIOD = 0.02;
+  private static final double CYCLE_TIME = 10.0;
+
+  private static final double FULL_OPEN_CIRCUIT_VOLTAGE = 12.9;
+  private static final double EMPTY_OPEN_CIRCUIT_VOLTAGE = 11.7;
+  private static final double BATTERY_CAPACITY = 18.0 * 3600.0; // amp seconds
+  private static final double BATTERY_RESISTANCE = 0.022;
+  private static final double NOMINAL_VOLTAGE = 12.0;
+  private static final double BROWNOUT_VOLTAGE = 6.75;
+
+  /** The current, in amps, drawn by the steering motors, controllers, radio and cameras. */
+  private static final double UNMANAGED_CURRENT = 15.0;
+
+  /** The configured supply current limits and minimums of the robot's mechanisms. */
+  private static final MotorCurrentConfig DRIVE_CURRENT_CONFIG = new MotorCurrentConfig(80, 160);
+  private static final MotorCurrentConfig INTAKE_CURRENT_CONFIG = new MotorCurrentConfig(80, 160);
+  private static final MotorCurrentConfig SHOOTER_CURRENT_CONFIG = new MotorCurrentConfig(40, 70);
+  private static final MotorCurrentConfig ROLLERS_CURRENT_CONFIG = new MotorCurrentConfig(60, 60);
+  private static final double MIN_DRIVE_LIMIT = 20.0;
+  private static final double MIN_INTAKE_LIMIT = 15.0;
+  private static final double MIN_SHOOTER_LIMIT = 10.0;
+  private static final double MIN_ROLLERS_LIMIT = 10.0;
+
+  /** A motor that draws the smaller of its demanded current and its supply current limit. */
+  private static final class SimulatedMotor extends NullMotorAdapter {
+    private double demand;
+    private double voltageScale = 1.0;
+    private double limit;
+    private double pendingLimit;
+
+    private SimulatedMotor(MotorCurrentConfig config) {
+      this.limit = config.supplyCurrentLimit();
+      this.pendingLimit = limit;
+    }
+
+    @Override
+    public double getSupplyCurrent() {
+      return Math.min(demand * voltageScale, limit);
+    }
+
+    @Override
+    public void setSupplyCurrentLimit(double supplyCurrentLimit) {
+      pendingLimit = supplyCurrentLimit;
+    }
+
+    /** Applies the limit requested during the last loop. */
+    private void applyPendingLimit() {
+      limit = pendingLimit;
+    }
+  }
+
+  /** A group of motors sharing a scripted demand. */
+  private record Mechanism(SimulatedMotor[] motors) {
+    private Mechanism(MotorCurrentConfig config, int motorCount) {
+      this(newMotors(config, motorCount));
+    }
+
+    private static SimulatedMotor[] newMotors(MotorCurrentConfig config, int motorCount) {
+      SimulatedMotor[] motors = new SimulatedMotor[motorCount];
+
+      for (int i = 0; i < motorCount; i++) {
+        motors[i] = new SimulatedMotor(config);
+      }
+
+      return motors;
+    }
+
+    /** Sets the current, in amps, demanded by each motor. */
+    private void setDemand(double demand) {
+      for (SimulatedMotor motor : motors) {
+        motor.demand = demand;
+      }
+    }
+
+    /** Sets the ratio of the voltage available to the motors to the nominal battery voltage. */
+    private void setVoltageScale(double voltageScale) {
+      for (SimulatedMotor motor : motors) {
+        motor.voltageScale = voltageScale;
+      }
+    }
+
+    /** {@return the total current, in amps, demanded by the motors} */
+    private double getDemand() {
+      return motors.length * motors[0].demand;
+    }
+
+    /** {@return the total current, in amps, drawn by the motors} */
+    private double getCurrent() {
+      double current = 0.0;
+
+      for (SimulatedMotor motor : motors) {
+        current += motor.getSupplyCurrent();
+      }
+
+      return current;
+    }
+
+    private void applyPendingLimits() {
+      for (SimulatedMotor motor : motors) {
+        motor.applyPendingLimit();
+      }
+    }
+  }
+
+  /** The results of a simulated match. */
+  private record Result(
+      double minBatteryVoltage,
+      double timeBelowBrownout,
+      double shooterDelivered,
+      double driveDelivered) {
+    /** {@return the result as a JSON object} */
+    String toJson() {
+      return String.format(
+          Locale.ROOT,
+          "{ \"minBatteryVoltage\": %.2f, \"timeBelowBrownout\": %.2f, "
+              + "\"shooterDelivered\": %.3f, \"driveDelivered\": %.3f }",
+          minBatteryVoltage,
+          timeBelowBrownout,
+          shooterDelivered,
+          driveDelivered);
+    }
+  }
+
+  private CurrentArbiterSimulation() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path resultsFile =
+        Path.of(
+            System.getProperty(
+                "currentArbiterSimulation.resultsFile",
+                "build/reports/current-arbiter/results.json"));
+    double duration =
+        Double.parseDouble(System.getProperty("currentArbiterSimulation.duration", "150"));
+
+    BenchmarkSupport.initialize();
+
+    String results =
+        String.format(
+            Locale.ROOT,
+            """
+            {
+              "duration": %.0f,
+              "staticLimits": %s,
+              "currentArbiter": %s
+            }
+            """,
+            duration,
+            simulate(duration, false).toJson(),
+            simulate(duration, true).toJson());
+
+    Path parent = resultsFile.toAbsolutePath().getParent();
+
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+
+    Files.writeString(resultsFile, results);
+
+    System.out.print(results);
+
+    // The simulated HAL leaves non-daemon threads running, so exit explicitly.
+    System.exit(0);
+  }
+
+  /**
+   * Simulates a match.
+   *
+   * @param duration The duration of the match in seconds.
+   * @param isArbitrated Whether the current arbiter assigns the supply current limits.
+   * @return The results.
+   */
+  private static Result simulate(double duration, boolean isArbitrated) {
+    Mechanism drive = new Mechanism(DRIVE_CURRENT_CONFIG, 4);
+    Mechanism intake = new Mechanism(INTAKE_CURRENT_CONFIG, 2);
+    Mechanism shooter = new Mechanism(SHOOTER_CURRENT_CONFIG, 4);
+    Mechanism indexer = new Mechanism(ROLLERS_CURRENT_CONFIG, 1);
+    Mechanism hopper = new Mechanism(ROLLERS_CURRENT_CONFIG, 1);
+    Mechanism[] mechanisms = {drive, intake, shooter, indexer, hopper};
+    boolean[] isShooting = new boolean[1];
+    CurrentArbiter arbiter = new CurrentArbiter();
+
+    if (isArbitrated) {
+      Supplier<Priority> shootingPriority = () -> isShooting[0] ? Priority.HIGH : Priority.LOW;
+
+      arbiter.register(
+          "Drive", () -> Priority.NORMAL, DRIVE_CURRENT_CONFIG, MIN_DRIVE_LIMIT, drive.motors());
+      arbiter.register(
+          "Intake",
+          () -> Priority.NORMAL,
+          INTAKE_CURRENT_CONFIG,
+          MIN_INTAKE_LIMIT,
+          intake.motors());
+      arbiter.register(
+          "Shooter", shootingPriority, SHOOTER_CURRENT_CONFIG, MIN_SHOOTER_LIMIT, shooter.motors());
+      arbiter.register(
+          "Indexer", shootingPriority, ROLLERS_CURRENT_CONFIG, MIN_ROLLERS_LIMIT, indexer.motors());
+      arbiter.register(
+          "Hopper", shootingPriority, ROLLERS_CURRENT_CONFIG, MIN_ROLLERS_LIMIT, hopper.motors());
+    }
+
+    double charge = BATTERY_CAPACITY;
+    double batteryVoltage = FULL_OPEN_CIRCUIT_VOLTAGE;
+    double minBatteryVoltage = Double.POSITIVE_INFINITY;
+    double timeBelowBrownout = 0.0;
+    double shooterDemand = 0.0;
+    double shooterCurrent = 0.0;
+    double driveDemand = 0.0;
+    double driveCurrent = 0.0;
+    int loops = (int) Math.round(duration / PERIOD);
+
+    for (int loop = 0; loop < loops; loop++) {
+      double time = loop * PERIOD;
+
+      for (Mechanism mechanism : mechanisms) {
+        mechanism.applyPendingLimits();
+      }
+
+      isShooting[0] = setDemands(time % CYCLE_TIME, drive, intake, shooter, indexer, hopper);
+
+      double voltageScale =
+          batteryVoltage < BROWNOUT_VOLTAGE ? 0.0 : Math.min(batteryVoltage / NOMINAL_VOLTAGE, 1.0);
+
+      for (Mechanism mechanism : mechanisms) {
+        mechanism.setVoltageScale(voltageScale);
+      }
+
+      double totalCurrent = UNMANAGED_CURRENT;
+
+      for (Mechanism mechanism : mechanisms) {
+        totalCurrent += mechanism.getCurrent();
+      }
+
+      double stateOfCharge = charge / BATTERY_CAPACITY;
+      double openCircuitVoltage =
+          EMPTY_OPEN_CIRCUIT_VOLTAGE
+              + (FULL_OPEN_CIRCUIT_VOLTAGE - EMPTY_OPEN_CIRCUIT_VOLTAGE) * stateOfCharge;
+
+      batteryVoltage = openCircuitVoltage - totalCurrent * BATTERY_RESISTANCE;
+      charge -= totalCurrent * PERIOD;
+
+      // The arbiter measures the battery voltage and motor currents of this loop and the limits it
+      // sets take effect in the next.
+      if (isArbitrated) {
+        arbiter.update(time, batteryVoltage);
+      }
+
+      minBatteryVoltage = Math.min(minBatteryVoltage, batteryVoltage);
+
+      if (batteryVoltage < BROWNOUT_VOLTAGE) {
+        timeBelowBrownout += PERIOD;
+      }
+
+      if (isShooting[0]) {
+        shooterDemand += shooter.getDemand();
+        shooterCurrent += shooter.getCurrent();
+      }
+
+      driveDemand += drive.getDemand();
+      driveCurrent += drive.getCurrent();
+    }
+
+    return new Result(
+        minBatteryVoltage,
+        timeBelowBrownout,
+        shooterCurrent / shooterDemand,
+        driveCurrent / driveDemand);
+  }
+
+  /**
+   * Sets the current demanded by each mechanism at a point in the cycle.
+   *
+   * @param time The time since the start of the cycle in seconds.
+   * @return Whether the robot is shooting.
+   */
+  private static boolean setDemands(
+      double time,
+      Mechanism drive,
+      Mechanism intake,
+      Mechanism shooter,
+      Mechanism indexer,
+      Mechanism hopper) {
+    boolean isShooting = time >= 6.0;
+
+    if (time < 0.5 || (time >= 3.0 && time < 3.5)) {
+      // Accelerating out of a turn.
+      drive.setDemand(75.0);
+    } else if (time < 6.0) {
+      drive.setDemand(30.0);
+    } else if (time < 8.0) {
+      // Pushed by a defender while shooting.
+      drive.setDemand(60.0);
+    } else {
+      drive.setDemand(10.0);
+    }
+
+    intake.setDemand(time >= 1.0 && time < 3.0 ? 40.0 : 0.0);
+
+    if (!isShooting) {
+      shooter.setDemand(0.0);
+    } else if (time < 7.0) {
+      // Spinning up to the shot velocity.
+      shooter.setDemand(50.0);
+    } else {
+      shooter.setDemand(20.0);
+    }
+
+    double feed = isShooting && time >= 6.5 ? 35.0 : 0.0;
+
+    indexer.setDemand(feed);
+    hopper.setDemand(feed);
+
+    return isShooting;
+  }
+}
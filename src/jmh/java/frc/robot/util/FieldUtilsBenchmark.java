@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.BenchmarkSupport;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks the auto-rotation target selection and target math run by the Swerve subsystem. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldUtilsBenchmark {
+  /** The number of distinct inputs cycled through so results are not constant folded. */
+  private static final int INPUT_COUNT = 64;
+
+  private static final double FIELD_LENGTH = 16.54;
+  private static final double FIELD_WIDTH = 8.07;
+
+  private final Translation2d[] robotLocations = new Translation2d[INPUT_COUNT];
+  private int index;
+
+  @Setup
+  public void setup() {
+    BenchmarkSupport.initialize();
+
+    // Spread the robot locations across the alliance and neutral zones.
+    for (int i = 0; i < INPUT_COUNT; i++) {
+      double fraction = (double) i / INPUT_COUNT;
+
+      robotLocations[i] = new Translation2d(FIELD_LENGTH * fraction, FIELD_WIDTH * (1 - fraction));
+    }
+  }
+
+  /** {@return the next robot location} */
+  private Translation2d nextRobotLocation() {
+    index = (index + 1) % INPUT_COUNT;
+    return robotLocations[index];
+  }
+
+  @Benchmark
+  public Translation2d getAutoRotationTarget() {
+    return FieldUtils.getAutoRotationTarget(nextRobotLocation());
+  }
+
+  /**
+   * Measures the target distance and angle calculation performed by {@code Swerve.updateTarget()}.
+   * The Swerve subsystem itself requires its CAN devices, so the calculation is reproduced here.
+   */
+  @Benchmark
+  public double swervePeriodicTargetMath() {
+    Translation2d robotLocation = nextRobotLocation();
+    Translation2d targetLocation = FieldUtils.getAutoRotationTarget(robotLocation);
+
+    Translation2d vectorToTarget = targetLocation.minus(robotLocation);
+    double distanceToTarget = vectorToTarget.getNorm();
+    double angleToTarget = vectorToTarget.getAngle().getRadians();
+
+    return distanceToTarget + angleToTarget;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import frc.robot.BenchmarkSupport;
+import frc.robot.RobotPreferences;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reading the preferences used by the robot loop each loop, directly and from the
+ * {@link PreferenceSnapshot}. Each operation reads the preferences read by one loop while driving
+ * with one camera, so the difference between the two is the saving per loop. The {@code
+ * LoopBenchmark} makes the same reads after each loop of the simulated robot to report the saving
+ * against the preferences of a running robot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreferenceSnapshotBenchmark {
+  @Setup
+  public void setup() {
+    BenchmarkSupport.initialize();
+    PreferenceSnapshot.start();
+  }
+
+  @Benchmark
+  public double readPreferences() {
+    double value = RobotPreferences.RIGHT_TRIGGER_SCALAR.getValue();
+
+    value += RobotPreferences.ENABLE_RUMBLE.getValue() ? 1.0 : 0.0;
+    value += RobotPreferences.POSE_ESTIMATION_STRATEGY.getValue().ordinal();
+    value += RobotPreferences.SHOULD_UPDATE_ODOMETRY.getValue() ? 1.0 : 0.0;
+
+    return value;
+  }
+
+  @Benchmark
+  public double readSnapshot() {
+    double value = PreferenceSnapshot.getRightTriggerScalar();
+
+    value += PreferenceSnapshot.isRumbleEnabled() ? 1.0 : 0.0;
+    value += PreferenceSnapshot.getPoseEstimationStrategy().ordinal();
+    value += PreferenceSnapshot.shouldUpdateOdometry() ? 1.0 : 0.0;
+
+    return value;
+  }
+}
@@ -29,6 +29,7 @@ public final class Constants {
     public static final double MAX_BATTERY_VOLTAGE = 12.0;
     public static final double WHEEL_DIAMETER = Units.inchesToMeters(isCompBot() ? 3.8525 : 3.75);
     public static final int LED_COUNT = 60;
+    public static final double LED_FRAME_RATE = 30.0;
     public static final double PERIODIC_INTERVAL = 0.02;
 
     public static class LEDSegment {
@@ -14,6 +14,17 @@ import com.nrg948.dashboard.annotations.Dashboard;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.util.CANBusPlanner;
+import frc.robot.util.DeviceHealthMonitor;
+import frc.robot.util.LoadShedder;
+import frc.robot.util.LoopPipeline;
+import frc.robot.util.LoopPipeline.Phase;
+import frc.robot.util.MatchState;
+import frc.robot.util.MatchTimeline;
+import frc.robot.util.MotorThermalMonitor;
+import frc.robot.util.MultiRateScheduler;
+import frc.robot.util.PreferenceSnapshot;
+import frc.robot.util.StartupProfiler;
 
 /**
  * The methods in this class are called automatically corresponding to each mode, as described in
@@ -34,11 +45,37 @@ public class Robot extends TimedRobot {
    * initialization code.
    */
   public Robot() {
+    // Copy the preferences read on hot paths and keep them up to date as they change.
+    PreferenceSnapshot.start();
+
     // Instantiate our RobotContainer.  This will perform all our button bindings, and put our
     // autonomous chooser on the dashboard.
-    robotContainer = new RobotContainer();
+    robotContainer = StartupProfiler.span("RobotContainer", RobotContainer::new);
 
-    dashboardServer = DashboardServer.start(this, DASHBOARD_MODE.getValue().toString());
+    // Runs the Scheduler.  This is responsible for polling buttons, adding newly-scheduled
+    // commands, running already-scheduled commands, removing finished or interrupted commands,
+    // and running subsystem periodic() methods.  This must be run from the robot's periodic
+    // block in order for anything in the Command-based framework to work. It runs after the
+    // subsystems have estimated the pose from this loop's sensors and before the current limits
+    // are updated.
+    LoopPipeline.register(Phase.COMMANDS, CommandScheduler.getInstance()::run);
+    LoopPipeline.register(Phase.LIMIT, MotorThermalMonitor::periodic);
+    LoopPipeline.register(Phase.TELEMETRY, robotContainer::periodic);
+    LoopPipeline.register(Phase.TELEMETRY, DeviceHealthMonitor::periodic);
+    LoopPipeline.register(Phase.TELEMETRY, CANBusPlanner::periodic);
+
+    // Now that the devices have been created, turn off the status signals nothing reads.
+    CANBusPlanner.optimize();
+
+    // Run the control and telemetry tasks registered by the subsystems at their own rates.
+    MultiRateScheduler.start(this);
+
+    dashboardServer =
+        StartupProfiler.span(
+            "DashboardServer",
+            () -> DashboardServer.start(this, DASHBOARD_MODE.getValue().toString()));
+
+    StartupProfiler.ready();
   }
 
   /**
@@ -50,26 +87,49 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void robotPeriodic() {
-    // Runs the Scheduler.  This is responsible for polling buttons, adding newly-scheduled
-    // commands, running already-scheduled commands, removing finished or interrupted commands,
-    // and running subsystem periodic() methods.  This must be called from the robot's periodic
-    // block in order for anything in the Command-based framework to work.
-    CommandScheduler.getInstance().run();
-    robotContainer.periodic();
+    LoadShedder.startLoop();
+
+    // Capture the match state before anything reads it this loop.
+    refreshMatchState();
+
+    // Sense, estimate, target, run the commands, update the current limits and the telemetry in
+    // order.
+    LoopPipeline.run();
+
+    LoadShedder.endLoop();
+  }
+
+  /** {@return the robot container} */
+  RobotContainer getRobotContainer() {
+    return robotContainer;
+  }
+
+  /**
+   * Refreshes the match state. This runs at the start of every loop in {@link #robotPeriodic()}.
+   * It is also called from the mode initialization methods, which run before {@link
+   * #robotPeriodic()}, so the snapshot would otherwise still reflect the previous mode.
+   */
+  private void refreshMatchState() {
+    MatchState.update();
+    MatchTimeline.update();
   }
 
   /** This function is called once each time the robot enters Disabled mode. */
   @Override
   public void disabledInit() {
+    refreshMatchState();
     robotContainer.disableInit();
   }
 
   @Override
-  public void disabledPeriodic() {}
+  public void disabledPeriodic() {
+    robotContainer.disabledPeriodic();
+  }
 
   /** This autonomous runs the autonomous command selected by your {@link RobotContainer} class. */
   @Override
   public void autonomousInit() {
+    refreshMatchState();
     robotContainer.autonomousInit();
     m_autonomousCommand = robotContainer.getAutonomousCommand();
 
@@ -85,6 +145,7 @@ public class Robot extends TimedRobot {
 
   @Override
   public void teleopInit() {
+    refreshMatchState();
     robotContainer.teleopInit();
     // This makes sure that the autonomous stops running when
     // teleop starts running. If you want the autonomous to
@@ -101,6 +162,8 @@ public class Robot extends TimedRobot {
 
   @Override
   public void testInit() {
+    refreshMatchState();
+
     // Cancels all running commands at the start of test mode.
     CommandScheduler.getInstance().cancelAll();
   }
@@ -39,8 +39,10 @@ import frc.robot.commands.LEDs.LEDCommands;
 import frc.robot.commands.ShootingCommands;
 import frc.robot.subsystems.Subsystems;
 import frc.robot.subsystems.Swerve;
+import frc.robot.util.FieldUtils;
 import frc.robot.util.MatchUtil;
 import frc.robot.util.MotorIdleMode;
+import frc.robot.util.StartupProfiler;
 import java.util.function.BooleanSupplier;
 
 /**
@@ -67,14 +69,14 @@ public class RobotContainer {
       modes = {"Competition", "Testing"})
   private final RobotPreferences preferences = new RobotPreferences();
 
-  private final Subsystems subsystems = new Subsystems();
+  private final Subsystems subsystems = StartupProfiler.span("Subsystems", Subsystems::new);
 
   /** The container for the robot. Contains subsystems, OI devices, and commands. */
   public RobotContainer() {
     DriverStation.silenceJoystickConnectionWarning(true);
-    Autos.init(subsystems);
+    StartupProfiler.span("Autos", () -> Autos.init(subsystems));
 
-    operator = new RobotOperator(subsystems);
+    operator = StartupProfiler.span("RobotOperator", () -> new RobotOperator(subsystems));
 
     subsystems.drivetrain.setDefaultCommand(
         new DriveUsingController(subsystems.drivetrain, driverController));
@@ -140,6 +142,12 @@ public class RobotContainer {
                     Commands.run(drivetrain::setXLock, drivetrain),
                     ShootingCommands.shootFromTower(subsystems))
                 .withName("ManualShootFromTower"));
+    driverController
+        .povLeft()
+        .whileTrue(
+            DriveCommands.pathfindTo(drivetrain, FieldUtils::getTowerShotPose)
+                .withName("PathfindToTowerShot"));
+    driverController.povRight().whileTrue(DriveCommands.driveToShot(drivetrain));
 
     driverController.leftTrigger().onTrue(moveArmToAngle(subsystems, BUMP_ANGLE));
     driverController.leftTrigger().onFalse(moveArmToAngle(subsystems, EXTENDED_ANGLE));
@@ -207,11 +215,21 @@ public class RobotContainer {
     return Autos.getAutonomous();
   }
 
+  /** {@return the subsystems} */
+  Subsystems getSubsystems() {
+    return subsystems;
+  }
+
   public void disableInit() {
     subsystems.disableManipulators();
     subsystems.setIdleMode(MotorIdleMode.COAST);
     subsystems.drivetrain.setIdleMode(MotorIdleMode.COAST);
     CommandScheduler.getInstance().schedule(LEDCommands.autoLEDs(subsystems));
+    Autos.refreshAutoCache();
+  }
+
+  public void disabledPeriodic() {
+    Autos.buildNextCachedAuto();
   }
 
   public void teleopInit() {
@@ -230,7 +248,6 @@ public class RobotContainer {
   }
 
   public void periodic() {
-    subsystems.periodic();
     operator.periodic();
   }
 }
@@ -33,7 +33,10 @@ import frc.robot.subsystems.IntakeArm;
 import frc.robot.subsystems.Shooter;
 import frc.robot.subsystems.Subsystems;
 import frc.robot.subsystems.Swerve;
+import frc.robot.util.DashboardMode.Tier;
+import frc.robot.util.DashboardThrottle;
 import frc.robot.util.HubState;
+import frc.robot.util.MatchTimeline;
 import frc.robot.util.MatchUtil;
 import java.util.Optional;
 
@@ -41,6 +44,7 @@ import java.util.Optional;
 public final class RobotOperator {
   private static final String BLACK_HEX_STRING = Colors.BLACK.toHexString();
   private static final double BLINK_DURATION = 1.0 / 3.0;
+  private static final double INTAKE_VELOCITY_DEADBAND = 0.05;
 
   private final Swerve drivetrain;
   private final IntakeArm intakeArm;
@@ -52,6 +56,11 @@ public final class RobotOperator {
   private Timer blinkTimer = new Timer();
   private boolean blinkOn = true;
 
+  // The robot pose and intake velocity shown on the dashboard.
+  private final DashboardThrottle dashboardThrottle =
+      new DashboardThrottle(Tier.OPERATOR, "Operator");
+  private double intakeVelocity;
+
   /** Selects whether to use left or right side auto */
   @DashboardSplitButtonChooser(
       title = "Autonomous Start Side",
@@ -126,67 +135,9 @@ public final class RobotOperator {
     return blinkOn ? hubState.getColor() : BLACK_HEX_STRING;
   }
 
-  /** Called in periodic() to update to the hub state. */
+  /** Called in periodic() to update to the hub state from the precompiled match timeline. */
   private void updateHubState() {
-    if (MatchUtil.isAutonomous()) {
-      setHubState(HubState.ACTIVE);
-      return;
-    }
-
-    if (!MatchUtil.isTeleop()) {
-      setHubState(HubState.INACTIVE);
-      return;
-    }
-
-    double matchTime = MatchUtil.getMatchTimeRemaining();
-
-    if (matchTime < 0) {
-      setHubState(HubState.INACTIVE);
-    }
-
-    switch (hubState) {
-      case ACTIVE:
-        if (!MatchUtil.isHubActiveAt(
-            matchTime - HubState.PREPARING_TO_DISABLE_10_SEC.getDeltaTime())) {
-          setHubState(HubState.PREPARING_TO_DISABLE_10_SEC);
-        } else if (matchTime <= HubState.NEARING_END_OF_MATCH.getDeltaTime()) {
-          setHubState(HubState.NEARING_END_OF_MATCH);
-        }
-        break;
-      case INACTIVE:
-        if (MatchUtil.isHubActiveAt(
-            matchTime - HubState.PREPARING_SHOOTING_DISABLED.getDeltaTime())) {
-          setHubState(HubState.PREPARING_SHOOTING_DISABLED);
-        }
-        break;
-      case PREPARING_SHOOTING_DISABLED:
-        if (MatchUtil.isHubActiveAt(
-            matchTime - HubState.PREPARING_SHOOTING_ENABLED.getDeltaTime())) {
-          setHubState(HubState.PREPARING_SHOOTING_ENABLED);
-        }
-        break;
-      case PREPARING_SHOOTING_ENABLED:
-        if (MatchUtil.isHubActiveAt(matchTime)) {
-          setHubState(HubState.ACTIVE);
-        }
-        break;
-      case PREPARING_TO_DISABLE_5_SEC:
-        if (!MatchUtil.isHubActiveAt(matchTime)) {
-          setHubState(HubState.INACTIVE);
-        }
-        break;
-      case PREPARING_TO_DISABLE_10_SEC:
-        if (!MatchUtil.isHubActiveAt(
-            matchTime - HubState.PREPARING_TO_DISABLE_5_SEC.getDeltaTime())) {
-          setHubState(HubState.PREPARING_TO_DISABLE_5_SEC);
-        }
-        break;
-      case NEARING_END_OF_MATCH:
-        if (matchTime <= 0) {
-          setHubState(HubState.INACTIVE);
-        }
-        break;
-    }
+    setHubState(MatchTimeline.getHubState());
   }
 
   /**
@@ -266,11 +217,17 @@ public final class RobotOperator {
 
   @DashboardTextDisplay(title = "Intake Velocity: ", column = 3, row = 3, width = 2, height = 1)
   public double getIntakeVelocity() {
-    return intake.getCurrentVelocity();
+    return intakeVelocity;
   }
 
   public void periodic() {
-    field.setRobotPose(drivetrain.getPosition());
+    if (dashboardThrottle.shouldUpdate()) {
+      field.setRobotPose(drivetrain.getPosition());
+      intakeVelocity =
+          DashboardThrottle.deadband(
+              intakeVelocity, intake.getCurrentVelocity(), INTAKE_VELOCITY_DEADBAND);
+    }
+
     updateHubState();
   }
 
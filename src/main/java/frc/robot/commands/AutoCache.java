@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.commands;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.parameters.AutoSide;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.zip.CRC32;
+
+/**
+ * A cache of PathPlanner autonomous commands built while the robot is disabled.
+ *
+ * <p>Every auto is built for each {@link AutoSide} it is valid for while the robot is disabled, so
+ * enabling autonomous does not have to parse the auto and path files and generate trajectories.
+ * Entries are keyed by the auto name, side and a hash of the contents of the auto file and the
+ * path files it references, so an entry is rebuilt when any of those files changes.
+ *
+ * <p>Only the files are read and hashed on a background thread. Building a command composes
+ * commands, which registers them with the {@link
+ * edu.wpi.first.wpilibj2.command.CommandScheduler}, so the commands are built on the main robot
+ * thread, one per call to {@link #buildNext()}, to keep each disabled loop short.
+ *
+ * <p>A command can only be added to one composition, so a cached command is removed when it is
+ * taken. It is rebuilt the next time the cache is refreshed.
+ */
+final class AutoCache {
+  private static final DataLog LOG = DataLogManager.getLog();
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String PATH_FILE_TYPE = ".path";
+
+  /** The key identifying a cached auto command. */
+  private record Key(String name, AutoSide side, long contentHash) {}
+
+  private final File autosDir;
+  private final String autoFileType;
+  private final File pathsDir;
+  private final BiFunction<String, AutoSide, Command> autoBuilder;
+  private final BiPredicate<String, AutoSide> isValidAuto;
+
+  // The built commands. Only accessed from the main robot thread.
+  private final Map<Key, Command> commands = new HashMap<>();
+
+  // The latest content hash of each auto, and the commands waiting to be built with it. These are
+  // produced by the background thread and consumed by the main robot thread.
+  private final Map<String, Long> contentHashes = new ConcurrentHashMap<>();
+  private final Queue<Key> pending = new ConcurrentLinkedQueue<>();
+
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          (runnable) -> {
+            Thread thread = new Thread(runnable, "AutoCache");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  private final DoubleLogEntry logHashTime = new DoubleLogEntry(LOG, "/Autos/Cache Hash Time");
+  private final DoubleLogEntry logBuildTime = new DoubleLogEntry(LOG, "/Autos/Cache Build Time");
+
+  /**
+   * Creates a new AutoCache.
+   *
+   * @param autosDir The directory containing the PathPlanner auto files.
+   * @param autoFileType The file extension of the PathPlanner auto files.
+   * @param pathsDir The directory containing the PathPlanner path files.
+   * @param autoBuilder Builds the auto command for the specified auto name and side.
+   * @param isValidAuto Returns whether the specified auto name is valid for the specified side.
+   */
+  AutoCache(
+      File autosDir,
+      String autoFileType,
+      File pathsDir,
+      BiFunction<String, AutoSide, Command> autoBuilder,
+      BiPredicate<String, AutoSide> isValidAuto) {
+    this.autosDir = autosDir;
+    this.autoFileType = autoFileType;
+    this.pathsDir = pathsDir;
+    this.autoBuilder = autoBuilder;
+    this.isValidAuto = isValidAuto;
+  }
+
+  /**
+   * Hashes the auto and path files on the background thread and queues any missing or out-of-date
+   * auto commands to be built by {@link #buildNext()}.
+   *
+   * @param autoNames The names of the autos to build.
+   */
+  void refresh(List<String> autoNames) {
+    executor.execute(() -> hash(autoNames));
+  }
+
+  /**
+   * Builds the next queued auto command. This must be called from the main robot thread, e.g. once
+   * per loop while the robot is disabled.
+   */
+  void buildNext() {
+    Key key = pending.poll();
+
+    if (key == null) {
+      return;
+    }
+
+    Long contentHash = contentHashes.get(key.name());
+
+    // Skip commands queued for contents that have since changed or that are already built.
+    if (contentHash == null || contentHash != key.contentHash() || commands.containsKey(key)) {
+      return;
+    }
+
+    // Drop the commands built from the old contents.
+    commands
+        .keySet()
+        .removeIf((k) -> k.name().equals(key.name()) && k.contentHash() != contentHash);
+
+    long startTime = System.nanoTime();
+
+    try {
+      commands.put(key, autoBuilder.apply(key.name(), key.side()));
+    } catch (RuntimeException e) {
+      DriverStation.reportError(
+          String.format("Failed to build auto: %s (%s)", key.name(), key.side()),
+          e.getStackTrace());
+    }
+
+    logBuildTime.append((System.nanoTime() - startTime) / 1e9);
+  }
+
+  /**
+   * Removes and returns the cached command for the specified auto and side. This must be called
+   * from the main robot thread.
+   *
+   * @param name The name of the auto.
+   * @param side The side to run the auto from.
+   * @return The cached command or null if it has not been built yet.
+   */
+  Command take(String name, AutoSide side) {
+    Long contentHash = contentHashes.get(name);
+
+    if (contentHash == null) {
+      return null;
+    }
+
+    return commands.remove(new Key(name, side, contentHash));
+  }
+
+  /** Hashes the auto files on the background thread and queues the commands to build. */
+  private void hash(List<String> autoNames) {
+    long startTime = System.nanoTime();
+
+    for (String name : autoNames) {
+      long contentHash;
+
+      try {
+        contentHash = hashAuto(name);
+      } catch (IOException e) {
+        DriverStation.reportError("Failed to read auto file: " + name, e.getStackTrace());
+        continue;
+      }
+
+      contentHashes.put(name, contentHash);
+
+      for (AutoSide side : AutoSide.values()) {
+        if (isValidAuto.test(name, side)) {
+          pending.add(new Key(name, side, contentHash));
+        }
+      }
+    }
+
+    logHashTime.append((System.nanoTime() - startTime) / 1e9);
+  }
+
+  /** {@return a hash of the contents of the auto file and the path files it references} */
+  private long hashAuto(String name) throws IOException {
+    CRC32 crc = new CRC32();
+    byte[] autoFile = Files.readAllBytes(new File(autosDir, name + autoFileType).toPath());
+
+    crc.update(autoFile);
+
+    // Hash the paths in a stable order so the hash does not depend on how they are used.
+    JsonNode auto = MAPPER.readTree(autoFile);
+
+    for (String pathName : new TreeSet<>(auto.findValuesAsText("pathName"))) {
+      crc.update(Files.readAllBytes(new File(pathsDir, pathName + PATH_FILE_TYPE).toPath()));
+    }
+
+    return crc.getValue();
+  }
+}
@@ -10,6 +10,7 @@ package frc.robot.commands;
 import com.nrg948.dashboard.annotations.DashboardPIDController;
 import com.nrg948.preferences.ProfiledPIDControllerPreference;
 import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.drive.AimController;
 import frc.robot.subsystems.Swerve;
 
 /** A command that enables the driver to drive the robot using an Xbox controller. */
@@ -54,14 +55,16 @@ public class AutoRotation extends Command {
   }
 
   private double calculateRotationSpeed(ProfiledPIDControllerPreference controller) {
+    AimController aim = drivetrain.getAimController();
 
     currentOrientation = drivetrain.getOrientation().getRadians();
 
-    targetOrientation = drivetrain.getAngleToTarget();
+    targetOrientation = aim.getTargetBearing();
 
     double feedback = controller.calculate(currentOrientation, targetOrientation);
 
-    double rSpeed = feedback;
+    // Turn with the bearing to the target as it changes so the feedback only corrects the error.
+    double rSpeed = feedback + aim.getRotationFeedforward();
 
     return rSpeed;
   }
@@ -17,9 +17,14 @@ import com.pathplanner.lib.commands.PathPlannerAuto;
 import com.pathplanner.lib.config.PIDConstants;
 import com.pathplanner.lib.config.RobotConfig;
 import com.pathplanner.lib.controllers.PPHolonomicDriveController;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
 import edu.wpi.first.wpilibj.Alert;
 import edu.wpi.first.wpilibj.Alert.AlertType;
+import edu.wpi.first.wpilibj.DataLogManager;
 import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
@@ -32,22 +37,36 @@ import frc.robot.subsystems.Subsystems;
 import frc.robot.subsystems.Swerve;
 import frc.robot.util.MatchUtil;
 import io.arxila.javatuples.LabelValue;
-import io.arxila.javatuples.Pair;
 import java.io.File;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /** A utility class for autonomous related commands and selection. */
 public final class Autos {
   private static final String AUTO_FILE_TYPE = ".auto";
   private static final File AUTOS_DIR =
       new File(Filesystem.getDeployDirectory(), "pathplanner/autos");
+  private static final File PATHS_DIR =
+      new File(Filesystem.getDeployDirectory(), "pathplanner/paths");
 
-  private static final HashMap<Pair<String, AutoSide>, Command> autosMap = new HashMap<>();
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  private static final AutoCache autoCache =
+      new AutoCache(
+          AUTOS_DIR, AUTO_FILE_TYPE, PATHS_DIR, Autos::buildPathPlannerAuto, Autos::isValidAuto);
+  private static List<String> autoNames = List.of();
+  private static PrecompiledAutos precompiledAutos;
+
+  private static final DoubleLogEntry logEnableToMotion =
+      new DoubleLogEntry(LOG, "/Autos/Enable To Motion");
+  private static double autoStartTime = Double.NaN;
+  private static double enableToMotion = Double.NaN;
 
   private static final SendableChooser<AutoSide> sideChooser =
       EnumChooser.fromDefault(AutoSide.RIGHT);
@@ -67,21 +86,32 @@ public final class Autos {
     RobotConfig config = Swerve.PARAMETERS.getPathplannerConfig();
     Swerve drivetrain = subsystems.drivetrain;
 
+    PPHolonomicDriveController controller =
+        new PPHolonomicDriveController(
+            new PIDConstants(5.0, 0.0, 0.0), new PIDConstants(5.0, 0.0, 0.0));
+    Consumer<ChassisSpeeds> output =
+        (speeds) -> {
+          logFirstMotion(speeds);
+          drivetrain.setChassisSpeeds(speeds);
+        };
+
     NamedCommands.registerCommands(getPathplannerEventMap(subsystems));
     AutoBuilder.configure(
         drivetrain::getPosition,
         drivetrain::resetPosition,
         drivetrain::getChassisSpeeds,
-        drivetrain::setChassisSpeeds,
-        new PPHolonomicDriveController(
-            new PIDConstants(5.0, 0.0, 0.0), new PIDConstants(5.0, 0.0, 0.0)),
+        output,
+        controller,
         config,
         MatchUtil::isRedAlliance,
         drivetrain);
 
+    precompiledAutos =
+        new PrecompiledAutos(AUTOS_DIR, AUTO_FILE_TYPE, config, drivetrain, controller, output);
+
     autoChooser = Autonomous.getChooser(subsystems);
-    autoChooser.onChange(Autos::preloadAuto);
-    sideChooser.onChange(Autos::preloadAuto);
+    autoChooser.onChange((auto) -> updateInvalidAutoAlert());
+    sideChooser.onChange((side) -> updateInvalidAutoAlert());
 
     delayChooser.setDefaultOption("No Delay", (Integer) 0);
     for (var i = 1; i < 8; i++) {
@@ -104,11 +134,11 @@ public final class Autos {
       Subsystems subsystems) {
     File[] autoFiles = AUTOS_DIR.listFiles((file, name) -> name.endsWith(AUTO_FILE_TYPE));
     if (autoFiles == null) {
-      return java.util.List.of();
+      return List.of();
     }
-    return Arrays.stream(autoFiles)
-        .map((file) -> file.getName().split("\\.")[0])
-        .sorted()
+    autoNames =
+        Arrays.stream(autoFiles).map((file) -> file.getName().split("\\.")[0]).sorted().toList();
+    return autoNames.stream()
         .map(name -> new LabelValue<>(name, generatePathPlannerAuto(subsystems, name)))
         .toList();
   }
@@ -123,73 +153,95 @@ public final class Autos {
     Set<Subsystem> requirements = new HashSet<>(Arrays.asList(subsystems.getManipulators()));
     requirements.add(subsystems.drivetrain);
     return Commands.defer(
-            () ->
-                Commands.sequence(
-                    Commands.waitSeconds(delayChooser.getSelected()), getPathPlannerAuto(name)),
+            () -> {
+              autoStartTime = Timer.getFPGATimestamp() + delayChooser.getSelected();
+              return Commands.sequence(
+                  Commands.waitSeconds(delayChooser.getSelected()), getPathPlannerAuto(name));
+            },
             requirements)
         .withName(name);
   }
 
   /**
    * Returns the PathPlanner auto command for the side selected by {@link #sideChooser} from the
-   * {@link #autosMap}, creating one if it hasn't already been preloaded.
+   * {@link #autoCache}, creating one if it hasn't already been built.
    *
    * @param name Name of the PathPlanner auto.
    * @return The PathPlanner auto command.
    */
   private static Command getPathPlannerAuto(String name) {
     AutoSide side = sideChooser.getSelected();
-    Command autoCommand = autosMap.remove(new Pair<>(name, side));
+
+    if (!isValidAuto(name, side)) {
+      invalidAutoAlert.set(true);
+
+      return Commands.none().withName(name + " (Invalid)");
+    }
+
+    invalidAutoAlert.set(false);
+
+    Command autoCommand = autoCache.take(name, side);
 
     if (autoCommand == null) {
-      autoCommand = newPathPlannerAuto(name, side);
+      autoCommand = buildPathPlannerAuto(name, side);
     }
 
     return autoCommand;
   }
 
   /**
-   * Preloads the specified PathPlanner command for the side selected by {@link #sideChooser}.
-   *
-   * @param auto The auto to preload.
+   * Checks the PathPlanner auto and path files for changes on a background thread and queues any
+   * auto commands that are missing from the cache to be built. This should be called when the
+   * robot is disabled.
    */
-  private static void preloadAuto(Command auto) {
-    if (auto == null) {
-      return;
-    }
-
-    String autoName = auto.getName();
-    preloadAuto(autoName, sideChooser.getSelected());
+  public static void refreshAutoCache() {
+    autoCache.refresh(autoNames);
   }
 
   /**
-   * Preloads the PathPlanner command selected by {@link #autoChooser} for the given side.
-   *
-   * @param side the side to preload the auto for
+   * Builds the next PathPlanner auto command queued by {@link #refreshAutoCache()}. This should be
+   * called once per loop while the robot is disabled.
    */
-  private static void preloadAuto(AutoSide side) {
+  public static void buildNextCachedAuto() {
+    autoCache.buildNext();
+  }
+
+  /** Updates the invalid auto alert for the auto and side selected on the dashboard. */
+  private static void updateInvalidAutoAlert() {
     Command auto = autoChooser.getSelected();
+    AutoSide side = sideChooser.getSelected();
 
-    if (auto == null) {
+    if (auto == null || side == null) {
       return;
     }
 
-    preloadAuto(auto.getName(), side);
+    invalidAutoAlert.set(!isValidAuto(auto.getName(), side));
   }
 
   /**
-   * Preloads the PathPlanner command with the given name for the given side.
+   * Logs the time from enabling autonomous to the first non-zero drive command.
    *
-   * @param autoName the name of the PathPlanner auto
-   * @param side the side to preload the auto for
+   * @param speeds The chassis speeds commanded by PathPlanner.
    */
-  private static void preloadAuto(String autoName, AutoSide side) {
-    File autoFile = new File(AUTOS_DIR, autoName + AUTO_FILE_TYPE);
-
-    if (autoFile.exists()) {
-      Command autoCommand = newPathPlannerAuto(autoName, side);
-      autosMap.put(new Pair<String, AutoSide>(autoName, side), autoCommand);
+  private static void logFirstMotion(ChassisSpeeds speeds) {
+    if (Double.isNaN(autoStartTime)
+        || (speeds.vxMetersPerSecond == 0
+            && speeds.vyMetersPerSecond == 0
+            && speeds.omegaRadiansPerSecond == 0)) {
+      return;
     }
+
+    enableToMotion = Timer.getFPGATimestamp() - autoStartTime;
+    logEnableToMotion.append(enableToMotion);
+    autoStartTime = Double.NaN;
+  }
+
+  /**
+   * {@return the time, in seconds, from enabling the last autonomous routine to its first drive
+   * command, excluding the selected delay, or NaN if it has not moved yet}
+   */
+  public static double getEnableToMotion() {
+    return enableToMotion;
   }
 
   /**
@@ -199,7 +251,7 @@ public final class Autos {
    * @param side the side to check the auto for
    * @return true if the auto is valid, false otherwise
    */
-  private static boolean isValidAuto(String autoName, AutoSide side) {
+  static boolean isValidAuto(String autoName, AutoSide side) {
     if (autoName.contains("Outpost")) {
       return side == AutoSide.RIGHT;
     }
@@ -212,25 +264,22 @@ public final class Autos {
   }
 
   /**
-   * {@return a {@link PathPlannerAuto} instance for the given PathPlanner autonomous routine name}
-   * If the selected PathPlanner routine is not valid for the selected side, returns a command that
-   * does nothing.
+   * {@return the command for the given PathPlanner autonomous routine name} The command follows
+   * the trajectories precompiled at build time when they are up to date. Otherwise, it is a {@link
+   * PathPlannerAuto} instance that generates the trajectories from the path files. This must be
+   * called from the main robot thread, since composing the commands registers them with the
+   * command scheduler.
    *
    * @param name the PathPlanner autonomous routine name
    * @param side the starting side/field position to run the auto from (e.g., {@code AutoSide.LEFT}
    *     or {@code AutoSide.RIGHT}); paths are mirrored when {@code side == AutoSide.LEFT}
    */
-  private static Command newPathPlannerAuto(String name, AutoSide side) {
-    if (!isValidAuto(name, side)) {
-      invalidAutoAlert.set(true);
-
-      return Commands.none().withName(name + " (Invalid)");
-    }
-
-    invalidAutoAlert.set(false);
-
+  static Command buildPathPlannerAuto(String name, AutoSide side) {
     // Depot autos are defined on the left side and do not need to be mirrored.
-    return new PathPlannerAuto(name, side == AutoSide.LEFT && !name.contains("Depot"));
+    boolean isMirrored = side == AutoSide.LEFT && !name.contains("Depot");
+    Command command = precompiledAutos.build(name, isMirrored);
+
+    return command != null ? command : new PathPlannerAuto(name, isMirrored);
   }
 
   /**
@@ -269,6 +318,8 @@ public final class Autos {
 
     eventMaps.put("DriveUntilLevel", DriveCommands.driveUntilLevel(subsystems));
 
+    eventMaps.put("DriveToShot", DriveCommands.driveToShot(subsystems.drivetrain));
+
     return eventMaps;
   }
 
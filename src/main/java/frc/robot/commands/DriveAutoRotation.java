@@ -10,6 +10,7 @@ package frc.robot.commands;
 import static frc.robot.RobotPreferences.ROTATION_PID_CONTROLLER;
 
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
+import frc.robot.drive.AimController;
 import frc.robot.subsystems.Swerve;
 
 /** A command that enables the driver to drive the robot using an Xbox controller. */
@@ -19,22 +20,45 @@ public class DriveAutoRotation extends DriveUsingController {
 
   public DriveAutoRotation(Swerve drivetrain, CommandXboxController xboxController) {
     super(drivetrain, xboxController);
-    ROTATION_PID_CONTROLLER.enableContinuousInput(-Math.PI, Math.PI);
   }
 
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    ROTATION_PID_CONTROLLER.reset();
-    ROTATION_PID_CONTROLLER.setIZone(drivetrain.getHubAlignmentTolerance() * IZONE_SCALE_FACTOR);
+    resetRotationController(drivetrain.getHubAlignmentTolerance());
   }
 
   @Override
   protected double calculateRotationSpeed() {
-    double currentOrientation = drivetrain.getOrientation().getRadians();
-    double targetOrientation = drivetrain.getAngleToTarget();
+    return calculateRotationSpeed(
+        drivetrain.getAimController(), drivetrain.getOrientation().getRadians());
+  }
+
+  /**
+   * Resets the rotation controller before turning toward the target.
+   *
+   * @param alignmentTolerance The alignment tolerance, in radians, from the current distance.
+   */
+  public static void resetRotationController(double alignmentTolerance) {
+    ROTATION_PID_CONTROLLER.enableContinuousInput(-Math.PI, Math.PI);
+    ROTATION_PID_CONTROLLER.reset();
+    ROTATION_PID_CONTROLLER.setIZone(alignmentTolerance * IZONE_SCALE_FACTOR);
+  }
+
+  /**
+   * Calculates the rotation speed that turns the robot toward the target of the aim controller.
+   *
+   * @param aim The aim controller, updated this loop.
+   * @param currentOrientation The robot's orientation in radians.
+   * @return The rotation speed as a fraction of the maximum rotational speed.
+   */
+  public static double calculateRotationSpeed(AimController aim, double currentOrientation) {
+    double targetOrientation = aim.getTargetBearing();
 
-    double rSpeed = ROTATION_PID_CONTROLLER.calculate(currentOrientation, targetOrientation);
+    // Turn with the bearing to the target as it changes so the feedback only corrects the error.
+    double rSpeed =
+        ROTATION_PID_CONTROLLER.calculate(currentOrientation, targetOrientation)
+            + aim.getRotationFeedforward();
     return rSpeed;
   }
 }
@@ -7,12 +7,17 @@
  
 package frc.robot.commands;
 
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
+import frc.robot.drive.ShotMap;
 import frc.robot.subsystems.Subsystems;
 import frc.robot.subsystems.Swerve;
 import frc.robot.util.FieldUtils;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /** A factory class for creating robot commands related to driving. */
 public final class DriveCommands {
@@ -71,6 +76,41 @@ public final class DriveCommands {
         .withName("DriveUntilLevel");
   }
 
+  /**
+   * Returns a command that drives to a goal pose along a path planned around the field obstacles.
+   * The path is replanned when the goal moves.
+   *
+   * @param drivetrain The swerve drive subsystem.
+   * @param goalSupplier Supplies the goal pose on the field.
+   * @return A command that drives to the goal pose.
+   */
+  public static Command pathfindTo(Swerve drivetrain, Supplier<Pose2d> goalSupplier) {
+    return new PathfindToPose(drivetrain, goalSupplier).withName("PathfindTo");
+  }
+
+  /**
+   * Returns a command that drives to the high quality shooting position that is quickest to reach
+   * from where the robot is when the command starts. The robot finishes facing the hub.
+   *
+   * @param drivetrain The swerve drive subsystem.
+   * @return A command that drives to a shooting position.
+   */
+  public static Command driveToShot(Swerve drivetrain) {
+    ShotMap shotMap = drivetrain.getShotMap();
+
+    return Commands.defer(
+            () -> {
+              Optional<Pose2d> shotPose =
+                  shotMap.getNearestShotPose(drivetrain.getPosition().getTranslation());
+
+              return shotPose.isPresent()
+                  ? new PathfindToPose(drivetrain, shotPose::get)
+                  : Commands.none();
+            },
+            Set.of(drivetrain))
+        .withName("DriveToShot");
+  }
+
   private DriveCommands() {
     throw new UnsupportedOperationException("This is a utility class.");
   }
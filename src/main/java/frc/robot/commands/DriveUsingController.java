@@ -7,14 +7,12 @@
  
 package frc.robot.commands;
 
-import static frc.robot.RobotPreferences.ENABLE_RUMBLE;
-import static frc.robot.RobotPreferences.RIGHT_TRIGGER_SCALAR;
-
 import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.wpilibj.GenericHID.RumbleType;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import frc.robot.subsystems.Swerve;
+import frc.robot.util.PreferenceSnapshot;
 
 /** A command that enables the driver to drive the robot using an Xbox controller. */
 public class DriveUsingController extends Command {
@@ -51,7 +49,8 @@ public class DriveUsingController extends Command {
     // The `powerScalar` linearly scales the robot's drive power from 1.0 (when the right trigger is
     // not pressed) down to RIGHT_TRIGGER_SCALAR (when the right trigger is fully depressed).
     powerScalar =
-        (RIGHT_TRIGGER_SCALAR.getValue() - 1.0) * xboxController.getRightTriggerAxis() + 1.0;
+        (PreferenceSnapshot.getRightTriggerScalar() - 1.0) * xboxController.getRightTriggerAxis()
+            + 1.0;
 
     // Applies deadbands to the x, y, and rotation joystick values and then multiplies all speeds by
     // the powerScalar, which allows finer driving control.
@@ -60,7 +59,7 @@ public class DriveUsingController extends Command {
 
     drivetrain.drive(xSpeed, ySpeed, calculateRotationSpeed(), true);
 
-    if (ENABLE_RUMBLE.getValue()) {
+    if (PreferenceSnapshot.isRumbleEnabled()) {
       // Rumbles the driver controller based on a exponential scale based on acceleration between
       // min and max.
       double rumblePower =
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.commands;
+
+import com.pathplanner.lib.controllers.PPHolonomicDriveController;
+import com.pathplanner.lib.trajectory.PathPlannerTrajectory;
+import com.pathplanner.lib.trajectory.PathPlannerTrajectoryState;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.subsystems.Swerve;
+import frc.robot.util.MatchUtil;
+import java.util.function.Consumer;
+
+/**
+ * Follows a precompiled PathPlanner trajectory.
+ *
+ * <p>This behaves like the PathPlanner path following command, except that the trajectory was
+ * generated at build time from the ideal starting state of the path. The trajectory is flipped for
+ * the red alliance when the command is initialized. The named commands of the path's event markers
+ * are run as part of this command when their time is reached and are interrupted if they are still
+ * running when the path ends.
+ */
+final class FollowTrajectoryCommand extends Command {
+  /** The goal velocity below which the robot is stopped at the end of the path. */
+  private static final double STOP_VELOCITY = 0.1;
+
+  private final PathPlannerTrajectory blueTrajectory;
+  private final double[] markerTimes;
+  private final Command[] markerCommands;
+  private final Swerve drivetrain;
+  private final PPHolonomicDriveController controller;
+  private final Consumer<ChassisSpeeds> output;
+  private final Timer timer = new Timer();
+
+  private final boolean[] isMarkerRunning;
+  private PathPlannerTrajectory trajectory;
+  private int nextMarker;
+
+  /**
+   * Creates a new FollowTrajectoryCommand.
+   *
+   * @param path The precompiled path for the blue alliance.
+   * @param markerCommands The commands to run for each event marker of the path.
+   * @param drivetrain The swerve drive subsystem.
+   * @param controller The path following controller.
+   * @param output Consumes the robot-relative chassis speeds to drive the robot.
+   */
+  FollowTrajectoryCommand(
+      TrajectoryFile.Path path,
+      Command[] markerCommands,
+      Swerve drivetrain,
+      PPHolonomicDriveController controller,
+      Consumer<ChassisSpeeds> output) {
+    this.blueTrajectory = path.trajectory();
+    this.markerTimes = path.markerTimes();
+    this.markerCommands = markerCommands;
+    this.drivetrain = drivetrain;
+    this.controller = controller;
+    this.output = output;
+    this.isMarkerRunning = new boolean[markerCommands.length];
+
+    addRequirements(drivetrain);
+
+    for (Command command : markerCommands) {
+      addRequirements(command.getRequirements());
+    }
+  }
+
+  /** {@return the starting pose of the path for the blue alliance} */
+  Pose2d getStartingPose() {
+    return blueTrajectory.getInitialState().pose;
+  }
+
+  @Override
+  public void initialize() {
+    trajectory = MatchUtil.isRedAlliance() ? blueTrajectory.flip() : blueTrajectory;
+    nextMarker = 0;
+
+    controller.reset(drivetrain.getPosition(), drivetrain.getChassisSpeeds());
+    timer.restart();
+  }
+
+  @Override
+  public void execute() {
+    double time = timer.get();
+
+    while (nextMarker < markerTimes.length && markerTimes[nextMarker] <= time) {
+      markerCommands[nextMarker].initialize();
+      isMarkerRunning[nextMarker] = true;
+      nextMarker++;
+    }
+
+    for (int i = 0; i < nextMarker; i++) {
+      if (isMarkerRunning[i]) {
+        markerCommands[i].execute();
+
+        if (markerCommands[i].isFinished()) {
+          markerCommands[i].end(false);
+          isMarkerRunning[i] = false;
+        }
+      }
+    }
+
+    PathPlannerTrajectoryState targetState = trajectory.sample(time);
+
+    output.accept(controller.calculateRobotRelativeSpeeds(drivetrain.getPosition(), targetState));
+  }
+
+  @Override
+  public boolean isFinished() {
+    return timer.hasElapsed(trajectory.getTotalTimeSeconds());
+  }
+
+  @Override
+  public void end(boolean interrupted) {
+    timer.stop();
+
+    for (int i = 0; i < markerCommands.length; i++) {
+      if (isMarkerRunning[i]) {
+        markerCommands[i].end(true);
+        isMarkerRunning[i] = false;
+      }
+    }
+
+    if (!interrupted && trajectory.getEndState().linearVelocity < STOP_VELOCITY) {
+      output.accept(new ChassisSpeeds());
+    }
+  }
+}
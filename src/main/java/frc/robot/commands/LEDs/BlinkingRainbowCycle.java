@@ -10,13 +10,14 @@ package frc.robot.commands.LEDs;
 import static frc.robot.parameters.Colors.BLACK;
 
 import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.util.Color;
-import edu.wpi.first.wpilibj.util.Color8Bit;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.subsystems.StatusLED;
+import frc.robot.util.LEDPalette;
 
 /** A command to display an animated rainbow cycle pattern on the status LEDs. */
 public final class BlinkingRainbowCycle extends Command {
+  private static final LEDPalette RAINBOW_PALETTE = LEDPalette.rainbow(180);
+
   private final StatusLED led;
   private final int ledCount;
   private int step;
@@ -41,6 +42,9 @@ public final class BlinkingRainbowCycle extends Command {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
+    if (!led.shouldAnimate()) {
+      return;
+    }
 
     double t = Timer.getFPGATimestamp();
     boolean on = ((int) (t / (BLINK_TIME / 2.0))) % 2 == 0;
@@ -51,11 +55,11 @@ public final class BlinkingRainbowCycle extends Command {
       return;
     }
 
-    int firstPixelHue = step++ * 3;
+    int firstPixelHue = step * 3;
+    step = (step + 1) % RAINBOW_PALETTE.size();
+
     for (int i = 0; i < ledCount; i++) {
-      Color8Bit color =
-          new Color8Bit(Color.fromHSV((firstPixelHue + ((180 * (i + 1)) / 21)) % 180, 255, 255));
-      led.setColor(color, i);
+      led.setRGB(RAINBOW_PALETTE.get(firstPixelHue + ((180 * (i + 1)) / 21)), i);
     }
     led.commitColor();
   }
@@ -14,6 +14,7 @@ import static frc.robot.parameters.Colors.YELLOW;
 import edu.wpi.first.wpilibj.util.Color8Bit;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.subsystems.StatusLED;
+import frc.robot.util.LEDPalette;
 
 /** A command to display an animated flame pattern on the status LEDs. */
 public final class FlameCycle extends Command {
@@ -21,6 +22,22 @@ public final class FlameCycle extends Command {
   private static final int GREEN_DIFF = RED.getGreen() - YELLOW.getGreen();
   private static final int BLUE_DIFF = RED.getBlue() - YELLOW.getBlue();
 
+  // One full cycle of the flame animation advancing 6 degrees per step.
+  private static final int CYCLE_STEPS = 60;
+
+  // The flame palette blends from yellow toward red as the cycle progresses. The alternate color
+  // is the same blend shifted by half a cycle, so a single palette covers both colors.
+  private static final LEDPalette FLAME_PALETTE =
+      LEDPalette.generate(
+          CYCLE_STEPS,
+          (step) -> {
+            double multiplier = Math.sin(step * Math.toRadians(6)) * 0.5 + 0.5;
+            return new Color8Bit(
+                (int) (RED_DIFF * multiplier + YELLOW.getRed()),
+                (int) (GREEN_DIFF * multiplier + YELLOW.getGreen()),
+                (int) (BLUE_DIFF * multiplier + YELLOW.getBlue()));
+          });
+
   private final StatusLED led;
   private final int ledCount;
 
@@ -45,20 +62,16 @@ public final class FlameCycle extends Command {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    double multiplier = Math.sin(step++ * Math.toRadians(6)) * 0.5 + 0.5;
-    Color8Bit color0 =
-        new Color8Bit(
-            (int) (-(RED_DIFF * multiplier) + RED.getRed()),
-            (int) (-(GREEN_DIFF * multiplier) + RED.getGreen()),
-            (int) (-(BLUE_DIFF * multiplier) + RED.getBlue()));
-    Color8Bit color1 =
-        new Color8Bit(
-            (int) (RED_DIFF * multiplier + YELLOW.getRed()),
-            (int) (GREEN_DIFF * multiplier + YELLOW.getGreen()),
-            (int) (BLUE_DIFF * multiplier + YELLOW.getBlue()));
+    if (!led.shouldAnimate()) {
+      return;
+    }
+
+    int color0 = FLAME_PALETTE.get(step + CYCLE_STEPS / 2);
+    int color1 = FLAME_PALETTE.get(step);
+    step = (step + 1) % CYCLE_STEPS;
+
     for (int i = 0; i < ledCount; i++) {
-      Color8Bit color = ((i / 3) % 2) == 0 ? color0 : color1;
-      led.setColor(color, i);
+      led.setRGB(((i / 3) % 2) == 0 ? color0 : color1, i);
     }
     led.commitColor();
   }
@@ -9,13 +9,14 @@ package frc.robot.commands.LEDs;
 
 import static frc.robot.parameters.Colors.BLACK;
 
-import edu.wpi.first.wpilibj.util.Color;
-import edu.wpi.first.wpilibj.util.Color8Bit;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.subsystems.StatusLED;
+import frc.robot.util.LEDPalette;
 
 /** A command to display an animated rainbow cycle pattern on the status LEDs. */
 public final class RainbowCycle extends Command {
+  private static final LEDPalette RAINBOW_PALETTE = LEDPalette.rainbow(180);
+
   private final StatusLED led;
   private final int ledCount;
   private int step;
@@ -39,11 +40,15 @@ public final class RainbowCycle extends Command {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    int firstPixelHue = step++ * 3;
+    if (!led.shouldAnimate()) {
+      return;
+    }
+
+    int firstPixelHue = step * 3;
+    step = (step + 1) % RAINBOW_PALETTE.size();
+
     for (int i = 0; i < ledCount; i++) {
-      Color8Bit color =
-          new Color8Bit(Color.fromHSV((firstPixelHue + ((180 * (i + 1)) / 21)) % 180, 255, 255));
-      led.setColor(color, i);
+      led.setRGB(RAINBOW_PALETTE.get(firstPixelHue + ((180 * (i + 1)) / 21)), i);
     }
     led.commitColor();
   }
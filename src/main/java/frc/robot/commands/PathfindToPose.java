@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.commands;
+
+import edu.wpi.first.math.controller.HolonomicDriveController;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.drive.Pathfinder;
+import frc.robot.subsystems.Swerve;
+import java.util.function.Supplier;
+
+/**
+ * Drives to a goal pose along a path planned around the field obstacles by the {@link Pathfinder}.
+ *
+ * <p>The path is planned on the pathfinder's background thread. When the goal moves by more than a
+ * small tolerance a new plan is requested, and the robot continues to follow the previous
+ * trajectory until the new one is ready. The robot rotates to the goal orientation while following
+ * the trajectory.
+ */
+final class PathfindToPose extends Command {
+  /** The distance, in meters, the goal must move before a new path is planned. */
+  private static final double GOAL_CHANGE_TOLERANCE = 0.25;
+
+  /** The tolerance used to decide when the robot has reached the goal. */
+  private static final Pose2d GOAL_TOLERANCE = new Pose2d(0.05, 0.05, Rotation2d.fromDegrees(2));
+
+  private final Swerve drivetrain;
+  private final Supplier<Pose2d> goalSupplier;
+  private final Pathfinder pathfinder;
+  private final HolonomicDriveController controller;
+  private final Timer timer = new Timer();
+
+  private Pose2d goal;
+  private long requestId;
+  private Pathfinder.Plan activePlan;
+
+  /**
+   * Creates a new PathfindToPose.
+   *
+   * @param drivetrain The swerve drive subsystem.
+   * @param goalSupplier Supplies the goal pose on the field.
+   */
+  PathfindToPose(Swerve drivetrain, Supplier<Pose2d> goalSupplier) {
+    this.drivetrain = drivetrain;
+    this.goalSupplier = goalSupplier;
+    this.pathfinder = drivetrain.getPathfinder();
+    this.controller = drivetrain.createDriveController();
+
+    controller.setTolerance(GOAL_TOLERANCE);
+
+    addRequirements(drivetrain);
+  }
+
+  @Override
+  public void initialize() {
+    activePlan = null;
+    requestPlan(goalSupplier.get());
+  }
+
+  @Override
+  public void execute() {
+    Pose2d newGoal = goalSupplier.get();
+
+    if (newGoal.getTranslation().getDistance(goal.getTranslation()) > GOAL_CHANGE_TOLERANCE) {
+      requestPlan(newGoal);
+    } else {
+      goal = newGoal;
+    }
+
+    Pathfinder.Plan plan = pathfinder.getPlan();
+
+    if (plan != null && plan.requestId() == requestId && plan != activePlan) {
+      activePlan = plan;
+      timer.restart();
+    }
+
+    if (activePlan == null) {
+      drivetrain.setChassisSpeeds(new ChassisSpeeds());
+      return;
+    }
+
+    Trajectory.State state = activePlan.trajectory().sample(timer.get());
+
+    drivetrain.setChassisSpeeds(
+        controller.calculate(drivetrain.getPosition(), state, goal.getRotation()));
+  }
+
+  @Override
+  public boolean isFinished() {
+    return activePlan != null
+        && activePlan.requestId() == requestId
+        && timer.hasElapsed(activePlan.trajectory().getTotalTimeSeconds())
+        && controller.atReference();
+  }
+
+  @Override
+  public void end(boolean interrupted) {
+    pathfinder.cancel();
+    timer.stop();
+    drivetrain.setChassisSpeeds(new ChassisSpeeds());
+  }
+
+  /** Requests a plan from the current pose to the specified goal. */
+  private void requestPlan(Pose2d newGoal) {
+    Pose2d position = drivetrain.getPosition();
+
+    goal = newGoal;
+    requestId =
+        pathfinder.request(
+            position,
+            ChassisSpeeds.fromRobotRelativeSpeeds(
+                drivetrain.getChassisSpeeds(), position.getRotation()),
+            goal.getTranslation());
+  }
+}
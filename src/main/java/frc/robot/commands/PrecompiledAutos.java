@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.commands;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pathplanner.lib.auto.NamedCommands;
+import com.pathplanner.lib.config.RobotConfig;
+import com.pathplanner.lib.controllers.PPHolonomicDriveController;
+import com.pathplanner.lib.util.FlippingUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Commands;
+import frc.robot.subsystems.Swerve;
+import frc.robot.util.MatchUtil;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Builds PathPlanner auto commands that follow the trajectories precompiled at build time.
+ *
+ * <p>The auto file is read to build the same command composition as a PathPlanner auto, but each
+ * path is followed using its precompiled trajectory from the {@link TrajectoryFile} rather than
+ * parsing the path file and generating the trajectory. If the trajectory file is missing, or any
+ * path of an auto is missing from it or was compiled from a different version of the path file or
+ * robot configuration, no command is built and the caller falls back to the PathPlanner auto.
+ */
+final class PrecompiledAutos {
+  private static final DataLog LOG = DataLogManager.getLog();
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final File PATHS_DIR =
+      new File(Filesystem.getDeployDirectory(), "pathplanner/paths");
+  private static final String PATH_FILE_TYPE = ".path";
+
+  private final File autosDir;
+  private final String autoFileType;
+  private final TrajectoryFile trajectoryFile;
+  private final long configHash;
+  private final Swerve drivetrain;
+  private final PPHolonomicDriveController controller;
+  private final Consumer<ChassisSpeeds> output;
+
+  private final StringLogEntry logFallback = new StringLogEntry(LOG, "/Autos/JSON Fallback");
+
+  /**
+   * Creates a new PrecompiledAutos.
+   *
+   * @param autosDir The directory containing the PathPlanner auto files.
+   * @param autoFileType The file extension of the PathPlanner auto files.
+   * @param config The PathPlanner robot configuration.
+   * @param drivetrain The swerve drive subsystem.
+   * @param controller The path following controller.
+   * @param output Consumes the robot-relative chassis speeds to drive the robot.
+   */
+  PrecompiledAutos(
+      File autosDir,
+      String autoFileType,
+      RobotConfig config,
+      Swerve drivetrain,
+      PPHolonomicDriveController controller,
+      Consumer<ChassisSpeeds> output) {
+    this.autosDir = autosDir;
+    this.autoFileType = autoFileType;
+    this.trajectoryFile = openTrajectoryFile(config.numModules);
+    this.configHash = TrajectoryFile.hashConfig(config);
+    this.drivetrain = drivetrain;
+    this.controller = controller;
+    this.output = output;
+  }
+
+  /** {@return the precompiled trajectory file or null if it could not be opened} */
+  private static TrajectoryFile openTrajectoryFile(int moduleCount) {
+    File file = new File(Filesystem.getDeployDirectory(), TrajectoryFile.FILE_NAME);
+
+    if (!file.exists()) {
+      return null;
+    }
+
+    try {
+      return TrajectoryFile.open(file, moduleCount);
+    } catch (IOException e) {
+      DriverStation.reportWarning(
+          "Failed to open precompiled trajectories: " + e.getMessage(), false);
+      return null;
+    }
+  }
+
+  /**
+   * Builds the auto command using the precompiled trajectories. This must be called from the main
+   * robot thread, since composing the commands registers them with the command scheduler.
+   *
+   * @param name The name of the PathPlanner auto.
+   * @param isMirrored Whether to mirror the paths of the auto.
+   * @return The auto command or null if it cannot be built from the precompiled trajectories.
+   */
+  Command build(String name, boolean isMirrored) {
+    if (trajectoryFile == null) {
+      return null;
+    }
+
+    try {
+      JsonNode auto = MAPPER.readTree(new File(autosDir, name + autoFileType));
+      List<FollowTrajectoryCommand> paths = new ArrayList<>();
+      Command command = buildCommand(auto.path("command"), isMirrored, paths);
+
+      if (command == null) {
+        logFallback.append(name);
+        return null;
+      }
+
+      if (auto.path("resetOdom").asBoolean(true) && !paths.isEmpty()) {
+        Pose2d startingPose = paths.get(0).getStartingPose();
+
+        command = Commands.sequence(resetPosition(startingPose), command);
+      }
+
+      return command;
+    } catch (IOException e) {
+      DriverStation.reportWarning("Failed to read auto file: " + name, false);
+      logFallback.append(name);
+      return null;
+    }
+  }
+
+  /** {@return a command that resets the robot position to the starting pose of the auto} */
+  private Command resetPosition(Pose2d bluePose) {
+    return Commands.runOnce(
+        () ->
+            drivetrain.resetPosition(
+                MatchUtil.isRedAlliance() ? FlippingUtil.flipFieldPose(bluePose) : bluePose));
+  }
+
+  /**
+   * Builds the command described by a PathPlanner auto command object.
+   *
+   * @param json The auto command object.
+   * @param isMirrored Whether to mirror the paths.
+   * @param paths The path following commands built so far, in order.
+   * @return The command or null if it cannot be built from the precompiled trajectories.
+   * @throws IOException If a path file cannot be read.
+   */
+  private Command buildCommand(
+      JsonNode json, boolean isMirrored, List<FollowTrajectoryCommand> paths) throws IOException {
+    JsonNode data = json.path("data");
+
+    switch (json.path("type").asText()) {
+      case "wait":
+        return Commands.waitSeconds(data.path("waitTime").asDouble());
+
+      case "named":
+        return NamedCommands.getCommand(data.path("name").asText());
+
+      case "path":
+        return buildPath(data.path("pathName").asText(), isMirrored, paths);
+
+      case "sequential":
+      case "parallel":
+      case "race":
+      case "deadline":
+        List<Command> commands = new ArrayList<>();
+
+        for (JsonNode child : data.path("commands")) {
+          Command command = buildCommand(child, isMirrored, paths);
+
+          if (command == null) {
+            return null;
+          }
+
+          commands.add(command);
+        }
+
+        return buildGroup(json.path("type").asText(), commands);
+
+      default:
+        return null;
+    }
+  }
+
+  /** {@return the command group of the specified PathPlanner type} */
+  private static Command buildGroup(String type, List<Command> commands) {
+    Command[] members = commands.toArray(Command[]::new);
+
+    switch (type) {
+      case "parallel":
+        return Commands.parallel(members);
+
+      case "race":
+        return Commands.race(members);
+
+      case "deadline":
+        if (members.length == 0) {
+          return Commands.none();
+        }
+
+        return Commands.deadline(members[0], Arrays.copyOfRange(members, 1, members.length));
+
+      default:
+        return Commands.sequence(members);
+    }
+  }
+
+  /**
+   * Builds a command following the precompiled trajectory of a path.
+   *
+   * @param pathName The name of the path.
+   * @param isMirrored Whether to mirror the path.
+   * @param paths The path following commands built so far, in order.
+   * @return The command or null if the precompiled trajectory is missing or stale.
+   * @throws IOException If the path file cannot be read.
+   */
+  private Command buildPath(
+      String pathName, boolean isMirrored, List<FollowTrajectoryCommand> paths) throws IOException {
+    long contentHash = TrajectoryFile.hashPathFile(new File(PATHS_DIR, pathName + PATH_FILE_TYPE));
+    TrajectoryFile.Path path = trajectoryFile.get(configHash, pathName, isMirrored, contentHash);
+
+    if (path == null) {
+      return null;
+    }
+
+    Command[] markerCommands = new Command[path.markerCommands().length];
+
+    for (int i = 0; i < markerCommands.length; i++) {
+      markerCommands[i] = NamedCommands.getCommand(path.markerCommands()[i]);
+    }
+
+    FollowTrajectoryCommand command =
+        new FollowTrajectoryCommand(path, markerCommands, drivetrain, controller, output);
+
+    paths.add(command);
+
+    return command;
+  }
+}
@@ -9,8 +9,11 @@ package frc.robot.commands;
 
 import com.nrg948.dashboard.annotations.DashboardPIDController;
 import com.nrg948.preferences.ProfiledPIDControllerPreference;
+import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
+import frc.robot.drive.AimController;
 import frc.robot.subsystems.Shooter;
 import frc.robot.subsystems.Subsystems;
 import frc.robot.subsystems.Swerve;
@@ -44,37 +47,68 @@ public class ShootWhileMoving extends DriveUsingController {
   }
 
   private double calculateRotationSpeed(ProfiledPIDControllerPreference controller) {
-    Translation2d robotVelocity =
-        new Translation2d(
-                drivetrain.getChassisSpeeds().vxMetersPerSecond,
-                drivetrain.getChassisSpeeds().vyMetersPerSecond)
-            .rotateBy(drivetrain.getOrientation().unaryMinus());
+    AimController aim = drivetrain.getAimController();
+    MovingShot shot =
+        calculateMovingShot(
+            drivetrain.getChassisSpeeds(),
+            drivetrain.getOrientation(),
+            shooter.getVelocityFromInterpolationTable(aim.getDistance()),
+            aim.getTargetBearing());
 
-    Translation2d shooterVelocityStill =
-        new Translation2d(
-            shooter.getVelocityFromInterpolationTable(drivetrain.getDistanceToTarget()),
-            drivetrain.getAngleToTarget());
+    double currentOrientation = drivetrain.getOrientation().getRadians();
 
-    Translation2d shooterVelocityMoving = shooterVelocityStill.minus(robotVelocity);
+    double feedback = controller.calculate(currentOrientation, shot.targetOrientation());
 
-    double currentOrientation = drivetrain.getOrientation().getRadians();
+    shooter.setGoalVelocity(shot.shooterVelocity());
 
-    double angleBetweenVector =
-        Math.acos(
-            shooterVelocityStill.dot(shooterVelocityMoving)
-                / shooterVelocityStill.getNorm()
-                / shooterVelocityMoving.getNorm());
-    double targetOrientation =
-        drivetrain.getAngleToTarget()
-            + angleBetweenVector * Math.signum(shooterVelocityStill.cross(shooterVelocityMoving));
+    // Turn with the bearing to the target as it changes so the feedback only corrects the error.
+    double rSpeed = feedback + aim.getRotationFeedforward();
 
-    double feedback = controller.calculate(currentOrientation, targetOrientation);
+    return rSpeed;
+  }
 
-    shooter.setGoalVelocity(shooterVelocityMoving.getNorm());
+  /**
+   * The robot orientation and shooter velocity that compensate a shot for the robot's motion.
+   *
+   * @param targetOrientation The robot orientation in radians.
+   * @param shooterVelocity The shooter goal velocity in meters per second.
+   */
+  record MovingShot(double targetOrientation, double shooterVelocity) {}
+
+  /**
+   * Calculates the robot orientation and shooter velocity that compensate a shot for the robot's
+   * motion.
+   *
+   * @param chassisSpeeds The current robot-relative chassis speeds.
+   * @param orientation The current robot orientation.
+   * @param shooterVelocityStill The shooter velocity for a shot taken while the robot is still.
+   * @param angleToTarget The field-relative angle from the robot to the target in radians.
+   * @return The compensated shot.
+   */
+  static MovingShot calculateMovingShot(
+      ChassisSpeeds chassisSpeeds,
+      Rotation2d orientation,
+      double shooterVelocityStill,
+      double angleToTarget) {
+    Translation2d robotVelocity =
+        new Translation2d(chassisSpeeds.vxMetersPerSecond, chassisSpeeds.vyMetersPerSecond)
+            .rotateBy(orientation);
 
-    double rSpeed = feedback;
+    Translation2d shotVelocityStill =
+        new Translation2d(shooterVelocityStill, new Rotation2d(angleToTarget));
 
-    return rSpeed;
+    Translation2d shotVelocityMoving = shotVelocityStill.minus(robotVelocity);
+
+    double angleBetweenVector =
+        Math.acos(
+            shotVelocityStill.dot(shotVelocityMoving)
+                / shotVelocityStill.getNorm()
+                / shotVelocityMoving.getNorm());
+    double targetOrientation =
+        angleToTarget
+            + angleBetweenVector * Math.signum(shotVelocityStill.cross(shotVelocityMoving));
+
+    return new MovingShot(targetOrientation, shotVelocityMoving.getNorm());
   }
 
   @Override
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.commands;
+
+import com.pathplanner.lib.config.RobotConfig;
+import com.pathplanner.lib.trajectory.PathPlannerTrajectory;
+import com.pathplanner.lib.trajectory.PathPlannerTrajectoryState;
+import com.pathplanner.lib.util.DriveFeedforwards;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A memory-mapped file of PathPlanner trajectories precompiled before deploying by the {@code
+ * compileTrajectories} Gradle task.
+ *
+ * <p>The file contains the ideal trajectory of every path, both as drawn and mirrored, for each
+ * robot configuration it was compiled for. Each entry records a hash of the robot configuration and
+ * of the path file it was generated from so stale entries can be detected and the path generated
+ * from its JSON file instead. Only the entry index is read when the file is opened. The states of a
+ * trajectory are decoded from the mapped buffer when it is requested.
+ *
+ * <p>The file is a sequence of big-endian values. The header contains the {@link #MAGIC} number,
+ * the {@link #VERSION} and the number of entries. Each entry contains the robot configuration hash,
+ * the path name, whether the path is mirrored, the path file hash, the event markers as a count
+ * followed by the time and named command of each marker and the states as a count followed by
+ * {@link #STATE_FIELDS} floats per state.
+ */
+final class TrajectoryFile {
+  /** The location of the file relative to the deploy directory. */
+  static final String FILE_NAME = "pathplanner/trajectories.bin";
+
+  /** The magic number identifying the file ("NRGT"). */
+  static final int MAGIC = 0x4E524754;
+
+  /** The version of the file format. */
+  static final int VERSION = 2;
+
+  /**
+   * The number of floats stored for each state: the time, pose x, y and rotation, field-relative
+   * velocity x, y and omega, linear velocity, heading, delta position and delta rotation.
+   */
+  static final int STATE_FIELDS = 11;
+
+  /** A precompiled path that is ready to follow. */
+  record Path(PathPlannerTrajectory trajectory, double[] markerTimes, String[] markerCommands) {}
+
+  /** The key identifying an entry. */
+  private record Key(long configHash, String name, boolean isMirrored) {}
+
+  /** The location of an entry in the mapped buffer. */
+  private record Entry(long contentHash, int offset) {}
+
+  private final ByteBuffer buffer;
+  private final Map<Key, Entry> entries;
+  private final int moduleCount;
+
+  private TrajectoryFile(ByteBuffer buffer, Map<Key, Entry> entries, int moduleCount) {
+    this.buffer = buffer;
+    this.entries = entries;
+    this.moduleCount = moduleCount;
+  }
+
+  /**
+   * Maps the specified file and reads its entry index.
+   *
+   * @param file The precompiled trajectory file.
+   * @param moduleCount The number of swerve modules on the robot.
+   * @return The trajectory file.
+   * @throws IOException If the file cannot be read or is not a valid trajectory file.
+   */
+  static TrajectoryFile open(File file, int moduleCount) throws IOException {
+    ByteBuffer buffer;
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    if (buffer.remaining() < 12 || buffer.getInt() != MAGIC) {
+      throw new IOException("Not a precompiled trajectory file: " + file);
+    }
+
+    int version = buffer.getInt();
+
+    if (version != VERSION) {
+      throw new IOException(
+          String.format("Unsupported trajectory file version %d: %s", version, file));
+    }
+
+    int entryCount = buffer.getInt();
+    Map<Key, Entry> entries = new HashMap<>(entryCount * 2);
+
+    for (int i = 0; i < entryCount; i++) {
+      long configHash = buffer.getLong();
+      String name = getString(buffer);
+      boolean isMirrored = buffer.get() != 0;
+      long contentHash = buffer.getLong();
+
+      entries.put(
+          new Key(configHash, name, isMirrored), new Entry(contentHash, buffer.position()));
+
+      int markerCount = buffer.getInt();
+
+      for (int j = 0; j < markerCount; j++) {
+        buffer.getFloat();
+        getString(buffer);
+      }
+
+      int stateCount = buffer.getInt();
+
+      buffer.position(buffer.position() + stateCount * STATE_FIELDS * Float.BYTES);
+    }
+
+    return new TrajectoryFile(buffer, entries, moduleCount);
+  }
+
+  /**
+   * Returns the precompiled path for the specified robot configuration if it is up to date. This
+   * may be called from any thread.
+   *
+   * @param configHash The hash of the robot configuration.
+   * @param name The name of the path.
+   * @param isMirrored Whether to return the mirrored path.
+   * @param contentHash The hash of the current contents of the path file.
+   * @return The precompiled path or null if it is missing or stale.
+   */
+  Path get(long configHash, String name, boolean isMirrored, long contentHash) {
+    Entry entry = entries.get(new Key(configHash, name, isMirrored));
+
+    if (entry == null || entry.contentHash() != contentHash) {
+      return null;
+    }
+
+    ByteBuffer data = buffer.duplicate().position(entry.offset());
+    int markerCount = data.getInt();
+    double[] markerTimes = new double[markerCount];
+    String[] markerCommands = new String[markerCount];
+
+    for (int i = 0; i < markerCount; i++) {
+      markerTimes[i] = data.getFloat();
+      markerCommands[i] = getString(data);
+    }
+
+    int stateCount = data.getInt();
+    List<PathPlannerTrajectoryState> states = new ArrayList<>(stateCount);
+
+    for (int i = 0; i < stateCount; i++) {
+      PathPlannerTrajectoryState state = new PathPlannerTrajectoryState();
+
+      state.timeSeconds = data.getFloat();
+      state.pose =
+          new Pose2d(
+              new Translation2d(data.getFloat(), data.getFloat()),
+              new Rotation2d(data.getFloat()));
+      state.fieldSpeeds = new ChassisSpeeds(data.getFloat(), data.getFloat(), data.getFloat());
+      state.linearVelocity = data.getFloat();
+      state.heading = new Rotation2d(data.getFloat());
+      state.deltaPos = data.getFloat();
+      state.deltaRot = new Rotation2d(data.getFloat());
+      state.feedforwards = DriveFeedforwards.zeros(moduleCount);
+      states.add(state);
+    }
+
+    return new Path(new PathPlannerTrajectory(states, List.of()), markerTimes, markerCommands);
+  }
+
+  /**
+   * Returns a hash of the robot configuration properties used to generate trajectories.
+   *
+   * @param config The PathPlanner robot configuration.
+   * @return The hash of the robot configuration.
+   */
+  static long hashConfig(RobotConfig config) {
+    ByteBuffer data = ByteBuffer.allocate((8 + config.moduleLocations.length * 2) * Double.BYTES);
+
+    data.putDouble(config.massKG)
+        .putDouble(config.MOI)
+        .putDouble(config.moduleConfig.wheelRadiusMeters)
+        .putDouble(config.moduleConfig.maxDriveVelocityMPS)
+        .putDouble(config.moduleConfig.wheelCOF)
+        .putDouble(config.moduleConfig.driveCurrentLimit)
+        .putDouble(config.moduleConfig.driveMotor.KtNMPerAmp)
+        .putDouble(config.moduleConfig.driveMotor.freeSpeedRadPerSec);
+
+    for (Translation2d location : config.moduleLocations) {
+      data.putDouble(location.getX()).putDouble(location.getY());
+    }
+
+    CRC32 crc = new CRC32();
+
+    crc.update(data.flip());
+
+    return crc.getValue();
+  }
+
+  /**
+   * Returns a hash of the contents of a path file.
+   *
+   * @param pathFile The PathPlanner path file.
+   * @return The hash of the file contents.
+   * @throws IOException If the file cannot be read.
+   */
+  static long hashPathFile(File pathFile) throws IOException {
+    CRC32 crc = new CRC32();
+
+    crc.update(Files.readAllBytes(pathFile.toPath()));
+
+    return crc.getValue();
+  }
+
+  /** Reads a string stored as an unsigned short length followed by its UTF-8 bytes. */
+  private static String getString(ByteBuffer data) {
+    byte[] bytes = new byte[Short.toUnsignedInt(data.getShort())];
+
+    data.get(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.MathUtil;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Tracks the bearing from the robot to an aiming target and whether the robot is aligned with it.
+ *
+ * <p>While the robot translates, the bearing to the target keeps changing, so a controller that
+ * only feeds back on the bearing error always lags behind it. The aim controller computes the rate
+ * at which the bearing is changing from the robot's field-relative velocity, which the rotation
+ * controllers add as angular velocity feedforward. The pose is also projected forward by the loop
+ * latency, since the rotation command is applied about a loop after the pose it was computed from.
+ *
+ * <p>The aim is updated exactly once per loop by {@link #update}. The alignment state is computed
+ * there too, so querying it any number of times within a loop gives the same answer.
+ */
+public final class AimController {
+  /** The default delay, in seconds, before a rotation command takes effect. */
+  public static final double DEFAULT_LATENCY = 0.02;
+
+  /** The number of consecutive updates the robot must be within tolerance to be aligned. */
+  private static final int ALIGNED_UPDATES = 3;
+
+  private final double latency;
+  private final double maxRotationalSpeed;
+  private final DoubleUnaryOperator alignmentTolerance;
+
+  private double targetBearing;
+  private double bearingRate;
+  private double distance;
+  private double headingError;
+  private int alignedCount;
+  private boolean isAligned;
+
+  /**
+   * Creates a new AimController.
+   *
+   * @param latency The time, in seconds, to project the robot pose forward.
+   * @param maxRotationalSpeed The maximum rotational speed in rad/s.
+   * @param alignmentTolerance Returns the alignment tolerance, in radians, for a distance to the
+   *     target in meters.
+   */
+  public AimController(
+      double latency, double maxRotationalSpeed, DoubleUnaryOperator alignmentTolerance) {
+    this.latency = latency;
+    this.maxRotationalSpeed = maxRotationalSpeed;
+    this.alignmentTolerance = alignmentTolerance;
+  }
+
+  /**
+   * Updates the aim from the robot's current motion.
+   *
+   * @param x The robot's field x position in meters.
+   * @param y The robot's field y position in meters.
+   * @param heading The robot's heading in radians.
+   * @param velocityX The robot's field-relative x velocity in m/s.
+   * @param velocityY The robot's field-relative y velocity in m/s.
+   * @param angularVelocity The robot's angular velocity in rad/s.
+   * @param targetX The target's field x position in meters.
+   * @param targetY The target's field y position in meters.
+   */
+  public void update(
+      double x,
+      double y,
+      double heading,
+      double velocityX,
+      double velocityY,
+      double angularVelocity,
+      double targetX,
+      double targetY) {
+    double dx = targetX - (x + velocityX * latency);
+    double dy = targetY - (y + velocityY * latency);
+    double distanceSquared = dx * dx + dy * dy;
+
+    distance = Math.sqrt(distanceSquared);
+    targetBearing = Math.atan2(dy, dx);
+
+    // The target is fixed, so the vector to it changes at -v and its bearing at (d × -v) / |d|².
+    bearingRate = distanceSquared > 1e-6 ? (dy * velocityX - dx * velocityY) / distanceSquared : 0;
+    headingError = MathUtil.angleModulus(targetBearing - (heading + angularVelocity * latency));
+
+    if (Math.abs(headingError) <= alignmentTolerance.applyAsDouble(distance)) {
+      alignedCount = Math.min(alignedCount + 1, ALIGNED_UPDATES);
+    } else {
+      alignedCount = 0;
+    }
+
+    isAligned = alignedCount >= ALIGNED_UPDATES;
+  }
+
+  /** {@return the field-relative bearing from the robot to the target in radians} */
+  public double getTargetBearing() {
+    return targetBearing;
+  }
+
+  /** {@return the rate at which the bearing to the target is changing in rad/s} */
+  public double getBearingRate() {
+    return bearingRate;
+  }
+
+  /**
+   * {@return the bearing rate as a fraction of the maximum rotational speed, for use as feedforward
+   * with the normalized rotation speed passed to {@link SwerveDrive#drive}}
+   */
+  public double getRotationFeedforward() {
+    return bearingRate / maxRotationalSpeed;
+  }
+
+  /** {@return the distance from the robot to the target in meters} */
+  public double getDistance() {
+    return distance;
+  }
+
+  /** {@return the angle the robot must turn to face the target in radians} */
+  public double getHeadingError() {
+    return headingError;
+  }
+
+  /** {@return whether the robot has been aligned with the target for several updates} */
+  public boolean isAligned() {
+    return isAligned;
+  }
+}
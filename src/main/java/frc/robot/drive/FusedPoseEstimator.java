@@ -0,0 +1,545 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+
+/**
+ * Estimates the pose and velocity of a swerve drive by fusing wheel odometry, the gyro, the
+ * accelerometer and vision with an extended Kalman filter.
+ *
+ * <p>The state is the field-relative pose and velocity, [x, y, θ, vx, vy, ω]. Each update predicts
+ * the state forward using the change in gyro heading and the measured chassis acceleration, then
+ * corrects it with the robot-relative chassis velocity solved from the swerve module position
+ * changes and with the gyro yaw rate. Because the heading is advanced by the change in gyro heading
+ * rather than measured absolutely, vision measurements can correct heading drift just as they do
+ * with {@link edu.wpi.first.math.estimator.SwerveDrivePoseEstimator}.
+ *
+ * <p>The inputs and posterior state of recent updates are kept in a ring buffer. A vision
+ * measurement is applied at the update it was captured at and the later updates are replayed on
+ * top of it, so camera latency does not pull the estimate toward where the robot used to be.
+ *
+ * <p>All state is held in fixed-size primitive arrays and the measurement updates are applied one
+ * scalar at a time, so no matrices are inverted and nothing is allocated except the {@link Pose2d}
+ * returned by {@link #getEstimatedPosition()}, which is created at most once per update.
+ */
+public final class FusedPoseEstimator {
+  private static final int STATE_SIZE = 6;
+  private static final int X = 0;
+  private static final int Y = 1;
+  private static final int THETA = 2;
+  private static final int VX = 3;
+  private static final int VY = 4;
+  private static final int OMEGA = 5;
+
+  /**
+   * The inputs recorded for each update: dt, Δθ, yaw rate, ax, ay, wheel vx, vy and ω and the scale
+   * of the wheel measurement variance.
+   */
+  private static final int INPUT_SIZE = 9;
+
+  /** The number of updates kept for replaying delayed vision measurements (1.5 s at 50 Hz). */
+  private static final int HISTORY_SIZE = 75;
+
+  /** The standard deviation of the unmeasured chassis acceleration in m/s². */
+  private static final double ACCELERATION_NOISE = 1.0;
+
+  /** The standard deviation of the unmeasured angular acceleration in rad/s². */
+  private static final double ANGULAR_ACCELERATION_NOISE = 8.0;
+
+  /** The standard deviation of the change in gyro heading per update in radians. */
+  private static final double GYRO_HEADING_NOISE = 0.002;
+
+  /** The standard deviation of the gyro yaw rate in rad/s. */
+  private static final double GYRO_RATE_NOISE = 0.02;
+
+  /** The standard deviation of the chassis velocity solved from the wheels in m/s. */
+  private static final double WHEEL_VELOCITY_NOISE = 0.05;
+
+  /** The standard deviation of the chassis angular velocity solved from the wheels in rad/s. */
+  private static final double WHEEL_ANGULAR_VELOCITY_NOISE = 0.2;
+
+  /** The initial standard deviations of the state. */
+  private static final double[] INITIAL_STD_DEVS = {0.1, 0.1, 0.05, 0.1, 0.1, 0.1};
+
+  private final int moduleCount;
+  private final double maxAcceleration;
+
+  private final RigidBodyFit wheelFit;
+  private final double[] unitWeights;
+
+  // The filter state and its covariance, stored row-major.
+  private final double[] state = new double[STATE_SIZE];
+  private final double[] covariance = new double[STATE_SIZE * STATE_SIZE];
+
+  // The sensor values from the previous update.
+  private final double[] previousDistances;
+  private double previousHeading;
+  private double previousTimestamp;
+
+  // The ring buffer of recent updates.
+  private final double[] historyTimestamps = new double[HISTORY_SIZE];
+  private final double[] historyInputs = new double[HISTORY_SIZE * INPUT_SIZE];
+  private final double[] historyStates = new double[HISTORY_SIZE * STATE_SIZE];
+  private final double[] historyCovariances = new double[HISTORY_SIZE * STATE_SIZE * STATE_SIZE];
+  private int historyStart;
+  private int historyCount;
+
+  // Scratch space for the update methods.
+  private final double[] inputs = new double[INPUT_SIZE];
+  private final double[] moduleVx;
+  private final double[] moduleVy;
+  private final double[] measurementRow = new double[STATE_SIZE];
+  private final double[] covarianceRow = new double[STATE_SIZE];
+
+  private Pose2d pose;
+
+  /**
+   * Creates a new FusedPoseEstimator.
+   *
+   * @param modulePositions The locations of the swerve modules relative to the robot center.
+   * @param maxAcceleration The maximum chassis acceleration in m/s². Larger accelerometer readings,
+   *     such as from collisions, are limited to this.
+   * @param timestamp The current time in seconds.
+   * @param gyroAngle The current gyro angle.
+   * @param wheelPositions The current swerve module positions.
+   * @param initialPose The starting pose of the robot.
+   */
+  public FusedPoseEstimator(
+      Translation2d[] modulePositions,
+      double maxAcceleration,
+      double timestamp,
+      Rotation2d gyroAngle,
+      SwerveModulePosition[] wheelPositions,
+      Pose2d initialPose) {
+    this.moduleCount = modulePositions.length;
+    this.maxAcceleration = maxAcceleration;
+    this.wheelFit = new RigidBodyFit(modulePositions);
+    this.unitWeights = new double[moduleCount];
+    this.previousDistances = new double[moduleCount];
+    this.moduleVx = new double[moduleCount];
+    this.moduleVy = new double[moduleCount];
+    this.previousTimestamp = timestamp;
+
+    for (int i = 0; i < moduleCount; i++) {
+      unitWeights[i] = 1.0;
+    }
+
+    resetPosition(gyroAngle, wheelPositions, initialPose);
+  }
+
+  /**
+   * Resets the estimated pose. The velocity is kept and the history of updates is discarded.
+   *
+   * @param gyroAngle The current gyro angle.
+   * @param wheelPositions The current swerve module positions.
+   * @param newPose The new pose of the robot.
+   */
+  public void resetPosition(
+      Rotation2d gyroAngle, SwerveModulePosition[] wheelPositions, Pose2d newPose) {
+    state[X] = newPose.getX();
+    state[Y] = newPose.getY();
+    state[THETA] = newPose.getRotation().getRadians();
+
+    for (int i = 0; i < STATE_SIZE * STATE_SIZE; i++) {
+      covariance[i] = 0.0;
+    }
+
+    for (int i = 0; i < STATE_SIZE; i++) {
+      covariance[i * STATE_SIZE + i] = INITIAL_STD_DEVS[i] * INITIAL_STD_DEVS[i];
+    }
+
+    for (int i = 0; i < moduleCount; i++) {
+      previousDistances[i] = wheelPositions[i].distanceMeters;
+    }
+
+    previousHeading = gyroAngle.getRadians();
+    historyCount = 0;
+    pose = newPose;
+  }
+
+  /**
+   * Updates the estimate with the latest wheel, gyro and accelerometer readings.
+   *
+   * @param timestamp The time the readings were taken in seconds.
+   * @param gyroAngle The gyro angle.
+   * @param yawRate The gyro yaw rate in rad/s, counter-clockwise positive, or NaN if unavailable.
+   * @param accelerationX The robot-relative forward acceleration in m/s².
+   * @param accelerationY The robot-relative leftward acceleration in m/s².
+   * @param wheelPositions The swerve module positions.
+   */
+  public void update(
+      double timestamp,
+      Rotation2d gyroAngle,
+      double yawRate,
+      double accelerationX,
+      double accelerationY,
+      SwerveModulePosition[] wheelPositions) {
+    update(
+        timestamp, gyroAngle, yawRate, accelerationX, accelerationY, wheelPositions, unitWeights);
+  }
+
+  /**
+   * Updates the estimate with the latest wheel, gyro and accelerometer readings, weighting each
+   * module by how much its wheel is trusted.
+   *
+   * <p>The chassis velocity is fit to the weighted modules and its measurement variance grows as
+   * the total weight falls, so a module with a weight of zero is ignored and down-weighting every
+   * module makes the estimate rely on the gyro and accelerometer instead. If the weighted modules
+   * can't determine the chassis velocity, the wheels are not used for the update.
+   *
+   * @param timestamp The time the readings were taken in seconds.
+   * @param gyroAngle The gyro angle.
+   * @param yawRate The gyro yaw rate in rad/s, counter-clockwise positive, or NaN if unavailable.
+   * @param accelerationX The robot-relative forward acceleration in m/s².
+   * @param accelerationY The robot-relative leftward acceleration in m/s².
+   * @param wheelPositions The swerve module positions.
+   * @param moduleWeights The weight of each module from 0 to 1.
+   */
+  public void update(
+      double timestamp,
+      Rotation2d gyroAngle,
+      double yawRate,
+      double accelerationX,
+      double accelerationY,
+      SwerveModulePosition[] wheelPositions,
+      double[] moduleWeights) {
+    double dt = timestamp - previousTimestamp;
+    double heading = gyroAngle.getRadians();
+
+    if (dt <= 0.0) {
+      return;
+    }
+
+    // Solve the robot-relative chassis velocity from the module position changes.
+    double totalWeight = 0.0;
+
+    for (int i = 0; i < moduleCount; i++) {
+      SwerveModulePosition position = wheelPositions[i];
+      double velocity = (position.distanceMeters - previousDistances[i]) / dt;
+
+      moduleVx[i] = velocity * position.angle.getCos();
+      moduleVy[i] = velocity * position.angle.getSin();
+      totalWeight += moduleWeights[i];
+      previousDistances[i] = position.distanceMeters;
+    }
+
+    boolean isWheelFit = wheelFit.fit(moduleVx, moduleVy, moduleWeights);
+
+    // Limit implausible accelerometer readings, such as from collisions.
+    double acceleration = Math.hypot(accelerationX, accelerationY);
+
+    if (!Double.isFinite(acceleration)) {
+      accelerationX = 0.0;
+      accelerationY = 0.0;
+    } else if (acceleration > maxAcceleration) {
+      accelerationX *= maxAcceleration / acceleration;
+      accelerationY *= maxAcceleration / acceleration;
+    }
+
+    inputs[0] = dt;
+    inputs[1] = MathUtil.angleModulus(heading - previousHeading);
+    inputs[2] = yawRate;
+    inputs[3] = accelerationX;
+    inputs[4] = accelerationY;
+    inputs[5] = wheelFit.getVelocityX();
+    inputs[6] = wheelFit.getVelocityY();
+    inputs[7] = wheelFit.getAngularVelocity();
+    inputs[8] = isWheelFit ? moduleCount / totalWeight : Double.POSITIVE_INFINITY;
+
+    previousHeading = heading;
+    previousTimestamp = timestamp;
+
+    step(inputs, 0);
+    recordHistory(timestamp);
+    pose = null;
+  }
+
+  /**
+   * Adds a vision measurement of the robot pose. The measurement is applied at the update it was
+   * captured at and the later updates are replayed. Measurements older than the history are
+   * ignored.
+   *
+   * @param visionPose The measured robot pose.
+   * @param timestamp The time the measurement was captured in seconds.
+   * @param stdDevX The standard deviation of the x position in meters.
+   * @param stdDevY The standard deviation of the y position in meters.
+   * @param stdDevTheta The standard deviation of the heading in radians.
+   */
+  public void addVisionMeasurement(
+      Pose2d visionPose, double timestamp, double stdDevX, double stdDevY, double stdDevTheta) {
+    if (historyCount == 0 || timestamp < historyTimestamps[historyStart]) {
+      return;
+    }
+
+    // Find the latest update at or before the measurement.
+    int entry = historyCount - 1;
+
+    while (entry > 0 && historyTimestamps[historyIndex(entry)] > timestamp) {
+      entry--;
+    }
+
+    loadHistory(historyIndex(entry));
+
+    updateScalar(X, visionPose.getX() - state[X], stdDevX * stdDevX);
+    updateScalar(Y, visionPose.getY() - state[Y], stdDevY * stdDevY);
+    updateScalar(
+        THETA,
+        MathUtil.angleModulus(visionPose.getRotation().getRadians() - state[THETA]),
+        stdDevTheta * stdDevTheta);
+
+    storeHistory(historyIndex(entry));
+
+    // Replay the later updates on top of the corrected state.
+    for (entry++; entry < historyCount; entry++) {
+      int index = historyIndex(entry);
+
+      step(historyInputs, index * INPUT_SIZE);
+      storeHistory(index);
+    }
+
+    pose = null;
+  }
+
+  /**
+   * Predicts the state forward by one update and corrects it with the update's measurements.
+   *
+   * @param stepInputs The array containing the inputs of the update.
+   * @param offset The offset of the inputs in the array.
+   */
+  private void step(double[] stepInputs, int offset) {
+    double dt = stepInputs[offset];
+    double deltaHeading = stepInputs[offset + 1];
+    double yawRate = stepInputs[offset + 2];
+
+    double wheelVarianceScale = stepInputs[offset + 8];
+
+    predict(dt, deltaHeading, stepInputs[offset + 3], stepInputs[offset + 4]);
+
+    if (wheelVarianceScale != Double.POSITIVE_INFINITY) {
+      updateWheels(
+          stepInputs[offset + 5],
+          stepInputs[offset + 6],
+          stepInputs[offset + 7],
+          wheelVarianceScale);
+    }
+
+    if (!Double.isNaN(yawRate)) {
+      updateScalar(OMEGA, yawRate - state[OMEGA], GYRO_RATE_NOISE * GYRO_RATE_NOISE);
+    }
+  }
+
+  /**
+   * Predicts the state forward in time.
+   *
+   * <p>The position moves with the velocity and the acceleration measured by the accelerometer
+   * rotated into the field frame, and the heading moves by the change in gyro heading. The
+   * covariance is propagated through F = I + dt at (x, vx) and (y, vy), applied in place as row and
+   * column operations, and the process noise is added for the unmeasured acceleration.
+   */
+  private void predict(double dt, double deltaHeading, double accelerationX, double accelerationY) {
+    double midHeading = state[THETA] + deltaHeading / 2.0;
+    double cos = Math.cos(midHeading);
+    double sin = Math.sin(midHeading);
+    double fieldAccelerationX = cos * accelerationX - sin * accelerationY;
+    double fieldAccelerationY = sin * accelerationX + cos * accelerationY;
+
+    state[X] += state[VX] * dt + 0.5 * fieldAccelerationX * dt * dt;
+    state[Y] += state[VY] * dt + 0.5 * fieldAccelerationY * dt * dt;
+    state[THETA] = MathUtil.angleModulus(state[THETA] + deltaHeading);
+    state[VX] += fieldAccelerationX * dt;
+    state[VY] += fieldAccelerationY * dt;
+
+    for (int column = 0; column < STATE_SIZE; column++) {
+      covariance[X * STATE_SIZE + column] += dt * covariance[VX * STATE_SIZE + column];
+      covariance[Y * STATE_SIZE + column] += dt * covariance[VY * STATE_SIZE + column];
+    }
+
+    for (int row = 0; row < STATE_SIZE; row++) {
+      covariance[row * STATE_SIZE + X] += dt * covariance[row * STATE_SIZE + VX];
+      covariance[row * STATE_SIZE + Y] += dt * covariance[row * STATE_SIZE + VY];
+    }
+
+    double accelerationVariance = ACCELERATION_NOISE * ACCELERATION_NOISE;
+    double positionNoise = accelerationVariance * dt * dt * dt * dt / 4.0;
+    double crossNoise = accelerationVariance * dt * dt * dt / 2.0;
+    double velocityNoise = accelerationVariance * dt * dt;
+
+    addProcessNoise(X, VX, positionNoise, crossNoise, velocityNoise);
+    addProcessNoise(Y, VY, positionNoise, crossNoise, velocityNoise);
+    covariance[THETA * STATE_SIZE + THETA] += GYRO_HEADING_NOISE * GYRO_HEADING_NOISE;
+    covariance[OMEGA * STATE_SIZE + OMEGA] +=
+        ANGULAR_ACCELERATION_NOISE * ANGULAR_ACCELERATION_NOISE * dt * dt;
+  }
+
+  /** Adds the process noise of a position and its velocity driven by a random acceleration. */
+  private void addProcessNoise(
+      int position, int velocity, double positionNoise, double crossNoise, double velocityNoise) {
+    covariance[position * STATE_SIZE + position] += positionNoise;
+    covariance[position * STATE_SIZE + velocity] += crossNoise;
+    covariance[velocity * STATE_SIZE + position] += crossNoise;
+    covariance[velocity * STATE_SIZE + velocity] += velocityNoise;
+  }
+
+  /**
+   * Corrects the state with the robot-relative chassis velocity measured by the wheels.
+   *
+   * <p>The measurement is the field-relative velocity rotated by -θ, so the rows of the measurement
+   * Jacobian depend on the heading and velocity and are evaluated at the current state before each
+   * scalar update.
+   *
+   * @param wheelVx The robot-relative x velocity in m/s.
+   * @param wheelVy The robot-relative y velocity in m/s.
+   * @param wheelOmega The angular velocity in rad/s.
+   * @param varianceScale The scale of the measurement variance for the weight of the modules.
+   */
+  private void updateWheels(
+      double wheelVx, double wheelVy, double wheelOmega, double varianceScale) {
+    double velocityVariance = WHEEL_VELOCITY_NOISE * WHEEL_VELOCITY_NOISE * varianceScale;
+    double cos = Math.cos(state[THETA]);
+    double sin = Math.sin(state[THETA]);
+
+    clearMeasurementRow();
+    measurementRow[THETA] = -sin * state[VX] + cos * state[VY];
+    measurementRow[VX] = cos;
+    measurementRow[VY] = sin;
+    updateMeasurement(wheelVx - (cos * state[VX] + sin * state[VY]), velocityVariance);
+
+    cos = Math.cos(state[THETA]);
+    sin = Math.sin(state[THETA]);
+
+    clearMeasurementRow();
+    measurementRow[THETA] = -cos * state[VX] - sin * state[VY];
+    measurementRow[VX] = -sin;
+    measurementRow[VY] = cos;
+    updateMeasurement(wheelVy - (-sin * state[VX] + cos * state[VY]), velocityVariance);
+
+    updateScalar(
+        OMEGA,
+        wheelOmega - state[OMEGA],
+        WHEEL_ANGULAR_VELOCITY_NOISE * WHEEL_ANGULAR_VELOCITY_NOISE * varianceScale);
+  }
+
+  /** Clears the measurement Jacobian row. */
+  private void clearMeasurementRow() {
+    for (int i = 0; i < STATE_SIZE; i++) {
+      measurementRow[i] = 0.0;
+    }
+  }
+
+  /** Corrects the state with a direct measurement of one state element. */
+  private void updateScalar(int element, double innovation, double variance) {
+    clearMeasurementRow();
+    measurementRow[element] = 1.0;
+    updateMeasurement(innovation, variance);
+  }
+
+  /**
+   * Corrects the state with a scalar measurement whose Jacobian is in the measurement row.
+   *
+   * <p>With PHᵀ = P hᵀ and S = h P hᵀ + r, the gain is K = PHᵀ / S, the state moves by K times the
+   * innovation and the covariance becomes P - K PHᵀᵀ, which keeps it symmetric.
+   */
+  private void updateMeasurement(double innovation, double variance) {
+    double innovationVariance = variance;
+
+    for (int row = 0; row < STATE_SIZE; row++) {
+      double sum = 0.0;
+
+      for (int column = 0; column < STATE_SIZE; column++) {
+        sum += covariance[row * STATE_SIZE + column] * measurementRow[column];
+      }
+
+      covarianceRow[row] = sum;
+      innovationVariance += measurementRow[row] * sum;
+    }
+
+    for (int row = 0; row < STATE_SIZE; row++) {
+      double gain = covarianceRow[row] / innovationVariance;
+
+      state[row] += gain * innovation;
+
+      for (int column = 0; column < STATE_SIZE; column++) {
+        covariance[row * STATE_SIZE + column] -= gain * covarianceRow[column];
+      }
+    }
+
+    state[THETA] = MathUtil.angleModulus(state[THETA]);
+  }
+
+  /** {@return the ring buffer index of the specified entry, where 0 is the oldest} */
+  private int historyIndex(int entry) {
+    return (historyStart + entry) % HISTORY_SIZE;
+  }
+
+  /** Appends the current inputs and state to the history, replacing the oldest if it is full. */
+  private void recordHistory(double timestamp) {
+    int index;
+
+    if (historyCount < HISTORY_SIZE) {
+      index = historyIndex(historyCount++);
+    } else {
+      index = historyStart;
+      historyStart = (historyStart + 1) % HISTORY_SIZE;
+    }
+
+    historyTimestamps[index] = timestamp;
+    System.arraycopy(inputs, 0, historyInputs, index * INPUT_SIZE, INPUT_SIZE);
+    storeHistory(index);
+  }
+
+  /** Stores the current state and covariance in a history entry. */
+  private void storeHistory(int index) {
+    System.arraycopy(state, 0, historyStates, index * STATE_SIZE, STATE_SIZE);
+    System.arraycopy(
+        covariance,
+        0,
+        historyCovariances,
+        index * STATE_SIZE * STATE_SIZE,
+        STATE_SIZE * STATE_SIZE);
+  }
+
+  /** Loads the state and covariance from a history entry. */
+  private void loadHistory(int index) {
+    System.arraycopy(historyStates, index * STATE_SIZE, state, 0, STATE_SIZE);
+    System.arraycopy(
+        historyCovariances,
+        index * STATE_SIZE * STATE_SIZE,
+        covariance,
+        0,
+        STATE_SIZE * STATE_SIZE);
+  }
+
+  /** {@return the estimated pose of the robot} */
+  public Pose2d getEstimatedPosition() {
+    if (pose == null) {
+      pose = new Pose2d(state[X], state[Y], new Rotation2d(state[THETA]));
+    }
+
+    return pose;
+  }
+
+  /** {@return the estimated field-relative velocity along the x axis in m/s} */
+  public double getVelocityX() {
+    return state[VX];
+  }
+
+  /** {@return the estimated field-relative velocity along the y axis in m/s} */
+  public double getVelocityY() {
+    return state[VY];
+  }
+
+  /** {@return the estimated angular velocity in rad/s, counter-clockwise positive} */
+  public double getAngularVelocity() {
+    return state[OMEGA];
+  }
+}
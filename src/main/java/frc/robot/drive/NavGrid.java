@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import java.io.File;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The PathPlanner navigation grid of the field.
+ *
+ * <p>The grid is loaded from the {@code navgrid.json} file created by PathPlanner into a bit set of
+ * blocked cells. When it is loaded, an obstacle distance field is precomputed that records the
+ * distance from the center of each cell to the nearest blocked cell or field boundary, so the
+ * clearance at any cell can be answered in constant time.
+ *
+ * <p>Cells are addressed by a single index, {@code row * columns + column}, where the row and
+ * column are the y and x coordinates on the blue alliance field divided by the node size.
+ */
+public final class NavGrid {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final double nodeSize;
+  private final int columns;
+  private final int rows;
+  private final BitSet blocked;
+  private final double[] clearance;
+
+  /**
+   * Creates a new NavGrid.
+   *
+   * @param nodeSize The size of each cell in meters.
+   * @param columns The number of columns along the length of the field.
+   * @param rows The number of rows along the width of the field.
+   * @param blocked The blocked cells.
+   */
+  public NavGrid(double nodeSize, int columns, int rows, BitSet blocked) {
+    this.nodeSize = nodeSize;
+    this.columns = columns;
+    this.rows = rows;
+    this.blocked = blocked;
+    this.clearance = computeClearance();
+  }
+
+  /**
+   * Loads a navigation grid from a PathPlanner {@code navgrid.json} file.
+   *
+   * @param file The navigation grid file.
+   * @return The navigation grid.
+   * @throws IOException If the file cannot be read.
+   */
+  public static NavGrid load(File file) throws IOException {
+    JsonNode json = MAPPER.readTree(file);
+    JsonNode grid = json.path("grid");
+    int rows = grid.size();
+    int columns = rows > 0 ? grid.get(0).size() : 0;
+    BitSet blocked = new BitSet(rows * columns);
+
+    for (int row = 0; row < rows; row++) {
+      JsonNode cells = grid.get(row);
+
+      for (int column = 0; column < columns; column++) {
+        blocked.set(row * columns + column, cells.path(column).asBoolean());
+      }
+    }
+
+    return new NavGrid(json.path("nodeSizeMeters").asDouble(), columns, rows, blocked);
+  }
+
+  /**
+   * Starts loading a navigation grid from a PathPlanner {@code navgrid.json} file on a background
+   * thread. The grid is immutable, so the loaded grid can be shared by everything that uses it.
+   * Failures are reported to the Driver Station.
+   *
+   * @param file The navigation grid file.
+   * @return A future that completes with the navigation grid, or exceptionally if the file cannot
+   *     be read.
+   */
+  public static CompletableFuture<NavGrid> loadInBackground(File file) {
+    CompletableFuture<NavGrid> future = new CompletableFuture<>();
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                future.complete(load(file));
+              } catch (IOException e) {
+                DriverStation.reportError(
+                    "Failed to load navigation grid: " + e.getMessage(), e.getStackTrace());
+                future.completeExceptionally(e);
+              }
+            },
+            "NavGrid");
+
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+
+    return future;
+  }
+
+  /**
+   * Computes the distance from the center of each cell to the nearest blocked cell or the field
+   * boundary.
+   *
+   * <p>The nearest blocked cell is propagated through the grid in a forward and a backward raster
+   * pass, checking the neighbors already visited in each pass. This gives the Euclidean distance to
+   * within a small fraction of a cell in two passes over the grid.
+   */
+  private double[] computeClearance() {
+    int cellCount = rows * columns;
+    int[] nearest = new int[cellCount];
+    double[] distance = new double[cellCount];
+
+    for (int i = 0; i < cellCount; i++) {
+      nearest[i] = blocked.get(i) ? i : -1;
+      distance[i] = blocked.get(i) ? 0.0 : Double.POSITIVE_INFINITY;
+    }
+
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        propagate(nearest, distance, column, row, column - 1, row);
+        propagate(nearest, distance, column, row, column - 1, row - 1);
+        propagate(nearest, distance, column, row, column, row - 1);
+        propagate(nearest, distance, column, row, column + 1, row - 1);
+      }
+    }
+
+    for (int row = rows - 1; row >= 0; row--) {
+      for (int column = columns - 1; column >= 0; column--) {
+        propagate(nearest, distance, column, row, column + 1, row);
+        propagate(nearest, distance, column, row, column + 1, row + 1);
+        propagate(nearest, distance, column, row, column, row + 1);
+        propagate(nearest, distance, column, row, column - 1, row + 1);
+      }
+    }
+
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        int index = row * columns + column;
+        double columnDistance = Math.min(column + 0.5, columns - column - 0.5);
+        double rowDistance = Math.min(row + 0.5, rows - row - 0.5);
+        double boundaryDistance = Math.min(columnDistance, rowDistance);
+
+        distance[index] = Math.min(distance[index], boundaryDistance) * nodeSize;
+      }
+    }
+
+    return distance;
+  }
+
+  /** Updates the nearest blocked cell of a cell from one of its neighbors. */
+  private void propagate(
+      int[] nearest, double[] distance, int column, int row, int neighborColumn, int neighborRow) {
+    if (!isInBounds(neighborColumn, neighborRow)) {
+      return;
+    }
+
+    int candidate = nearest[neighborRow * columns + neighborColumn];
+
+    if (candidate < 0) {
+      return;
+    }
+
+    int index = row * columns + column;
+    double candidateDistance = Math.hypot(column - candidate % columns, row - candidate / columns);
+
+    if (candidateDistance < distance[index]) {
+      nearest[index] = candidate;
+      distance[index] = candidateDistance;
+    }
+  }
+
+  /** {@return the size of each cell in meters} */
+  public double getNodeSize() {
+    return nodeSize;
+  }
+
+  /** {@return the number of columns along the length of the field} */
+  public int getColumns() {
+    return columns;
+  }
+
+  /** {@return the number of rows along the width of the field} */
+  public int getRows() {
+    return rows;
+  }
+
+  /** {@return the number of cells in the grid} */
+  public int getCellCount() {
+    return rows * columns;
+  }
+
+  /** {@return whether the specified column and row are within the grid} */
+  public boolean isInBounds(int column, int row) {
+    return column >= 0 && column < columns && row >= 0 && row < rows;
+  }
+
+  /** {@return the index of the cell containing the specified field position} */
+  public int getCell(Translation2d position) {
+    int column = Math.min(Math.max((int) (position.getX() / nodeSize), 0), columns - 1);
+    int row = Math.min(Math.max((int) (position.getY() / nodeSize), 0), rows - 1);
+
+    return row * columns + column;
+  }
+
+  /** {@return the field position of the center of the specified cell} */
+  public Translation2d getCenter(int cell) {
+    return new Translation2d((cell % columns + 0.5) * nodeSize, (cell / columns + 0.5) * nodeSize);
+  }
+
+  /** {@return whether the specified cell is blocked} */
+  public boolean isBlocked(int cell) {
+    return blocked.get(cell);
+  }
+
+  /**
+   * Returns whether the specified cell is not blocked and has at least the specified clearance.
+   *
+   * @param cell The cell.
+   * @param minClearance The minimum clearance in meters.
+   * @return True if the cell is clear.
+   */
+  public boolean isClear(int cell, double minClearance) {
+    return !blocked.get(cell) && clearance[cell] >= minClearance;
+  }
+
+  /**
+   * {@return the distance, in meters, from the center of the specified cell to the nearest blocked
+   * cell or field boundary}
+   */
+  public double getClearance(int cell) {
+    return clearance[cell];
+  }
+
+  /**
+   * Returns the nearest cell to the specified cell with at least the specified clearance.
+   *
+   * @param cell The cell to start from.
+   * @param minClearance The minimum clearance in meters.
+   * @return The nearest cell with the required clearance or the specified cell if there is none.
+   */
+  public int getNearestClearCell(int cell, double minClearance) {
+    if (isClear(cell, minClearance)) {
+      return cell;
+    }
+
+    int column = cell % columns;
+    int row = cell / columns;
+    int maxRadius = Math.max(columns, rows);
+
+    for (int radius = 1; radius < maxRadius; radius++) {
+      int bestCell = -1;
+      double bestDistance = Double.POSITIVE_INFINITY;
+
+      for (int r = row - radius; r <= row + radius; r++) {
+        for (int c = column - radius; c <= column + radius; c++) {
+          boolean isOnRing = Math.abs(r - row) == radius || Math.abs(c - column) == radius;
+
+          if (!isOnRing || !isInBounds(c, r) || !isClear(r * columns + c, minClearance)) {
+            continue;
+          }
+
+          double distance = Math.hypot(c - column, r - row);
+
+          if (distance < bestDistance) {
+            bestCell = r * columns + c;
+            bestDistance = distance;
+          }
+        }
+      }
+
+      if (bestCell >= 0) {
+        return bestCell;
+      }
+    }
+
+    return cell;
+  }
+
+  /**
+   * Returns whether the straight line between the centers of two cells only passes through cells
+   * with at least the specified clearance.
+   *
+   * @param from The cell at the start of the line.
+   * @param to The cell at the end of the line.
+   * @param minClearance The minimum clearance in meters.
+   * @return True if every cell along the line has the required clearance.
+   */
+  public boolean hasLineOfSight(int from, int to, double minClearance) {
+    int column = from % columns;
+    int row = from / columns;
+    int endColumn = to % columns;
+    int endRow = to / columns;
+    int deltaColumn = Math.abs(endColumn - column);
+    int deltaRow = Math.abs(endRow - row);
+    int stepColumn = column < endColumn ? 1 : -1;
+    int stepRow = row < endRow ? 1 : -1;
+    int error = deltaColumn - deltaRow;
+
+    // Walk the cells crossed by the line, including both cells when it passes through a corner.
+    while (true) {
+      if (!isClear(row * columns + column, minClearance)) {
+        return false;
+      }
+
+      if (column == endColumn && row == endRow) {
+        return true;
+      }
+
+      int error2 = 2 * error;
+
+      if (error2 > -deltaRow && error2 < deltaColumn) {
+        int cornerA = row * columns + column + stepColumn;
+        int cornerB = (row + stepRow) * columns + column;
+
+        if (!isClear(cornerA, minClearance) || !isClear(cornerB, minClearance)) {
+          return false;
+        }
+      }
+
+      if (error2 > -deltaRow) {
+        error -= deltaRow;
+        column += stepColumn;
+      }
+
+      if (error2 < deltaColumn) {
+        error += deltaColumn;
+        row += stepRow;
+      }
+    }
+  }
+}
@@ -0,0 +1,512 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.math.trajectory.TrajectoryParameterizer.TrajectoryGenerationException;
+import edu.wpi.first.math.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.util.datalog.BooleanLogEntry;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.parameters.SwerveDriveParameters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plans collision-free trajectories across the field on a background thread.
+ *
+ * <p>Paths are found using Theta*, an any-angle variant of A*, over the {@link NavGrid}. The cost
+ * of each move is increased as it passes closer to obstacles than the preferred clearance and a
+ * shortcut is only taken if it does not pass closer to obstacles than its end points, so paths keep
+ * away from obstacles where there is room. The waypoints are then fitted with a spline trajectory
+ * constrained by the drive base's maximum speed, acceleration and swerve kinematics.
+ *
+ * <p>Only the most recent request is planned. Requesting a new goal cancels any search in progress.
+ * When the goal moves a short distance and the previous path can still be followed, the new plan
+ * reuses the remaining waypoints of the previous path rather than searching again.
+ */
+public final class Pathfinder {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  /** The clearance from obstacles, in meters, that paths try to keep. */
+  private static final double PREFERRED_CLEARANCE = 0.75;
+
+  /** The additional cost, relative to the distance, of a move with no clearance. */
+  private static final double CLEARANCE_PENALTY = 2.0;
+
+  /** The maximum distance, in meters, the goal can move and still reuse the previous path. */
+  private static final double MAX_INCREMENTAL_GOAL_CHANGE = 1.5;
+
+  /** The minimum speed, in m/s, at which the trajectory starts in the direction of travel. */
+  private static final double MIN_MOVING_SPEED = 0.1;
+
+  /** The number of nodes expanded between checks for a newer request. */
+  private static final int CANCEL_CHECK_INTERVAL = 64;
+
+  private static final int[] NEIGHBOR_COLUMNS = {1, 1, 0, -1, -1, -1, 0, 1};
+  private static final int[] NEIGHBOR_ROWS = {0, 1, 1, 1, 0, -1, -1, -1};
+
+  /**
+   * A planned trajectory.
+   *
+   * @param requestId The ID of the request that was planned.
+   * @param waypoints The waypoints of the path from the start to the goal.
+   * @param trajectory The trajectory through the waypoints.
+   * @param planTime The time, in seconds, taken to plan the trajectory.
+   * @param isIncremental Whether the plan reused the previous path rather than searching.
+   */
+  public record Plan(
+      long requestId,
+      List<Translation2d> waypoints,
+      Trajectory trajectory,
+      double planTime,
+      boolean isIncremental) {}
+
+  /** A node in the open set of the search. */
+  private record Node(int cell, double estimatedCost) {}
+
+  private final double maxSpeed;
+  private final double maxAcceleration;
+  private final SwerveDriveParameters parameters;
+
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          (runnable) -> {
+            Thread thread = new Thread(runnable, "Pathfinder");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  private final AtomicLong latestRequestId = new AtomicLong();
+  private volatile Plan plan;
+
+  // The state owned by the pathfinder thread.
+  private NavGrid grid;
+  private List<Translation2d> previousWaypoints = List.of();
+  private double[] costs = new double[0];
+  private int[] parents = new int[0];
+  private final BitSet closed = new BitSet();
+  private int expandedNodes;
+
+  private final DoubleLogEntry logPlanTime = new DoubleLogEntry(LOG, "/Pathfinder/Plan Time");
+  private final DoubleLogEntry logExpandedNodes =
+      new DoubleLogEntry(LOG, "/Pathfinder/Expanded Nodes");
+  private final BooleanLogEntry logIncremental =
+      new BooleanLogEntry(LOG, "/Pathfinder/Incremental");
+
+  /**
+   * Creates a new Pathfinder using a navigation grid that is being loaded. Requests are planned
+   * once the grid has loaded.
+   *
+   * @param gridFuture A future that completes with the navigation grid.
+   * @param parameters The drive base parameters used to constrain the trajectories.
+   */
+  public Pathfinder(CompletableFuture<NavGrid> gridFuture, SwerveDriveParameters parameters) {
+    this.maxSpeed = parameters.getMaxDriveSpeed();
+    this.maxAcceleration = parameters.getMaxDriveAcceleration();
+    this.parameters = parameters;
+
+    // Wait for the grid on the pathfinder thread so that it is set before any request is planned.
+    executor.execute(
+        () -> {
+          try {
+            setGrid(gridFuture.join());
+          } catch (CompletionException e) {
+            // The failure was reported when loading the grid.
+          }
+        });
+  }
+
+  /**
+   * Creates a new Pathfinder using an already loaded navigation grid.
+   *
+   * @param grid The navigation grid.
+   * @param parameters The drive base parameters used to constrain the trajectories.
+   */
+  public Pathfinder(NavGrid grid, SwerveDriveParameters parameters) {
+    this.maxSpeed = parameters.getMaxDriveSpeed();
+    this.maxAcceleration = parameters.getMaxDriveAcceleration();
+    this.parameters = parameters;
+
+    setGrid(grid);
+  }
+
+  /** Sets the navigation grid and allocates the search state. */
+  private void setGrid(NavGrid grid) {
+    this.grid = grid;
+    this.costs = new double[grid.getCellCount()];
+    this.parents = new int[grid.getCellCount()];
+  }
+
+  /**
+   * Requests a trajectory from the start pose to the goal. Any search in progress for a previous
+   * request is cancelled.
+   *
+   * @param start The current pose of the robot.
+   * @param fieldSpeeds The current field-relative velocity of the robot.
+   * @param goal The goal position on the field.
+   * @return The ID of the request used to identify its plan.
+   */
+  public long request(Pose2d start, ChassisSpeeds fieldSpeeds, Translation2d goal) {
+    long requestId = latestRequestId.incrementAndGet();
+
+    executor.execute(
+        () -> {
+          if (requestId == latestRequestId.get()) {
+            Plan newPlan = plan(requestId, start, fieldSpeeds, goal);
+
+            if (newPlan != null) {
+              plan = newPlan;
+            }
+          }
+        });
+
+    return requestId;
+  }
+
+  /** Cancels any search in progress. */
+  public void cancel() {
+    latestRequestId.incrementAndGet();
+  }
+
+  /** {@return the most recently completed plan or null if none has completed} */
+  public Plan getPlan() {
+    return plan;
+  }
+
+  /**
+   * Plans a trajectory on the calling thread.
+   *
+   * @param requestId The ID of the request.
+   * @param start The current pose of the robot.
+   * @param fieldSpeeds The current field-relative velocity of the robot.
+   * @param goal The goal position on the field.
+   * @return The plan or null if the request was cancelled or no path was found.
+   */
+  Plan plan(long requestId, Pose2d start, ChassisSpeeds fieldSpeeds, Translation2d goal) {
+    if (grid == null) {
+      return null;
+    }
+
+    long startTime = System.nanoTime();
+    Translation2d startPosition = start.getTranslation();
+    List<Translation2d> waypoints = replanIncrementally(startPosition, goal);
+    boolean isIncremental = waypoints != null;
+
+    expandedNodes = 0;
+
+    if (!isIncremental) {
+      waypoints = findPath(requestId, startPosition, goal);
+
+      if (waypoints == null) {
+        if (requestId == latestRequestId.get()) {
+          DriverStation.reportWarning(
+              String.format("No path found from %s to %s", startPosition, goal), false);
+        }
+
+        return null;
+      }
+    }
+
+    waypoints = removeCloseWaypoints(waypoints);
+
+    Trajectory trajectory = generateTrajectory(waypoints, fieldSpeeds);
+
+    if (trajectory == null) {
+      DriverStation.reportWarning(
+          String.format("Failed to generate a trajectory through %s", waypoints), false);
+      previousWaypoints = List.of();
+
+      return null;
+    }
+
+    previousWaypoints = waypoints;
+
+    double planTime = (System.nanoTime() - startTime) / 1e9;
+
+    logPlanTime.append(planTime);
+    logExpandedNodes.append(expandedNodes);
+    logIncremental.append(isIncremental);
+
+    return new Plan(requestId, waypoints, trajectory, planTime, isIncremental);
+  }
+
+  /**
+   * Returns the waypoints of the previous path adjusted to start from the current position and end
+   * at the new goal, if it can still be followed.
+   *
+   * @param start The current position of the robot.
+   * @param goal The new goal position.
+   * @return The adjusted waypoints or null if the path must be searched for again.
+   */
+  private List<Translation2d> replanIncrementally(Translation2d start, Translation2d goal) {
+    int count = previousWaypoints.size();
+
+    if (count < 2
+        || previousWaypoints.get(count - 1).getDistance(goal) > MAX_INCREMENTAL_GOAL_CHANGE) {
+      return null;
+    }
+
+    int startCell = grid.getCell(start);
+    int goalCell = grid.getCell(goal);
+
+    if (hasLineOfSight(startCell, goalCell)) {
+      return List.of(start, goal);
+    }
+
+    int lastCell = grid.getCell(previousWaypoints.get(count - 2));
+
+    if (!hasLineOfSight(lastCell, goalCell)) {
+      return null;
+    }
+
+    // Rejoin the previous path at the furthest waypoint that is visible from the current position.
+    for (int i = count - 2; i >= 1; i--) {
+      if (hasLineOfSight(startCell, grid.getCell(previousWaypoints.get(i)))) {
+        List<Translation2d> waypoints = new ArrayList<>(count - i + 1);
+
+        waypoints.add(start);
+        waypoints.addAll(previousWaypoints.subList(i, count - 1));
+        waypoints.add(goal);
+
+        return waypoints;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Removes the intermediate waypoints that are closer than a grid cell to the waypoint before them
+   * or to the goal. The current position of the robot can be arbitrarily close to a waypoint of the
+   * previous path or to a cell center, and fitting a spline through points that nearly coincide
+   * gives sharp turns or fails altogether.
+   *
+   * @param waypoints The waypoints from the start to the goal.
+   * @return The waypoints with those too close to their neighbors removed.
+   */
+  private List<Translation2d> removeCloseWaypoints(List<Translation2d> waypoints) {
+    double minDistance = grid.getNodeSize();
+    Translation2d goal = waypoints.get(waypoints.size() - 1);
+    List<Translation2d> result = new ArrayList<>(waypoints.size());
+
+    result.add(waypoints.get(0));
+
+    for (Translation2d waypoint : waypoints.subList(1, waypoints.size() - 1)) {
+      if (waypoint.getDistance(result.get(result.size() - 1)) >= minDistance
+          && waypoint.getDistance(goal) >= minDistance) {
+        result.add(waypoint);
+      }
+    }
+
+    result.add(goal);
+
+    return result;
+  }
+
+  /**
+   * Finds a path from the start to the goal using Theta*.
+   *
+   * @param requestId The ID of the request. The search is abandoned if a newer request is made.
+   * @param start The start position.
+   * @param goal The goal position.
+   * @return The waypoints of the path or null if the search was cancelled or no path was found.
+   */
+  List<Translation2d> findPath(long requestId, Translation2d start, Translation2d goal) {
+    int startCell = grid.getNearestClearCell(grid.getCell(start), 0.0);
+    int goalCell = grid.getNearestClearCell(grid.getCell(goal), 0.0);
+    PriorityQueue<Node> open =
+        new PriorityQueue<>((a, b) -> Double.compare(a.estimatedCost(), b.estimatedCost()));
+
+    Arrays.fill(costs, Double.POSITIVE_INFINITY);
+    Arrays.fill(parents, -1);
+    closed.clear();
+
+    costs[startCell] = 0.0;
+    parents[startCell] = startCell;
+    open.add(new Node(startCell, distance(startCell, goalCell)));
+
+    while (!open.isEmpty()) {
+      if (++expandedNodes % CANCEL_CHECK_INTERVAL == 0 && requestId != latestRequestId.get()) {
+        return null;
+      }
+
+      int cell = open.poll().cell();
+
+      if (closed.get(cell)) {
+        continue;
+      }
+
+      if (cell == goalCell) {
+        return buildWaypoints(start, goal, goalCell);
+      }
+
+      closed.set(cell);
+      expandNeighbors(cell, goalCell, open);
+    }
+
+    return null;
+  }
+
+  /** Adds the neighbors of a cell to the open set if a cheaper path to them has been found. */
+  private void expandNeighbors(int cell, int goalCell, PriorityQueue<Node> open) {
+    int columns = grid.getColumns();
+    int column = cell % columns;
+    int row = cell / columns;
+    int parent = parents[cell];
+
+    for (int i = 0; i < NEIGHBOR_COLUMNS.length; i++) {
+      int neighborColumn = column + NEIGHBOR_COLUMNS[i];
+      int neighborRow = row + NEIGHBOR_ROWS[i];
+
+      if (!grid.isInBounds(neighborColumn, neighborRow)) {
+        continue;
+      }
+
+      int neighbor = neighborRow * columns + neighborColumn;
+
+      if (closed.get(neighbor) || grid.isBlocked(neighbor)) {
+        continue;
+      }
+
+      // Do not cut the corner of a blocked cell when moving diagonally.
+      if (NEIGHBOR_COLUMNS[i] != 0
+          && NEIGHBOR_ROWS[i] != 0
+          && (grid.isBlocked(row * columns + neighborColumn)
+              || grid.isBlocked(neighborRow * columns + column))) {
+        continue;
+      }
+
+      // Connect directly to the parent when it is visible, giving any-angle paths.
+      int from = hasLineOfSight(parent, neighbor) ? parent : cell;
+      double cost = costs[from] + moveCost(from, neighbor);
+
+      if (cost < costs[neighbor]) {
+        costs[neighbor] = cost;
+        parents[neighbor] = from;
+        open.add(new Node(neighbor, cost + distance(neighbor, goalCell)));
+      }
+    }
+  }
+
+  /** {@return the waypoints of the path ending at the goal cell} */
+  private List<Translation2d> buildWaypoints(
+      Translation2d start, Translation2d goal, int goalCell) {
+    List<Translation2d> waypoints = new ArrayList<>();
+
+    waypoints.add(goal);
+
+    for (int cell = parents[goalCell]; parents[cell] != cell; cell = parents[cell]) {
+      waypoints.add(grid.getCenter(cell));
+    }
+
+    waypoints.add(start);
+    Collections.reverse(waypoints);
+
+    return waypoints;
+  }
+
+  /**
+   * Returns whether the robot can move in a straight line between two cells without passing closer
+   * to obstacles than the preferred clearance or, if less, the clearance at either end.
+   */
+  private boolean hasLineOfSight(int from, int to) {
+    double minClearance =
+        Math.min(PREFERRED_CLEARANCE, Math.min(grid.getClearance(from), grid.getClearance(to)));
+
+    return grid.hasLineOfSight(from, to, minClearance);
+  }
+
+  /** {@return the cost of moving in a straight line between two cells} */
+  private double moveCost(int from, int to) {
+    double proximity =
+        Math.max(0.0, PREFERRED_CLEARANCE - grid.getClearance(from))
+            + Math.max(0.0, PREFERRED_CLEARANCE - grid.getClearance(to));
+
+    return distance(from, to) * (1.0 + CLEARANCE_PENALTY * proximity / (2 * PREFERRED_CLEARANCE));
+  }
+
+  /** {@return the distance, in meters, between the centers of two cells} */
+  private double distance(int from, int to) {
+    int columns = grid.getColumns();
+
+    return Math.hypot(from % columns - to % columns, from / columns - to / columns)
+        * grid.getNodeSize();
+  }
+
+  /**
+   * Generates a trajectory through the waypoints constrained by the drive base limits.
+   *
+   * @param waypoints The waypoints from the start to the goal.
+   * @param fieldSpeeds The current field-relative velocity of the robot.
+   * @return The trajectory or null if no trajectory could be fitted through the waypoints.
+   */
+  private Trajectory generateTrajectory(List<Translation2d> waypoints, ChassisSpeeds fieldSpeeds) {
+    Translation2d start = waypoints.get(0);
+    Translation2d goal = waypoints.get(waypoints.size() - 1);
+    Translation2d next = waypoints.get(1);
+    Translation2d previous = waypoints.get(waypoints.size() - 2);
+    double speed = Math.hypot(fieldSpeeds.vxMetersPerSecond, fieldSpeeds.vyMetersPerSecond);
+
+    if (start.getDistance(goal) < grid.getNodeSize() / 2) {
+      // The robot is already at the goal, so the trajectory only holds its position.
+      return new Trajectory(
+          List.of(new Trajectory.State(0.0, 0.0, 0.0, new Pose2d(goal, Rotation2d.kZero), 0.0)));
+    }
+
+    // Start in the direction of travel when moving so the trajectory continues smoothly.
+    Rotation2d startHeading =
+        speed >= MIN_MOVING_SPEED
+            ? new Rotation2d(fieldSpeeds.vxMetersPerSecond, fieldSpeeds.vyMetersPerSecond)
+            : next.minus(start).getAngle();
+    Rotation2d goalHeading = goal.minus(previous).getAngle();
+
+    TrajectoryConfig config =
+        new TrajectoryConfig(maxSpeed, maxAcceleration)
+            .addConstraint(parameters.getKinematicsConstraint())
+            .addConstraint(new CentripetalAccelerationConstraint(maxAcceleration))
+            .setStartVelocity(speed >= MIN_MOVING_SPEED ? Math.min(speed, maxSpeed) : 0.0)
+            .setEndVelocity(0.0);
+
+    Trajectory trajectory;
+
+    try {
+      trajectory =
+          TrajectoryGenerator.generateTrajectory(
+              new Pose2d(start, startHeading),
+              waypoints.subList(1, waypoints.size() - 1),
+              new Pose2d(goal, goalHeading),
+              config);
+    } catch (TrajectoryGenerationException e) {
+      // The constraints cannot be satisfied, e.g. the start velocity is too high to stop in time.
+      return null;
+    }
+
+    // When the spline cannot be fitted, the generator reports the error and returns a trajectory
+    // holding a single state at the origin instead of throwing.
+    return trajectory.getStates().size() > 1 ? trajectory : null;
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.geometry.Translation2d;
+
+/**
+ * Fits the robot-relative chassis velocity to the velocities of the swerve modules by weighted
+ * least squares.
+ *
+ * <p>Module i at (x, y) moves at (vx - ω y, vy + ω x) if the robot is a rigid body and its wheels
+ * are not slipping. Stacking these for every module gives A [vx, vy, ω] = v, whose weighted least
+ * squares solution is (AᵀWA)⁻¹AᵀW v. AᵀWA is only 3x3, so it is solved directly each time without
+ * allocating.
+ */
+final class RigidBodyFit {
+  /** The smallest determinant of AᵀWA that is solved, below which too few modules are weighted. */
+  private static final double MIN_DETERMINANT = 1e-9;
+
+  private final double[] moduleX;
+  private final double[] moduleY;
+
+  private double velocityX;
+  private double velocityY;
+  private double angularVelocity;
+
+  /**
+   * Creates a new RigidBodyFit.
+   *
+   * @param modulePositions The locations of the swerve modules relative to the robot center.
+   */
+  RigidBodyFit(Translation2d[] modulePositions) {
+    moduleX = new double[modulePositions.length];
+    moduleY = new double[modulePositions.length];
+
+    for (int i = 0; i < modulePositions.length; i++) {
+      moduleX[i] = modulePositions[i].getX();
+      moduleY[i] = modulePositions[i].getY();
+    }
+  }
+
+  /** {@return the number of modules} */
+  int getModuleCount() {
+    return moduleX.length;
+  }
+
+  /**
+   * Fits the chassis velocity to the module velocities.
+   *
+   * @param moduleVx The robot-relative x velocity of each module in m/s.
+   * @param moduleVy The robot-relative y velocity of each module in m/s.
+   * @param weights The weight of each module, where 0 excludes the module from the fit.
+   * @return True if the weighted modules determine the chassis velocity. Otherwise, the previous
+   *     fit is kept.
+   */
+  boolean fit(double[] moduleVx, double[] moduleVy, double[] weights) {
+    // AᵀWA = Σw [[1, 0, -y], [0, 1, x], [-y, x, x² + y²]] and AᵀW v = Σw [vx, vy, x vy - y vx].
+    double sumW = 0.0;
+    double sumWX = 0.0;
+    double sumWY = 0.0;
+    double sumWR2 = 0.0;
+    double bx = 0.0;
+    double by = 0.0;
+    double bw = 0.0;
+
+    for (int i = 0; i < moduleX.length; i++) {
+      double w = weights[i];
+      double x = moduleX[i];
+      double y = moduleY[i];
+
+      sumW += w;
+      sumWX += w * x;
+      sumWY += w * y;
+      sumWR2 += w * (x * x + y * y);
+      bx += w * moduleVx[i];
+      by += w * moduleVy[i];
+      bw += w * (x * moduleVy[i] - y * moduleVx[i]);
+    }
+
+    // Solve the symmetric system [[a, 0, -c], [0, a, d], [-c, d, e]] by its cofactors.
+    double a = sumW;
+    double c = sumWY;
+    double d = sumWX;
+    double e = sumWR2;
+    double c00 = a * e - d * d;
+    double c01 = -c * d;
+    double c02 = a * c;
+    double c11 = a * e - c * c;
+    double c12 = -a * d;
+    double c22 = a * a;
+    double determinant = a * c00 - c * c02;
+
+    if (!(Math.abs(determinant) > MIN_DETERMINANT)) {
+      return false;
+    }
+
+    velocityX = (c00 * bx + c01 * by + c02 * bw) / determinant;
+    velocityY = (c01 * bx + c11 * by + c12 * bw) / determinant;
+    angularVelocity = (c02 * bx + c12 * by + c22 * bw) / determinant;
+
+    return true;
+  }
+
+  /**
+   * Returns the distance between a module's velocity and the velocity the fit predicts for it.
+   *
+   * @param module The index of the module.
+   * @param moduleVx The robot-relative x velocity of the module in m/s.
+   * @param moduleVy The robot-relative y velocity of the module in m/s.
+   * @return The residual in m/s.
+   */
+  double getResidual(int module, double moduleVx, double moduleVy) {
+    double expectedVx = velocityX - angularVelocity * moduleY[module];
+    double expectedVy = velocityY + angularVelocity * moduleX[module];
+
+    return Math.hypot(moduleVx - expectedVx, moduleVy - expectedVy);
+  }
+
+  /** {@return the fitted robot-relative x velocity in m/s} */
+  double getVelocityX() {
+    return velocityX;
+  }
+
+  /** {@return the fitted robot-relative y velocity in m/s} */
+  double getVelocityY() {
+    return velocityY;
+  }
+
+  /** {@return the fitted angular velocity in rad/s, counter-clockwise positive} */
+  double getAngularVelocity() {
+    return angularVelocity;
+  }
+}
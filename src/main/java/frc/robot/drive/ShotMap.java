@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.wpilibj.DataLogManager;
+import frc.robot.parameters.SwerveDriveParameters;
+import frc.robot.subsystems.Shooter;
+import frc.robot.subsystems.Swerve;
+import frc.robot.util.FieldUtils;
+import frc.robot.util.MatchUtil;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A precomputed map of where to shoot into each alliance's hub from.
+ *
+ * <p>For every cell of the {@link NavGrid}, the map records the expected quality of a shot taken
+ * from the center of the cell, the nearest high quality shooting position and the time to drive to
+ * it. The quality is zero outside the shooting range or the alliance zone and where the robot does
+ * not fit. Within range it falls with the hub alignment tolerance as the distance to the hub
+ * increases and with the clearance from obstacles. The time to reach a shooting position is found
+ * by searching outward from every high quality cell at once, so looking up the fastest approach
+ * from anywhere on the field is a constant time array access.
+ *
+ * <p>The maps depend on the hub locations of the selected field layout, so they are generated when
+ * the robot code starts rather than at build time. Until they are ready, there are no shooting
+ * positions.
+ */
+public final class ShotMap {
+  /** The minimum quality of a shooting position the robot drives to. */
+  public static final double MIN_SHOT_QUALITY = 0.6;
+
+  /** The clearance from obstacles, in meters, at and above which a shot has full quality. */
+  private static final double PREFERRED_CLEARANCE = 0.75;
+
+  private static final double DIAGONAL_STEP = Math.sqrt(2);
+  private static final int[] NEIGHBOR_COLUMNS = {1, 1, 0, -1, -1, -1, 0, 1};
+  private static final int[] NEIGHBOR_ROWS = {0, 1, 1, 1, 0, -1, -1, -1};
+
+  /**
+   * The maps of an alliance's hub, indexed by navigation grid cell.
+   *
+   * @param hub The location of the hub.
+   * @param quality The quality of a shot from each cell from 0 to 1.
+   * @param timeToShot The time, in seconds, to drive from each cell to its shooting position.
+   * @param shotCell The shooting position cell of each cell or -1 if none can be reached.
+   */
+  private record AllianceMap(
+      Translation2d hub, float[] quality, float[] timeToShot, int[] shotCell) {}
+
+  /** The generated maps of both alliances. */
+  private record Maps(NavGrid grid, AllianceMap blue, AllianceMap red) {}
+
+  /** A cell in the open set of the search. */
+  private record Node(int cell, double distance) {}
+
+  private final double maxSpeed;
+  private final double maxAcceleration;
+  private final double minClearance;
+  private final Translation2d blueHub = FieldUtils.getHubLocation(false);
+  private final Translation2d redHub = FieldUtils.getHubLocation(true);
+
+  private volatile Maps maps;
+
+  /**
+   * Creates a new ShotMap. The maps are generated on a background thread once the navigation grid
+   * has loaded.
+   *
+   * @param gridFuture A future that completes with the navigation grid.
+   * @param parameters The drive base parameters used to estimate the time to drive to a shot.
+   */
+  public ShotMap(CompletableFuture<NavGrid> gridFuture, SwerveDriveParameters parameters) {
+    this.maxSpeed = parameters.getMaxDriveSpeed();
+    this.maxAcceleration = parameters.getMaxDriveAcceleration();
+    this.minClearance = parameters.getWheelBaseRadius();
+
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                NavGrid grid = gridFuture.join();
+                long startTime = System.nanoTime();
+
+                generate(grid);
+                DataLogManager.log(
+                    String.format(
+                        "Generated shot map in %.1f ms", (System.nanoTime() - startTime) / 1e6));
+              } catch (CompletionException e) {
+                // The failure was reported when loading the grid.
+              }
+            },
+            "ShotMap");
+
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+  }
+
+  /**
+   * Creates a new ShotMap, generating the maps on the calling thread.
+   *
+   * @param grid The navigation grid.
+   * @param parameters The drive base parameters used to estimate the time to drive to a shot.
+   */
+  public ShotMap(NavGrid grid, SwerveDriveParameters parameters) {
+    this.maxSpeed = parameters.getMaxDriveSpeed();
+    this.maxAcceleration = parameters.getMaxDriveAcceleration();
+    this.minClearance = parameters.getWheelBaseRadius();
+
+    generate(grid);
+  }
+
+  /** {@return whether the maps have been generated} */
+  public boolean isReady() {
+    return maps != null;
+  }
+
+  /**
+   * Returns the quality of a shot into the alliance-side hub from the specified position.
+   *
+   * @param position The position on the field.
+   * @return The quality from 0, where the robot cannot shoot, to 1.
+   */
+  public double getShotQuality(Translation2d position) {
+    Maps currentMaps = maps;
+
+    if (currentMaps == null) {
+      return 0.0;
+    }
+
+    return getAllianceMap(currentMaps).quality()[currentMaps.grid().getCell(position)];
+  }
+
+  /**
+   * Returns the time to drive from the specified position to the nearest high quality shooting
+   * position of the alliance-side hub.
+   *
+   * @param position The position on the field.
+   * @return The time in seconds or infinity if no shooting position can be reached.
+   */
+  public double getTimeToShot(Translation2d position) {
+    Maps currentMaps = maps;
+
+    if (currentMaps == null) {
+      return Double.POSITIVE_INFINITY;
+    }
+
+    return getAllianceMap(currentMaps).timeToShot()[currentMaps.grid().getCell(position)];
+  }
+
+  /**
+   * Returns the high quality shooting position of the alliance-side hub that is quickest to drive
+   * to from the specified position. The pose faces the hub.
+   *
+   * @param position The position on the field.
+   * @return The shooting pose or an empty value if none can be reached.
+   */
+  public Optional<Pose2d> getNearestShotPose(Translation2d position) {
+    Maps currentMaps = maps;
+
+    if (currentMaps == null) {
+      return Optional.empty();
+    }
+
+    AllianceMap allianceMap = getAllianceMap(currentMaps);
+    int shotCell = allianceMap.shotCell()[currentMaps.grid().getCell(position)];
+
+    if (shotCell < 0) {
+      return Optional.empty();
+    }
+
+    Translation2d shotPosition = currentMaps.grid().getCenter(shotCell);
+
+    return Optional.of(
+        new Pose2d(shotPosition, allianceMap.hub().minus(shotPosition).getAngle()));
+  }
+
+  /** {@return the map of the alliance-side hub} */
+  private static AllianceMap getAllianceMap(Maps maps) {
+    return MatchUtil.isRedAlliance() ? maps.red() : maps.blue();
+  }
+
+  /** Generates the maps of both alliances and publishes them. */
+  private void generate(NavGrid grid) {
+    maps = new Maps(grid, generate(grid, blueHub, false), generate(grid, redHub, true));
+  }
+
+  /**
+   * Generates the maps of an alliance's hub.
+   *
+   * <p>Every cell with at least the minimum shot quality is a shooting position. The shortest
+   * distance from each cell to a shooting position is found with a multi-source Dijkstra search
+   * over the unblocked cells that starts from every shooting position at once and carries the
+   * shooting position each cell was reached from.
+   *
+   * @param grid The navigation grid.
+   * @param hub The location of the hub.
+   * @param isRedAlliance Whether the hub belongs to the red alliance.
+   * @return The maps of the alliance's hub.
+   */
+  private AllianceMap generate(NavGrid grid, Translation2d hub, boolean isRedAlliance) {
+    int cellCount = grid.getCellCount();
+    int columns = grid.getColumns();
+    double nodeSize = grid.getNodeSize();
+    float[] quality = new float[cellCount];
+    float[] timeToShot = new float[cellCount];
+    int[] shotCell = new int[cellCount];
+    double[] distance = new double[cellCount];
+    PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble(Node::distance));
+
+    Arrays.fill(shotCell, -1);
+    Arrays.fill(distance, Double.POSITIVE_INFINITY);
+
+    for (int cell = 0; cell < cellCount; cell++) {
+      quality[cell] = (float) computeQuality(grid, cell, hub, isRedAlliance);
+
+      if (quality[cell] >= MIN_SHOT_QUALITY) {
+        shotCell[cell] = cell;
+        distance[cell] = 0.0;
+        open.add(new Node(cell, 0.0));
+      }
+    }
+
+    while (!open.isEmpty()) {
+      Node node = open.poll();
+
+      if (node.distance() > distance[node.cell()]) {
+        continue;
+      }
+
+      int column = node.cell() % columns;
+      int row = node.cell() / columns;
+
+      for (int i = 0; i < NEIGHBOR_COLUMNS.length; i++) {
+        int neighborColumn = column + NEIGHBOR_COLUMNS[i];
+        int neighborRow = row + NEIGHBOR_ROWS[i];
+
+        if (!grid.isInBounds(neighborColumn, neighborRow)) {
+          continue;
+        }
+
+        int neighbor = neighborRow * columns + neighborColumn;
+        boolean isDiagonal = NEIGHBOR_COLUMNS[i] != 0 && NEIGHBOR_ROWS[i] != 0;
+
+        // Don't cut across the corner of a blocked cell when moving diagonally.
+        if (grid.isBlocked(neighbor)
+            || (isDiagonal
+                && (grid.isBlocked(row * columns + neighborColumn)
+                    || grid.isBlocked(neighborRow * columns + column)))) {
+          continue;
+        }
+
+        double neighborDistance = node.distance() + (isDiagonal ? DIAGONAL_STEP : 1.0) * nodeSize;
+
+        if (neighborDistance < distance[neighbor]) {
+          distance[neighbor] = neighborDistance;
+          shotCell[neighbor] = shotCell[node.cell()];
+          open.add(new Node(neighbor, neighborDistance));
+        }
+      }
+    }
+
+    for (int cell = 0; cell < cellCount; cell++) {
+      timeToShot[cell] = (float) getTravelTime(distance[cell]);
+    }
+
+    return new AllianceMap(hub, quality, timeToShot, shotCell);
+  }
+
+  /**
+   * Returns the quality of a shot into a hub from the center of a cell.
+   *
+   * @param grid The navigation grid.
+   * @param cell The cell.
+   * @param hub The location of the hub.
+   * @param isRedAlliance Whether the hub belongs to the red alliance.
+   * @return The quality from 0 to 1.
+   */
+  private double computeQuality(NavGrid grid, int cell, Translation2d hub, boolean isRedAlliance) {
+    if (!grid.isClear(cell, minClearance)) {
+      return 0.0;
+    }
+
+    Translation2d position = grid.getCenter(cell);
+    double distanceToHub = position.getDistance(hub);
+
+    if (distanceToHub < Shooter.HUB_SHOT_DISTANCE
+        || distanceToHub > Shooter.MAX_SHOOTING_DISTANCE
+        || !FieldUtils.inAllianceZone(position, isRedAlliance)) {
+      return 0.0;
+    }
+
+    double alignmentFactor =
+        Swerve.getHubAlignmentTolerance(distanceToHub)
+            / Swerve.getHubAlignmentTolerance(Shooter.HUB_SHOT_DISTANCE);
+    double clearanceFactor = Math.min(grid.getClearance(cell) / PREFERRED_CLEARANCE, 1.0);
+
+    return alignmentFactor * clearanceFactor;
+  }
+
+  /**
+   * Returns the time to drive a distance from rest to rest at the maximum acceleration and speed.
+   *
+   * @param distance The distance in meters.
+   * @return The time in seconds.
+   */
+  private double getTravelTime(double distance) {
+    double accelerationDistance = maxSpeed * maxSpeed / maxAcceleration;
+
+    if (distance <= accelerationDistance) {
+      return 2.0 * Math.sqrt(distance / maxAcceleration);
+    }
+
+    return distance / maxSpeed + maxSpeed / maxAcceleration;
+  }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.drive;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.util.datalog.BooleanLogEntry;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.IntegerLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+
+/**
+ * Detects wheel slip and collisions so the pose estimator can stop trusting the wheels when they
+ * don't reflect how the robot is moving.
+ *
+ * <p>Three checks are made each update:
+ *
+ * <ul>
+ *   <li>The module velocities are fit to a rigid body motion. A module whose velocity is far from
+ *       the fit is slipping and is excluded from the fit, and the check is repeated, as long as
+ *       enough modules remain to determine the motion.
+ *   <li>The chassis acceleration implied by the wheels is compared with the accelerometer. When
+ *       every wheel spins or skids together, the fit is consistent but the accelerations disagree.
+ *   <li>The accelerometer is compared with the commanded acceleration. An acceleration well beyond
+ *       what the drive can produce means the robot was hit or drove into something.
+ * </ul>
+ *
+ * <p>Slipping modules get a weight of zero in the odometry update. After a loss of traction, a
+ * collision or while the robot is not level, such as when crossing the bump, every module is
+ * down-weighted for a short time and vision measurements are trusted more. The detector does not
+ * allocate, and each change in its state is logged.
+ */
+public final class SlipDetector {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  /** The smallest residual, in m/s, at which a module is slipping. */
+  private static final double SLIP_RESIDUAL = 0.25;
+
+  /** The residual at which a module is slipping as a fraction of its speed. */
+  private static final double SLIP_RESIDUAL_RATIO = 0.15;
+
+  /** The fewest modules kept in the rigid body fit. */
+  private static final int MIN_FIT_MODULES = 2;
+
+  /**
+   * The difference between the wheel and accelerometer accelerations, as a fraction of the maximum
+   * drive acceleration, at which the wheels have lost traction.
+   */
+  private static final double TRACTION_LOSS_RATIO = 0.5;
+
+  /**
+   * The difference between the measured and commanded accelerations, as a fraction of the maximum
+   * drive acceleration, at which the robot has collided with something.
+   */
+  private static final double COLLISION_RATIO = 1.5;
+
+  /** The tilt, in radians, above which the robot is crossing the bump and its wheels may lift. */
+  private static final double BUMP_TILT = Math.toRadians(5.0);
+
+  /** The smoothing factor of the acceleration filters. */
+  private static final double ACCELERATION_SMOOTHING = 0.5;
+
+  /** The time, in seconds, the wheels stay down-weighted after a loss of traction or collision. */
+  private static final double DEGRADED_HOLD_TIME = 0.25;
+
+  /** The weight of each module while the wheels are down-weighted. */
+  private static final double DEGRADED_WHEEL_WEIGHT = 0.05;
+
+  /** The scale applied to the vision standard deviations while the wheels are not trusted. */
+  private static final double VISION_STD_DEV_SCALE = 0.5;
+
+  private final RigidBodyFit fit;
+  private final double maxAcceleration;
+  private final int moduleCount;
+
+  private final double[] previousDistances;
+  private final double[] moduleVx;
+  private final double[] moduleVy;
+  private final double[] moduleWeights;
+  private double previousTimestamp;
+
+  private double previousVelocityX;
+  private double previousVelocityY;
+  private double previousCommandedVx;
+  private double previousCommandedVy;
+  private double wheelAccelerationX;
+  private double wheelAccelerationY;
+  private double measuredAccelerationX;
+  private double measuredAccelerationY;
+
+  private int slippingModules;
+  private boolean isTractionLost;
+  private boolean isColliding;
+  private double lastDegradedTime = Double.NEGATIVE_INFINITY;
+  private boolean isDegraded;
+
+  private final IntegerLogEntry slippingModulesLog =
+      new IntegerLogEntry(LOG, "/SlipDetector/Slipping Modules");
+  private final BooleanLogEntry tractionLossLog =
+      new BooleanLogEntry(LOG, "/SlipDetector/Traction Loss");
+  private final BooleanLogEntry collisionLog = new BooleanLogEntry(LOG, "/SlipDetector/Collision");
+  private final BooleanLogEntry degradedLog = new BooleanLogEntry(LOG, "/SlipDetector/Degraded");
+
+  /**
+   * Creates a new SlipDetector.
+   *
+   * @param modulePositions The locations of the swerve modules relative to the robot center.
+   * @param maxAcceleration The maximum chassis acceleration in m/s².
+   * @param timestamp The current time in seconds.
+   * @param wheelPositions The current swerve module positions.
+   */
+  public SlipDetector(
+      Translation2d[] modulePositions,
+      double maxAcceleration,
+      double timestamp,
+      SwerveModulePosition[] wheelPositions) {
+    this.fit = new RigidBodyFit(modulePositions);
+    this.maxAcceleration = maxAcceleration;
+    this.moduleCount = modulePositions.length;
+    this.previousDistances = new double[moduleCount];
+    this.moduleVx = new double[moduleCount];
+    this.moduleVy = new double[moduleCount];
+    this.moduleWeights = new double[moduleCount];
+    this.previousTimestamp = timestamp;
+
+    for (int i = 0; i < moduleCount; i++) {
+      previousDistances[i] = wheelPositions[i].distanceMeters;
+      moduleWeights[i] = 1.0;
+    }
+
+    slippingModulesLog.append(0);
+    tractionLossLog.append(false);
+    collisionLog.append(false);
+    degradedLog.append(false);
+  }
+
+  /**
+   * Checks the latest sensor readings for wheel slip and collisions.
+   *
+   * @param timestamp The time the readings were taken in seconds.
+   * @param wheelPositions The swerve module positions.
+   * @param accelerationX The robot-relative forward acceleration in m/s².
+   * @param accelerationY The robot-relative leftward acceleration in m/s².
+   * @param commandedSpeeds The robot-relative chassis speeds last commanded.
+   * @param tilt The tilt of the robot from level in radians.
+   */
+  public void update(
+      double timestamp,
+      SwerveModulePosition[] wheelPositions,
+      double accelerationX,
+      double accelerationY,
+      ChassisSpeeds commandedSpeeds,
+      double tilt) {
+    double dt = timestamp - previousTimestamp;
+
+    if (dt <= 0.0) {
+      return;
+    }
+
+    previousTimestamp = timestamp;
+
+    for (int i = 0; i < moduleCount; i++) {
+      SwerveModulePosition position = wheelPositions[i];
+      double velocity = (position.distanceMeters - previousDistances[i]) / dt;
+
+      moduleVx[i] = velocity * position.angle.getCos();
+      moduleVy[i] = velocity * position.angle.getSin();
+      moduleWeights[i] = 1.0;
+      previousDistances[i] = position.distanceMeters;
+    }
+
+    updateSlippingModules();
+
+    // The accelerometer measures the rate of change of the robot-relative velocity plus the
+    // centripetal term from the rotating frame.
+    double velocityX = fit.getVelocityX();
+    double velocityY = fit.getVelocityY();
+    double omega = fit.getAngularVelocity();
+    double rawWheelAccelerationX = (velocityX - previousVelocityX) / dt - omega * velocityY;
+    double rawWheelAccelerationY = (velocityY - previousVelocityY) / dt + omega * velocityX;
+
+    wheelAccelerationX += ACCELERATION_SMOOTHING * (rawWheelAccelerationX - wheelAccelerationX);
+    wheelAccelerationY += ACCELERATION_SMOOTHING * (rawWheelAccelerationY - wheelAccelerationY);
+    measuredAccelerationX += ACCELERATION_SMOOTHING * (accelerationX - measuredAccelerationX);
+    measuredAccelerationY += ACCELERATION_SMOOTHING * (accelerationY - measuredAccelerationY);
+    previousVelocityX = velocityX;
+    previousVelocityY = velocityY;
+
+    boolean wasTractionLost = isTractionLost;
+
+    isTractionLost =
+        Math.hypot(
+                wheelAccelerationX - measuredAccelerationX,
+                wheelAccelerationY - measuredAccelerationY)
+            > TRACTION_LOSS_RATIO * maxAcceleration;
+
+    if (isTractionLost != wasTractionLost) {
+      tractionLossLog.append(isTractionLost);
+    }
+
+    // Limit the commanded acceleration to what the drive can produce.
+    double commandedAccelerationX = (commandedSpeeds.vxMetersPerSecond - previousCommandedVx) / dt;
+    double commandedAccelerationY = (commandedSpeeds.vyMetersPerSecond - previousCommandedVy) / dt;
+    double commandedAcceleration = Math.hypot(commandedAccelerationX, commandedAccelerationY);
+
+    if (commandedAcceleration > maxAcceleration) {
+      commandedAccelerationX *= maxAcceleration / commandedAcceleration;
+      commandedAccelerationY *= maxAcceleration / commandedAcceleration;
+    }
+
+    previousCommandedVx = commandedSpeeds.vxMetersPerSecond;
+    previousCommandedVy = commandedSpeeds.vyMetersPerSecond;
+
+    boolean wasColliding = isColliding;
+
+    isColliding =
+        Math.hypot(accelerationX - commandedAccelerationX, accelerationY - commandedAccelerationY)
+            > COLLISION_RATIO * maxAcceleration;
+
+    if (isColliding != wasColliding) {
+      collisionLog.append(isColliding);
+    }
+
+    if (isTractionLost || isColliding || tilt > BUMP_TILT) {
+      lastDegradedTime = timestamp;
+    }
+
+    boolean wasDegraded = isDegraded;
+
+    isDegraded = timestamp - lastDegradedTime < DEGRADED_HOLD_TIME;
+
+    if (isDegraded != wasDegraded) {
+      degradedLog.append(isDegraded);
+    }
+
+    if (isDegraded) {
+      for (int i = 0; i < moduleCount; i++) {
+        moduleWeights[i] *= DEGRADED_WHEEL_WEIGHT;
+      }
+    }
+  }
+
+  /**
+   * Fits the rigid body motion, repeatedly excluding the module furthest from the fit while it is
+   * slipping and enough modules remain.
+   */
+  private void updateSlippingModules() {
+    int previousSlippingModules = slippingModules;
+    int fitModules = moduleCount;
+
+    boolean isFit = fit.fit(moduleVx, moduleVy, moduleWeights);
+
+    slippingModules = 0;
+
+    while (isFit && fitModules > MIN_FIT_MODULES) {
+      int worstModule = -1;
+      double worstExcess = 0.0;
+
+      for (int i = 0; i < moduleCount; i++) {
+        if (moduleWeights[i] == 0.0) {
+          continue;
+        }
+
+        double residual = fit.getResidual(i, moduleVx[i], moduleVy[i]);
+        double tolerance =
+            SLIP_RESIDUAL + SLIP_RESIDUAL_RATIO * Math.hypot(moduleVx[i], moduleVy[i]);
+
+        if (residual - tolerance > worstExcess) {
+          worstModule = i;
+          worstExcess = residual - tolerance;
+        }
+      }
+
+      if (worstModule < 0) {
+        break;
+      }
+
+      moduleWeights[worstModule] = 0.0;
+      slippingModules |= 1 << worstModule;
+      fitModules--;
+      isFit = fit.fit(moduleVx, moduleVy, moduleWeights);
+    }
+
+    if (slippingModules != previousSlippingModules) {
+      slippingModulesLog.append(slippingModules);
+    }
+  }
+
+  /**
+   * Returns the weight of each module in the odometry update, from 0 for a module that is slipping
+   * to 1 for a module that is fully trusted. The array is updated in place and must not be
+   * modified.
+   *
+   * @return The module weights.
+   */
+  public double[] getModuleWeights() {
+    return moduleWeights;
+  }
+
+  /** {@return whether any module is slipping} */
+  public boolean isSlipping() {
+    return slippingModules != 0;
+  }
+
+  /** {@return whether the robot has collided with something} */
+  public boolean isColliding() {
+    return isColliding;
+  }
+
+  /** {@return whether every module is down-weighted after a loss of traction or collision} */
+  public boolean isDegraded() {
+    return isDegraded;
+  }
+
+  /** {@return the scale to apply to the standard deviations of vision measurements} */
+  public double getVisionStdDevScale() {
+    return isSlipping() || isDegraded ? VISION_STD_DEV_SCALE : 1.0;
+  }
+}
@@ -32,6 +32,7 @@ public class SwerveDrive extends RobotDriveBase {
   private final double maxDriveSpeed;
   private final double maxRotationalSpeed;
   private final ChassisSpeeds chassisSpeeds = new ChassisSpeeds();
+  private final ChassisSpeeds commandedSpeeds = new ChassisSpeeds();
 
   // The current supplied state updated by the periodic method.
   private Rotation2d orientation;
@@ -184,6 +185,10 @@ public class SwerveDrive extends RobotDriveBase {
     ySpeedLog.append(speeds.vyMetersPerSecond);
     omegaSpeedLog.append(Math.toDegrees(speeds.omegaRadiansPerSecond));
 
+    commandedSpeeds.vxMetersPerSecond = speeds.vxMetersPerSecond;
+    commandedSpeeds.vyMetersPerSecond = speeds.vyMetersPerSecond;
+    commandedSpeeds.omegaRadiansPerSecond = speeds.omegaRadiansPerSecond;
+
     SwerveModuleState[] states = kinematics.toSwerveModuleStates(speeds);
 
     setModuleStates(states);
@@ -198,6 +203,16 @@ public class SwerveDrive extends RobotDriveBase {
     return kinematics.toChassisSpeeds(getModuleStates());
   }
 
+  /**
+   * Returns the robot-relative chassis speeds last commanded. The object is updated in place and
+   * must not be modified.
+   *
+   * @return The commanded chassis speeds.
+   */
+  public ChassisSpeeds getCommandedChassisSpeeds() {
+    return commandedSpeeds;
+  }
+
   /**
    * Returns the swerve module positions.
    *
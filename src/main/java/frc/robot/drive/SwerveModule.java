@@ -24,7 +24,12 @@ import edu.wpi.first.wpilibj.DataLogManager;
 import edu.wpi.first.wpilibj.simulation.FlywheelSim;
 import frc.robot.Robot;
 import frc.robot.parameters.SwerveDriveParameters;
+import frc.robot.util.DashboardMode.Tier;
+import frc.robot.util.DashboardThrottle;
+import frc.robot.util.MatchState;
 import frc.robot.util.MotorController;
+import frc.robot.util.MultiRateScheduler;
+import frc.robot.util.MultiRateScheduler.RateGroup;
 import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
@@ -43,6 +48,10 @@ import java.util.function.Supplier;
 public final class SwerveModule {
   private static final DataLog LOG = DataLogManager.getLog();
 
+  // The smallest changes in wheel angle, in degrees, and velocity, in m/s, shown on the dashboard.
+  private static final double ANGLE_DEADBAND = 0.5;
+  private static final double VELOCITY_DEADBAND = 0.02;
+
   private final MotorController driveMotor;
   private final DoubleSupplier positionSupplier;
   private final MotorController steeringMotor;
@@ -63,10 +72,20 @@ public final class SwerveModule {
   private double driveVoltage;
   private double steeringVoltage;
 
+  // The state set by the robot loop and followed by the steering loop at the control rate. Both
+  // run on the main robot thread, so the state is handed over in a plain field.
+  private final SwerveModuleState goalState = new SwerveModuleState();
+  private boolean isSteeringEnabled;
+
   // The current supplied state updated by the periodic method.
   private final SwerveModuleState state = new SwerveModuleState();
   private final SwerveModulePosition position = new SwerveModulePosition();
 
+  // The wheel angle and velocity shown on the dashboard.
+  private final DashboardThrottle dashboardThrottle;
+  private double dashboardAngle;
+  private double dashboardVelocity;
+
   private final DoubleLogEntry driveSpeedLog;
   private final DoubleLogEntry positionLog;
   private final DoubleLogEntry wheelAngleLog;
@@ -116,6 +135,7 @@ public final class SwerveModule {
     this.positionSupplier = realRobot ? position : () -> this.simPosition;
     this.velocitySupplier = realRobot ? velocity : () -> this.simVelocity;
     this.name = name;
+    this.dashboardThrottle = new DashboardThrottle(Tier.DIAGNOSTIC, "Swerve/" + name);
     this.wheelDiameter = parameters.getModuleParameters().getWheelDiameter();
 
     this.driveSpeedLog =
@@ -145,7 +165,9 @@ public final class SwerveModule {
 
     this.drivePID = new PIDController(0, 0, 0.0);
 
-    this.steeringPID = new ProfiledPIDController(3.5, 0, 0.0, parameters.getSteeringConstraints());
+    this.steeringPID =
+        new ProfiledPIDController(
+            3.5, 0, 0.0, parameters.getSteeringConstraints(), RateGroup.CONTROL.getPeriod());
     this.steeringPID.enableContinuousInput(-Math.PI, Math.PI);
     this.steeringPID.setTolerance(Math.toRadians(1.0));
     this.steeringPID.reset(getPosition().angle.getRadians());
@@ -161,6 +183,9 @@ public final class SwerveModule {
                 parameters.getSteeringKv(), parameters.getSteeringKa()),
             DCMotor.getFalcon500(1),
             parameters.getModuleParameters().getSteeringGearRatio());
+
+    MultiRateScheduler.register(RateGroup.CONTROL, this::updateSteering);
+    MultiRateScheduler.register(RateGroup.TELEMETRY, this::logMotorTelemetry);
   }
 
   /** Initializes the supplied state. */
@@ -190,6 +215,17 @@ public final class SwerveModule {
     positionLog.append(position);
     wheelAngleLog.append(wheelAngle.getDegrees());
     wheelAngleVelocityLog.append(wheelAngleVelocity);
+
+    if (dashboardThrottle.shouldUpdate()) {
+      dashboardAngle =
+          DashboardThrottle.deadband(dashboardAngle, wheelAngle.getDegrees(), ANGLE_DEADBAND);
+      dashboardVelocity =
+          DashboardThrottle.deadband(dashboardVelocity, velocity, VELOCITY_DEADBAND);
+    }
+  }
+
+  /** Logs the telemetry of the drive and steering motors. */
+  private void logMotorTelemetry() {
     driveMotor.logTelemetry();
     steeringMotor.logTelemetry();
   }
@@ -202,6 +238,9 @@ public final class SwerveModule {
   /**
    * Sets the desired state for the module.
    *
+   * <p>The drive motor voltage is set immediately. The steering motor follows the new wheel angle
+   * from the steering loop, which runs at the control rate.
+   *
    * @param newState The desired state w/ speed and angle
    */
   public void setState(SwerveModuleState newState) {
@@ -218,26 +257,46 @@ public final class SwerveModule {
         drivePID.calculate(state.speedMetersPerSecond, newState.speedMetersPerSecond);
     double driveFeedForward = this.driveFeedForward.calculate(newState.speedMetersPerSecond);
 
+    driveVoltage = driveOutput + driveFeedForward;
+    driveMotor.setVoltage(driveVoltage);
+    driveVoltageLog.append(driveVoltage);
+
+    goalState.speedMetersPerSecond = newState.speedMetersPerSecond;
+    goalState.angle = newState.angle;
+    isSteeringEnabled = true;
+  }
+
+  /**
+   * Updates the steering motor voltage to follow the wheel angle of the desired state. This is run
+   * by the {@link MultiRateScheduler} at the control rate, which is faster than the robot loop.
+   */
+  void updateSteering() {
+    if (!isSteeringEnabled || !MatchState.isEnabled()) {
+      return;
+    }
+
     // Calculate the steering motor voltage using PID and FeedForward
     double steeringOutput =
-        steeringPID.calculate(currentAngle.getRadians(), newState.angle.getRadians());
+        steeringPID.calculate(wheelAngleSupplier.get().getRadians(), goalState.angle.getRadians());
     double steeringFeedForward =
         this.steeringFeedForward.calculate(steeringPID.getSetpoint().velocity);
 
-    // Sets voltages of motors
-    driveVoltage = driveOutput + driveFeedForward;
     steeringVoltage = steeringOutput + steeringFeedForward;
-
-    setMotorVoltages(driveVoltage, steeringVoltage);
+    steeringMotor.setVoltage(steeringVoltage);
+    steeringVoltageLog.append(steeringVoltage);
   }
 
   /**
-   * Sets the drive and steering motor voltages.
+   * Sets the drive and steering motor voltages. The steering loop stops until the next desired
+   * state is set.
    *
    * @param driveVoltage The drive motor voltage.
    * @param steeringVoltage The steering motor voltage.
    */
   public void setMotorVoltages(double driveVoltage, double steeringVoltage) {
+    this.isSteeringEnabled = false;
+    this.driveVoltage = driveVoltage;
+    this.steeringVoltage = steeringVoltage;
     this.driveMotor.setVoltage(driveVoltage);
     this.steeringMotor.setVoltage(steeringVoltage);
     this.driveVoltageLog.append(driveVoltage);
@@ -246,6 +305,7 @@ public final class SwerveModule {
 
   /** Stops the drive and steering motors. */
   public void stopMotors() {
+    isSteeringEnabled = false;
     driveMotor.stopMotor();
     steeringMotor.stopMotor();
   }
@@ -304,7 +364,7 @@ public final class SwerveModule {
         new Rotation2d(simWheelAngle.getRadians() + (simWheelAngleVelocity * Robot.kDefaultPeriod));
   }
 
-  /** Returns the wheel angle in degrees. */
+  /** Returns the wheel angle in degrees as last shown on the dashboard. */
   @DashboardRadialGauge(
       title = "Wheel Angle (deg)",
       startAngle = -180,
@@ -314,12 +374,12 @@ public final class SwerveModule {
       numberOfLabels = 0,
       wrapValue = true)
   public double getAngleDegrees() {
-    return getState().angle.getDegrees();
+    return dashboardAngle;
   }
 
-  /** Returns the wheel velocity in meters per second. */
+  /** Returns the wheel velocity in meters per second as last shown on the dashboard. */
   @DashboardTextDisplay(title = "Wheel Velocity (m/s)")
   public double getVelocity() {
-    return getState().speedMetersPerSecond;
+    return dashboardVelocity;
   }
 }
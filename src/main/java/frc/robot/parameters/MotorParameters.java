@@ -138,7 +138,11 @@ public enum MotorParameters {
   public MotorController newController(
       String logPrefix, int deviceID, MotorConfig motorConfig, MotorCurrentConfig currentConfig) {
     try {
-      return newController(logPrefix, deviceID).apply(motorConfig).apply(currentConfig);
+      return newController(logPrefix, deviceID)
+          .configure()
+          .with(motorConfig)
+          .with(currentConfig)
+          .apply();
     } catch (MotorConfigException e) {
       return new NullMotorAdapter();
     }
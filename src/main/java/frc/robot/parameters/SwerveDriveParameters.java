@@ -24,6 +24,7 @@ import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
 import edu.wpi.first.math.trajectory.TrapezoidProfile;
 import edu.wpi.first.math.trajectory.constraint.SwerveDriveKinematicsConstraint;
 import edu.wpi.first.math.util.Units;
+import frc.robot.util.DeviceHealthMonitor;
 import frc.robot.util.Gyro;
 import frc.robot.util.MotorConfig;
 import frc.robot.util.MotorController;
@@ -485,6 +486,11 @@ public enum SwerveDriveParameters {
     return this.driveMotor;
   }
 
+  /** {@return the current configuration of the drive motors} */
+  public MotorCurrentConfig getDriveCurrentConfig() {
+    return DRIVE_CURRENT_CONFIG;
+  }
+
   /**
    * Returns the CAN ids of the specified motor.
    *
@@ -559,6 +565,12 @@ public enum SwerveDriveParameters {
     wheelAngleConfig.MagnetSensor.AbsoluteSensorDiscontinuityPoint = 0.5;
     wheelAngleConfig.MagnetSensor.MagnetOffset = getAngleOffset(angleEncoder) / 360.0;
     wheelAngleConfigurator.apply(wheelAngleConfig);
+
+    DeviceHealthMonitor.register(
+        String.format("/Swerve/CANcoder-%d", deviceID),
+        wheelAngleEncoder,
+        () -> wheelAngleConfigurator.apply(wheelAngleConfig));
+
     return wheelAngleEncoder;
   }
 
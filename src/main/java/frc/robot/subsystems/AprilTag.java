@@ -36,7 +36,11 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.RobotPreferences;
 import frc.robot.RobotSelector;
 import frc.robot.parameters.PoseEstimationStrategy;
+import frc.robot.util.DashboardMode.Tier;
+import frc.robot.util.DashboardThrottle;
 import frc.robot.util.FieldUtils;
+import frc.robot.util.LoopPipeline.Phase;
+import frc.robot.util.PreferenceSnapshot;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -181,6 +185,8 @@ public final class AprilTag extends SubsystemBase {
   @DashboardLayout(title = "Estimated Pose", column = 0, row = 3, width = 2, height = 2)
   private EstimatedPoseTelemetry estimatedPoseTelemetry = new EstimatedPoseTelemetry();
 
+  private final DashboardThrottle dashboardThrottle;
+
   private Optional<EstimatedRobotPose> globalEstimatedPose = Optional.empty();
 
   private Pose2d lastEstimatedPose = Pose2d.kZero;
@@ -201,11 +207,17 @@ public final class AprilTag extends SubsystemBase {
    * @param robotToCamera The transform from the robot to the camera.
    * @param cameraPublisherName The camera publisher of the camera.
    * @param streamURL The stream URL of the camera.
+   * @param dashboardTab The title of the camera's dashboard tab.
    */
   public AprilTag(
-      String cameraName, Transform3d robotToCamera, String cameraPublisherName, String streamURL) {
+      String cameraName,
+      Transform3d robotToCamera,
+      String cameraPublisherName,
+      String streamURL,
+      String dashboardTab) {
     setName(cameraName);
     this.camera = new PhotonCamera(cameraName);
+    this.dashboardThrottle = new DashboardThrottle(Tier.DIAGNOSTIC, dashboardTab);
     this.robotToCamera = robotToCamera;
     this.cameraToRobot = robotToCamera.inverse();
 
@@ -316,8 +328,8 @@ public final class AprilTag extends SubsystemBase {
 
   /**
    * The standard deviations of the estimated pose from {@link #getEstimatedGlobalPose()}, for use
-   * with {@link edu.wpi.first.math.estimator.SwerveDrivePoseEstimator SwerveDrivePoseEstimator}.
-   * This should only be used when there are targets visible.
+   * with {@link Swerve#addVisionMeasurement(Pose2d, double, Matrix)}. This should only be used when
+   * there are targets visible.
    */
   public Matrix<N3, N1> getEstimationStdDevs() {
     return curStdDevs;
@@ -326,7 +338,7 @@ public final class AprilTag extends SubsystemBase {
   /** {@return whether to update the odometry based on vision measurements} */
   public boolean shouldUpdateOdometry() {
     boolean updatedOdometry =
-        shouldUpdateOdometry && RobotPreferences.SHOULD_UPDATE_ODOMETRY.getValue();
+        shouldUpdateOdometry && PreferenceSnapshot.shouldUpdateOdometry();
     logUpdatedeOdometry.append(updatedOdometry);
     return updatedOdometry;
   }
@@ -338,7 +350,19 @@ public final class AprilTag extends SubsystemBase {
    * @return Estimated pose.
    */
   public Optional<EstimatedRobotPose> estimateRobotPose(PhotonPipelineResult result) {
-    switch (RobotPreferences.POSE_ESTIMATION_STRATEGY.getValue()) {
+    return estimateRobotPose(result, PreferenceSnapshot.getPoseEstimationStrategy());
+  }
+
+  /**
+   * Estimates the robot pose using the specified robot pose estimation strategy.
+   *
+   * @param result Pipeline result from the camera.
+   * @param strategy The pose estimation strategy.
+   * @return Estimated pose.
+   */
+  public Optional<EstimatedRobotPose> estimateRobotPose(
+      PhotonPipelineResult result, PoseEstimationStrategy strategy) {
+    switch (strategy) {
       case AverageBestTargets:
         return estimator.estimateAverageBestTargetsPose(result);
       case ClosestToCameraHeight:
@@ -354,22 +378,42 @@ public final class AprilTag extends SubsystemBase {
       case PnpDistanceTrigSolve:
         return estimator.estimatePnpDistanceTrigSolvePose(result);
       default:
-        System.out.println(
-            "ERROR: Unsupported pose estimation strategy: "
-                + RobotPreferences.POSE_ESTIMATION_STRATEGY.getValue().name());
+        System.out.println("ERROR: Unsupported pose estimation strategy: " + strategy.name());
         return Optional.empty();
     }
   }
 
-  @Override
-  public void periodic() {
-    // Process the latest vision results updating the estimated robot pose and
-    // current result.
+  /**
+   * Estimates the robot pose from a pipeline result and, if a pose is estimated, updates the
+   * standard deviations of the estimate.
+   *
+   * @param result Pipeline result from the camera.
+   * @param strategy The pose estimation strategy.
+   * @return Estimated pose.
+   */
+  Optional<EstimatedRobotPose> processResult(
+      PhotonPipelineResult result, PoseEstimationStrategy strategy) {
+    Optional<EstimatedRobotPose> estimatedPose = estimateRobotPose(result, strategy);
+
+    if (estimatedPose.isPresent()) {
+      updateEstimationStdDevs(estimatedPose, result.getTargets());
+    }
+
+    return estimatedPose;
+  }
+
+  /**
+   * Processes the latest vision results, updating the estimated robot pose and current result.
+   * This is run in the {@link Phase#SENSE} phase of the robot loop so the estimate is added to the
+   * pose estimator in the same loop.
+   */
+  void updateVision() {
     Optional<EstimatedRobotPose> visionEst = Optional.empty();
     Optional<PhotonPipelineResult> currentResult = Optional.empty();
     List<PhotonPipelineResult> allUnreadResults = camera.getAllUnreadResults();
+    PoseEstimationStrategy strategy = PreferenceSnapshot.getPoseEstimationStrategy();
     for (var change : allUnreadResults) {
-      Optional<EstimatedRobotPose> visionEstTemp = estimateRobotPose(change);
+      Optional<EstimatedRobotPose> visionEstTemp = processResult(change, strategy);
 
       // Only update the vision estimate if it is not empty.
       // This way, we discard empty updates from the coprocessor
@@ -378,7 +422,6 @@ public final class AprilTag extends SubsystemBase {
         continue;
       }
       visionEst = visionEstTemp;
-      updateEstimationStdDevs(visionEst, change.getTargets());
       currentResult = Optional.of(change);
     }
 
@@ -406,7 +449,20 @@ public final class AprilTag extends SubsystemBase {
     }
 
     hasTargetLogger.update(hasTargets());
+  }
+
+  /**
+   * Updates the telemetry shown on the dashboard. This is run in the {@link Phase#TELEMETRY} phase
+   * of the robot loop.
+   */
+  void updateTelemetry() {
+    if (dashboardThrottle.shouldUpdate()) {
+      updateDashboardTelemetry();
+    }
+  }
 
+  /** Updates the selected April Tag and estimated pose telemetry shown on the dashboard. */
+  private void updateDashboardTelemetry() {
     selectedAprilTag = aprilTagIdChooser.getSelected().intValue();
     selectedAprilTagPose = FieldUtils.getAprilTagPose3d(selectedAprilTag);
     selectedAprilTagTelemetry.selectedAprilTagPoseX = selectedAprilTagPose.getX();
@@ -10,8 +10,6 @@ package frc.robot.subsystems;
 import static frc.robot.Constants.RobotConstants.CANID.INTAKE_FOLLOWER_ID;
 import static frc.robot.Constants.RobotConstants.CANID.INTAKE_ID;
 import static frc.robot.Constants.RobotConstants.MAX_BATTERY_VOLTAGE;
-import static frc.robot.RobotPreferences.INTAKE_VELOCITY;
-import static frc.robot.RobotPreferences.OUTTAKE_VELOCITY;
 import static frc.robot.RobotPreferences.isCompBot;
 import static frc.robot.util.MotorDirection.CLOCKWISE_POSITIVE;
 import static frc.robot.util.MotorIdleMode.BRAKE;
@@ -31,19 +29,30 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.RobotPreferences;
 import frc.robot.RobotSelector;
 import frc.robot.parameters.MotorParameters;
+import frc.robot.util.CurrentArbiter;
+import frc.robot.util.CurrentArbiter.Priority;
+import frc.robot.util.DashboardMode.Tier;
+import frc.robot.util.DashboardThrottle;
+import frc.robot.util.DeviceInitializer;
 import frc.robot.util.MotorConfig;
 import frc.robot.util.MotorConfigException;
 import frc.robot.util.MotorController;
 import frc.robot.util.MotorCurrentConfig;
 import frc.robot.util.MotorIdleMode;
 import frc.robot.util.NullMotorAdapter;
+import frc.robot.util.PreferenceSnapshot;
 import frc.robot.util.RelativeEncoder;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 @DashboardDefinition
 public final class Intake extends SubsystemBase implements ActiveSubsystem {
   private static final double SHOOTING_INTAKE_SPEED = 4.0;
 
+  /** The smallest change in velocity, in m/s, shown on the dashboard. */
+  private static final double VELOCITY_DEADBAND = 0.05;
+
   private static final MotorParameters MOTOR =
       RobotPreferences.ROBOT_TYPE.selectOrDefault(
           Map.of(
@@ -58,23 +67,24 @@ public final class Intake extends SubsystemBase implements ActiveSubsystem {
   private static final MotorConfig MOTOR_CONFIG =
       new MotorConfig(CLOCKWISE_POSITIVE, BRAKE, METERS_PER_REVOLUTION);
   private static final MotorCurrentConfig CURRENT_CONFIG = new MotorCurrentConfig(80, 160, true);
+  private static final double MIN_SUPPLY_CURRENT_LIMIT = 15.0;
 
   @DashboardTextDisplay(title = "Max Velocity (m/s)", column = 0, row = 4, width = 2, height = 1)
   private static final double MAX_VELOCITY = MOTOR.getFreeSpeedRPM() * METERS_PER_REVOLUTION / 60.0;
 
-  private final MotorController motor =
-      MOTOR.newController("/Intake/Motor", INTAKE_ID, MOTOR_CONFIG, CURRENT_CONFIG);
-
-  @SuppressWarnings("unused")
+  private final MotorController motor;
   private final MotorController follower;
 
-  private final RelativeEncoder encoder = motor.getEncoder();
+  private final RelativeEncoder encoder;
 
   private final double KS = MOTOR.getKs();
   private final double KV = (MAX_BATTERY_VOLTAGE - KS) / MAX_VELOCITY;
 
   private final SimpleMotorFeedforward feedForward = new SimpleMotorFeedforward(KS, KV);
 
+  private final DashboardThrottle dashboardThrottle =
+      new DashboardThrottle(Tier.DIAGNOSTIC, "Intake");
+
   @DashboardTextDisplay(title = "Goal Velocity (m/s)", column = 0, row = 2, width = 2, height = 1)
   private double goalVelocity = 0;
 
@@ -86,6 +96,8 @@ public final class Intake extends SubsystemBase implements ActiveSubsystem {
       height = 2,
       min = -15.9593,
       max = 15.9593)
+  private double dashboardVelocity = 0;
+
   private double currentVelocity = 0;
 
   @DashboardTextDisplay(
@@ -123,9 +135,43 @@ public final class Intake extends SubsystemBase implements ActiveSubsystem {
   private final PIDControllerPreference pidController =
       new PIDControllerPreference("Intake", "PID Controller", 1, 0, 0);
 
+  /** The motors of the intake. */
+  record Motors(MotorController motor, MotorController follower) {}
+
   /** Creates a new Intake subsystem. */
   public Intake() {
+    this(submitMotors());
+  }
+
+  /**
+   * Creates a new Intake subsystem.
+   *
+   * @param motorsFuture A future that completes with the motors returned by {@link
+   *     #submitMotors()}.
+   */
+  Intake(Future<Motors> motorsFuture) {
+    Motors motors = DeviceInitializer.await(motorsFuture);
+
+    this.motor = motors.motor();
+    this.follower = motors.follower();
+    this.encoder = motor.getEncoder();
+  }
+
+  /**
+   * Starts creating and configuring the intake motors on a background thread.
+   *
+   * @return A future that completes with the motors.
+   */
+  static Future<Motors> submitMotors() {
+    return DeviceInitializer.submit("Intake/Motors", Intake::newMotors);
+  }
+
+  /** {@return the configured intake motor and its follower} */
+  private static Motors newMotors() {
+    MotorController motor =
+        MOTOR.newController("/Intake/Motor", INTAKE_ID, MOTOR_CONFIG, CURRENT_CONFIG);
     MotorController follower;
+
     try {
       follower =
           isCompBot()
@@ -134,7 +180,8 @@ public final class Intake extends SubsystemBase implements ActiveSubsystem {
     } catch (MotorConfigException e) {
       follower = new NullMotorAdapter();
     }
-    this.follower = follower;
+
+    return new Motors(motor, follower);
   }
 
   public void setGoalVelocity(double goalVelocity) {
@@ -143,7 +190,7 @@ public final class Intake extends SubsystemBase implements ActiveSubsystem {
 
   /** Intakes fuel */
   public void intake() {
-    setGoalVelocity(INTAKE_VELOCITY.getValue());
+    setGoalVelocity(PreferenceSnapshot.getIntakeVelocity());
   }
 
   /** Intakes fuel when shooting */
@@ -153,7 +200,7 @@ public final class Intake extends SubsystemBase implements ActiveSubsystem {
 
   /** Outtakes fuel */
   public void outtake() {
-    setGoalVelocity(OUTTAKE_VELOCITY.getValue());
+    setGoalVelocity(PreferenceSnapshot.getOuttakeVelocity());
   }
 
   @Override
@@ -172,6 +219,17 @@ public final class Intake extends SubsystemBase implements ActiveSubsystem {
     return goalVelocity != 0;
   }
 
+  /**
+   * Registers the intake motors with the current arbiter.
+   *
+   * @param arbiter The current arbiter.
+   * @param priority Supplies the priority of the intake.
+   */
+  public void registerCurrentLimits(CurrentArbiter arbiter, Supplier<Priority> priority) {
+    arbiter.register(
+        getName(), priority, CURRENT_CONFIG, MIN_SUPPLY_CURRENT_LIMIT, motor, follower);
+  }
+
   @Override
   public void periodic() {
     updateTelemetry();
@@ -189,18 +247,28 @@ public final class Intake extends SubsystemBase implements ActiveSubsystem {
 
   private void updateTelemetry() {
     currentVelocity = encoder.getVelocity();
+
+    if (dashboardThrottle.shouldUpdate()) {
+      dashboardVelocity =
+          DashboardThrottle.deadband(dashboardVelocity, currentVelocity, VELOCITY_DEADBAND);
+    }
+
     motor.logTelemetry();
   }
 
   /** Returns the intake's current velocity. */
+  public double getCurrentVelocity() {
+    return currentVelocity;
+  }
+
   @DashboardTextDisplay(
       title = "Current Velocity (m/s)",
       column = 0,
       row = 3,
       width = 2,
       height = 1)
-  public double getCurrentVelocity() {
-    return currentVelocity;
+  private double getDashboardVelocity() {
+    return dashboardVelocity;
   }
 
   /** Returns the intake's goal velocity. */
@@ -13,17 +13,8 @@ import static frc.robot.RobotPreferences.isCompBot;
 import static frc.robot.util.MotorDirection.CLOCKWISE_POSITIVE;
 import static frc.robot.util.MotorIdleMode.BRAKE;
 
-import com.ctre.phoenix6.configs.FeedbackConfigs;
-import com.ctre.phoenix6.configs.MotionMagicConfigs;
-import com.ctre.phoenix6.configs.MotorOutputConfigs;
-import com.ctre.phoenix6.configs.Slot0Configs;
-import com.ctre.phoenix6.configs.TalonFXConfiguration;
-import com.ctre.phoenix6.configs.TalonFXConfigurator;
 import com.ctre.phoenix6.controls.MotionMagicVoltage;
 import com.ctre.phoenix6.hardware.TalonFX;
-import com.ctre.phoenix6.signals.GravityTypeValue;
-import com.ctre.phoenix6.signals.InvertedValue;
-import com.ctre.phoenix6.signals.NeutralModeValue;
 import com.nrg948.dashboard.annotations.DashboardBooleanBox;
 import com.nrg948.dashboard.annotations.DashboardCommand;
 import com.nrg948.dashboard.annotations.DashboardDefinition;
@@ -38,15 +29,20 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.RobotPreferences;
 import frc.robot.RobotSelector;
 import frc.robot.parameters.MotorParameters;
+import frc.robot.util.DeviceInitializer;
+import frc.robot.util.MotionMagicConfig;
 import frc.robot.util.MotorConfig;
 import frc.robot.util.MotorConfigException;
 import frc.robot.util.MotorController;
 import frc.robot.util.MotorCurrentConfig;
+import frc.robot.util.MotorGainsConfig;
+import frc.robot.util.MotorGainsConfig.GravityType;
 import frc.robot.util.MotorIdleMode;
 import frc.robot.util.NullMotorAdapter;
 import frc.robot.util.RelativeEncoder;
 import frc.robot.util.TalonFXAdapter;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 @DashboardDefinition
 public final class IntakeArm extends SubsystemBase implements ActiveSubsystem {
@@ -81,8 +77,7 @@ public final class IntakeArm extends SubsystemBase implements ActiveSubsystem {
   public static final double MIN_ANGLE = Units.degreesToRadians(0);
   public static final double MAX_ANGLE = STOW_ANGLE;
 
-  private final TalonFX talonFX = new TalonFX(INTAKE_ARM_ID);
-  private MotorController motor;
+  private final MotorController motor;
 
   private final RelativeEncoder encoder;
 
@@ -138,50 +133,62 @@ public final class IntakeArm extends SubsystemBase implements ActiveSubsystem {
 
   /** Creates a new IntakeArm. */
   public IntakeArm() {
-    try {
-      TalonFXAdapter motor =
-          (TalonFXAdapter)
-              new TalonFXAdapter("/IntakeArm/Motor", talonFX)
-                  .apply(MOTOR_CONFIG)
-                  .apply(CURRENT_CONFIG);
-
-      TalonFXConfiguration talonFXConfigs = new TalonFXConfiguration();
-
-      MotorOutputConfigs motorOutputConfigs = talonFXConfigs.MotorOutput;
-      motorOutputConfigs.NeutralMode = NeutralModeValue.Brake;
-      motorOutputConfigs.Inverted = InvertedValue.Clockwise_Positive;
-
-      FeedbackConfigs feedbackConfigs = talonFXConfigs.Feedback;
-      feedbackConfigs.SensorToMechanismRatio = GEAR_RATIO;
-
-      Slot0Configs slot0Configs = talonFXConfigs.Slot0;
-      slot0Configs.kS = MOTOR.getKs();
-      slot0Configs.kV = RADIANS_PER_ROTATION * (MAX_BATTERY_VOLTAGE - MOTOR.getKs()) / MAX_VELOCITY;
-      slot0Configs.kA =
-          RADIANS_PER_ROTATION * (MAX_BATTERY_VOLTAGE - MOTOR.getKs()) / MAX_ACCELERATION;
-      slot0Configs.kG = 0.9;
-      slot0Configs.GravityType = GravityTypeValue.Arm_Cosine;
-      slot0Configs.kP = 90;
-      slot0Configs.kI = 0;
-      slot0Configs.kD = 0;
-
-      MotionMagicConfigs motionMagicConfigs = talonFXConfigs.MotionMagic;
-      motionMagicConfigs.MotionMagicCruiseVelocity = MAX_VELOCITY / RADIANS_PER_ROTATION / 200;
-      motionMagicConfigs.MotionMagicAcceleration = MAX_ACCELERATION / RADIANS_PER_ROTATION / 30;
-      TalonFXConfigurator configurator = talonFX.getConfigurator();
-      configurator.apply(talonFXConfigs);
-
-      this.motor = motor;
-    } catch (MotorConfigException e) {
-      this.motor = new NullMotorAdapter();
-      e.printStackTrace();
-    }
+    this(submitMotor());
+  }
 
+  /**
+   * Creates a new IntakeArm.
+   *
+   * @param motorFuture A future that completes with the motor returned by {@link #submitMotor()}.
+   */
+  IntakeArm(Future<MotorController> motorFuture) {
+    this.motor = DeviceInitializer.await(motorFuture);
     this.encoder = motor.getEncoder();
 
     resetArmPosition(STOW_ANGLE);
   }
 
+  /**
+   * Starts creating and configuring the intake arm motor on a background thread.
+   *
+   * @return A future that completes with the motor.
+   */
+  static Future<MotorController> submitMotor() {
+    return DeviceInitializer.submit("IntakeArm/Motor", IntakeArm::newMotor);
+  }
+
+  /** {@return the configured intake arm motor, or a null motor if it could not be configured} */
+  private static MotorController newMotor() {
+    try {
+      double kS = MOTOR.getKs();
+
+      return new TalonFXAdapter("/IntakeArm/Motor", new TalonFX(INTAKE_ARM_ID))
+          .configure()
+          .with(MOTOR_CONFIG)
+          .with(CURRENT_CONFIG)
+          .withSensorToMechanismRatio(GEAR_RATIO)
+          .with(
+              new MotorGainsConfig(
+                  90,
+                  0,
+                  0,
+                  kS,
+                  RADIANS_PER_ROTATION * (MAX_BATTERY_VOLTAGE - kS) / MAX_VELOCITY,
+                  RADIANS_PER_ROTATION * (MAX_BATTERY_VOLTAGE - kS) / MAX_ACCELERATION,
+                  0.9,
+                  GravityType.ARM))
+          .with(
+              new MotionMagicConfig(
+                  MAX_VELOCITY / RADIANS_PER_ROTATION / 200,
+                  MAX_ACCELERATION / RADIANS_PER_ROTATION / 30,
+                  0))
+          .apply();
+    } catch (MotorConfigException e) {
+      e.printStackTrace();
+      return new NullMotorAdapter();
+    }
+  }
+
   /** Polls sensors and logs telemetry. */
   private void updateTelemetry() {
     currentAngle = encoder.getPosition();
@@ -10,12 +10,17 @@ package frc.robot.subsystems;
 import edu.wpi.first.wpilibj.util.Color8Bit;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.parameters.Colors;
+import frc.robot.util.LEDPalette;
 import frc.robot.util.LEDSegment;
+import frc.robot.util.LoadShedder;
+import frc.robot.util.LoadShedder.Priority;
 
 public class LEDSubsystem extends SubsystemBase {
   /** Creates a new LEDSubsystem. */
   protected final LEDSegment leds;
 
+  private final LoadShedder.Task animation = LoadShedder.register(Priority.DEFERRABLE);
+
   /**
    * Creates a new LEDSubsystem.
    *
@@ -35,6 +40,16 @@ public class LEDSubsystem extends SubsystemBase {
     return leds.getLEDCount();
   }
 
+  /**
+   * Returns whether an animation should advance this loop. Animations are slowed or paused when the
+   * robot loop runs long. This must be called once per loop by the running animation.
+   *
+   * @return True if the animation should advance.
+   */
+  public boolean shouldAnimate() {
+    return animation.shouldRun();
+  }
+
   /**
    * Sets the color of the LED at the specified index.
    *
@@ -55,6 +70,16 @@ public class LEDSubsystem extends SubsystemBase {
     leds.setColor(color, index);
   }
 
+  /**
+   * Sets the LED at the specified index to a packed, gamma-corrected color.
+   *
+   * @param rgb The packed, gamma-corrected color (e.g. from an {@link LEDPalette}).
+   * @param index The index of the LED to set.
+   */
+  public void setRGB(int rgb, int index) {
+    leds.setRGB(rgb, index);
+  }
+
   /**
    * Fills the segment with the specified color.
    *
@@ -93,6 +118,15 @@ public class LEDSubsystem extends SubsystemBase {
     commitColor();
   }
 
+  /**
+   * Fills the segment with the specified packed, gamma-corrected color.
+   *
+   * @param rgb The packed, gamma-corrected color (e.g. from an {@link LEDPalette}).
+   */
+  public void fillRGB(int rgb) {
+    leds.fillRGB(rgb);
+  }
+
   /** Displays the current color data on the LED strip. */
   public void commitColor() {
     leds.commitColor();
@@ -8,8 +8,6 @@
 package frc.robot.subsystems;
 
 import static frc.robot.Constants.RobotConstants.MAX_BATTERY_VOLTAGE;
-import static frc.robot.RobotPreferences.FEED_VELOCITY;
-import static frc.robot.RobotPreferences.UNFEED_VELOCITY;
 import static frc.robot.util.MotorDirection.CLOCKWISE_POSITIVE;
 import static frc.robot.util.MotorIdleMode.BRAKE;
 
@@ -28,11 +26,19 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.parameters.MotorParameters;
+import frc.robot.util.CurrentArbiter;
+import frc.robot.util.CurrentArbiter.Priority;
+import frc.robot.util.DashboardMode.Tier;
+import frc.robot.util.DashboardThrottle;
+import frc.robot.util.DeviceInitializer;
 import frc.robot.util.MotorConfig;
 import frc.robot.util.MotorController;
 import frc.robot.util.MotorCurrentConfig;
 import frc.robot.util.MotorIdleMode;
+import frc.robot.util.PreferenceSnapshot;
 import frc.robot.util.RelativeEncoder;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 @DashboardDefinition
 public final class Rollers extends SubsystemBase implements ActiveSubsystem {
@@ -44,14 +50,22 @@ public final class Rollers extends SubsystemBase implements ActiveSubsystem {
 
   private static final double EFFICIENCY = 0.9;
 
+  /** The smallest change in velocity, in m/s, shown on the dashboard. */
+  private static final double VELOCITY_DEADBAND = 0.05;
+
+  private static final double MIN_SUPPLY_CURRENT_LIMIT = 10.0;
+
   private final double maxVelocity;
   private final MotorController motor;
+  private final MotorCurrentConfig currentConfig;
   private final RelativeEncoder encoder;
 
   private final double KS = MOTOR_PARAMS.getKs();
   private final double KV;
   private final SimpleMotorFeedforward feedforward;
 
+  private final DashboardThrottle dashboardThrottle;
+
   @DashboardTextDisplay(title = "Goal Velocity (m/s)", column = 0, row = 2, width = 2, height = 1)
   private double goalVelocity = 0;
 
@@ -63,6 +77,8 @@ public final class Rollers extends SubsystemBase implements ActiveSubsystem {
       height = 2,
       min = -15.9593,
       max = 15.9593)
+  private double dashboardVelocity = 0;
+
   private double currentVelocity = 0;
 
   @DashboardTextDisplay(
@@ -102,15 +118,44 @@ public final class Rollers extends SubsystemBase implements ActiveSubsystem {
   private final DoubleLogEntry logCurrentVelocity;
   private final DoubleLogEntry logGoalVelocity;
 
-  /** Creates a new Rollers subsystem. */
+  /**
+   * Creates a new Rollers subsystem.
+   *
+   * @param name The name of the subsystem.
+   * @param motorId The CAN ID of the motor.
+   * @param metersPerRevolution The distance, in meters, the rollers move per motor revolution.
+   * @param currentConfig The current limits of the motor.
+   */
   public Rollers(
       String name, int motorId, double metersPerRevolution, MotorCurrentConfig currentConfig) {
+    this(
+        name,
+        metersPerRevolution,
+        currentConfig,
+        submitMotor(name, motorId, metersPerRevolution, currentConfig));
+  }
+
+  /**
+   * Creates a new Rollers subsystem.
+   *
+   * @param name The name of the subsystem.
+   * @param metersPerRevolution The distance, in meters, the rollers move per motor revolution.
+   * @param currentConfig The current limits of the motor.
+   * @param motorFuture A future that completes with the motor returned by {@link
+   *     #submitMotor(String, int, double, MotorCurrentConfig)}.
+   */
+  Rollers(
+      String name,
+      double metersPerRevolution,
+      MotorCurrentConfig currentConfig,
+      Future<MotorController> motorFuture) {
     setName(name);
+    dashboardThrottle = new DashboardThrottle(Tier.DIAGNOSTIC, name);
     maxVelocity = MOTOR_PARAMS.getFreeSpeedRPM() * metersPerRevolution / 60 * EFFICIENCY;
     KV = (MAX_BATTERY_VOLTAGE - KS) / maxVelocity;
     feedforward = new SimpleMotorFeedforward(KS, KV);
-    var motorConfig = new MotorConfig(CLOCKWISE_POSITIVE, BRAKE, metersPerRevolution);
-    motor = MOTOR_PARAMS.newController("/" + name + "/Motor", motorId, motorConfig, currentConfig);
+    motor = DeviceInitializer.await(motorFuture);
+    this.currentConfig = currentConfig;
     encoder = motor.getEncoder();
     pidController = new PIDControllerPreference(name, "PID Controller", 1, 0, 0);
 
@@ -118,6 +163,25 @@ public final class Rollers extends SubsystemBase implements ActiveSubsystem {
     logGoalVelocity = new DoubleLogEntry(LOG, name + "/Goal Velocity");
   }
 
+  /**
+   * Starts creating and configuring the motor of a Rollers subsystem on a background thread.
+   *
+   * @param name The name of the subsystem.
+   * @param motorId The CAN ID of the motor.
+   * @param metersPerRevolution The distance, in meters, the rollers move per motor revolution.
+   * @param currentConfig The current limits of the motor.
+   * @return A future that completes with the motor.
+   */
+  static Future<MotorController> submitMotor(
+      String name, int motorId, double metersPerRevolution, MotorCurrentConfig currentConfig) {
+    var motorConfig = new MotorConfig(CLOCKWISE_POSITIVE, BRAKE, metersPerRevolution);
+
+    return DeviceInitializer.submit(
+        name + "/Motor",
+        () ->
+            MOTOR_PARAMS.newController("/" + name + "/Motor", motorId, motorConfig, currentConfig));
+  }
+
   /** Sets goal velocity for rollers. */
   public void setGoalVelocity(double goalVelocity) {
     this.goalVelocity = goalVelocity;
@@ -125,12 +189,12 @@ public final class Rollers extends SubsystemBase implements ActiveSubsystem {
 
   /** Feeds balls into rollers. */
   public void feed() {
-    setGoalVelocity(FEED_VELOCITY.getValue());
+    setGoalVelocity(PreferenceSnapshot.getFeedVelocity());
   }
 
   /** Outfeeds balls into rollers. */
   public void unfeed() {
-    setGoalVelocity(UNFEED_VELOCITY.getValue());
+    setGoalVelocity(PreferenceSnapshot.getUnfeedVelocity());
   }
 
   @Override
@@ -149,6 +213,16 @@ public final class Rollers extends SubsystemBase implements ActiveSubsystem {
     return goalVelocity != 0;
   }
 
+  /**
+   * Registers the roller motor with the current arbiter.
+   *
+   * @param arbiter The current arbiter.
+   * @param priority Supplies the priority of the rollers.
+   */
+  public void registerCurrentLimits(CurrentArbiter arbiter, Supplier<Priority> priority) {
+    arbiter.register(getName(), priority, currentConfig, MIN_SUPPLY_CURRENT_LIMIT, motor);
+  }
+
   @Override
   public void periodic() {
     updateTelemetry();
@@ -170,6 +244,15 @@ public final class Rollers extends SubsystemBase implements ActiveSubsystem {
     currentVelocity = encoder.getVelocity();
     logCurrentVelocity.append(currentVelocity);
     logGoalVelocity.append(goalVelocity);
+
+    if (dashboardThrottle.shouldUpdate()) {
+      dashboardVelocity =
+          DashboardThrottle.deadband(dashboardVelocity, currentVelocity, VELOCITY_DEADBAND);
+    }
+  }
+
+  public double getCurrentVelocity() {
+    return currentVelocity;
   }
 
   @DashboardTextDisplay(
@@ -178,7 +261,7 @@ public final class Rollers extends SubsystemBase implements ActiveSubsystem {
       row = 3,
       width = 2,
       height = 1)
-  public double getCurrentVelocity() {
-    return currentVelocity;
+  private double getDashboardVelocity() {
+    return dashboardVelocity;
   }
 }
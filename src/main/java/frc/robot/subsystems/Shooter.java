@@ -17,7 +17,6 @@ import static frc.robot.util.MotorDirection.CLOCKWISE_POSITIVE;
 import static frc.robot.util.MotorDirection.COUNTER_CLOCKWISE_POSITIVE;
 import static frc.robot.util.MotorIdleMode.COAST;
 
-import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.controls.MotionMagicVelocityVoltage;
 import com.nrg948.dashboard.annotations.DashboardCommand;
 import com.nrg948.dashboard.annotations.DashboardDefinition;
@@ -33,14 +32,23 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.parameters.MotorParameters;
+import frc.robot.util.CurrentArbiter;
+import frc.robot.util.CurrentArbiter.Priority;
+import frc.robot.util.DashboardMode.Tier;
+import frc.robot.util.DashboardThrottle;
+import frc.robot.util.DeviceInitializer;
+import frc.robot.util.MotionMagicConfig;
 import frc.robot.util.MotorConfig;
 import frc.robot.util.MotorConfigException;
 import frc.robot.util.MotorController;
 import frc.robot.util.MotorCurrentConfig;
+import frc.robot.util.MotorGainsConfig;
 import frc.robot.util.MotorIdleMode;
 import frc.robot.util.NullMotorAdapter;
 import frc.robot.util.RelativeEncoder;
 import frc.robot.util.TalonFXAdapter;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 @DashboardDefinition
 public final class Shooter extends SubsystemBase implements ActiveSubsystem {
@@ -48,6 +56,9 @@ public final class Shooter extends SubsystemBase implements ActiveSubsystem {
 
   private static final MotorParameters SHOOTER_MOTOR = MotorParameters.KrakenX44;
   private static final double EFFICIENCY = 0.93;
+
+  /** The smallest change in velocity, in m/s, shown on the dashboard. */
+  private static final double VELOCITY_DEADBAND = 0.05;
   private static final double VELOCITY_PERCENT_TOLERANCE = 0.03;
   private static final double GEAR_RATIO = isCompBot() ? 1.5 : 1.0;
   private static final double WHEEL_DIAMETER = Units.inchesToMeters(4);
@@ -58,11 +69,27 @@ public final class Shooter extends SubsystemBase implements ActiveSubsystem {
   private static final MotorConfig RIGHT_MOTOR_CONFIG =
       new MotorConfig(COUNTER_CLOCKWISE_POSITIVE, COAST, METERS_PER_REV);
   private static final MotorCurrentConfig CURRENT_CONFIG = new MotorCurrentConfig(40.0, 70.0, true);
+  private static final double MIN_SUPPLY_CURRENT_LIMIT = 10.0;
 
   @DashboardTextDisplay(title = "Max Velocity (m/s)", column = 0, row = 3, width = 2, height = 1)
   private static final double MAX_VELOCITY =
       (SHOOTER_MOTOR.getFreeSpeedRPM() * METERS_PER_REV / 60.0) * EFFICIENCY;
 
+  private static final MotorGainsConfig GAINS =
+      new MotorGainsConfig(
+          1.0 * METERS_PER_REV,
+          0.0,
+          0.0,
+          SHOOTER_MOTOR.getKs(),
+          ((MAX_BATTERY_VOLTAGE - SHOOTER_MOTOR.getKs()) / MAX_VELOCITY) * METERS_PER_REV,
+          0.0);
+
+  private static final double SLOW_RAMP_TIME = 0.5;
+  private static final double MOTION_MAGIC_ACCELERATION =
+      SHOOTER_MOTOR.getFreeSpeedRPM() / 60.0 / SLOW_RAMP_TIME;
+  private static final MotionMagicConfig MOTION_MAGIC =
+      new MotionMagicConfig(0.0, MOTION_MAGIC_ACCELERATION, MOTION_MAGIC_ACCELERATION * 2);
+
   private static final InterpolatingDoubleTreeMap SHOOTER_VELOCITIES =
       new InterpolatingDoubleTreeMap();
 
@@ -102,6 +129,9 @@ public final class Shooter extends SubsystemBase implements ActiveSubsystem {
   private final MotionMagicVelocityVoltage motionMagicVelocityRequest =
       new MotionMagicVelocityVoltage(0).withEnableFOC(false);
 
+  private final DashboardThrottle dashboardThrottle =
+      new DashboardThrottle(Tier.DIAGNOSTIC, "Shooter");
+
   @DashboardTextDisplay(title = "Goal Velocity (m/s)", column = 0, row = 2, width = 2, height = 1)
   private double goalVelocity = 0;
 
@@ -113,6 +143,8 @@ public final class Shooter extends SubsystemBase implements ActiveSubsystem {
       height = 2,
       min = -41.270725699090676,
       max = 41.270725699090676)
+  private double dashboardVelocity = 0;
+
   private double currentVelocity = 0;
 
   @DashboardTextDisplay(
@@ -154,83 +186,88 @@ public final class Shooter extends SubsystemBase implements ActiveSubsystem {
   public static final double HUB_SHOT_DISTANCE = 1.3;
   public static final double MAX_SHOOTING_DISTANCE = 3.7; // TODO: Update for hood angle
   public static final double SHOOTING_RANGE = MAX_SHOOTING_DISTANCE - HUB_SHOT_DISTANCE;
-  private static final double SLOW_RAMP_TIME = 0.5;
+
+  /** The motors of the shooter. */
+  record Motors(
+      MotorController leftUpper,
+      MotorController leftLower,
+      MotorController rightUpper,
+      MotorController rightLower) {}
 
   /** Creates a new Shooter subsystem. */
   public Shooter() {
-    MotorController leftUpperMotor;
-    MotorController leftLowerMotor;
-    MotorController rightUpperMotor;
-    MotorController rightLowerMotor;
+    this(submitMotors());
+  }
+
+  /**
+   * Creates a new Shooter subsystem.
+   *
+   * @param motorsFuture A future that completes with the motors returned by {@link
+   *     #submitMotors()}.
+   */
+  Shooter(Future<Motors> motorsFuture) {
+    Motors motors = DeviceInitializer.await(motorsFuture);
+
+    this.leftUpperMotor = motors.leftUpper();
+    this.leftLowerMotor = motors.leftLower();
+    this.rightUpperMotor = motors.rightUpper();
+    this.rightLowerMotor = motors.rightLower();
+
+    this.encoder = rightUpperMotor.getEncoder();
+  }
 
+  /**
+   * Starts creating and configuring the shooter motors on a background thread.
+   *
+   * @return A future that completes with the motors.
+   */
+  static Future<Motors> submitMotors() {
+    return DeviceInitializer.submit("Shooter/Motors", Shooter::newMotors);
+  }
+
+  /** {@return the configured shooter motors, or null motors if any could not be configured} */
+  private static Motors newMotors() {
     try {
-      leftUpperMotor =
-          SHOOTER_MOTOR
-              .newController("/Shooter/Left Upper Motor", SHOOTER_UPPER_LEFT_ID)
-              .apply(LEFT_MOTOR_CONFIG)
-              .apply(CURRENT_CONFIG);
-      leftLowerMotor =
-          leftUpperMotor.createFollower("/Shooter/Left Lower Motor", SHOOTER_LOWER_LEFT_ID, false);
-      rightUpperMotor =
-          SHOOTER_MOTOR
-              .newController("/Shooter/Right Upper Motor", SHOOTER_UPPER_RIGHT_ID)
-              .apply(RIGHT_MOTOR_CONFIG)
-              .apply(CURRENT_CONFIG);
-      rightLowerMotor =
+      MotorController leftUpperMotor =
+          newLeaderMotor("/Shooter/Left Upper Motor", SHOOTER_UPPER_LEFT_ID, LEFT_MOTOR_CONFIG);
+      MotorController rightUpperMotor =
+          newLeaderMotor("/Shooter/Right Upper Motor", SHOOTER_UPPER_RIGHT_ID, RIGHT_MOTOR_CONFIG);
+
+      return new Motors(
+          leftUpperMotor,
+          leftUpperMotor.createFollower("/Shooter/Left Lower Motor", SHOOTER_LOWER_LEFT_ID, false),
+          rightUpperMotor,
           rightUpperMotor.createFollower(
-              "/Shooter/Right Lower Motor", SHOOTER_LOWER_RIGHT_ID, false);
-
-      configureMotionMagic((TalonFXAdapter) leftUpperMotor, (TalonFXAdapter) rightUpperMotor);
+              "/Shooter/Right Lower Motor", SHOOTER_LOWER_RIGHT_ID, false));
     } catch (MotorConfigException e) {
       var nullMotor = new NullMotorAdapter();
 
-      leftUpperMotor = nullMotor;
-      leftLowerMotor = nullMotor;
-      rightUpperMotor = nullMotor;
-      rightLowerMotor = nullMotor;
+      return new Motors(nullMotor, nullMotor, nullMotor, nullMotor);
     }
-
-    this.leftUpperMotor = leftUpperMotor;
-    this.leftLowerMotor = leftLowerMotor;
-    this.rightUpperMotor = rightUpperMotor;
-    this.rightLowerMotor = rightLowerMotor;
-
-    this.encoder = rightUpperMotor.getEncoder();
   }
 
   /**
-   * Configures Motion Magic on the shooter motors.
+   * Creates a leader motor and configures it for Motion Magic velocity control in a single
+   * transaction.
    *
-   * @throws MotorConfigException if there is an error configuring the motors for Motion Magic
+   * @param logPrefix The prefix for the log entries.
+   * @param deviceID The CAN device ID.
+   * @param motorConfig The motor configuration.
+   * @return The configured motor controller.
+   * @throws MotorConfigException if there is an error configuring the motor
    */
-  private static void configureMotionMagic(
-      TalonFXAdapter leftUpperTalonFX, TalonFXAdapter rightUpperTalonFX)
-      throws MotorConfigException {
-    TalonFXConfiguration config = new TalonFXConfiguration();
-
-    double kS = SHOOTER_MOTOR.getKs();
-    double kV = (MAX_BATTERY_VOLTAGE - kS) / MAX_VELOCITY;
-
-    config.Slot0.kP = 1.0 * METERS_PER_REV;
-    config.Slot0.kI = 0.0;
-    config.Slot0.kD = 0.0;
-    config.Slot0.kS = kS;
-    config.Slot0.kV = kV * METERS_PER_REV;
-    config.Slot0.kA = 0.0;
-
-    double acceleration = SHOOTER_MOTOR.getFreeSpeedRPM() / 60.0 / SLOW_RAMP_TIME;
-    config.MotionMagic.MotionMagicAcceleration = acceleration;
-    config.MotionMagic.MotionMagicJerk = acceleration * 2;
-
-    config.Feedback.SensorToMechanismRatio = 1.0;
-
-    config.Voltage.PeakForwardVoltage = MAX_BATTERY_VOLTAGE;
-    config.Voltage.PeakReverseVoltage = -MAX_BATTERY_VOLTAGE;
-
-    config.MotorOutput = leftUpperTalonFX.getMotorOutputConfig();
-    leftUpperTalonFX.applyTalonFXConfiguration(config);
-    config.MotorOutput = rightUpperTalonFX.getMotorOutputConfig();
-    rightUpperTalonFX.applyTalonFXConfiguration(config);
+  private static MotorController newLeaderMotor(
+      String logPrefix, int deviceID, MotorConfig motorConfig) throws MotorConfigException {
+    return SHOOTER_MOTOR
+        .newController(logPrefix, deviceID)
+        .configure()
+        .with(motorConfig)
+        .with(CURRENT_CONFIG)
+        .with(GAINS)
+        .with(MOTION_MAGIC)
+        .withSensorToMechanismRatio(1.0)
+        .withPeakVoltage(MAX_BATTERY_VOLTAGE)
+        .apply();
   }
 
   /** Sets shooter goal velocity based on distance inputted to interpolation table. */
@@ -292,6 +329,24 @@ public final class Shooter extends SubsystemBase implements ActiveSubsystem {
     return goalVelocity != 0;
   }
 
+  /**
+   * Registers the shooter motors with the current arbiter.
+   *
+   * @param arbiter The current arbiter.
+   * @param priority Supplies the priority of the shooter.
+   */
+  public void registerCurrentLimits(CurrentArbiter arbiter, Supplier<Priority> priority) {
+    arbiter.register(
+        getName(),
+        priority,
+        CURRENT_CONFIG,
+        MIN_SUPPLY_CURRENT_LIMIT,
+        leftUpperMotor,
+        leftLowerMotor,
+        rightUpperMotor,
+        rightLowerMotor);
+  }
+
   @Override
   public void periodic() {
     updateTelemetry();
@@ -300,6 +355,11 @@ public final class Shooter extends SubsystemBase implements ActiveSubsystem {
   private void updateTelemetry() {
     currentVelocity = encoder.getVelocity();
     logCurrentVelocity.append(currentVelocity);
+
+    if (dashboardThrottle.shouldUpdate()) {
+      dashboardVelocity =
+          DashboardThrottle.deadband(dashboardVelocity, currentVelocity, VELOCITY_DEADBAND);
+    }
     leftUpperMotor.logTelemetry();
     leftLowerMotor.logTelemetry();
     rightUpperMotor.logTelemetry();
@@ -10,7 +10,6 @@ package frc.robot.subsystems;
 import static frc.robot.Constants.RobotConstants.LEDSegment.STATUS_FIRST_LED;
 import static frc.robot.Constants.RobotConstants.LEDSegment.STATUS_LED_COUNT;
 import static frc.robot.parameters.Colors.RED;
-import static frc.robot.util.MatchUtil.transitionTimes;
 
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
@@ -20,6 +19,7 @@ import frc.robot.commands.LEDs.BlinkingRainbowCycle;
 import frc.robot.commands.LEDs.LEDCommands;
 import frc.robot.commands.LEDs.RainbowCycle;
 import frc.robot.parameters.Colors;
+import frc.robot.util.MatchTimeline;
 import frc.robot.util.MatchUtil;
 import frc.robot.util.MatchUtil.LEDLights;
 
@@ -37,9 +37,9 @@ public final class StatusLED extends LEDSubsystem {
 
   @Override
   public void periodic() {
-    LEDLights light = transitionTimes.get((Integer) (int) MatchUtil.getMatchTimeRemaining());
+    LEDLights light = MatchTimeline.getLEDCue();
 
-    if (light != null && lastLights != light && MatchUtil.isTeleop()) {
+    if (lastLights != light && MatchUtil.isTeleop()) {
       lastLights = light;
       Command toSchedule =
           switch (light) {
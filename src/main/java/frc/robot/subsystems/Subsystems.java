@@ -13,142 +13,199 @@ import com.nrg948.dashboard.annotations.DashboardTab;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.util.datalog.StringLogEntry;
 import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.robot.Constants.RobotConstants.CANID;
 import frc.robot.RobotPreferences;
+import frc.robot.util.CurrentArbiter;
+import frc.robot.util.CurrentArbiter.Priority;
+import frc.robot.util.LoopPipeline;
+import frc.robot.util.LoopPipeline.Phase;
+import frc.robot.util.MotorController;
 import frc.robot.util.MotorCurrentConfig;
 import frc.robot.util.MotorIdleMode;
+import frc.robot.util.StartupProfiler;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public final class Subsystems {
+  private static final double ROLLER_DIAMETER = Units.inchesToMeters(1.25);
+
+  private static final MotorCurrentConfig COMP_INDEXER_CURRENT_CONFIG =
+      new MotorCurrentConfig(60.0, 60.0, true);
+  private static final MotorCurrentConfig PRACTICE_INDEXER_CURRENT_CONFIG =
+      new MotorCurrentConfig(90.0, 90.0, true);
+  private static final MotorCurrentConfig INDEXER_CURRENT_CONFIG =
+      isCompBot() ? COMP_INDEXER_CURRENT_CONFIG : PRACTICE_INDEXER_CURRENT_CONFIG;
+  private static final double INDEXER_GEAR_RATIO = isCompBot() ? 3.0 : 1.0;
+  private static final double INDEXER_METERS_PER_REVOLUTION =
+      (ROLLER_DIAMETER * Math.PI) / INDEXER_GEAR_RATIO;
+
+  private static final MotorCurrentConfig HOPPER_CURRENT_CONFIG =
+      new MotorCurrentConfig(60.0, 60.0, true);
+  private static final double HOPPER_GEAR_RATIO = isCompBot() ? 3.0 : 1.0;
+  private static final double HOPPER_METERS_PER_REVOLUTION =
+      (ROLLER_DIAMETER * Math.PI) / HOPPER_GEAR_RATIO;
+
+  // The titles of the camera dashboard tabs. The cameras are given the titles of their tabs so they
+  // only update the dashboard while a client shows it.
+  private static final String FRONT_LEFT_CAMERA_TAB = "Front Left Camera";
+  private static final String FRONT_RIGHT_CAMERA_TAB = "Front Right Camera";
+  private static final String BACK_LEFT_CAMERA_TAB = "Back Left Camera";
+  private static final String BACK_RIGHT_CAMERA_TAB = "Back Right Camera";
+
+  // Start configuring the mechanism motors before the drivetrain so that they are configured
+  // concurrently with the swerve modules instead of one subsystem after another.
+  private final Future<Intake.Motors> intakeMotors = Intake.submitMotors();
+  private final Future<MotorController> intakeArmMotor = IntakeArm.submitMotor();
+  private final Future<Shooter.Motors> shooterMotors = Shooter.submitMotors();
+  private final Future<MotorController> indexerMotor =
+      Rollers.submitMotor(
+          "Indexer",
+          CANID.SHOOTER_INDEXER_ID,
+          INDEXER_METERS_PER_REVOLUTION,
+          INDEXER_CURRENT_CONFIG);
+  private final Future<MotorController> hopperMotor =
+      Rollers.submitMotor(
+          "Hopper", CANID.HOPPER_INDEXER_ID, HOPPER_METERS_PER_REVOLUTION, HOPPER_CURRENT_CONFIG);
 
   @DashboardTab(
       title = "Swerve",
       modes = {"Testing"})
-  public final Swerve drivetrain = new Swerve();
+  public final Swerve drivetrain = StartupProfiler.span("Swerve", Swerve::new);
 
   @DashboardTab(
       title = "Intake",
       modes = {"Testing"})
-  public final Intake intake = new Intake();
+  public final Intake intake = StartupProfiler.span("Intake", () -> new Intake(intakeMotors));
 
   @DashboardTab(
       title = "IntakeArm",
       modes = {"Testing"})
-  public final IntakeArm intakeArm = new IntakeArm();
+  public final IntakeArm intakeArm =
+      StartupProfiler.span("IntakeArm", () -> new IntakeArm(intakeArmMotor));
 
   @DashboardTab(
       title = "Shooter",
       modes = {"Testing"})
-  public final Shooter shooter = new Shooter();
-
-  private static final double ROLLER_DIAMETER = Units.inchesToMeters(1.25);
-
-  private static final MotorCurrentConfig COMP_INDEXER_CURRENT_CONFIG =
-      new MotorCurrentConfig(60.0, 60.0, true);
-  private static final MotorCurrentConfig PRACTICE_INDEXER_CURRENT_CONFIG =
-      new MotorCurrentConfig(90.0, 90.0, true);
-  private static final double INDEXER_GEAR_RATIO = isCompBot() ? 3.0 : 1.0;
-  private static final double INDEXER_METERS_PER_REVOLUTION =
-      (ROLLER_DIAMETER * Math.PI) / INDEXER_GEAR_RATIO;
+  public final Shooter shooter = StartupProfiler.span("Shooter", () -> new Shooter(shooterMotors));
 
   @DashboardTab(
       title = "Indexer",
       modes = {"Testing"})
   public final Rollers indexer =
-      new Rollers(
+      StartupProfiler.span(
           "Indexer",
-          CANID.SHOOTER_INDEXER_ID,
-          INDEXER_METERS_PER_REVOLUTION,
-          isCompBot() ? COMP_INDEXER_CURRENT_CONFIG : PRACTICE_INDEXER_CURRENT_CONFIG);
-
-  private static final MotorCurrentConfig HOPPER_CURRENT_CONFIG =
-      new MotorCurrentConfig(60.0, 60.0, true);
-  private static final double HOPPER_GEAR_RATIO = isCompBot() ? 3.0 : 1.0;
-  private static final double HOPPER_METERS_PER_REVOLUTION =
-      (ROLLER_DIAMETER * Math.PI) / HOPPER_GEAR_RATIO;
+          () ->
+              new Rollers(
+                  "Indexer", INDEXER_METERS_PER_REVOLUTION, INDEXER_CURRENT_CONFIG, indexerMotor));
 
   @DashboardTab(
       title = "Hopper",
       modes = {"Testing"})
   public final Rollers hopper =
-      new Rollers(
-          "Hopper", CANID.HOPPER_INDEXER_ID, HOPPER_METERS_PER_REVOLUTION, HOPPER_CURRENT_CONFIG);
+      StartupProfiler.span(
+          "Hopper",
+          () ->
+              new Rollers(
+                  "Hopper", HOPPER_METERS_PER_REVOLUTION, HOPPER_CURRENT_CONFIG, hopperMotor));
 
   public final Optional<StatusLED> statusLEDs = Optional.empty();
 
   @DashboardTab(
-      title = "Front Left Camera",
+      title = FRONT_LEFT_CAMERA_TAB,
       modes = {"Testing"})
   public final Optional<AprilTag> frontLeftCamera =
-      AprilTag.PARAMETERS
-          .frontLeft()
-          .flatMap(
-              (c) ->
-                  SubsystemsUtil.newOptionalSubsystem(
-                      AprilTag.class,
-                      RobotPreferences.APRIL_TAG.ENABLE_FRONT_LEFT,
-                      c.cameraName(),
-                      c.robotToCamera(),
-                      c.cameraPublisherName(),
-                      c.streamURL()));
+      StartupProfiler.span(
+          FRONT_LEFT_CAMERA_TAB,
+          () ->
+              AprilTag.PARAMETERS
+                  .frontLeft()
+                  .flatMap(
+                      (c) ->
+                          SubsystemsUtil.newOptionalSubsystem(
+                              AprilTag.class,
+                              RobotPreferences.APRIL_TAG.ENABLE_FRONT_LEFT,
+                              c.cameraName(),
+                              c.robotToCamera(),
+                              c.cameraPublisherName(),
+                              c.streamURL(),
+                              FRONT_LEFT_CAMERA_TAB)));
 
   @DashboardTab(
-      title = "Front Right Camera",
+      title = FRONT_RIGHT_CAMERA_TAB,
       modes = {"Testing"})
   public final Optional<AprilTag> frontRightCamera =
-      AprilTag.PARAMETERS
-          .frontRight()
-          .flatMap(
-              (c) ->
-                  SubsystemsUtil.newOptionalSubsystem(
-                      AprilTag.class,
-                      RobotPreferences.APRIL_TAG.ENABLE_FRONT_RIGHT,
-                      c.cameraName(),
-                      c.robotToCamera(),
-                      c.cameraPublisherName(),
-                      c.streamURL()));
+      StartupProfiler.span(
+          FRONT_RIGHT_CAMERA_TAB,
+          () ->
+              AprilTag.PARAMETERS
+                  .frontRight()
+                  .flatMap(
+                      (c) ->
+                          SubsystemsUtil.newOptionalSubsystem(
+                              AprilTag.class,
+                              RobotPreferences.APRIL_TAG.ENABLE_FRONT_RIGHT,
+                              c.cameraName(),
+                              c.robotToCamera(),
+                              c.cameraPublisherName(),
+                              c.streamURL(),
+                              FRONT_RIGHT_CAMERA_TAB)));
 
   @DashboardTab(
-      title = "Back Left Camera",
+      title = BACK_LEFT_CAMERA_TAB,
       modes = {"Testing"})
   public final Optional<AprilTag> backLeftCamera =
-      AprilTag.PARAMETERS
-          .backLeft()
-          .flatMap(
-              (c) ->
-                  SubsystemsUtil.newOptionalSubsystem(
-                      AprilTag.class,
-                      RobotPreferences.APRIL_TAG.ENABLE_BACK_LEFT,
-                      c.cameraName(),
-                      c.robotToCamera(),
-                      c.cameraPublisherName(),
-                      c.streamURL()));
+      StartupProfiler.span(
+          BACK_LEFT_CAMERA_TAB,
+          () ->
+              AprilTag.PARAMETERS
+                  .backLeft()
+                  .flatMap(
+                      (c) ->
+                          SubsystemsUtil.newOptionalSubsystem(
+                              AprilTag.class,
+                              RobotPreferences.APRIL_TAG.ENABLE_BACK_LEFT,
+                              c.cameraName(),
+                              c.robotToCamera(),
+                              c.cameraPublisherName(),
+                              c.streamURL(),
+                              BACK_LEFT_CAMERA_TAB)));
 
   @DashboardTab(
-      title = "Back Right Camera",
+      title = BACK_RIGHT_CAMERA_TAB,
       modes = {"Testing"})
   public final Optional<AprilTag> backRightCamera =
-      AprilTag.PARAMETERS
-          .backRight()
-          .flatMap(
-              (c) ->
-                  SubsystemsUtil.newOptionalSubsystem(
-                      AprilTag.class,
-                      RobotPreferences.APRIL_TAG.ENABLE_BACK_RIGHT,
-                      c.cameraName(),
-                      c.robotToCamera(),
-                      c.cameraPublisherName(),
-                      c.streamURL()));
+      StartupProfiler.span(
+          BACK_RIGHT_CAMERA_TAB,
+          () ->
+              AprilTag.PARAMETERS
+                  .backRight()
+                  .flatMap(
+                      (c) ->
+                          SubsystemsUtil.newOptionalSubsystem(
+                              AprilTag.class,
+                              RobotPreferences.APRIL_TAG.ENABLE_BACK_RIGHT,
+                              c.cameraName(),
+                              c.robotToCamera(),
+                              c.cameraPublisherName(),
+                              c.streamURL(),
+                              BACK_RIGHT_CAMERA_TAB)));
 
   private final Subsystem[] all;
   private final Subsystem[] manipulators;
 
+  private final CurrentArbiter currentArbiter = new CurrentArbiter();
+
   private Map<String, StringLogEntry> commandLogger;
 
   public Subsystems() {
@@ -190,6 +247,42 @@ public final class Subsystems {
           cmd.getRequirements().stream().forEach((s) -> commandLogger.get(s.getName()).append(""));
         });
 
+    // Shooting takes the battery current first, so the shooter and the rollers that feed it are
+    // given their full limits while the shooter is running and what is left over otherwise.
+    Supplier<Priority> shootingPriority =
+        () -> shooter.isEnabled() ? Priority.HIGH : Priority.LOW;
+
+    drivetrain.registerCurrentLimits(currentArbiter, () -> Priority.NORMAL);
+    intake.registerCurrentLimits(currentArbiter, () -> Priority.NORMAL);
+    shooter.registerCurrentLimits(currentArbiter, shootingPriority);
+    indexer.registerCurrentLimits(currentArbiter, shootingPriority);
+    hopper.registerCurrentLimits(currentArbiter, shootingPriority);
+
+    // Estimate the pose from this loop's sensor readings and vision results before the commands
+    // run, so they and the targets computed from the pose are not a loop old.
+    List<AprilTag> cameras =
+        Stream.of(frontRightCamera, frontLeftCamera, backLeftCamera, backRightCamera)
+            .flatMap(Optional::stream)
+            .toList();
+
+    LoopPipeline.register(Phase.SENSE, drivetrain::updateSensors);
+    for (AprilTag camera : cameras) {
+      LoopPipeline.register(Phase.SENSE, camera::updateVision);
+    }
+
+    LoopPipeline.register(Phase.ESTIMATE, drivetrain::updateOdometry);
+    for (AprilTag camera : cameras) {
+      LoopPipeline.register(Phase.ESTIMATE, () -> updateEstimatedPose(camera));
+    }
+
+    LoopPipeline.register(Phase.TARGET, drivetrain::updateTarget);
+    LoopPipeline.register(Phase.LIMIT, this::updateCurrentLimits);
+
+    LoopPipeline.register(Phase.TELEMETRY, drivetrain::updateTelemetry);
+    for (AprilTag camera : cameras) {
+      LoopPipeline.register(Phase.TELEMETRY, camera::updateTelemetry);
+    }
+
     SubsystemsDashboardTabs.bind(this);
   }
 
@@ -251,14 +344,12 @@ public final class Subsystems {
     return frontLeftCameraIsConnected() || frontRightCameraIsConnected();
   }
 
-  /** Called to perform periodic actions. */
-  public void periodic() {
-    frontRightCamera.ifPresent(this::updateEstimatedPose);
-    frontLeftCamera.ifPresent(this::updateEstimatedPose);
-    backLeftCamera.ifPresent(this::updateEstimatedPose);
-    backRightCamera.ifPresent(this::updateEstimatedPose);
+  /** Shares the battery current between the motors requested by the commands this loop. */
+  private void updateCurrentLimits() {
+    currentArbiter.update(Timer.getFPGATimestamp(), RobotController.getBatteryVoltage());
   }
 
+  /** Adds the pose estimated by a camera this loop to the drivetrain pose estimator. */
   private void updateEstimatedPose(AprilTag camera) {
     var visionEst = camera.getEstimatedGlobalPose();
 
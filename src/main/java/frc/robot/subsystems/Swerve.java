@@ -22,7 +22,6 @@ import edu.wpi.first.math.Matrix;
 import edu.wpi.first.math.controller.HolonomicDriveController;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.ProfiledPIDController;
-import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
 import edu.wpi.first.math.filter.LinearFilter;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Pose3d;
@@ -45,31 +44,58 @@ import edu.wpi.first.util.datalog.DoubleLogEntry;
 import edu.wpi.first.util.datalog.StructLogEntry;
 import edu.wpi.first.wpilibj.BuiltInAccelerometer;
 import edu.wpi.first.wpilibj.DataLogManager;
-import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.RobotPreferences;
 import frc.robot.RobotSelector;
 import frc.robot.commands.DriveCommands;
+import frc.robot.drive.AimController;
+import frc.robot.drive.FusedPoseEstimator;
+import frc.robot.drive.NavGrid;
+import frc.robot.drive.Pathfinder;
+import frc.robot.drive.ShotMap;
+import frc.robot.drive.SlipDetector;
 import frc.robot.drive.SwerveDrive;
 import frc.robot.drive.SwerveModule;
 import frc.robot.parameters.SwerveAngleEncoder;
 import frc.robot.parameters.SwerveDriveParameters;
 import frc.robot.parameters.SwerveMotors;
+import frc.robot.util.CANBusPlanner;
+import frc.robot.util.CurrentArbiter;
+import frc.robot.util.CurrentArbiter.Priority;
+import frc.robot.util.DashboardMode.Tier;
+import frc.robot.util.DashboardThrottle;
+import frc.robot.util.DeviceInitializer;
 import frc.robot.util.FieldUtils;
 import frc.robot.util.Gyro;
+import frc.robot.util.LoopPipeline.Phase;
+import frc.robot.util.MatchState;
 import frc.robot.util.MotorController;
 import frc.robot.util.MotorIdleMode;
+import frc.robot.util.MultiRateScheduler.RateGroup;
 import frc.robot.util.RelativeEncoder;
+import java.io.File;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 @DashboardDefinition
 public final class Swerve extends SubsystemBase implements ActiveSubsystem {
 
   private static final double LEVEL_TOLERANCE = Math.toRadians(2.0);
+  private static final double GRAVITY = 9.80665; // m/s² per g
+
+  // The smallest changes in the estimated pose, in meters and degrees, shown on the dashboard.
+  private static final double POSITION_DASHBOARD_DEADBAND = 0.01;
+  private static final double ROTATION_DASHBOARD_DEADBAND = 0.5;
+
+  // The lowest supply current limit, in amps, of each drive motor when current is scarce.
+  private static final double MIN_DRIVE_SUPPLY_CURRENT_LIMIT = 20.0;
 
   @DashboardDefinition
   public static final class EstimatedPose {
@@ -122,33 +148,45 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
   public static final double ROTATIONAL_KP = 1.0;
   public static final double DRIVE_KP = 1.0;
 
+  // Create and configure the motors, angle encoders and gyro concurrently.
+  private final Map<SwerveMotors, Future<MotorController>> motorFutures =
+      DeviceInitializer.submitAll("Swerve/", SwerveMotors.values(), PARAMETERS::getMotorController);
+  private final Map<SwerveAngleEncoder, Future<CANcoder>> angleEncoderFutures =
+      DeviceInitializer.submitAll(
+          "Swerve/", SwerveAngleEncoder.values(), PARAMETERS::getAngleEncoder);
+  private final Future<Gyro> gyroFuture =
+      DeviceInitializer.submit("Swerve/Gyro", PARAMETERS::getGyro);
+
   // 4 pairs of motors for drive & steering.
   private final MotorController frontLeftDriveMotor =
-      PARAMETERS.getMotorController(SwerveMotors.FrontLeftDrive);
+      DeviceInitializer.await(motorFutures.get(SwerveMotors.FrontLeftDrive));
   private final MotorController frontLeftSteeringMotor =
-      PARAMETERS.getMotorController(SwerveMotors.FrontLeftSteering);
+      DeviceInitializer.await(motorFutures.get(SwerveMotors.FrontLeftSteering));
 
   private final MotorController frontRightDriveMotor =
-      PARAMETERS.getMotorController(SwerveMotors.FrontRightDrive);
+      DeviceInitializer.await(motorFutures.get(SwerveMotors.FrontRightDrive));
   private final MotorController frontRightSteeringMotor =
-      PARAMETERS.getMotorController(SwerveMotors.FrontRightSteering);
+      DeviceInitializer.await(motorFutures.get(SwerveMotors.FrontRightSteering));
 
   private final MotorController backLeftDriveMotor =
-      PARAMETERS.getMotorController(SwerveMotors.BackLeftDrive);
+      DeviceInitializer.await(motorFutures.get(SwerveMotors.BackLeftDrive));
   private final MotorController backLeftSteeringMotor =
-      PARAMETERS.getMotorController(SwerveMotors.BackLeftSteering);
+      DeviceInitializer.await(motorFutures.get(SwerveMotors.BackLeftSteering));
 
   private final MotorController backRightDriveMotor =
-      PARAMETERS.getMotorController(SwerveMotors.BackRightDrive);
+      DeviceInitializer.await(motorFutures.get(SwerveMotors.BackRightDrive));
   private final MotorController backRightSteeringMotor =
-      PARAMETERS.getMotorController(SwerveMotors.BackRightSteering);
+      DeviceInitializer.await(motorFutures.get(SwerveMotors.BackRightSteering));
 
   // 4 CANcoders for the steering angle.
-  private final CANcoder frontLeftAngle = PARAMETERS.getAngleEncoder(SwerveAngleEncoder.FrontLeft);
+  private final CANcoder frontLeftAngle =
+      DeviceInitializer.await(angleEncoderFutures.get(SwerveAngleEncoder.FrontLeft));
   private final CANcoder frontRightAngle =
-      PARAMETERS.getAngleEncoder(SwerveAngleEncoder.FrontRight);
-  private final CANcoder backLeftAngle = PARAMETERS.getAngleEncoder(SwerveAngleEncoder.BackLeft);
-  private final CANcoder backRightAngle = PARAMETERS.getAngleEncoder(SwerveAngleEncoder.BackRight);
+      DeviceInitializer.await(angleEncoderFutures.get(SwerveAngleEncoder.FrontRight));
+  private final CANcoder backLeftAngle =
+      DeviceInitializer.await(angleEncoderFutures.get(SwerveAngleEncoder.BackLeft));
+  private final CANcoder backRightAngle =
+      DeviceInitializer.await(angleEncoderFutures.get(SwerveAngleEncoder.BackRight));
 
   private final LinearFilter averagePitch = LinearFilter.movingAverage(3);
   private final LinearFilter averageRoll = LinearFilter.movingAverage(3);
@@ -158,6 +196,9 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
   @DashboardLayout(title = "Estimated Pose", column = 8, row = 0, width = 2, height = 3)
   private EstimatedPose estimatedPose = new EstimatedPose();
 
+  private final DashboardThrottle dashboardThrottle =
+      new DashboardThrottle(Tier.DIAGNOSTIC, "Swerve/Estimated Pose");
+
   @DashboardLayout(
       title = "Front Left",
       column = 0,
@@ -210,7 +251,7 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
       width = 2,
       height = 2,
       ccwPositive = true)
-  private final Gyro gyro = PARAMETERS.getGyro();
+  private final Gyro gyro = DeviceInitializer.await(gyroFuture);
 
   @DashboardCommand(
       title = "Drive Until Level",
@@ -238,14 +279,30 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
   private final SwerveDriveKinematics kinematics = PARAMETERS.getKinematics();
 
   private final SwerveDrive drivetrain;
-  private final SwerveDrivePoseEstimator odometry;
+  private final FusedPoseEstimator odometry;
+  private final SlipDetector slipDetector;
+
+  private static final File NAV_GRID_FILE =
+      new File(Filesystem.getDeployDirectory(), "pathplanner/navgrid.json");
+
+  // The navigation grid shared by the pathfinder and the shot map, loaded in the background.
+  private final CompletableFuture<NavGrid> navGrid = NavGrid.loadInBackground(NAV_GRID_FILE);
+
+  // Plans paths around the field obstacles once the navigation grid has loaded.
+  private final Pathfinder pathfinder = new Pathfinder(navGrid, PARAMETERS);
+
+  // The shooting positions around each hub. The maps are generated in the background.
+  private final ShotMap shotMap = new ShotMap(navGrid, PARAMETERS);
 
-  // The current sensor state updated by the periodic method.
+  // The current sensor state updated by the updateSensors method.
   private double rawOrientation; // The raw gyro orientation in radians.
   private double rawOrientationOffset; // The offset to the corrected orientation in radians.
   private Rotation2d orientation = Rotation2d.kZero;
   private Supplier<Optional<Rotation2d>> targetOrientationSupplier = () -> Optional.empty();
-  private double acceleration = 0;
+  private double acceleration = 0; // The magnitude of the acceleration in g.
+  private double accelerationX; // The robot-relative forward acceleration in m/s².
+  private double accelerationY; // The robot-relative leftward acceleration in m/s².
+  private double yawRate; // The gyro yaw rate in rad/s.
 
   private StructLogEntry<Pose2d> poseLog =
       StructLogEntry.create(LOG, "/Swerve/Pose", Pose2d.struct);
@@ -258,7 +315,11 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
   private Translation2d vectorToTarget;
   private double distanceToTarget;
   private double angleToTarget;
-  private int isAlignedCount = 0;
+
+  // Aims at the target, compensating for the robot's motion and the loop latency.
+  private final AimController aimController =
+      new AimController(
+          AimController.DEFAULT_LATENCY, getMaxRotationalSpeed(), Swerve::getHubAlignmentTolerance);
 
   /**
    * Creates a {@link SwerveModule} object and intiailizes its motor controllers.
@@ -276,6 +337,10 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
     StatusSignal<Angle> wheelOrientation = wheelAngle.getAbsolutePosition();
     StatusSignal<AngularVelocity> angularVelocity = wheelAngle.getVelocity();
 
+    // The wheel angle is read by the steering loop, which runs faster than the robot loop.
+    CANBusPlanner.register(wheelAngle, RateGroup.CONTROL.getFrequency(), wheelOrientation);
+    CANBusPlanner.register(wheelAngle, CANBusPlanner.LOOP_FREQUENCY, angularVelocity);
+
     return new SwerveModule(
         PARAMETERS,
         driveMotor,
@@ -293,8 +358,19 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
 
     drivetrain = new SwerveDrive(PARAMETERS, modules, () -> getOrientation());
     odometry =
-        new SwerveDrivePoseEstimator(
-            kinematics, getOrientation(), drivetrain.getModulesPositions(), new Pose2d());
+        new FusedPoseEstimator(
+            PARAMETERS.getWheelPositions(),
+            PARAMETERS.getMaxDriveAcceleration(),
+            Timer.getFPGATimestamp(),
+            getOrientation(),
+            drivetrain.getModulesPositions(),
+            new Pose2d());
+    slipDetector =
+        new SlipDetector(
+            PARAMETERS.getWheelPositions(),
+            PARAMETERS.getMaxDriveAcceleration(),
+            Timer.getFPGATimestamp(),
+            drivetrain.getModulesPositions());
   }
 
   /** Initializes the sensor state. */
@@ -306,26 +382,43 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
   /**
    * Updates the sensor state.
    *
-   * <p>This method **MUST* be called by the {@link #periodic()} method to ensure the sensor state
-   * is up to date.
+   * <p>This method **MUST* be called by the {@link #updateSensors()} method to ensure the sensor
+   * state is up to date.
    */
   private void updateSensorState() {
     rawOrientation = gyro.getYaw();
     rawOrientationLog.append(Math.toDegrees(rawOrientation));
     orientation = new Rotation2d(MathUtil.angleModulus(rawOrientation + rawOrientationOffset));
 
-    double accelerationX = accelerometer.getX();
-    double accelerationY = accelerometer.getY();
-    acceleration = Math.hypot(accelerationX, accelerationY);
+    yawRate = gyro.getYawRate();
+
+    // This assumes the roboRIO is mounted with its x axis facing forward and y axis facing left.
+    accelerationX = accelerometer.getX() * GRAVITY;
+    accelerationY = accelerometer.getY() * GRAVITY;
+    acceleration = Math.hypot(accelerationX, accelerationY) / GRAVITY;
     accelerationLog.append(acceleration);
     averagePitch.calculate(gyro.getPitch());
     averageRoll.calculate(gyro.getRoll());
   }
 
-  /** See {@link SwerveDrivePoseEstimator#addVisionMeasurement(Pose2d, double, Matrix)} */
+  /**
+   * Adds a vision measurement of the robot pose to the pose estimator. While the wheels are
+   * slipping, the measurement is trusted more.
+   *
+   * @param visionMeasurment The measured robot pose.
+   * @param timestamp The time the measurement was captured in seconds.
+   * @param stdDevs The standard deviations of the measured x, y and heading.
+   */
   public void addVisionMeasurement(
       Pose2d visionMeasurment, double timestamp, Matrix<N3, N1> stdDevs) {
-    odometry.addVisionMeasurement(visionMeasurment, timestamp, stdDevs);
+    double scale = slipDetector.getVisionStdDevScale();
+
+    odometry.addVisionMeasurement(
+        visionMeasurment,
+        timestamp,
+        stdDevs.get(0, 0) * scale,
+        stdDevs.get(1, 0) * scale,
+        stdDevs.get(2, 0) * scale);
   }
 
   /*
@@ -350,7 +443,26 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
 
   @Override
   public boolean isEnabled() {
-    return DriverStation.isEnabled();
+    return MatchState.isEnabled();
+  }
+
+  /**
+   * Registers the drive motors with the current arbiter. The steering motors draw little current
+   * and keep their configured limits.
+   *
+   * @param arbiter The current arbiter.
+   * @param priority Supplies the priority of the drive.
+   */
+  public void registerCurrentLimits(CurrentArbiter arbiter, Supplier<Priority> priority) {
+    arbiter.register(
+        getName(),
+        priority,
+        PARAMETERS.getDriveCurrentConfig(),
+        MIN_DRIVE_SUPPLY_CURRENT_LIMIT,
+        frontLeftDriveMotor,
+        frontRightDriveMotor,
+        backLeftDriveMotor,
+        backRightDriveMotor);
   }
 
   /** {@return the average pitch of the robot base in degrees} */
@@ -448,6 +560,15 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
     return PARAMETERS.getMaxDriveSpeed();
   }
 
+  /**
+   * Returns the maximum rotational speed in rad/s of the robot.
+   *
+   * @return The maximum rotational speed.
+   */
+  public static double getMaxRotationalSpeed() {
+    return PARAMETERS.getMaxRotationalSpeed();
+  }
+
   /**
    * Returns the maximum drive acceleration in m/s^2 of a swerve module.
    *
@@ -511,6 +632,21 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
     return PARAMETERS.getWheelBaseRadius();
   }
 
+  /** {@return the pathfinder used to plan paths around the field obstacles} */
+  public Pathfinder getPathfinder() {
+    return pathfinder;
+  }
+
+  /** {@return the map of shooting positions around each hub} */
+  public ShotMap getShotMap() {
+    return shotMap;
+  }
+
+  /** {@return the aim controller tracking the bearing to the auto-rotation target} */
+  public AimController getAimController() {
+    return aimController;
+  }
+
   /**
    * Creates a HolonomicDriveController for the subsystem.
    *
@@ -558,6 +694,16 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
     return drivetrain.getChassisSpeeds();
   }
 
+  /**
+   * Returns the robot-relative chassis speeds last commanded. The object is updated in place and
+   * must not be modified.
+   *
+   * @return The commanded chassis speeds.
+   */
+  public ChassisSpeeds getCommandedChassisSpeeds() {
+    return drivetrain.getCommandedChassisSpeeds();
+  }
+
   public SwerveModuleState[] getModuleStates() {
     return drivetrain.getModuleStates();
   }
@@ -635,22 +781,29 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
     return angleToTarget;
   }
 
-  /** {@return whether we are aligned to hub within tolerance} */
+  /**
+   * Returns whether the robot has been aligned to the hub within tolerance for several loops. The
+   * alignment is computed once per loop by {@link #updateTarget()}, so this has no side effects.
+   *
+   * @return True if the robot is aligned to the hub.
+   */
   public boolean isAlignedToHub() {
-    boolean isAligned =
-        Math.abs(getAngleToTarget() - getOrientation().getRadians()) <= getHubAlignmentTolerance();
-
-    if (isAligned) {
-      isAligned = ++isAlignedCount >= 3;
-    } else {
-      isAlignedCount = 0;
-    }
-
-    return isAligned;
+    return aimController.isAligned();
   }
 
   public double getHubAlignmentTolerance() {
-    double distanceToHub = Math.min(getDistanceToTarget(), Shooter.MAX_SHOOTING_DISTANCE);
+    return getHubAlignmentTolerance(getDistanceToTarget());
+  }
+
+  /**
+   * Returns the tolerance, in radians, for aligning to the hub from the specified distance. The
+   * tolerance narrows linearly from the hub shot distance to the maximum shooting distance.
+   *
+   * @param distanceToHub The distance to the hub in meters.
+   * @return The alignment tolerance in radians.
+   */
+  public static double getHubAlignmentTolerance(double distanceToHub) {
+    distanceToHub = Math.min(distanceToHub, Shooter.MAX_SHOOTING_DISTANCE);
     return ((Shooter.MAX_SHOOTING_DISTANCE - distanceToHub) / Shooter.SHOOTING_RANGE)
             * SHOOTING_DISTANCE_ANGLE_TOLERANCE_RANGE
         + MIN_SHOOTING_DISTANCE_ANGLE_TOLERANCE;
@@ -686,19 +839,48 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
     return orientation;
   }
 
-  @Override
-  public void periodic() {
-    // Read sensors to update subsystem state.
+  /**
+   * Reads the gyro, accelerometer and module sensors. This is run in the {@link Phase#SENSE} phase
+   * of the robot loop.
+   */
+  void updateSensors() {
     updateSensorState();
 
     // Update the current module state.
     drivetrain.periodic();
+  }
 
-    // Update odometry last since this relies on the subsystem sensor and module
-    // states.
-    odometry.update(getOrientation(), drivetrain.getModulesPositions());
+  /**
+   * Updates the odometry from the sensor and module states read this loop. Slipping wheels are
+   * down-weighted so they don't corrupt the estimate. This is run in the {@link Phase#ESTIMATE}
+   * phase of the robot loop before the vision measurements are added.
+   */
+  void updateOdometry() {
+    double timestamp = Timer.getFPGATimestamp();
+    SwerveModulePosition[] wheelPositions = drivetrain.getModulesPositions();
+
+    slipDetector.update(
+        timestamp,
+        wheelPositions,
+        accelerationX,
+        accelerationY,
+        drivetrain.getCommandedChassisSpeeds(),
+        Math.hypot(getAveragePitch(), getAverageRoll()));
+    odometry.update(
+        timestamp,
+        getOrientation(),
+        yawRate,
+        accelerationX,
+        accelerationY,
+        wheelPositions,
+        slipDetector.getModuleWeights());
+  }
 
-    // Send the robot and module location to the logger
+  /**
+   * Computes the vector to the auto-rotation target and the aim from the pose estimated this loop.
+   * This is run in the {@link Phase#TARGET} phase of the robot loop.
+   */
+  void updateTarget() {
     Pose2d robotPose = getPosition();
 
     Translation2d robotLocation = robotPose.getTranslation();
@@ -708,11 +890,40 @@ public final class Swerve extends SubsystemBase implements ActiveSubsystem {
     distanceToTarget = vectorToTarget.getNorm();
     angleToTarget = vectorToTarget.getAngle().getRadians();
 
+    aimController.update(
+        robotPose.getX(),
+        robotPose.getY(),
+        robotPose.getRotation().getRadians(),
+        odometry.getVelocityX(),
+        odometry.getVelocityY(),
+        odometry.getAngularVelocity(),
+        targetLocation.getX(),
+        targetLocation.getY());
+
+    // Send the robot and target location to the logger
     poseLog.append(robotPose);
     targetLocationLog.append(targetLocation);
+  }
 
-    estimatedPose.estimatedPoseX = odometry.getEstimatedPosition().getX();
-    estimatedPose.estimatedPoseY = odometry.getEstimatedPosition().getY();
-    estimatedPose.estimatedRotation = odometry.getEstimatedPosition().getRotation().getDegrees();
+  /**
+   * Updates the estimated pose shown on the dashboard. This is run in the {@link Phase#TELEMETRY}
+   * phase of the robot loop.
+   */
+  void updateTelemetry() {
+    if (dashboardThrottle.shouldUpdate()) {
+      Pose2d robotPose = getPosition();
+
+      estimatedPose.estimatedPoseX =
+          DashboardThrottle.deadband(
+              estimatedPose.estimatedPoseX, robotPose.getX(), POSITION_DASHBOARD_DEADBAND);
+      estimatedPose.estimatedPoseY =
+          DashboardThrottle.deadband(
+              estimatedPose.estimatedPoseY, robotPose.getY(), POSITION_DASHBOARD_DEADBAND);
+      estimatedPose.estimatedRotation =
+          DashboardThrottle.deadband(
+              estimatedPose.estimatedRotation,
+              robotPose.getRotation().getDegrees(),
+              ROTATION_DASHBOARD_DEADBAND);
+    }
   }
 }
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.CANBus.CANBusStatus;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plans the status signal update frequencies of the CAN devices from the signals the robot code
+ * reads.
+ *
+ * <p>By default, every CAN device sends all of its status signals whether or not they are used.
+ * Instead, the code that reads a signal registers it here with the frequency it needs. Once the
+ * robot code has created its devices, each Phoenix device is given the highest frequency
+ * registered for each of its signals and every other signal is turned off by {@link
+ * ParentDevice#optimizeBusUtilization}. The same is done again if a device resets. Devices that
+ * are not managed by Phoenix, such as the REV Spark controllers, set their own status frame periods
+ * and register the frame rate they send.
+ *
+ * <p>The utilization of each CAN bus is estimated from the planned signals and reported at startup
+ * along with the utilization measured by the bus, which is also logged periodically. The estimate
+ * assumes each signal is sent in its own frame, so it is an upper bound on the status signal
+ * traffic, and it does not include the control requests sent to the devices.
+ */
+public final class CANBusPlanner {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  /** The frequency, in Hz, of signals read once per robot loop. */
+  public static final double LOOP_FREQUENCY = 50.0;
+
+  /** The frequency, in Hz, of slowly changing signals, such as temperature. */
+  public static final double SLOW_FREQUENCY = 10.0;
+
+  /** The time, in seconds, to wait for a device to confirm that its other signals are off. */
+  private static final double CONFIG_TIMEOUT = 0.1;
+
+  private static final int NUM_RETRIES = 5;
+
+  /** The period, in seconds, at which the measured bus utilization is logged. */
+  private static final double MEASURE_PERIOD = 1.0;
+
+  /** The estimated utilization above which a warning is reported. */
+  private static final double MAX_UTILIZATION = 0.8;
+
+  /**
+   * The time, in seconds, to send a classic CAN frame with an extended ID and eight bytes of data,
+   * including typical bit stuffing, at 1 Mbps.
+   */
+  private static final double CAN_FRAME_TIME = 130e-6;
+
+  /**
+   * The time, in seconds, to send a CAN FD frame at a 1 Mbps arbitration rate and 8 Mbps data
+   * rate.
+   */
+  private static final double CAN_FD_FRAME_TIME = 45e-6;
+
+  /** A device whose status signals are planned. */
+  private static final class PlannedDevice {
+    private final String name;
+    private final Map<BaseStatusSignal, Double> frequencies = new LinkedHashMap<>();
+    private double frameRate;
+
+    private PlannedDevice(String name) {
+      this.name = name;
+    }
+  }
+
+  /** A CAN bus and its utilization. */
+  private static final class PlannedBus {
+    private final CANBus bus;
+    private final List<PlannedDevice> devices = new ArrayList<>();
+    private final DoubleLogEntry logEstimatedUtilization;
+    private final DoubleLogEntry logMeasuredUtilization;
+
+    private PlannedBus(CANBus bus) {
+      this.bus = bus;
+
+      String prefix = "/CANBus/" + bus.getName();
+
+      this.logEstimatedUtilization = new DoubleLogEntry(LOG, prefix + "/Estimated Utilization");
+      this.logMeasuredUtilization = new DoubleLogEntry(LOG, prefix + "/Measured Utilization");
+    }
+  }
+
+  // Devices may be registered concurrently by the DeviceInitializer during startup. Guarded by
+  // `buses`.
+  private static final Map<String, PlannedBus> buses = new LinkedHashMap<>();
+  private static final Map<ParentDevice, PlannedDevice> devices = new HashMap<>();
+  private static boolean isOptimized;
+
+  private static final AtomicBoolean isMeasuring = new AtomicBoolean();
+  private static double nextMeasureTime;
+
+  /**
+   * Registers status signals of a Phoenix device read by the robot code. A signal registered more
+   * than once is updated at the highest of its frequencies.
+   *
+   * @param device The device sending the signals.
+   * @param frequency The frequency, in Hz, at which the signals are needed.
+   * @param signals The signals.
+   */
+  public static void register(ParentDevice device, double frequency, BaseStatusSignal... signals) {
+    boolean isLate;
+
+    synchronized (buses) {
+      PlannedDevice plannedDevice =
+          devices.computeIfAbsent(
+              device,
+              (d) -> {
+                PlannedDevice newDevice =
+                    new PlannedDevice(
+                        String.format("%s-%d", d.getClass().getSimpleName(), d.getDeviceID()));
+
+                getBus(d.getNetwork()).devices.add(newDevice);
+
+                return newDevice;
+              });
+
+      for (BaseStatusSignal signal : signals) {
+        plannedDevice.frequencies.merge(signal, frequency, Math::max);
+      }
+
+      isLate = isOptimized;
+    }
+
+    if (isLate) {
+      MotorConfigWorker.submit(
+          String.format("optimize status signals of ID %d", device.getDeviceID()),
+          () -> apply(device));
+    }
+  }
+
+  /**
+   * Registers a device that is not managed by Phoenix and has configured its own status frames.
+   *
+   * @param name The name of the device used in the report.
+   * @param bus The CAN bus the device is on.
+   * @param frameRate The total rate, in frames per second, of the status frames the device sends.
+   */
+  public static void register(String name, CANBus bus, double frameRate) {
+    synchronized (buses) {
+      PlannedDevice plannedDevice = new PlannedDevice(name);
+
+      plannedDevice.frameRate = frameRate;
+      getBus(bus).devices.add(plannedDevice);
+    }
+  }
+
+  /** {@return the planned bus, adding it if needed} */
+  private static PlannedBus getBus(CANBus bus) {
+    return buses.computeIfAbsent(bus.getName(), (name) -> new PlannedBus(bus));
+  }
+
+  /**
+   * Applies the planned signal frequencies to the registered devices and reports the estimated
+   * bus utilization. This is called once the robot code has created its devices. The devices are
+   * configured by the {@link MotorConfigWorker} so startup does not wait for the CAN bus.
+   */
+  public static void optimize() {
+    List<ParentDevice> optimizedDevices;
+
+    synchronized (buses) {
+      isOptimized = true;
+      optimizedDevices = new ArrayList<>(devices.keySet());
+    }
+
+    MotorConfigWorker.submit(
+        "optimize CAN bus utilization",
+        () -> {
+          for (ParentDevice device : optimizedDevices) {
+            apply(device);
+          }
+
+          report();
+        });
+  }
+
+  /**
+   * Reapplies the planned signal frequencies of a device after it has reset. This is called by the
+   * {@link DeviceHealthMonitor} on the {@link MotorConfigWorker} thread.
+   *
+   * @param device The device.
+   * @return The status of the last request sent to the device.
+   */
+  static StatusCode reapply(ParentDevice device) {
+    synchronized (buses) {
+      if (!isOptimized || !devices.containsKey(device)) {
+        return StatusCode.OK;
+      }
+    }
+
+    return optimize(device);
+  }
+
+  /** Applies the planned signal frequencies to a device, retrying and reporting failures. */
+  private static void apply(ParentDevice device) {
+    StatusCode status = StatusCode.OK;
+
+    for (int i = 0; i < NUM_RETRIES; i++) {
+      status = optimize(device);
+
+      if (status.isOK()) {
+        return;
+      }
+    }
+
+    DriverStation.reportError(
+        String.format(
+            "Failed to optimize status signals of ID %d: %s (%s)",
+            device.getDeviceID(), status.getDescription(), status.getName()),
+        false);
+  }
+
+  /**
+   * Sets the planned signal frequencies of a device and turns off its other signals.
+   *
+   * @param device The device.
+   * @return The status of the last request sent to the device.
+   */
+  private static StatusCode optimize(ParentDevice device) {
+    Map<Double, List<BaseStatusSignal>> signalsByFrequency = new LinkedHashMap<>();
+
+    synchronized (buses) {
+      devices
+          .get(device)
+          .frequencies
+          .forEach(
+              (signal, frequency) ->
+                  signalsByFrequency
+                      .computeIfAbsent(frequency, (f) -> new ArrayList<>())
+                      .add(signal));
+    }
+
+    for (var entry : signalsByFrequency.entrySet()) {
+      StatusCode status =
+          BaseStatusSignal.setUpdateFrequencyForAll(
+              entry.getKey(), entry.getValue().toArray(BaseStatusSignal[]::new));
+
+      if (!status.isOK()) {
+        return status;
+      }
+    }
+
+    return device.optimizeBusUtilization(0.0, CONFIG_TIMEOUT);
+  }
+
+  /** Reports the estimated and measured utilization of each bus. */
+  private static void report() {
+    synchronized (buses) {
+      for (PlannedBus plannedBus : buses.values()) {
+        double frameTime = plannedBus.bus.isNetworkFD() ? CAN_FD_FRAME_TIME : CAN_FRAME_TIME;
+        double frameRate = 0.0;
+        int signalCount = 0;
+
+        for (PlannedDevice device : plannedBus.devices) {
+          double deviceFrameRate = device.frameRate;
+
+          for (double frequency : device.frequencies.values()) {
+            deviceFrameRate += frequency;
+          }
+
+          frameRate += deviceFrameRate;
+          signalCount += device.frequencies.size();
+
+          DataLogManager.log(
+              String.format(
+                  "CAN bus %s: %s sends %.0f frames/s",
+                  plannedBus.bus.getName(), device.name, deviceFrameRate));
+        }
+
+        double estimatedUtilization = frameRate * frameTime;
+        CANBusStatus status = plannedBus.bus.getStatus();
+
+        plannedBus.logEstimatedUtilization.append(estimatedUtilization);
+
+        DataLogManager.log(
+            String.format(
+                "CAN bus %s: %d devices, %d signals, %.0f frames/s, estimated utilization %.0f%%,"
+                    + " measured utilization %.0f%%",
+                plannedBus.bus.getName(),
+                plannedBus.devices.size(),
+                signalCount,
+                frameRate,
+                estimatedUtilization * 100.0,
+                status.BusUtilization * 100.0));
+
+        if (estimatedUtilization > MAX_UTILIZATION) {
+          DriverStation.reportWarning(
+              String.format(
+                  "CAN bus %s estimated utilization is %.0f%%",
+                  plannedBus.bus.getName(), estimatedUtilization * 100.0),
+              false);
+        }
+      }
+    }
+  }
+
+  /**
+   * Logs the measured utilization of each bus. This must be called from the main robot thread once
+   * per robot loop and measures the buses at a lower rate. Reading the status of a CANivore can
+   * block, so the measurement is made by the {@link MotorConfigWorker}.
+   */
+  public static void periodic() {
+    double now = Timer.getFPGATimestamp();
+
+    if (now < nextMeasureTime || !isMeasuring.compareAndSet(false, true)) {
+      return;
+    }
+
+    nextMeasureTime = now + MEASURE_PERIOD;
+
+    MotorConfigWorker.submit(
+        "measure CAN bus utilization",
+        () -> {
+          try {
+            List<PlannedBus> measuredBuses;
+
+            synchronized (buses) {
+              measuredBuses = new ArrayList<>(buses.values());
+            }
+
+            for (PlannedBus plannedBus : measuredBuses) {
+              CANBusStatus status = plannedBus.bus.getStatus();
+
+              if (status.Status.isOK()) {
+                plannedBus.logMeasuredUtilization.append(status.BusUtilization);
+              }
+            }
+          } finally {
+            isMeasuring.set(false);
+          }
+        });
+  }
+
+  private CANBusPlanner() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Divides the current the battery can supply among the robot's mechanisms by priority.
+ *
+ * <p>The battery voltage sags in proportion to the current drawn from it. When every mechanism
+ * draws up to its configured supply current limit at once, the voltage can fall far enough to
+ * brown out the robot. The arbiter estimates the open-circuit voltage of the battery from the
+ * measured battery voltage and the supply current of the registered motors, and from it the total
+ * current that can be drawn before the voltage falls to a safe minimum. That budget is divided
+ * among the registered mechanisms:
+ *
+ * <ol>
+ *   <li>Every mechanism is given its minimum supply current limit.
+ *   <li>In order of priority, mechanisms are given the current they are drawing plus some headroom
+ *       to accelerate, up to their configured limit. High priority mechanisms are given their full
+ *       configured limit.
+ *   <li>Any remaining current raises the limits, in order of priority, to the configured limits.
+ * </ol>
+ *
+ * <p>Mechanisms of the same priority share the current available at each step in proportion to
+ * what they ask for. The allocations are recalculated at a lower rate than the robot loop and new
+ * limits are only sent to the motors when they change by more than a small amount, since each
+ * change is a configuration write on the CAN bus. The writes are made by the {@link
+ * MotorConfigWorker} so the robot loop does not wait for them.
+ */
+public final class CurrentArbiter {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  /** The resistance, in ohms, of a typical battery and the robot's main power wiring. */
+  public static final double DEFAULT_BATTERY_RESISTANCE = 0.018;
+
+  /** The lowest battery voltage, in volts, the arbiter aims to keep the robot above. */
+  public static final double DEFAULT_MIN_BATTERY_VOLTAGE = 7.5;
+
+  /** The period, in seconds, at which the current is reallocated. */
+  private static final double UPDATE_PERIOD = 0.1;
+
+  /** The fraction of the measured current added to a mechanism's demand to let it accelerate. */
+  private static final double DEMAND_HEADROOM = 0.25;
+
+  /** The smallest change in a motor's supply current limit, in amps, sent to the motor. */
+  private static final double MIN_LIMIT_CHANGE = 2.0;
+
+  /** The weight given to each new estimate of the open-circuit voltage. */
+  private static final double VOLTAGE_SMOOTHING = 0.2;
+
+  /** The priority of a mechanism when the current it is given is limited. */
+  public enum Priority {
+    /** Given its full configured limit before lower priority mechanisms are given any headroom. */
+    HIGH,
+    /** Given the current it is drawing before lower priority mechanisms. */
+    NORMAL,
+    /** Given the current left over by the other mechanisms. */
+    LOW
+  }
+
+  private static final Priority[] PRIORITIES = Priority.values();
+
+  /** A mechanism sharing the battery current. */
+  private static final class Consumer {
+    private final Supplier<Priority> prioritySupplier;
+    private final MotorController[] motors;
+    private final double maxLimit;
+    private final double minLimit;
+
+    private Priority priority;
+    private double current;
+    private double allocation;
+    private double requested;
+    private double limit;
+
+    private final DoubleLogEntry logCurrent;
+    private final DoubleLogEntry logLimit;
+
+    private Consumer(
+        String name,
+        Supplier<Priority> priority,
+        double maxLimit,
+        double minLimit,
+        MotorController[] motors) {
+      this.prioritySupplier = priority;
+      this.motors = motors;
+      this.maxLimit = maxLimit;
+      this.minLimit = minLimit;
+      this.limit = maxLimit;
+      this.logCurrent = new DoubleLogEntry(LOG, "/CurrentArbiter/" + name + "/Supply Current");
+      this.logLimit = new DoubleLogEntry(LOG, "/CurrentArbiter/" + name + "/Supply Current Limit");
+    }
+  }
+
+  private final double batteryResistance;
+  private final double minBatteryVoltage;
+  private final List<Consumer> consumers = new ArrayList<>();
+
+  private double nextUpdateTime = Double.NEGATIVE_INFINITY;
+  private double openCircuitVoltage = Double.NaN;
+  private double budget = Double.POSITIVE_INFINITY;
+
+  private final DoubleLogEntry logBatteryVoltage =
+      new DoubleLogEntry(LOG, "/CurrentArbiter/Battery Voltage");
+  private final DoubleLogEntry logOpenCircuitVoltage =
+      new DoubleLogEntry(LOG, "/CurrentArbiter/Open Circuit Voltage");
+  private final DoubleLogEntry logTotalCurrent =
+      new DoubleLogEntry(LOG, "/CurrentArbiter/Total Current");
+  private final DoubleLogEntry logBudget = new DoubleLogEntry(LOG, "/CurrentArbiter/Budget");
+
+  /** Creates a new CurrentArbiter for a typical battery. */
+  public CurrentArbiter() {
+    this(DEFAULT_BATTERY_RESISTANCE, DEFAULT_MIN_BATTERY_VOLTAGE);
+  }
+
+  /**
+   * Creates a new CurrentArbiter.
+   *
+   * @param batteryResistance The resistance, in ohms, of the battery and main power wiring.
+   * @param minBatteryVoltage The lowest battery voltage, in volts, to keep the robot above.
+   */
+  public CurrentArbiter(double batteryResistance, double minBatteryVoltage) {
+    this.batteryResistance = batteryResistance;
+    this.minBatteryVoltage = minBatteryVoltage;
+  }
+
+  /**
+   * Registers a mechanism to share the battery current. The supply current limit of each of its
+   * motors is kept between the minimum and the limit of its current configuration.
+   *
+   * @param name The name of the mechanism used in the log entries.
+   * @param priority Supplies the priority of the mechanism. This is called each time the current is
+   *     reallocated so the priority can follow what the robot is doing.
+   * @param currentConfig The current configuration applied to the motors.
+   * @param minSupplyCurrentLimit The lowest supply current limit, in amps, of each motor.
+   * @param motors The motors of the mechanism, including any followers.
+   */
+  public void register(
+      String name,
+      Supplier<Priority> priority,
+      MotorCurrentConfig currentConfig,
+      double minSupplyCurrentLimit,
+      MotorController... motors) {
+    consumers.add(
+        new Consumer(
+            name,
+            priority,
+            currentConfig.supplyCurrentLimit(),
+            Math.min(minSupplyCurrentLimit, currentConfig.supplyCurrentLimit()),
+            motors.clone()));
+  }
+
+  /** {@return the total current, in amps, the mechanisms may draw from the battery} */
+  public double getBudget() {
+    return budget;
+  }
+
+  /**
+   * Reallocates the battery current if the update period has elapsed. This must be called from the
+   * main robot thread once per robot loop.
+   *
+   * @param timestamp The current time in seconds.
+   * @param batteryVoltage The measured battery voltage in volts.
+   */
+  public void update(double timestamp, double batteryVoltage) {
+    if (timestamp < nextUpdateTime) {
+      return;
+    }
+
+    nextUpdateTime = timestamp + UPDATE_PERIOD;
+
+    double totalCurrent = 0.0;
+
+    for (Consumer consumer : consumers) {
+      double current = 0.0;
+
+      for (MotorController motor : consumer.motors) {
+        current += motor.getSupplyCurrent();
+      }
+
+      consumer.current = current;
+      consumer.priority = consumer.prioritySupplier.get();
+      totalCurrent += current;
+    }
+
+    // The current drawn by devices the arbiter does not see also lowers the battery voltage, which
+    // makes this estimate, and so the budget, conservative.
+    double estimate = batteryVoltage + totalCurrent * batteryResistance;
+
+    openCircuitVoltage =
+        Double.isNaN(openCircuitVoltage)
+            ? estimate
+            : openCircuitVoltage + VOLTAGE_SMOOTHING * (estimate - openCircuitVoltage);
+    budget = Math.max((openCircuitVoltage - minBatteryVoltage) / batteryResistance, 0.0);
+
+    allocate();
+
+    logBatteryVoltage.append(batteryVoltage);
+    logOpenCircuitVoltage.append(openCircuitVoltage);
+    logTotalCurrent.append(totalCurrent);
+    logBudget.append(budget);
+
+    for (Consumer consumer : consumers) {
+      applyLimit(consumer);
+      consumer.logCurrent.append(consumer.current);
+    }
+  }
+
+  /** Divides the budget among the mechanisms. */
+  private void allocate() {
+    double remaining = budget;
+
+    for (Consumer consumer : consumers) {
+      consumer.allocation = consumer.minLimit * consumer.motors.length;
+      remaining -= consumer.allocation;
+    }
+
+    for (Priority priority : PRIORITIES) {
+      for (Consumer consumer : consumers) {
+        double demand =
+            priority == Priority.HIGH
+                ? consumer.maxLimit * consumer.motors.length
+                : consumer.current * (1.0 + DEMAND_HEADROOM);
+
+        consumer.requested = getRequest(consumer, demand);
+      }
+
+      remaining = grant(priority, remaining);
+    }
+
+    for (Priority priority : PRIORITIES) {
+      for (Consumer consumer : consumers) {
+        consumer.requested = getRequest(consumer, consumer.maxLimit * consumer.motors.length);
+      }
+
+      remaining = grant(priority, remaining);
+    }
+  }
+
+  /**
+   * Returns the additional current a mechanism asks for to reach its demand.
+   *
+   * @param consumer The mechanism.
+   * @param demand The total current, in amps, the mechanism asks for.
+   * @return The additional current in amps.
+   */
+  private static double getRequest(Consumer consumer, double demand) {
+    double maxAllocation = consumer.maxLimit * consumer.motors.length;
+
+    return Math.max(Math.min(demand, maxAllocation) - consumer.allocation, 0.0);
+  }
+
+  /**
+   * Grants the requests of the mechanisms of a priority, sharing the available current in
+   * proportion to their requests when it is not enough for all of them.
+   *
+   * @param priority The priority of the mechanisms.
+   * @param available The current, in amps, available to the mechanisms.
+   * @return The current, in amps, remaining after the requests are granted.
+   */
+  private double grant(Priority priority, double available) {
+    if (available <= 0.0) {
+      return available;
+    }
+
+    double totalRequested = 0.0;
+
+    for (Consumer consumer : consumers) {
+      if (consumer.priority == priority) {
+        totalRequested += consumer.requested;
+      }
+    }
+
+    if (totalRequested == 0.0) {
+      return available;
+    }
+
+    double share = Math.min(available / totalRequested, 1.0);
+
+    for (Consumer consumer : consumers) {
+      if (consumer.priority == priority) {
+        consumer.allocation += consumer.requested * share;
+      }
+    }
+
+    return available - totalRequested * share;
+  }
+
+  /** Sends a mechanism's new supply current limit to its motors if it has changed enough. */
+  private static void applyLimit(Consumer consumer) {
+    double limit =
+        Math.min(Math.rint(consumer.allocation / consumer.motors.length), consumer.maxLimit);
+
+    // Always restore the configured limit exactly, even when it is close to the last limit.
+    if (Math.abs(limit - consumer.limit) >= MIN_LIMIT_CHANGE
+        || (limit == consumer.maxLimit && consumer.limit != consumer.maxLimit)) {
+      consumer.limit = limit;
+
+      for (MotorController motor : consumer.motors) {
+        motor.setSupplyCurrentLimit(limit);
+      }
+    }
+
+    consumer.logLimit.append(consumer.limit);
+  }
+}
@@ -10,15 +10,44 @@ package frc.robot.util;
 /** Enum representing the different dashboard modes. */
 public enum DashboardMode {
   /** Competition mode. */
-  COMPETITION("Competition"),
+  COMPETITION("Competition", 0.05, Double.POSITIVE_INFINITY),
   /** Testing mode. */
-  TESTING("Testing");
+  TESTING("Testing", 0.05, 0.1);
+
+  /** The publish rate tiers of dashboard values. */
+  public enum Tier {
+    /** Values shown on tabs in every mode, such as the operator tab. */
+    OPERATOR,
+    /** Values only shown on the subsystem testing tabs. */
+    DIAGNOSTIC;
+  }
 
   private final String modeName;
+  private final double operatorPeriod;
+  private final double diagnosticPeriod;
 
   /** Constructor for DashboardMode enum. */
-  DashboardMode(String modeName) {
+  DashboardMode(String modeName, double operatorPeriod, double diagnosticPeriod) {
     this.modeName = modeName;
+    this.operatorPeriod = operatorPeriod;
+    this.diagnosticPeriod = diagnosticPeriod;
+  }
+
+  /**
+   * Returns the minimum time between updates of the dashboard values in a tier.
+   *
+   * @param tier The publish rate tier.
+   * @return The period in seconds or infinity if the values are not shown in this mode.
+   */
+  public double getPublishPeriod(Tier tier) {
+    switch (tier) {
+      case OPERATOR:
+        return operatorPeriod;
+      case DIAGNOSTIC:
+        return diagnosticPeriod;
+      default:
+        return Double.POSITIVE_INFINITY;
+    }
   }
 
   @Override
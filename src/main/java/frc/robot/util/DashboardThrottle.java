@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.RobotPreferences;
+import frc.robot.util.LoadShedder.Priority;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits how often dashboard-only values are computed and changed.
+ *
+ * <p>The dashboard reads every bound field and getter each loop, but NetworkTables only sends a
+ * value when it changes. Refreshing dashboard values at the rate of their {@link
+ * DashboardMode.Tier} and holding them within a deadband of the last value keeps unchanged values
+ * off the network. Values that are not shown in the current dashboard mode, or that no dashboard is
+ * subscribed to, are not refreshed at all, so their cost is skipped too. Dashboard values are
+ * deferrable work for the {@link LoadShedder}, so they are refreshed less often or not at all while
+ * the robot loop runs long.
+ *
+ * <p>A client being connected is not enough, since a dashboard only subscribes to the values of the
+ * widgets in its layout, and may only list the other topics. Instead, the throttle listens to the
+ * {@code $sub$} meta topics the NetworkTables server publishes for the topics in the table of its
+ * values, and refreshes the values while a remote client subscribes to any of them.
+ *
+ * <p>The dashboard mode is read once at startup, when the dashboard server chooses the tabs to
+ * publish.
+ */
+public final class DashboardThrottle {
+  private static final DashboardMode MODE = RobotPreferences.DASHBOARD_MODE.getValue();
+
+  /** The NetworkTables table under which the dashboard values are published. */
+  private static final String DASHBOARD_TABLE = "/SmartDashboard/";
+
+  private final double period;
+  private final LoadShedder.Task task = LoadShedder.register(Priority.DEFERRABLE);
+  private final Set<String> subscribedTopics = ConcurrentHashMap.newKeySet();
+  private double nextUpdateTime;
+
+  /**
+   * Creates a new DashboardThrottle.
+   *
+   * @param tier The publish rate tier of the values.
+   * @param table The dashboard table of the values relative to {@code /SmartDashboard}, for example
+   *     "Swerve/Estimated Pose".
+   */
+  public DashboardThrottle(DashboardMode.Tier tier, String table) {
+    this.period = MODE.getPublishPeriod(tier);
+
+    if (!Double.isInfinite(period)) {
+      NetworkTableInstance.getDefault()
+          .addListener(
+              new String[] {TopicSubscribers.META_TOPIC_PREFIX + DASHBOARD_TABLE + table + "/"},
+              EnumSet.of(
+                  NetworkTableEvent.Kind.kImmediate,
+                  NetworkTableEvent.Kind.kValueAll,
+                  NetworkTableEvent.Kind.kUnpublish),
+              this::updateSubscribers);
+    }
+  }
+
+  /** Updates the topics with remote subscribers when the subscribers of a topic change. */
+  private void updateSubscribers(NetworkTableEvent event) {
+    if (event.topicInfo != null) {
+      subscribedTopics.remove(event.topicInfo.name);
+      return;
+    }
+
+    String topic = event.valueData.getTopic().getName();
+    boolean isSubscribed;
+
+    try {
+      isSubscribed = TopicSubscribers.hasRemoteValueSubscriber(event.valueData.value.getRaw());
+    } catch (IllegalArgumentException e) {
+      // Refresh the values rather than hide them from a dashboard that may be showing them.
+      DriverStation.reportWarning("Unable to decode the subscribers of " + topic, false);
+      isSubscribed = true;
+    }
+
+    if (isSubscribed) {
+      subscribedTopics.add(topic);
+    } else {
+      subscribedTopics.remove(topic);
+    }
+  }
+
+  /**
+   * Returns whether the dashboard values should be refreshed this loop. This must be called at most
+   * once per loop, since returning true starts the next period.
+   *
+   * @return True if the values are shown and subscribed to, their period has elapsed and they are
+   *     not being shed.
+   */
+  public boolean shouldUpdate() {
+    if (Double.isInfinite(period) || subscribedTopics.isEmpty()) {
+      return false;
+    }
+
+    double now = Timer.getFPGATimestamp();
+
+    if (now < nextUpdateTime || !task.shouldRun()) {
+      return false;
+    }
+
+    // Keep to the period without drifting, unless updates were skipped while not shown.
+    nextUpdateTime += period;
+
+    if (nextUpdateTime <= now) {
+      nextUpdateTime = now + period;
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns the value to publish, holding the previously published value until the new value moves
+   * outside the deadband.
+   *
+   * @param published The previously published value.
+   * @param value The new value.
+   * @param deadband The smallest change to publish.
+   * @return The value to publish.
+   */
+  public static double deadband(double published, double value, double deadband) {
+    return Math.abs(value - published) < deadband ? published : value;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.Alert;
+import edu.wpi.first.wpilibj.Alert.AlertType;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Detects CAN devices that have reset and reapplies their configuration.
+ *
+ * <p>A device that browns out and reboots loses the status signal rates and control requests it
+ * was given after its configuration was applied. Each registered device is polled at a low rate
+ * for a reset. When one is detected, the reset is logged and raised as an alert, and the device's
+ * stored configuration and status signal rates are reapplied by the {@link MotorConfigWorker} so
+ * the main robot loop does not wait for the CAN bus.
+ */
+public final class DeviceHealthMonitor {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  /** The period, in seconds, at which devices are checked for a reset. */
+  private static final double POLL_PERIOD = 1.0;
+
+  private static final int NUM_RETRIES = 5;
+
+  /** A device being monitored for resets. */
+  private static final class MonitoredDevice {
+    private final String name;
+    private final ParentDevice device;
+    private final Supplier<StatusCode> reconfigure;
+    private int resetCount;
+    private Alert alert;
+
+    private MonitoredDevice(String name, ParentDevice device, Supplier<StatusCode> reconfigure) {
+      this.name = name;
+      this.device = device;
+      this.reconfigure = reconfigure;
+    }
+  }
+
+  // Devices may be registered concurrently by the DeviceInitializer during startup.
+  private static final List<MonitoredDevice> devices = new CopyOnWriteArrayList<>();
+
+  private static final StringLogEntry logResets = new StringLogEntry(LOG, "/DeviceHealth/Resets");
+
+  private static double nextPollTime;
+
+  /**
+   * Registers a device to be monitored for resets.
+   *
+   * @param name The name of the device used in logs and alerts.
+   * @param device The device to monitor.
+   * @param reconfigure Reapplies the stored configuration of the device and returns the status of
+   *     the last request sent to it. This is called from the {@link MotorConfigWorker} thread.
+   */
+  public static void register(String name, ParentDevice device, Supplier<StatusCode> reconfigure) {
+    // Clear the reset flag latched when the device was first seen so it is not reported as a reset.
+    device.hasResetOccurred();
+    devices.add(new MonitoredDevice(name, device, reconfigure));
+  }
+
+  /**
+   * Checks the registered devices for resets. This must be called from the main robot thread once
+   * per robot loop and polls the devices at a lower rate.
+   */
+  public static void periodic() {
+    double now = Timer.getFPGATimestamp();
+
+    if (now < nextPollTime) {
+      return;
+    }
+
+    nextPollTime = now + POLL_PERIOD;
+
+    for (MonitoredDevice device : devices) {
+      if (device.device.hasResetOccurred()) {
+        onReset(device);
+      }
+    }
+  }
+
+  /** Reports a device reset and queues its reconfiguration. */
+  private static void onReset(MonitoredDevice device) {
+    device.resetCount++;
+
+    logResets.append(device.name);
+
+    if (device.alert == null) {
+      device.alert = new Alert("", AlertType.kWarning);
+    }
+
+    device.alert.setText(
+        String.format(
+            "%s reset %d time(s). Reapplying configuration.", device.name, device.resetCount));
+    device.alert.set(true);
+
+    MotorConfigWorker.submit("reconfigure " + device.name, () -> reconfigure(device));
+  }
+
+  /** Reapplies the configuration of a device on the {@link MotorConfigWorker} thread. */
+  private static void reconfigure(MonitoredDevice device) {
+    StatusCode status = StatusCode.OK;
+
+    for (int i = 0; i < NUM_RETRIES; i++) {
+      status = device.reconfigure.get();
+
+      if (status.isOK()) {
+        status = CANBusPlanner.reapply(device.device);
+      }
+
+      if (status.isOK()) {
+        return;
+      }
+    }
+
+    DriverStation.reportError(
+        String.format(
+            "Failed to reconfigure %s after reset: %s (%s)",
+            device.name, status.getDescription(), status.getName()),
+        false);
+  }
+
+  private DeviceHealthMonitor() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates and configures independent CAN devices concurrently during startup.
+ *
+ * <p>Configuring a device requires several blocking round trips on the CAN bus, each of which may
+ * be retried. Since the devices do not depend on each other, their configuration can overlap. A
+ * bounded pool of threads limits how many devices are configured at once so the CAN bus is not
+ * flooded. Idle threads exit once startup is complete.
+ */
+public final class DeviceInitializer {
+  /** The maximum number of devices configured at the same time. */
+  private static final int MAX_CONCURRENT_DEVICES = 4;
+
+  private static final long IDLE_THREAD_TIMEOUT = 5;
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+
+  private static final ThreadPoolExecutor executor =
+      new ThreadPoolExecutor(
+          MAX_CONCURRENT_DEVICES,
+          MAX_CONCURRENT_DEVICES,
+          IDLE_THREAD_TIMEOUT,
+          TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(),
+          (runnable) -> {
+            Thread thread =
+                new Thread(runnable, "DeviceInitializer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  static {
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Starts creating and configuring a device on a background thread.
+   *
+   * @param <T> The type of the device.
+   * @param name The name of the device used for the startup span.
+   * @param initializer Creates and configures the device.
+   * @return A future that completes with the device.
+   */
+  public static <T> Future<T> submit(String name, Supplier<T> initializer) {
+    return executor.submit(() -> StartupProfiler.span(name, initializer));
+  }
+
+  /**
+   * Starts creating and configuring a device for each value of an enum on background threads.
+   *
+   * @param <E> The type of the enum identifying the devices.
+   * @param <T> The type of the devices.
+   * @param namePrefix The prefix of the device names used for the startup spans.
+   * @param devices The enum values identifying the devices.
+   * @param initializer Creates and configures the device identified by an enum value.
+   * @return A map from enum value to a future that completes with the device.
+   */
+  public static <E extends Enum<E>, T> Map<E, Future<T>> submitAll(
+      String namePrefix, E[] devices, Function<E, T> initializer) {
+    Map<E, Future<T>> futures = new EnumMap<>(devices[0].getDeclaringClass());
+
+    for (E device : devices) {
+      futures.put(device, submit(namePrefix + device.name(), () -> initializer.apply(device)));
+    }
+
+    return futures;
+  }
+
+  /**
+   * Waits for a device to be created and configured.
+   *
+   * @param <T> The type of the device.
+   * @param future The future returned when the device was submitted.
+   * @return The device.
+   */
+  public static <T> T await(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while initializing device", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+
+      throw new IllegalStateException("Failed to initialize device", e.getCause());
+    }
+  }
+
+  private DeviceInitializer() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
@@ -14,6 +14,7 @@ import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.util.Units;
 import frc.robot.RobotPreferences;
+import frc.robot.subsystems.Shooter;
 
 public final class FieldUtils {
   private static AprilTagFieldLayout FIELD_LAYOUT =
@@ -87,10 +88,12 @@ public final class FieldUtils {
 
   /** {@return the {@link Translation2d} of the center of the alliance-side hub} */
   public static Translation2d getHubLocation() {
-    if (MatchUtil.isRedAlliance()) {
-      return RED_HUB_POSITION;
-    }
-    return BLUE_HUB_POSITION;
+    return getHubLocation(MatchUtil.isRedAlliance());
+  }
+
+  /** {@return the {@link Translation2d} of the center of the specified alliance's hub} */
+  public static Translation2d getHubLocation(boolean isRedAlliance) {
+    return isRedAlliance ? RED_HUB_POSITION : BLUE_HUB_POSITION;
   }
 
   public static Translation2d getPassingTarget(Translation2d robotPosition) {
@@ -101,12 +104,17 @@ public final class FieldUtils {
     return onRight ? BLUE_RIGHT_PASS_TARGET : BLUE_LEFT_PASS_TARGET;
   }
 
-  private static double forceBlueX(double xCoordinate) {
-    return MatchUtil.isRedAlliance() ? FIELD_LENGTH - xCoordinate : xCoordinate;
+  private static double forceBlueX(double xCoordinate, boolean isRedAlliance) {
+    return isRedAlliance ? FIELD_LENGTH - xCoordinate : xCoordinate;
   }
 
   public static boolean inAllianceZone(Translation2d robotPosition) {
-    return forceBlueX(robotPosition.getX()) <= ALLIANCE_LENGTH;
+    return inAllianceZone(robotPosition, MatchUtil.isRedAlliance());
+  }
+
+  /** {@return whether the position is in the specified alliance's zone} */
+  public static boolean inAllianceZone(Translation2d robotPosition, boolean isRedAlliance) {
+    return forceBlueX(robotPosition.getX(), isRedAlliance) <= ALLIANCE_LENGTH;
   }
 
   public static Translation2d getAutoRotationTarget(Translation2d robotPosition) {
@@ -117,6 +125,23 @@ public final class FieldUtils {
     }
   }
 
+  /**
+   * {@return the pose from which to take the tower shot, {@link Shooter#TOWER_SHOT_DISTANCE} from
+   * the center of the alliance-side hub toward the driver station wall and facing the hub}
+   */
+  public static Pose2d getTowerShotPose() {
+    boolean isRedAlliance = MatchUtil.isRedAlliance();
+    Translation2d hub = getHubLocation(isRedAlliance);
+    Translation2d position =
+        new Translation2d(
+            isRedAlliance
+                ? hub.getX() + Shooter.TOWER_SHOT_DISTANCE
+                : hub.getX() - Shooter.TOWER_SHOT_DISTANCE,
+            hub.getY());
+
+    return new Pose2d(position, hub.minus(position).getAngle());
+  }
+
   /** {@return the initial orientation of the robot at the start of the match} */
   public static Rotation2d getInitialOrientation() {
     return MatchUtil.isRedAlliance() ? Rotation2d.k180deg : Rotation2d.kZero;
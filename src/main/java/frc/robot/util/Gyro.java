@@ -14,6 +14,12 @@ public interface Gyro extends Sendable, AutoCloseable {
   /** {@return the gyro yaw angle in radians} Positive values in the counter-clockwise direction. */
   double getYaw();
 
+  /**
+   * {@return the gyro yaw rate in radians per second} Positive values in the counter-clockwise
+   * direction.
+   */
+  double getYawRate();
+
   /** {@return the gyro pitch angle in radians} Positive values for nose down. */
   double getPitch();
 
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import static frc.robot.Constants.RobotConstants.LED_COUNT;
+
+import edu.wpi.first.wpilibj.AddressableLED;
+import edu.wpi.first.wpilibj.AddressableLEDBuffer;
+import edu.wpi.first.wpilibj.Notifier;
+import frc.robot.Constants.RobotConstants;
+
+/**
+ * Drives the shared addressable LED strip from a primitive RGB frame buffer.
+ *
+ * <p>LED segments render gamma-corrected color data into the frame buffer from the main robot loop
+ * and then commit it. A {@link Notifier} running at a configurable frame rate, independent of the
+ * robot loop, picks up the most recently committed frame, compares it against the last frame sent
+ * to the strip and only calls {@link AddressableLED#setData} when the color data has changed.
+ */
+public final class LEDEngine {
+  private static final int FRAME_SIZE = LED_COUNT * 3;
+
+  // The frame being rendered by the main robot loop.
+  private static final byte[] frame = new byte[FRAME_SIZE];
+
+  // The most recently committed frame waiting to be displayed. Guarded by `lock`.
+  private static final byte[] pending = new byte[FRAME_SIZE];
+  private static boolean isPendingDirty;
+  private static final Object lock = new Object();
+
+  // The frame state owned by the notifier thread.
+  private static final byte[] staging = new byte[FRAME_SIZE];
+  private static final byte[] displayed = new byte[FRAME_SIZE];
+
+  private static final AddressableLEDBuffer ledBuffer = new AddressableLEDBuffer(LED_COUNT);
+  private static final AddressableLED leds = createAddressableLED(ledBuffer);
+
+  private static final Notifier notifier = new Notifier(LEDEngine::displayFrame);
+
+  static {
+    notifier.setName("LEDEngine");
+    notifier.startPeriodic(1.0 / RobotConstants.LED_FRAME_RATE);
+  }
+
+  /** Creates and initializes the shared {@link AddressableLED} object. */
+  private static AddressableLED createAddressableLED(AddressableLEDBuffer buffer) {
+    AddressableLED led = new AddressableLED(RobotConstants.PWMPort.LED);
+    led.setLength(LED_COUNT);
+    led.setData(buffer);
+    led.start();
+    return led;
+  }
+
+  /**
+   * Packs gamma-corrected RGB color components into a single integer.
+   *
+   * @param red The red component (0-255).
+   * @param green The green component (0-255).
+   * @param blue The blue component (0-255).
+   * @return The packed, gamma-corrected color.
+   */
+  public static int gammaCorrect(int red, int green, int blue) {
+    return (LEDSegment.GAMMA_TABLE[red] << 16)
+        | (LEDSegment.GAMMA_TABLE[green] << 8)
+        | LEDSegment.GAMMA_TABLE[blue];
+  }
+
+  /**
+   * Sets the color of an LED in the frame buffer.
+   *
+   * @param index The index of the LED on the strip.
+   * @param rgb The packed, gamma-corrected color.
+   */
+  public static void setRGB(int index, int rgb) {
+    int offset = index * 3;
+
+    frame[offset] = (byte) (rgb >> 16);
+    frame[offset + 1] = (byte) (rgb >> 8);
+    frame[offset + 2] = (byte) rgb;
+  }
+
+  /**
+   * Fills a range of LEDs in the frame buffer with a color.
+   *
+   * @param firstLED The index of the first LED on the strip.
+   * @param ledCount The number of LEDs to fill.
+   * @param rgb The packed, gamma-corrected color.
+   */
+  public static void fillRGB(int firstLED, int ledCount, int rgb) {
+    for (int i = firstLED; i < firstLED + ledCount; i++) {
+      setRGB(i, rgb);
+    }
+  }
+
+  /**
+   * Commits the frame buffer for display. The frame is sent to the LED strip on the next frame
+   * period if it differs from what is currently displayed.
+   */
+  public static void commit() {
+    synchronized (lock) {
+      System.arraycopy(frame, 0, pending, 0, FRAME_SIZE);
+      isPendingDirty = true;
+    }
+  }
+
+  /**
+   * Sets the rate at which committed frames are sent to the LED strip.
+   *
+   * @param framesPerSecond The frame rate in frames per second.
+   */
+  public static void setFrameRate(double framesPerSecond) {
+    notifier.startPeriodic(1.0 / framesPerSecond);
+  }
+
+  /** Sends the most recently committed frame to the LED strip if any LED color has changed. */
+  private static void displayFrame() {
+    synchronized (lock) {
+      if (!isPendingDirty) {
+        return;
+      }
+
+      System.arraycopy(pending, 0, staging, 0, FRAME_SIZE);
+      isPendingDirty = false;
+    }
+
+    boolean hasChanged = false;
+
+    for (int i = 0, offset = 0; i < LED_COUNT; i++, offset += 3) {
+      byte red = staging[offset];
+      byte green = staging[offset + 1];
+      byte blue = staging[offset + 2];
+
+      if (red != displayed[offset]
+          || green != displayed[offset + 1]
+          || blue != displayed[offset + 2]) {
+        displayed[offset] = red;
+        displayed[offset + 1] = green;
+        displayed[offset + 2] = blue;
+        ledBuffer.setRGB(i, red & 0xFF, green & 0xFF, blue & 0xFF);
+        hasChanged = true;
+      }
+    }
+
+    if (hasChanged) {
+      leds.setData(ledBuffer);
+    }
+  }
+
+  private LEDEngine() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.util.Color;
+import edu.wpi.first.wpilibj.util.Color8Bit;
+import java.util.function.IntFunction;
+
+/**
+ * A precomputed table of packed, gamma-corrected colors used to render LED animations without
+ * allocating or converting colors on every frame.
+ */
+public final class LEDPalette {
+  private final int[] colors;
+
+  private LEDPalette(int[] colors) {
+    this.colors = colors;
+  }
+
+  /**
+   * Creates a palette by evaluating a color generator for each entry.
+   *
+   * @param size The number of palette entries.
+   * @param generator Returns the color for the given palette index.
+   * @return A new palette.
+   */
+  public static LEDPalette generate(int size, IntFunction<Color8Bit> generator) {
+    int[] colors = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      Color8Bit color = generator.apply(i);
+      colors[i] = LEDEngine.gammaCorrect(color.red, color.green, color.blue);
+    }
+
+    return new LEDPalette(colors);
+  }
+
+  /**
+   * Creates a palette spanning the full hue range at maximum saturation and value.
+   *
+   * @param size The number of palette entries. Each entry corresponds to a hue in the range [0,
+   *     180) using the OpenCV-style hue values expected by {@link Color#fromHSV}.
+   * @return A new palette.
+   */
+  public static LEDPalette rainbow(int size) {
+    return generate(size, (i) -> new Color8Bit(Color.fromHSV((i * 180) / size, 255, 255)));
+  }
+
+  /** {@return the number of entries in the palette} */
+  public int size() {
+    return colors.length;
+  }
+
+  /**
+   * Returns the packed, gamma-corrected color at the specified index. The index wraps around the
+   * palette so callers can pass an ever-increasing animation step.
+   *
+   * @param index The palette index.
+   * @return The packed, gamma-corrected color.
+   */
+  public int get(int index) {
+    return colors[Math.floorMod(index, colors.length)];
+  }
+}
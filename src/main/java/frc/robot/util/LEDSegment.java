@@ -7,15 +7,15 @@
  
 package frc.robot.util;
 
-import static frc.robot.Constants.RobotConstants.LED_COUNT;
-
-import edu.wpi.first.wpilibj.AddressableLED;
-import edu.wpi.first.wpilibj.AddressableLEDBuffer;
 import edu.wpi.first.wpilibj.util.Color8Bit;
-import frc.robot.Constants.RobotConstants;
 import frc.robot.parameters.Colors;
 
-/** A class representing a subsegment of an LED strip. */
+/**
+ * A class representing a subsegment of an LED strip.
+ *
+ * <p>Color data is written to the {@link LEDEngine} frame buffer and displayed by the engine after
+ * it is committed.
+ */
 public final class LEDSegment {
 
   /**
@@ -46,21 +46,9 @@ public final class LEDSegment {
     0xd7, 0xda, 0xdc, 0xdf, 0xe1, 0xe4, 0xe7, 0xe9, 0xec, 0xef, 0xf1, 0xf4, 0xf7, 0xf9, 0xfc, 0xff
   };
 
-  private static final AddressableLEDBuffer ledBuffer = new AddressableLEDBuffer(LED_COUNT);
-  private static final AddressableLED leds = createAddressableLED(ledBuffer);
-
   private final int firstLED;
   private final int ledCount;
 
-  /** Creates and initializes the shared {@link AddressableLED} object. */
-  private static AddressableLED createAddressableLED(AddressableLEDBuffer buffer) {
-    AddressableLED led = new AddressableLED(RobotConstants.PWMPort.LED);
-    led.setLength(LED_COUNT);
-    led.setData(buffer);
-    led.start();
-    return led;
-  }
-
   /**
    * Creates a new LEDSegment.
    *
@@ -96,9 +84,16 @@ public final class LEDSegment {
    * @param color The color to fill the segment with.
    */
   public void fill(Color8Bit color) {
-    for (int i = 0; i < ledCount; i++) {
-      setColor(color, i + firstLED);
-    }
+    fillRGB(LEDEngine.gammaCorrect(color.red, color.green, color.blue));
+  }
+
+  /**
+   * Fills the segment with the specified packed, gamma-corrected color.
+   *
+   * @param rgb The packed, gamma-corrected color (e.g. from an {@link LEDPalette}).
+   */
+  public void fillRGB(int rgb) {
+    LEDEngine.fillRGB(firstLED, ledCount, rgb);
   }
 
   /**
@@ -118,12 +113,24 @@ public final class LEDSegment {
    * @param index The index of the LED to set.
    */
   public void setColor(Color8Bit color, int index) {
-    ledBuffer.setRGB(
-        index, GAMMA_TABLE[color.red], GAMMA_TABLE[color.green], GAMMA_TABLE[color.blue]);
+    setRGB(LEDEngine.gammaCorrect(color.red, color.green, color.blue), index);
   }
 
-  /** Displays the current color data on the LED strip. */
+  /**
+   * Sets the specified LED to a packed, gamma-corrected color.
+   *
+   * @param rgb The packed, gamma-corrected color (e.g. from an {@link LEDPalette}).
+   * @param index The index of the LED to set.
+   */
+  public void setRGB(int rgb, int index) {
+    LEDEngine.setRGB(index, rgb);
+  }
+
+  /**
+   * Commits the current color data for display on the LED strip. The LED strip is only updated if
+   * the color data has changed since it was last displayed.
+   */
   public void commitColor() {
-    leds.setData(ledBuffer);
+    LEDEngine.commit();
   }
 }
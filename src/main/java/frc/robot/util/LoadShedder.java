@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Defers low priority work when the robot loop runs long.
+ *
+ * <p>When the robot loop overruns its period, everything it does is delayed equally, including
+ * driving. Periodic work is registered as a {@link Task} with a {@link Priority} and asks the task
+ * whether it should run each time it is due. The time spent in the robot loop is measured each
+ * loop. When it stays above a threshold for several loops, deferrable tasks are first run only one
+ * time in several and then skipped entirely. Once it stays well below the threshold for a second,
+ * they are restored a step at a time. Critical and high priority work is never deferred. Each
+ * change in the shed level is written to the log with the loop time that caused it.
+ */
+public final class LoadShedder {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  /** The loop time, in seconds, above which work is shed. */
+  private static final double SHED_LOOP_TIME = 0.015;
+
+  /** The loop time, in seconds, below which shed work is restored. */
+  private static final double RESTORE_LOOP_TIME = 0.010;
+
+  /** The number of consecutive long loops before more work is shed. */
+  private static final int SHED_LOOP_COUNT = 3;
+
+  /** The number of consecutive short loops before shed work is restored. */
+  private static final int RESTORE_LOOP_COUNT = 50;
+
+  /** The number of times a deferrable task is due for each time it runs while decimated. */
+  private static final int DECIMATION = 5;
+
+  /** The priority of a task when the robot loop runs long. */
+  public enum Priority {
+    /** Driving and actuating mechanisms. Never deferred. */
+    CRITICAL,
+    /** Sensing that affects control, such as vision. Never deferred. */
+    HIGH,
+    /** Dashboard updates, animations and telemetry. Decimated and then skipped. */
+    DEFERRABLE
+  }
+
+  /** How much deferrable work is shed. */
+  private enum Level {
+    /** All tasks run. */
+    NONE("Restoring all deferrable tasks"),
+    /** Deferrable tasks run every few loops. */
+    DECIMATED("Decimating deferrable tasks"),
+    /** Deferrable tasks are skipped. */
+    SKIPPED("Skipping deferrable tasks");
+
+    private final String description;
+
+    Level(String description) {
+      this.description = description;
+    }
+  }
+
+  private static final Level[] LEVELS = Level.values();
+
+  /** Periodic work that may be deferred when the robot loop runs long. */
+  public static final class Task {
+    private final Priority priority;
+    private int runCount;
+
+    private Task(Priority priority, int phase) {
+      this.priority = priority;
+      this.runCount = phase;
+    }
+
+    /**
+     * Returns whether the task should run this time it is due. This must be called once each time
+     * the task is due. Decimated tasks are spread across loops so they do not all run in the same
+     * loop.
+     *
+     * @return True if the task should run.
+     */
+    public boolean shouldRun() {
+      if (priority != Priority.DEFERRABLE) {
+        return true;
+      }
+
+      switch (level) {
+        case NONE:
+          return true;
+        case DECIMATED:
+          return ++runCount % DECIMATION == 0;
+        default:
+          return false;
+      }
+    }
+  }
+
+  private static final StringLogEntry logEvents = new StringLogEntry(LOG, "/LoadShedder/Events");
+  private static final DoubleLogEntry logLoopTime =
+      new DoubleLogEntry(LOG, "/LoadShedder/Loop Time");
+
+  private static int taskCount;
+  private static Level level = Level.NONE;
+  private static double loopStartTime;
+  private static int longLoopCount;
+  private static int shortLoopCount;
+
+  /**
+   * Registers periodic work.
+   *
+   * @param priority The priority of the work.
+   * @return The task used to ask whether the work should run.
+   */
+  public static synchronized Task register(Priority priority) {
+    return new Task(priority, taskCount++);
+  }
+
+  /** Marks the start of the robot loop. This must be called first in the robot periodic method. */
+  public static void startLoop() {
+    loopStartTime = Timer.getFPGATimestamp();
+  }
+
+  /**
+   * Measures the time spent in the robot loop and changes how much work is shed. This must be
+   * called last in the robot periodic method.
+   */
+  public static void endLoop() {
+    double loopTime = Timer.getFPGATimestamp() - loopStartTime;
+
+    logLoopTime.append(loopTime);
+
+    if (loopTime > SHED_LOOP_TIME) {
+      shortLoopCount = 0;
+
+      if (++longLoopCount >= SHED_LOOP_COUNT && level.ordinal() < LEVELS.length - 1) {
+        setLevel(LEVELS[level.ordinal() + 1], loopTime);
+        longLoopCount = 0;
+      }
+    } else if (loopTime >= RESTORE_LOOP_TIME) {
+      // A loop that is neither long nor short ends both runs of consecutive loops.
+      longLoopCount = 0;
+      shortLoopCount = 0;
+    } else {
+      longLoopCount = 0;
+
+      if (++shortLoopCount >= RESTORE_LOOP_COUNT && level.ordinal() > 0) {
+        setLevel(LEVELS[level.ordinal() - 1], loopTime);
+        shortLoopCount = 0;
+      }
+    }
+  }
+
+  /** Changes how much work is shed and logs the change. */
+  private static void setLevel(Level newLevel, double loopTime) {
+    level = newLevel;
+    logEvents.append(
+        String.format("%s (loop time %.1f ms)", newLevel.description, loopTime * 1000.0));
+  }
+
+  private LoadShedder() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
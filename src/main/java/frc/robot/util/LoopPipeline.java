@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs the work of the robot loop in a fixed order of phases.
+ *
+ * <p>The command scheduler runs the subsystem periodic methods before the commands, so state that
+ * is derived from other subsystems after the scheduler runs is a loop old by the time the commands
+ * use it. Instead, the work of each loop is registered with a {@link Phase} and the phases run in
+ * order, each handing its results to the next through the state of the subsystems: the sensors
+ * are read, the robot pose is estimated from them and from vision, the targets are computed from
+ * the pose, the commands run and send the motor outputs, the motor current limits are updated from
+ * the currents the commands requested, and finally the telemetry is updated. Work within a phase
+ * runs in the order it is registered.
+ *
+ * <p>The time taken by each phase is logged under {@code /LoopPipeline} each loop, along with the
+ * latency from the start of the sense phase to the end of the commands phase, when the outputs
+ * computed from this loop's sensor readings have been sent. Since almost all of the loop's work
+ * happens before the outputs are sent, this latency is close to the loop time. It shows that the
+ * outputs are not computed from the previous loop's readings, and it does not include how old the
+ * readings were when they were read or how long the motor controllers take to act on the outputs.
+ */
+public final class LoopPipeline {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  /** A phase of the robot loop. */
+  public enum Phase {
+    /** Reads the sensors and the latest vision results. */
+    SENSE("Sense"),
+    /** Updates the estimated robot pose from the sensors and vision measurements. */
+    ESTIMATE("Estimate"),
+    /** Computes the targets, such as the distance and angle to the hub, from the pose. */
+    TARGET("Target"),
+    /**
+     * Runs the command scheduler, which runs the subsystem periodic methods and commands. The
+     * commands send the motor outputs.
+     */
+    COMMANDS("Commands"),
+    /**
+     * Updates the motor current limits from the currents requested by the commands. The limits are
+     * applied by the motor controllers after the outputs have been sent.
+     */
+    LIMIT("Limit"),
+    /** Updates the dashboard, logs and diagnostics. */
+    TELEMETRY("Telemetry");
+
+    private final String name;
+
+    Phase(String name) {
+      this.name = name;
+    }
+
+    /** {@return the name of the phase} */
+    public String getName() {
+      return name;
+    }
+  }
+
+  /** The work and timing of a phase. */
+  private static final class Stage {
+    private final Phase phase;
+    private final List<Runnable> tasks = new CopyOnWriteArrayList<>();
+    private final DoubleLogEntry logTime;
+
+    private Stage(Phase phase) {
+      this.phase = phase;
+      this.logTime = new DoubleLogEntry(LOG, "/LoopPipeline/" + phase.getName() + " Time");
+    }
+  }
+
+  // The stages in the order of their phases.
+  private static final Stage[] stages = new Stage[Phase.values().length];
+
+  static {
+    for (Phase phase : Phase.values()) {
+      stages[phase.ordinal()] = new Stage(phase);
+    }
+  }
+
+  private static final DoubleLogEntry logLatency =
+      new DoubleLogEntry(LOG, "/LoopPipeline/Sensor To Output Latency");
+
+  private static long latency;
+
+  /**
+   * Registers work to run in a phase of the robot loop.
+   *
+   * @param phase The phase.
+   * @param task The work.
+   */
+  public static void register(Phase phase, Runnable task) {
+    stages[phase.ordinal()].tasks.add(task);
+  }
+
+  /** Runs the phases of the robot loop. This must be called from the robot periodic method. */
+  public static void run() {
+    long senseStartTime = System.nanoTime();
+    long startTime = senseStartTime;
+
+    for (Stage stage : stages) {
+      for (Runnable task : stage.tasks) {
+        task.run();
+      }
+
+      long endTime = System.nanoTime();
+
+      stage.logTime.append((endTime - startTime) / 1e9);
+
+      if (stage.phase == Phase.COMMANDS) {
+        latency = endTime - senseStartTime;
+        logLatency.append(latency / 1e9);
+      }
+
+      startTime = endTime;
+    }
+  }
+
+  /**
+   * {@return the time, in nanoseconds, from the start of reading the sensors to the end of sending
+   * the outputs in the last loop}
+   */
+  public static long getLatencyNanos() {
+    return latency;
+  }
+
+  private LoopPipeline() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A snapshot of the Driver Station state captured once per robot loop.
+ *
+ * <p>Querying the {@link DriverStation} takes a lock and, in the case of the alliance, allocates an
+ * {@link Optional}. Code that runs many times per loop reads the state from the primitive fields
+ * of this snapshot instead. The snapshot is refreshed by calling {@link #update()} from the main
+ * robot thread at the start of each robot loop and when the robot changes modes. The fields are
+ * volatile so background threads, such as those planning paths and building autos, see the latest
+ * values, but each value is read separately, so they may see a mix of two updates.
+ *
+ * <p>Listeners can be registered to be notified when the alliance becomes known or changes and
+ * when the game-specific message is received.
+ */
+public final class MatchState {
+  private static final List<Consumer<Alliance>> allianceListeners = new ArrayList<>();
+  private static final List<Consumer<String>> gameDataListeners = new ArrayList<>();
+
+  private static volatile Alliance alliance = Alliance.Blue;
+  private static volatile boolean isAllianceKnown;
+  private static volatile boolean isRedAlliance;
+  private static volatile boolean isEnabled;
+  private static volatile boolean isAutonomous;
+  private static volatile boolean isTeleop;
+  private static volatile boolean isTest;
+  private static volatile double matchTime = -1;
+  private static volatile String gameMessage = "";
+  private static volatile char gameData;
+
+  /** Captures the current Driver Station state and notifies listeners of any changes. */
+  public static void update() {
+    isEnabled = DriverStation.isEnabled();
+    isAutonomous = DriverStation.isAutonomous();
+    isTeleop = DriverStation.isTeleop();
+    isTest = DriverStation.isTest();
+    matchTime = DriverStation.getMatchTime();
+
+    Optional<Alliance> currentAlliance = DriverStation.getAlliance();
+
+    if (currentAlliance.isPresent() && (!isAllianceKnown || currentAlliance.get() != alliance)) {
+      alliance = currentAlliance.get();
+      isAllianceKnown = true;
+      isRedAlliance = alliance == Alliance.Red;
+      allianceListeners.forEach((l) -> l.accept(alliance));
+    }
+
+    String currentGameMessage = DriverStation.getGameSpecificMessage();
+
+    if (!currentGameMessage.equals(gameMessage)) {
+      gameMessage = currentGameMessage;
+      gameData = gameMessage.isEmpty() ? 0 : gameMessage.charAt(0);
+
+      // Notify the listeners when the message is cleared too, so state derived from the previous
+      // match's message is reset.
+      gameDataListeners.forEach((l) -> l.accept(gameMessage));
+    }
+  }
+
+  /**
+   * Adds a listener that is called when the alliance becomes known or changes.
+   *
+   * @param listener The listener to call with the new alliance.
+   */
+  public static void addAllianceListener(Consumer<Alliance> listener) {
+    allianceListeners.add(listener);
+  }
+
+  /**
+   * Adds a listener that is called when the game-specific message changes, including when it is
+   * cleared.
+   *
+   * @param listener The listener to call with the new game-specific message, which may be empty.
+   */
+  public static void addGameDataListener(Consumer<String> listener) {
+    gameDataListeners.add(listener);
+  }
+
+  /** {@return the alliance the robot is on, or blue if it is not yet known} */
+  public static Alliance getAlliance() {
+    return alliance;
+  }
+
+  /** {@return true if the alliance has been reported by the Driver Station} */
+  public static boolean isAllianceKnown() {
+    return isAllianceKnown;
+  }
+
+  /** {@return true if the robot is on the red alliance} */
+  public static boolean isRedAlliance() {
+    return isRedAlliance;
+  }
+
+  /** {@return true if the robot is enabled} */
+  public static boolean isEnabled() {
+    return isEnabled;
+  }
+
+  /** {@return true if the robot is in autonomous mode, whether or not it is enabled} */
+  public static boolean isAutonomous() {
+    return isAutonomous;
+  }
+
+  /** {@return true if the robot is in teleoperated mode, whether or not it is enabled} */
+  public static boolean isTeleop() {
+    return isTeleop;
+  }
+
+  /** {@return true if the robot is in test mode, whether or not it is enabled} */
+  public static boolean isTest() {
+    return isTest;
+  }
+
+  /** {@return the remaining time, in seconds, in the current phase of the match} */
+  public static double getMatchTime() {
+    return matchTime;
+  }
+
+  /** {@return the game-specific message} */
+  public static String getGameMessage() {
+    return gameMessage;
+  }
+
+  /** {@return the first character of the game-specific message, or 0 if none was received} */
+  public static char getGameData() {
+    return gameData;
+  }
+
+  /** {@return true if a game-specific message has been received} */
+  public static boolean hasGameData() {
+    return gameData != 0;
+  }
+
+  private MatchState() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import frc.robot.util.MatchUtil.LEDLights;
+import frc.robot.util.MatchUtil.ShiftTimes;
+import java.util.Collections;
+import java.util.TreeSet;
+
+/**
+ * A precompiled timeline of the match.
+ *
+ * <p>When the alliance and game data become known, the timeline compiles a sorted array of events
+ * (shift boundaries, hub activation changes, LED cues and {@link HubState} transitions). Each event
+ * records the complete match state that holds from the event time until the next event. A cursor
+ * advances through the events as the match time counts down, so the current phase, hub state and
+ * next event can be answered in constant time without recomputing them every loop.
+ *
+ * <p>Event times are expressed in match time remaining. An event takes effect once the match time
+ * remaining is less than or equal to its event time.
+ */
+public final class MatchTimeline {
+  /**
+   * The shift display switches to the next shift one second early so the shift timer counts down
+   * to zero rather than stopping at one.
+   */
+  private static final double SHIFT_DISPLAY_LEAD = 1.0;
+
+  /** The match time remaining at which each LED cue is displayed during teleop. */
+  private static final int[] LED_CUE_TIMES = {
+    139, 115, 110, 105, 90, 85, 80, 65, 60, 55, 40, 35, 30, 5
+  };
+
+  /** The LED cue displayed at the corresponding entry of {@link #LED_CUE_TIMES}. */
+  private static final LEDLights[] LED_CUES = {
+    LEDLights.GREEN,
+    LEDLights.BLINKING_YELLOW,
+    LEDLights.BLINKING_RED,
+    LEDLights.GREEN,
+    LEDLights.BLINKING_YELLOW,
+    LEDLights.BLINKING_RED,
+    LEDLights.GREEN,
+    LEDLights.BLINKING_YELLOW,
+    LEDLights.BLINKING_RED,
+    LEDLights.GREEN,
+    LEDLights.BLINKING_YELLOW,
+    LEDLights.BLINKING_RED,
+    LEDLights.RAINBOW,
+    LEDLights.BLINKING_RAINBOW
+  };
+
+  /** The teleop shifts in the order they occur. */
+  private static final ShiftTimes[] TELEOP_SHIFTS = {
+    ShiftTimes.TRANSITION,
+    ShiftTimes.SHIFT_1,
+    ShiftTimes.SHIFT_2,
+    ShiftTimes.SHIFT_3,
+    ShiftTimes.SHIFT_4,
+    ShiftTimes.ENDGAME
+  };
+
+  // The compiled timeline. Event times are sorted in descending order of match time remaining.
+  private static double[] eventTimes;
+  private static ShiftTimes[] phases;
+  private static boolean[] hubActive;
+  private static HubState[] hubStates;
+  private static LEDLights[] ledCues;
+
+  // Whether our alliance hub is active during the first shift.
+  private static boolean shift1Active;
+
+  // The current position in the timeline.
+  private static int cursor;
+  private static double matchTime;
+  private static boolean isAutonomous;
+  private static boolean isTeleop;
+
+  static {
+    compile();
+    MatchState.addAllianceListener((alliance) -> compile());
+    MatchState.addGameDataListener((gameMessage) -> compile());
+  }
+
+  /**
+   * Advances the cursor to the event matching the current match time. This must be called once at
+   * the start of every robot loop after the {@link MatchState} snapshot has been updated.
+   *
+   * <p>The timeline itself is recompiled by {@link MatchState} listeners when the alliance or game
+   * data changes.
+   */
+  public static void update() {
+    matchTime = MatchUtil.getMatchTimeRemaining();
+    isAutonomous = MatchUtil.isAutonomous();
+    isTeleop = MatchUtil.isTeleop();
+
+    // Rewind when the match time moves backwards, e.g. when a new match or practice run starts.
+    if (matchTime > eventTimes[cursor]) {
+      cursor = 0;
+    }
+
+    while (cursor + 1 < eventTimes.length && matchTime <= eventTimes[cursor + 1]) {
+      cursor++;
+    }
+  }
+
+  /** Compiles the timeline for the current alliance and game data. */
+  private static void compile() {
+    shift1Active = MatchUtil.ourAllianceHubIsActiveFirst();
+
+    // Collect every time at which some part of the match state can change.
+    TreeSet<Double> times = new TreeSet<>(Collections.reverseOrder());
+
+    times.add(Double.POSITIVE_INFINITY);
+    times.add(0.0);
+    times.add(HubState.NEARING_END_OF_MATCH.getDeltaTime());
+
+    for (ShiftTimes shift : TELEOP_SHIFTS) {
+      double boundary = shift.getEndTime();
+
+      times.add(boundary);
+      times.add(boundary - SHIFT_DISPLAY_LEAD);
+      times.add(boundary + HubState.PREPARING_SHOOTING_ENABLED.getDeltaTime());
+      times.add(boundary + HubState.PREPARING_SHOOTING_DISABLED.getDeltaTime());
+      times.add(boundary + HubState.PREPARING_TO_DISABLE_5_SEC.getDeltaTime());
+      times.add(boundary + HubState.PREPARING_TO_DISABLE_10_SEC.getDeltaTime());
+    }
+
+    for (int cueTime : LED_CUE_TIMES) {
+      // The cue is shown while the whole number of seconds remaining equals the cue time.
+      times.add(cueTime + 1.0);
+    }
+
+    int eventCount = times.size();
+    double[] newEventTimes = new double[eventCount];
+    ShiftTimes[] newPhases = new ShiftTimes[eventCount];
+    boolean[] newHubActive = new boolean[eventCount];
+    HubState[] newHubStates = new HubState[eventCount];
+    LEDLights[] newLEDCues = new LEDLights[eventCount];
+
+    int i = 0;
+
+    for (double time : times) {
+      newEventTimes[i++] = time;
+    }
+
+    // The state is constant between consecutive events, so evaluate it once inside each interval.
+    for (i = 0; i < eventCount; i++) {
+      double start = newEventTimes[i];
+      double end = i + 1 < eventCount ? newEventTimes[i + 1] : start - 1.0;
+      double sample = Double.isInfinite(start) ? end + 1.0 : (start + end) / 2.0;
+
+      newPhases[i] = phaseAt(sample);
+      newHubActive[i] = isHubActiveAt(sample);
+      newHubStates[i] = hubStateAt(sample);
+      newLEDCues[i] = ledCueAt(sample);
+    }
+
+    eventTimes = newEventTimes;
+    phases = newPhases;
+    hubActive = newHubActive;
+    hubStates = newHubStates;
+    ledCues = newLEDCues;
+    cursor = 0;
+  }
+
+  /** {@return the teleop shift displayed at the specified match time} */
+  private static ShiftTimes phaseAt(double time) {
+    for (ShiftTimes shift : TELEOP_SHIFTS) {
+      if (time + SHIFT_DISPLAY_LEAD >= shift.getEndTime()) {
+        return shift;
+      }
+    }
+
+    return ShiftTimes.ENDGAME;
+  }
+
+  /** {@return the hub state at the specified match time during teleop} */
+  private static HubState hubStateAt(double time) {
+    if (time <= 0) {
+      return HubState.INACTIVE;
+    }
+
+    if (isHubActiveAt(time)) {
+      if (!isHubActiveAt(time - HubState.PREPARING_TO_DISABLE_5_SEC.getDeltaTime())) {
+        return HubState.PREPARING_TO_DISABLE_5_SEC;
+      }
+
+      if (!isHubActiveAt(time - HubState.PREPARING_TO_DISABLE_10_SEC.getDeltaTime())) {
+        return HubState.PREPARING_TO_DISABLE_10_SEC;
+      }
+
+      if (time <= HubState.NEARING_END_OF_MATCH.getDeltaTime()) {
+        return HubState.NEARING_END_OF_MATCH;
+      }
+
+      return HubState.ACTIVE;
+    }
+
+    if (isHubActiveAt(time - HubState.PREPARING_SHOOTING_ENABLED.getDeltaTime())) {
+      return HubState.PREPARING_SHOOTING_ENABLED;
+    }
+
+    if (isHubActiveAt(time - HubState.PREPARING_SHOOTING_DISABLED.getDeltaTime())) {
+      return HubState.PREPARING_SHOOTING_DISABLED;
+    }
+
+    return HubState.INACTIVE;
+  }
+
+  /** {@return the most recent LED cue at the specified match time during teleop} */
+  private static LEDLights ledCueAt(double time) {
+    LEDLights cue = LEDLights.NONE;
+
+    for (int i = 0; i < LED_CUE_TIMES.length && time < LED_CUE_TIMES[i] + 1.0; i++) {
+      cue = LED_CUES[i];
+    }
+
+    return cue;
+  }
+
+  /**
+   * Returns whether our alliance hub is active at the specified match time during teleop based on
+   * the compiled game data.
+   *
+   * @param time The match time remaining.
+   * @return True if the hub is active at the specified time.
+   */
+  public static boolean isHubActiveAt(double time) {
+    if (time > ShiftTimes.TRANSITION.getEndTime()) {
+      // Transition shift, hub is active.
+      return true;
+    } else if (time > ShiftTimes.SHIFT_1.getEndTime()) {
+      return shift1Active;
+    } else if (time > ShiftTimes.SHIFT_2.getEndTime()) {
+      return !shift1Active;
+    } else if (time > ShiftTimes.SHIFT_3.getEndTime()) {
+      return shift1Active;
+    } else if (time > ShiftTimes.SHIFT_4.getEndTime()) {
+      return !shift1Active;
+    } else {
+      // End game, hub always active.
+      return true;
+    }
+  }
+
+  /** {@return the current phase of the match} */
+  public static ShiftTimes getPhase() {
+    return isAutonomous ? ShiftTimes.AUTONOMOUS : phases[cursor];
+  }
+
+  /** {@return the remaining time, in seconds, in the current phase of the match} */
+  public static double getPhaseTimeRemaining() {
+    return matchTime - getPhase().getEndTime();
+  }
+
+  /** {@return whether our alliance hub is active at the current teleop match time} */
+  public static boolean isHubActive() {
+    return hubActive[cursor];
+  }
+
+  /** {@return the current hub state} */
+  public static HubState getHubState() {
+    if (isAutonomous) {
+      return HubState.ACTIVE;
+    }
+
+    return isTeleop ? hubStates[cursor] : HubState.INACTIVE;
+  }
+
+  /** {@return the LED cue for the current teleop match time} */
+  public static LEDLights getLEDCue() {
+    return ledCues[cursor];
+  }
+
+  /** {@return the match time remaining at which the next event occurs} */
+  public static double getNextEventTime() {
+    return cursor + 1 < eventTimes.length ? eventTimes[cursor + 1] : Double.NEGATIVE_INFINITY;
+  }
+
+  /** {@return the time, in seconds, until the next event occurs} */
+  public static double getTimeToNextEvent() {
+    return matchTime - getNextEventTime();
+  }
+
+  private MatchTimeline() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
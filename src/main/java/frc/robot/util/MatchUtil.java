@@ -7,18 +7,13 @@
  
 package frc.robot.util;
 
-import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
-import java.util.HashMap;
 
 /** Utility class for match-related information and timing. */
 public final class MatchUtil {
   private static final double ALMOST_ACTIVE_TOLERANCE = 2.0;
   private static final double RECENTLY_INACTIVE_TOLERANCE = 1.0;
 
-  public static final HashMap<Integer, LEDLights> transitionTimes =
-      new HashMap<Integer, LEDLights>();
-
   public enum LEDLights {
     GREEN,
     BLINKING_RED,
@@ -28,24 +23,7 @@ public final class MatchUtil {
     NONE
   }
 
-  static {
-    transitionTimes.put(139, LEDLights.GREEN);
-    transitionTimes.put(115, LEDLights.BLINKING_YELLOW);
-    transitionTimes.put(110, LEDLights.BLINKING_RED);
-    transitionTimes.put(105, LEDLights.GREEN);
-    transitionTimes.put(90, LEDLights.BLINKING_YELLOW);
-    transitionTimes.put(85, LEDLights.BLINKING_RED);
-    transitionTimes.put(80, LEDLights.GREEN);
-    transitionTimes.put(65, LEDLights.BLINKING_YELLOW);
-    transitionTimes.put(60, LEDLights.BLINKING_RED);
-    transitionTimes.put(55, LEDLights.GREEN);
-    transitionTimes.put(40, LEDLights.BLINKING_YELLOW);
-    transitionTimes.put(35, LEDLights.BLINKING_RED);
-    transitionTimes.put(30, LEDLights.RAINBOW);
-    transitionTimes.put(5, LEDLights.BLINKING_RAINBOW);
-  }
-
-  enum ShiftTimes {
+  public enum ShiftTimes {
     AUTONOMOUS("Autonomous", 20, 0),
     TRANSITION("Transition", 140, 130),
     SHIFT_1("First Shift", 130, 105),
@@ -75,78 +53,48 @@ public final class MatchUtil {
     public double getEndTime() {
       return endTime;
     }
-
-    public static ShiftTimes getCurrentShiftTimes() {
-      if (isAutonomous()) {
-        return AUTONOMOUS;
-      }
-
-      double timeRemaining = getMatchTimeRemaining() + 1;
-
-      if (timeRemaining >= TRANSITION.endTime) {
-        return TRANSITION;
-      } else if (timeRemaining >= SHIFT_1.endTime) {
-        return SHIFT_1;
-      } else if (timeRemaining >= SHIFT_2.endTime) {
-        return SHIFT_2;
-      } else if (timeRemaining >= SHIFT_3.endTime) {
-        return SHIFT_3;
-      } else if (timeRemaining >= SHIFT_4.endTime) {
-        return SHIFT_4;
-      }
-
-      return ENDGAME;
-    }
   }
 
   /** {@return the alliance the robot is on} */
   public static Alliance getAlliance() {
-    return DriverStation.getAlliance().orElse(Alliance.Blue);
+    return MatchState.getAlliance();
   }
 
   /** {@return true if the robot is on the red alliance, false otherwise} */
   public static boolean isRedAlliance() {
-    return getAlliance() == Alliance.Red;
+    return MatchState.isRedAlliance();
   }
 
   /** {@return the remaining time, in seconds, in the current phase of the match} */
   public static double getMatchTimeRemaining() {
-    return DriverStation.getMatchTime();
+    return MatchState.getMatchTime();
   }
 
   /** {@return The remaining time in the current shift} */
   public static double getShiftTimeRemaining() {
-    ShiftTimes currentShift = ShiftTimes.getCurrentShiftTimes();
-
-    return MatchUtil.getMatchTimeRemaining() - currentShift.endTime;
+    return MatchTimeline.getPhaseTimeRemaining();
   }
 
   /** {@return true if the robot is in teleoperated mode} */
   public static boolean isTeleop() {
-    return DriverStation.isTeleop() && DriverStation.isEnabled();
+    return MatchState.isTeleop() && MatchState.isEnabled();
   }
 
   /** {@return true if the robot is in autonomous mode} */
   public static boolean isAutonomous() {
-    return DriverStation.isAutonomous() && DriverStation.isEnabled();
+    return MatchState.isAutonomous() && MatchState.isEnabled();
   }
 
   /** {@return true if our alliance hub is active first} */
   public static boolean ourAllianceHubIsActiveFirst() {
-    String gameData = DriverStation.getGameSpecificMessage();
-    Alliance alliance = getAlliance();
-
-    if (gameData.length() > 0) {
-      switch (gameData.charAt(0)) {
-        case 'B':
-          return alliance == Alliance.Blue;
-        case 'R':
-          return alliance == Alliance.Red;
-        default:
-          break;
-      }
+    switch (MatchState.getGameData()) {
+      case 'B':
+        return !MatchState.isRedAlliance();
+      case 'R':
+        return MatchState.isRedAlliance();
+      default:
+        return false;
     }
-    return false;
   }
 
   /**
@@ -156,64 +104,45 @@ public final class MatchUtil {
    */
   public static boolean isHubActive() {
     // Hub is always enabled in autonomous.
-    if (DriverStation.isAutonomousEnabled()) {
+    if (isAutonomous()) {
       return true;
     }
 
     // At this point, if we're not teleop enabled, there is no hub.
-    if (!DriverStation.isTeleopEnabled()) {
+    if (!isTeleop()) {
       return false;
     }
 
-    // We're teleop enabled, compute.
-    double matchTime = DriverStation.getMatchTime();
-    String gameData = DriverStation.getGameSpecificMessage();
-    // If we have no game data, we cannot compute, assume hub is active, as its
-    // likely early in teleop.
-    if (gameData.isEmpty()) {
+    // We're teleop enabled. If we have no game data, we cannot compute, assume hub is active, as
+    // its likely early in teleop.
+    if (!MatchState.hasGameData()) {
       return true;
     }
 
-    return isHubActiveAt(matchTime);
+    return MatchTimeline.isHubActive();
   }
 
   public static boolean isGoodScoringTime() {
-    // We're teleop enabled, compute.
-    double matchTime = DriverStation.getMatchTime();
-    String gameData = DriverStation.getGameSpecificMessage();
     // If we have no game data, we cannot compute, assume hub is active, as its
     // likely early in teleop.
-    if (gameData.isEmpty()) {
+    if (!MatchState.hasGameData()) {
       return true;
     }
 
+    double matchTime = getMatchTimeRemaining();
+
     return isHubActiveAt(matchTime - ALMOST_ACTIVE_TOLERANCE)
         || isHubActiveAt(matchTime + RECENTLY_INACTIVE_TOLERANCE);
   }
 
+  /**
+   * Returns whether our alliance hub is active at the specified match time.
+   *
+   * @param matchTime The match time remaining.
+   * @return True if the hub is active at the specified time.
+   */
   public static boolean isHubActiveAt(double matchTime) {
-    // Shift was is active for blue if red won auto, or red if blue won auto.
-    boolean shift1Active = ourAllianceHubIsActiveFirst();
-
-    if (matchTime > 130.0) {
-      // Transition shift, hub is active.
-      return true;
-    } else if (matchTime > 105.0) {
-      // Shift 1
-      return shift1Active;
-    } else if (matchTime > 80.0) {
-      // Shift 2
-      return !shift1Active;
-    } else if (matchTime > 55.0) {
-      // Shift 3
-      return shift1Active;
-    } else if (matchTime > 30.0) {
-      // Shift 4
-      return !shift1Active;
-    } else {
-      // End game, hub always active.
-      return true;
-    }
+    return MatchTimeline.isHubActiveAt(matchTime);
   }
 
   private MatchUtil() {
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+/**
+ * A record that contains the Motion Magic profile constraints.
+ *
+ * <p>The constraints are expressed in mechanism rotations after the sensor to mechanism ratio has
+ * been applied.
+ *
+ * @param cruiseVelocity The maximum velocity in rotations per second. Zero leaves the velocity
+ *     unconstrained.
+ * @param acceleration The maximum acceleration in rotations per second squared.
+ * @param jerk The maximum jerk in rotations per second cubed. Zero leaves the jerk unconstrained.
+ */
+public record MotionMagicConfig(double cruiseVelocity, double acceleration, double jerk) {}
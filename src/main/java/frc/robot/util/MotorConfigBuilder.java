@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+/**
+ * Stages a motor controller configuration so it can be applied in a single transaction.
+ *
+ * <p>Each configuration change applied to a motor controller is a blocking round trip on the CAN
+ * bus. Rather than applying the motor, current, feedback, gains and Motion Magic configurations one
+ * at a time, they are accumulated by this builder and sent to the device at once by {@link
+ * #apply()}. Settings that are not staged keep their previously applied values.
+ */
+public final class MotorConfigBuilder {
+  private final MotorController motor;
+
+  private MotorConfig motorConfig;
+  private MotorCurrentConfig currentConfig;
+  private double sensorToMechanismRatio = Double.NaN;
+  private MotorGainsConfig gains;
+  private MotionMagicConfig motionMagic;
+  private double peakVoltage = Double.NaN;
+
+  /**
+   * Creates a new MotorConfigBuilder.
+   *
+   * @param motor The motor controller the configuration is applied to.
+   */
+  MotorConfigBuilder(MotorController motor) {
+    this.motor = motor;
+  }
+
+  /**
+   * Stages the basic motor configuration.
+   *
+   * @param config The motor configuration.
+   * @return This builder for chaining.
+   */
+  public MotorConfigBuilder with(MotorConfig config) {
+    motorConfig = config;
+    return this;
+  }
+
+  /**
+   * Stages the motor current configuration.
+   *
+   * @param config The motor current configuration.
+   * @return This builder for chaining.
+   */
+  public MotorConfigBuilder with(MotorCurrentConfig config) {
+    currentConfig = config;
+    return this;
+  }
+
+  /**
+   * Stages the closed-loop gains of the primary slot.
+   *
+   * @param config The closed-loop gains.
+   * @return This builder for chaining.
+   */
+  public MotorConfigBuilder with(MotorGainsConfig config) {
+    gains = config;
+    return this;
+  }
+
+  /**
+   * Stages the Motion Magic profile constraints.
+   *
+   * @param config The Motion Magic profile constraints.
+   * @return This builder for chaining.
+   */
+  public MotorConfigBuilder with(MotionMagicConfig config) {
+    motionMagic = config;
+    return this;
+  }
+
+  /**
+   * Stages the ratio of sensor rotations to mechanism rotations.
+   *
+   * @param ratio The sensor to mechanism ratio.
+   * @return This builder for chaining.
+   */
+  public MotorConfigBuilder withSensorToMechanismRatio(double ratio) {
+    sensorToMechanismRatio = ratio;
+    return this;
+  }
+
+  /**
+   * Stages the symmetric peak output voltage.
+   *
+   * @param voltage The peak output voltage in either direction.
+   * @return This builder for chaining.
+   */
+  public MotorConfigBuilder withPeakVoltage(double voltage) {
+    peakVoltage = voltage;
+    return this;
+  }
+
+  /**
+   * Applies the staged configuration to the motor controller in a single transaction.
+   *
+   * @return The motor controller for chaining.
+   * @throws MotorConfigException If the configuration is invalid or we fail to apply it for any
+   *     reason.
+   */
+  public MotorController apply() throws MotorConfigException {
+    return motor.apply(this);
+  }
+
+  /** {@return the staged motor configuration or null if it is not staged} */
+  MotorConfig getMotorConfig() {
+    return motorConfig;
+  }
+
+  /** {@return the staged motor current configuration or null if it is not staged} */
+  MotorCurrentConfig getCurrentConfig() {
+    return currentConfig;
+  }
+
+  /** {@return the staged sensor to mechanism ratio or NaN if it is not staged} */
+  double getSensorToMechanismRatio() {
+    return sensorToMechanismRatio;
+  }
+
+  /** {@return the staged closed-loop gains or null if they are not staged} */
+  MotorGainsConfig getGains() {
+    return gains;
+  }
+
+  /** {@return the staged Motion Magic profile constraints or null if they are not staged} */
+  MotionMagicConfig getMotionMagic() {
+    return motionMagic;
+  }
+
+  /** {@return the staged peak output voltage or NaN if it is not staged} */
+  double getPeakVoltage() {
+    return peakVoltage;
+  }
+}
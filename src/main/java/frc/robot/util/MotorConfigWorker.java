@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Applies motor controller configuration changes on a background thread.
+ *
+ * <p>Changing the configuration of a motor controller takes a round trip on the CAN bus, which can
+ * take tens of milliseconds per device. Changes made while the robot is running, such as switching
+ * idle modes when the robot changes modes, are queued to this worker so the main robot loop does
+ * not wait for them. Tasks run one at a time in the order they are submitted. Each task confirms
+ * its own change and reports failures to the Driver Station from the worker thread.
+ */
+public final class MotorConfigWorker {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  private static final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          (runnable) -> {
+            Thread thread = new Thread(runnable, "MotorConfigWorker");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static final DoubleLogEntry logTaskTime =
+      new DoubleLogEntry(LOG, "/MotorConfigWorker/Task Time");
+
+  /**
+   * Queues a configuration change to run on the background thread.
+   *
+   * @param description A description of the change used when reporting an unexpected failure.
+   * @param task Applies and confirms the configuration change.
+   */
+  public static void submit(String description, Runnable task) {
+    executor.execute(
+        () -> {
+          long startTime = System.nanoTime();
+
+          try {
+            task.run();
+          } catch (RuntimeException e) {
+            DriverStation.reportError(
+                String.format("Failed to %s: %s", description, e.getMessage()), e.getStackTrace());
+          }
+
+          logTaskTime.append((System.nanoTime() - startTime) / 1e9);
+        });
+  }
+
+  private MotorConfigWorker() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
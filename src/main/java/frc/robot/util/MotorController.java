@@ -36,6 +36,25 @@ public interface MotorController extends edu.wpi.first.wpilibj.motorcontrol.Moto
   /** Logs motor-specific telemetry to the data log. */
   void logTelemetry();
 
+  /** {@return the current, in amps, drawn from the battery} */
+  double getSupplyCurrent();
+
+  /**
+   * Changes the supply current limit while the robot is running. The change is sent to the device
+   * without waiting for the CAN bus, so it takes effect shortly after this method returns.
+   *
+   * @param supplyCurrentLimit The supply current limit in amps.
+   */
+  void setSupplyCurrentLimit(double supplyCurrentLimit);
+
+  /**
+   * Changes the stator current limit while the robot is running. The change is sent to the device
+   * without waiting for the CAN bus, so it takes effect shortly after this method returns.
+   *
+   * @param statorCurrentLimit The stator current limit in amps.
+   */
+  void setStatorCurrentLimit(double statorCurrentLimit);
+
   /**
    * Applies the basic motor configuration.
    *
@@ -55,4 +74,24 @@ public interface MotorController extends edu.wpi.first.wpilibj.motorcontrol.Moto
    *     reason.
    */
   MotorController apply(MotorCurrentConfig config) throws MotorConfigException;
+
+  /**
+   * Returns a builder that stages a configuration for this motor controller so that it can be
+   * applied in a single transaction.
+   *
+   * @return A new configuration builder.
+   */
+  default MotorConfigBuilder configure() {
+    return new MotorConfigBuilder(this);
+  }
+
+  /**
+   * Applies a staged configuration in a single transaction.
+   *
+   * @param config The staged configuration to apply.
+   * @return This motor controller for chaining.
+   * @throws MotorConfigException If the configuration is invalid or we fail to apply it for any
+   *     reason.
+   */
+  MotorController apply(MotorConfigBuilder config) throws MotorConfigException;
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import com.ctre.phoenix6.signals.GravityTypeValue;
+
+/**
+ * A record that contains the closed-loop gains of the motor controller's primary slot.
+ *
+ * <p>The gains are expressed in the motor controller's native units after the sensor to mechanism
+ * ratio has been applied.
+ *
+ * @param kP The proportional gain.
+ * @param kI The integral gain.
+ * @param kD The derivative gain.
+ * @param kS The static feedforward gain.
+ * @param kV The velocity feedforward gain.
+ * @param kA The acceleration feedforward gain.
+ * @param kG The gravity feedforward gain.
+ * @param gravityType The type of gravity compensation applied using kG.
+ */
+public record MotorGainsConfig(
+    double kP,
+    double kI,
+    double kD,
+    double kS,
+    double kV,
+    double kA,
+    double kG,
+    GravityType gravityType) {
+  /** The type of gravity compensation applied by the kG gain. */
+  public enum GravityType {
+    /** A constant gravity feedforward, such as for an elevator. */
+    ELEVATOR,
+    /** A gravity feedforward proportional to the cosine of the mechanism angle, such as an arm. */
+    ARM;
+
+    /** Returns the TalonFX equivalent of this gravity type. */
+    public GravityTypeValue forTalonFX() {
+      return this == ELEVATOR ? GravityTypeValue.Elevator_Static : GravityTypeValue.Arm_Cosine;
+    }
+  }
+
+  /**
+   * Creates a new MotorGainsConfig without gravity compensation.
+   *
+   * @param kP The proportional gain.
+   * @param kI The integral gain.
+   * @param kD The derivative gain.
+   * @param kS The static feedforward gain.
+   * @param kV The velocity feedforward gain.
+   * @param kA The acceleration feedforward gain.
+   */
+  public MotorGainsConfig(double kP, double kI, double kD, double kS, double kV, double kA) {
+    this(kP, kI, kD, kS, kV, kA, 0.0, GravityType.ELEVATOR);
+  }
+}
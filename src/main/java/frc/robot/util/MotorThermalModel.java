@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+/**
+ * A lumped thermal model of a motor fitted online from its stator current and temperature.
+ *
+ * <p>The motor is modeled as a single thermal mass heated in proportion to the square of the
+ * stator current and cooled in proportion to its temperature above ambient:
+ *
+ * <pre>
+ *   dT/dt = a * I² - b * (T - T<sub>ambient</sub>)
+ * </pre>
+ *
+ * <p>The heating coefficient {@code a} and cooling rate {@code b} start from typical values for a
+ * brushless FRC motor and are refined by recursive least squares with exponential forgetting. The
+ * temperature reported by the motor controller changes in whole degrees, so the samples are
+ * averaged over a few seconds before each fit. The ambient temperature is taken from the first
+ * temperature, since the motors are at rest when the robot code starts, but is limited to a warm
+ * pit in case the code restarts with the motors still hot.
+ *
+ * <p>With a constant current, the temperature approaches a steady state {@code a * I² / b} above
+ * ambient exponentially, so the temperature at any time in the future and the current that
+ * reaches a given temperature at that time are found in closed form. The current expected for the
+ * rest of the match is the mean square current of the last several seconds.
+ */
+public final class MotorThermalModel {
+  /** The typical heating coefficient, in degrees Celsius per second per square amp. */
+  public static final double DEFAULT_HEATING_COEFFICIENT = 1.5e-4;
+
+  /** The typical cooling rate, in 1/s, of a motor's temperature above ambient. */
+  public static final double DEFAULT_COOLING_RATE = 1.0 / 300.0;
+
+  /** The highest ambient temperature, in degrees Celsius, assumed. */
+  private static final double MAX_AMBIENT_TEMPERATURE = 30.0;
+
+  /** The period, in seconds, over which samples are averaged for each fit. */
+  private static final double FIT_PERIOD = 2.0;
+
+  /** The weight of past fits relative to a new fit. */
+  private static final double FORGETTING_FACTOR = 0.98;
+
+  /** The time constant, in seconds, of the mean square current expected in the future. */
+  private static final double CURRENT_TIME_CONSTANT = 10.0;
+
+  /** The smallest fraction of the typical value the fitted coefficients may fall to. */
+  private static final double MIN_COEFFICIENT_FRACTION = 0.1;
+
+  private final double ambientTemperature;
+
+  // The fitted coefficients and their covariance.
+  private double heatingCoefficient = DEFAULT_HEATING_COEFFICIENT;
+  private double coolingRate = DEFAULT_COOLING_RATE;
+  private final double initialVarianceA;
+  private final double initialVarianceB;
+  private double p00;
+  private double p01;
+  private double p11;
+
+  private double temperature;
+  private double meanSquareCurrent;
+  private double lastTimestamp;
+
+  // The samples accumulated since the start of the current fit period.
+  private double fitStartTimestamp;
+  private double fitStartTemperature;
+  private double sumSquareCurrent;
+  private double sumTemperature;
+  private int sampleCount;
+
+  /**
+   * Creates a new MotorThermalModel.
+   *
+   * @param timestamp The time of the first sample in seconds.
+   * @param temperature The first temperature in degrees Celsius.
+   */
+  public MotorThermalModel(double timestamp, double temperature) {
+    this.ambientTemperature = Math.min(temperature, MAX_AMBIENT_TEMPERATURE);
+    this.temperature = temperature;
+    this.lastTimestamp = timestamp;
+    this.fitStartTimestamp = timestamp;
+    this.fitStartTemperature = temperature;
+
+    // Let the fit move the coefficients by about their own size.
+    this.initialVarianceA = DEFAULT_HEATING_COEFFICIENT * DEFAULT_HEATING_COEFFICIENT;
+    this.initialVarianceB = DEFAULT_COOLING_RATE * DEFAULT_COOLING_RATE;
+    this.p00 = initialVarianceA;
+    this.p11 = initialVarianceB;
+  }
+
+  /**
+   * Adds a sample of the stator current and temperature.
+   *
+   * @param timestamp The time of the sample in seconds.
+   * @param statorCurrent The stator current in amps.
+   * @param temperature The temperature in degrees Celsius.
+   */
+  public void update(double timestamp, double statorCurrent, double temperature) {
+    double dt = timestamp - lastTimestamp;
+    double squareCurrent = statorCurrent * statorCurrent;
+
+    lastTimestamp = timestamp;
+    this.temperature = temperature;
+
+    if (dt > 0.0) {
+      meanSquareCurrent +=
+          (squareCurrent - meanSquareCurrent) * Math.min(dt / CURRENT_TIME_CONSTANT, 1.0);
+    }
+
+    sumSquareCurrent += squareCurrent;
+    sumTemperature += temperature;
+    sampleCount++;
+
+    double fitDuration = timestamp - fitStartTimestamp;
+
+    if (fitDuration >= FIT_PERIOD) {
+      fit(
+          (temperature - fitStartTemperature) / fitDuration,
+          sumSquareCurrent / sampleCount,
+          ambientTemperature - sumTemperature / sampleCount);
+
+      fitStartTimestamp = timestamp;
+      fitStartTemperature = temperature;
+      sumSquareCurrent = 0.0;
+      sumTemperature = 0.0;
+      sampleCount = 0;
+    }
+  }
+
+  /**
+   * Refines the coefficients with a recursive least squares step on {@code y = a * x0 + b * x1}.
+   *
+   * @param y The rate of change of the temperature in degrees Celsius per second.
+   * @param x0 The mean square current in square amps.
+   * @param x1 The negated mean temperature above ambient in degrees Celsius.
+   */
+  private void fit(double y, double x0, double x1) {
+    double px0 = p00 * x0 + p01 * x1;
+    double px1 = p01 * x0 + p11 * x1;
+    double denominator = FORGETTING_FACTOR + x0 * px0 + x1 * px1;
+    double k0 = px0 / denominator;
+    double k1 = px1 / denominator;
+    double error = y - (heatingCoefficient * x0 + coolingRate * x1);
+
+    heatingCoefficient =
+        Math.max(
+            heatingCoefficient + k0 * error,
+            DEFAULT_HEATING_COEFFICIENT * MIN_COEFFICIENT_FRACTION);
+    coolingRate =
+        Math.max(coolingRate + k1 * error, DEFAULT_COOLING_RATE * MIN_COEFFICIENT_FRACTION);
+
+    p00 = (p00 - k0 * px0) / FORGETTING_FACTOR;
+    p01 = (p01 - k0 * px1) / FORGETTING_FACTOR;
+    p11 = (p11 - k1 * px1) / FORGETTING_FACTOR;
+
+    // Forgetting grows the covariance without bound while the current is steady, so keep it within
+    // its initial size to stop a single noisy fit from moving the coefficients too far.
+    double scale = Math.min(Math.min(initialVarianceA / p00, initialVarianceB / p11), 1.0);
+
+    p00 *= scale;
+    p01 *= scale;
+    p11 *= scale;
+  }
+
+  /** {@return the last temperature in degrees Celsius} */
+  public double getTemperature() {
+    return temperature;
+  }
+
+  /** {@return the ambient temperature in degrees Celsius} */
+  public double getAmbientTemperature() {
+    return ambientTemperature;
+  }
+
+  /** {@return the fitted heating coefficient in degrees Celsius per second per square amp} */
+  public double getHeatingCoefficient() {
+    return heatingCoefficient;
+  }
+
+  /** {@return the fitted cooling rate in 1/s} */
+  public double getCoolingRate() {
+    return coolingRate;
+  }
+
+  /** {@return the root mean square stator current, in amps, expected in the future} */
+  public double getExpectedCurrent() {
+    return Math.sqrt(meanSquareCurrent);
+  }
+
+  /**
+   * Returns the temperature the motor will reach if it draws the expected current.
+   *
+   * @param duration The time from now in seconds.
+   * @return The temperature in degrees Celsius.
+   */
+  public double forecast(double duration) {
+    double steadyStateTemperature =
+        ambientTemperature + heatingCoefficient * meanSquareCurrent / coolingRate;
+
+    return steadyStateTemperature
+        + (temperature - steadyStateTemperature) * Math.exp(-coolingRate * duration);
+  }
+
+  /**
+   * Returns the root mean square current at which the motor reaches a temperature at a time.
+   *
+   * @param duration The time from now in seconds.
+   * @param maxTemperature The temperature in degrees Celsius.
+   * @return The current in amps, which is zero if the motor is already at the temperature.
+   */
+  public double getAllowedCurrent(double duration, double maxTemperature) {
+    double decay = Math.exp(-coolingRate * duration);
+
+    if (decay >= 1.0) {
+      return temperature < maxTemperature ? Double.POSITIVE_INFINITY : 0.0;
+    }
+
+    double steadyStateTemperature = (maxTemperature - temperature * decay) / (1.0 - decay);
+    double squareCurrent =
+        (steadyStateTemperature - ambientTemperature) * coolingRate / heatingCoefficient;
+
+    return squareCurrent > 0.0 ? Math.sqrt(squareCurrent) : 0.0;
+  }
+}
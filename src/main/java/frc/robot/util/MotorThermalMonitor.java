@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.Alert;
+import edu.wpi.first.wpilibj.Alert.AlertType;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.Timer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Derates motors that are forecast to overheat before the end of the match.
+ *
+ * <p>A TalonFX throttles its output when its temperature reaches its hardware limit, which makes a
+ * mechanism suddenly and unpredictably weak late in a match. Each registered motor has a {@link
+ * MotorThermalModel} fitted from its stator current and temperature, which forecasts its
+ * temperature at the end of the match if it keeps drawing the current it has been drawing. When
+ * the forecast exceeds a safe maximum, the stator current limit of the motor is lowered gradually
+ * from the limit of its current configuration toward the limit that keeps it below the maximum,
+ * and raised again gradually once the forecast allows. The derating is announced with an alert and
+ * in the log when it begins and when it ends.
+ */
+public final class MotorThermalMonitor {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  /** The period, in seconds, at which the motors are sampled and their limits are updated. */
+  private static final double UPDATE_PERIOD = 0.1;
+
+  /** The temperature, in degrees Celsius, motors are kept below, short of the hardware limit. */
+  private static final double MAX_TEMPERATURE = 90.0;
+
+  /** The lowest stator current limit, in amps, a motor is derated to. */
+  private static final double MIN_STATOR_CURRENT_LIMIT = 20.0;
+
+  /** The rate, in amps per second, at which a motor's stator current limit is lowered. */
+  private static final double DERATE_RATE = 5.0;
+
+  /** The rate, in amps per second, at which a motor's stator current limit is restored. */
+  private static final double RESTORE_RATE = 2.0;
+
+  /** The smallest change in a motor's stator current limit, in amps, sent to the motor. */
+  private static final double MIN_LIMIT_CHANGE = 2.0;
+
+  /** The time, in seconds, remaining in the match at the start of teleop. */
+  private static final double TELEOP_DURATION = MatchUtil.ShiftTimes.TRANSITION.getStartTime();
+
+  /** A motor being monitored for overheating. */
+  private static final class MonitoredMotor {
+    private final String name;
+    private final TalonFXAdapter motor;
+    private MotorThermalModel model;
+    private double limit;
+    private double sentLimit;
+    private Alert alert;
+
+    private final DoubleLogEntry logForecastTemperature;
+    private final DoubleLogEntry logStatorCurrentLimit;
+    private final DoubleLogEntry logHeatingCoefficient;
+    private final DoubleLogEntry logCoolingRate;
+
+    private MonitoredMotor(String name, TalonFXAdapter motor) {
+      this.name = name;
+      this.motor = motor;
+
+      String prefix = "/MotorThermal/" + name;
+
+      this.logForecastTemperature = new DoubleLogEntry(LOG, prefix + "/Forecast Temperature");
+      this.logStatorCurrentLimit = new DoubleLogEntry(LOG, prefix + "/Stator Current Limit");
+      this.logHeatingCoefficient = new DoubleLogEntry(LOG, prefix + "/Heating Coefficient");
+      this.logCoolingRate = new DoubleLogEntry(LOG, prefix + "/Cooling Rate");
+    }
+  }
+
+  // Motors may be registered concurrently by the DeviceInitializer during startup.
+  private static final List<MonitoredMotor> motors = new CopyOnWriteArrayList<>();
+
+  private static double lastUpdateTime = Double.NaN;
+
+  /**
+   * Registers a motor to be monitored for overheating.
+   *
+   * @param name The name of the motor used in logs and alerts.
+   * @param motor The motor to monitor.
+   */
+  public static void register(String name, TalonFXAdapter motor) {
+    motors.add(new MonitoredMotor(name, motor));
+  }
+
+  /**
+   * Updates the thermal models and stator current limits of the registered motors. This must be
+   * called from the main robot thread once per robot loop and updates the motors at a lower rate.
+   */
+  public static void periodic() {
+    double now = Timer.getFPGATimestamp();
+
+    if (now < lastUpdateTime + UPDATE_PERIOD) {
+      return;
+    }
+
+    double dt = Double.isNaN(lastUpdateTime) ? UPDATE_PERIOD : now - lastUpdateTime;
+
+    lastUpdateTime = now;
+
+    double horizon = getRemainingMatchTime();
+
+    for (MonitoredMotor motor : motors) {
+      update(motor, now, dt, horizon);
+    }
+  }
+
+  /** {@return the time, in seconds, remaining in the match or in a full teleop period} */
+  private static double getRemainingMatchTime() {
+    double matchTime = MatchState.getMatchTime();
+
+    if (matchTime < 0.0) {
+      return TELEOP_DURATION;
+    }
+
+    return MatchState.isAutonomous() ? matchTime + TELEOP_DURATION : matchTime;
+  }
+
+  /** Updates the thermal model and stator current limit of a motor. */
+  private static void update(MonitoredMotor motor, double now, double dt, double horizon) {
+    double temperature = motor.motor.getTemperature();
+    double nominalLimit = motor.motor.getConfiguredStatorCurrentLimit();
+
+    if (motor.model == null) {
+      motor.model = new MotorThermalModel(now, temperature);
+      motor.limit = nominalLimit;
+      motor.sentLimit = nominalLimit;
+    } else {
+      motor.model.update(now, motor.motor.getStatorCurrent(), temperature);
+    }
+
+    MotorThermalModel model = motor.model;
+    double forecast = model.forecast(horizon);
+    double targetLimit = nominalLimit;
+
+    if (forecast > MAX_TEMPERATURE) {
+      // Scale the limit by the fraction of the expected current that can be drawn, since the
+      // limit caps the peaks of the current rather than its mean.
+      double allowedCurrent = model.getAllowedCurrent(horizon, MAX_TEMPERATURE);
+      double expectedCurrent = model.getExpectedCurrent();
+
+      if (expectedCurrent > allowedCurrent) {
+        targetLimit =
+            Math.max(nominalLimit * allowedCurrent / expectedCurrent, MIN_STATOR_CURRENT_LIMIT);
+      }
+    }
+
+    targetLimit = Math.min(targetLimit, nominalLimit);
+
+    if (targetLimit < motor.limit) {
+      motor.limit = Math.max(motor.limit - DERATE_RATE * dt, targetLimit);
+    } else {
+      motor.limit = Math.min(motor.limit + RESTORE_RATE * dt, targetLimit);
+    }
+
+    double limit = Math.rint(motor.limit);
+
+    // Always restore the configured limit exactly, even when it is close to the last limit.
+    if (Math.abs(limit - motor.sentLimit) >= MIN_LIMIT_CHANGE
+        || (motor.limit == nominalLimit && motor.sentLimit != nominalLimit)) {
+      limit = motor.limit == nominalLimit ? nominalLimit : limit;
+
+      announce(motor, limit, nominalLimit, forecast);
+
+      motor.sentLimit = limit;
+      motor.motor.setStatorCurrentLimit(limit);
+    }
+
+    motor.logForecastTemperature.append(forecast);
+    motor.logStatorCurrentLimit.append(motor.sentLimit);
+    motor.logHeatingCoefficient.append(model.getHeatingCoefficient());
+    motor.logCoolingRate.append(model.getCoolingRate());
+  }
+
+  /** Announces the start and end of the derating of a motor. */
+  private static void announce(
+      MonitoredMotor motor, double limit, double nominalLimit, double forecast) {
+    boolean wasDerated = motor.sentLimit < nominalLimit;
+    boolean isDerated = limit < nominalLimit;
+
+    if (isDerated && !wasDerated) {
+      if (motor.alert == null) {
+        motor.alert = new Alert("", AlertType.kWarning);
+      }
+
+      String message =
+          String.format(
+              "%s forecast to reach %.0f°C. Derating stator current limit from %.0f A.",
+              motor.name, forecast, nominalLimit);
+
+      motor.alert.setText(message);
+      motor.alert.set(true);
+      DataLogManager.log(message);
+    } else if (!isDerated && wasDerated && motor.alert != null) {
+      motor.alert.set(false);
+      DataLogManager.log(
+          String.format("%s stator current limit restored to %.0f A.", motor.name, nominalLimit));
+    }
+  }
+
+  private MotorThermalMonitor() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.util.LoadShedder.Priority;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs control tasks at rates other than the 50 Hz robot loop.
+ *
+ * <p>Tasks are registered with a rate group. When the robot starts, each group is added to the
+ * {@link TimedRobot} as a periodic callback, so its tasks run on the main robot thread between
+ * iterations of the robot loop and do not race with the commands and subsystems that share their
+ * state. State produced at another rate can therefore be handed over in plain fields. Each group
+ * has a {@link LoadShedder} priority, and the tasks of a deferrable group are run less often or not
+ * at all while the robot loop runs long.
+ *
+ * <p>A callback cannot start while the robot loop is running, so each group measures the jitter
+ * of its start times and the time its tasks take. A run is counted as an overrun if it starts more
+ * than half a period late or its tasks take longer than the period. The statistics are logged
+ * under {@code /MultiRateScheduler} once a second.
+ */
+public final class MultiRateScheduler {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  /** The period, in seconds, at which the statistics are logged. */
+  private static final double REPORT_PERIOD = 1.0;
+
+  /** A group of tasks run at the same rate. */
+  public enum RateGroup {
+    /** Feedback control of fast mechanisms such as the swerve steering at 100 Hz. */
+    CONTROL("Control", 0.01, Priority.CRITICAL),
+    /** Telemetry and diagnostics at 10 Hz. */
+    TELEMETRY("Telemetry", 0.1, Priority.DEFERRABLE);
+
+    private final String name;
+    private final double period;
+    private final Priority priority;
+
+    RateGroup(String name, double period, Priority priority) {
+      this.name = name;
+      this.period = period;
+      this.priority = priority;
+    }
+
+    /** {@return the name of the group} */
+    public String getName() {
+      return name;
+    }
+
+    /** {@return the period of the group in seconds} */
+    public double getPeriod() {
+      return period;
+    }
+
+    /** {@return the frequency of the group in Hz} */
+    public double getFrequency() {
+      return 1.0 / period;
+    }
+
+    /** {@return the priority of the group when the robot loop runs long} */
+    public Priority getPriority() {
+      return priority;
+    }
+  }
+
+  /** The tasks and statistics of a rate group. */
+  private static final class Group {
+    private final double period;
+    private final List<Runnable> tasks = new CopyOnWriteArrayList<>();
+    private final LoadShedder.Task loadShedderTask;
+
+    private double lastStartTime = Double.NaN;
+    private double nextReportTime;
+    private int runCount;
+    private double sumJitter;
+    private double maxJitter;
+    private double maxExecutionTime;
+    private int overrunCount;
+
+    private final DoubleLogEntry logMeanJitter;
+    private final DoubleLogEntry logMaxJitter;
+    private final DoubleLogEntry logMaxExecutionTime;
+    private final DoubleLogEntry logOverruns;
+
+    private Group(RateGroup rateGroup) {
+      this.period = rateGroup.getPeriod();
+      this.loadShedderTask = LoadShedder.register(rateGroup.getPriority());
+
+      String prefix = "/MultiRateScheduler/" + rateGroup.getName();
+
+      this.logMeanJitter = new DoubleLogEntry(LOG, prefix + "/Mean Jitter");
+      this.logMaxJitter = new DoubleLogEntry(LOG, prefix + "/Max Jitter");
+      this.logMaxExecutionTime = new DoubleLogEntry(LOG, prefix + "/Max Execution Time");
+      this.logOverruns = new DoubleLogEntry(LOG, prefix + "/Overruns");
+    }
+
+    /** Runs the tasks of the group and updates its statistics. */
+    private void run() {
+      double startTime = Timer.getFPGATimestamp();
+      boolean isOverrun = false;
+
+      if (!Double.isNaN(lastStartTime)) {
+        double jitter = Math.abs(startTime - lastStartTime - period);
+
+        sumJitter += jitter;
+        maxJitter = Math.max(maxJitter, jitter);
+        runCount++;
+        isOverrun = jitter > period / 2.0;
+      }
+
+      lastStartTime = startTime;
+
+      if (loadShedderTask.shouldRun()) {
+        for (Runnable task : tasks) {
+          task.run();
+        }
+      }
+
+      double endTime = Timer.getFPGATimestamp();
+      double executionTime = endTime - startTime;
+
+      maxExecutionTime = Math.max(maxExecutionTime, executionTime);
+
+      if (isOverrun || executionTime > period) {
+        overrunCount++;
+      }
+
+      if (endTime >= nextReportTime) {
+        report();
+        nextReportTime = endTime + REPORT_PERIOD;
+      }
+    }
+
+    /** Logs the statistics since the last report. */
+    private void report() {
+      if (runCount > 0) {
+        logMeanJitter.append(sumJitter / runCount);
+        logMaxJitter.append(maxJitter);
+      }
+
+      logMaxExecutionTime.append(maxExecutionTime);
+      logOverruns.append(overrunCount);
+
+      runCount = 0;
+      sumJitter = 0.0;
+      maxJitter = 0.0;
+      maxExecutionTime = 0.0;
+      overrunCount = 0;
+    }
+  }
+
+  private static final Map<RateGroup, Group> groups = new EnumMap<>(RateGroup.class);
+
+  static {
+    for (RateGroup rateGroup : RateGroup.values()) {
+      groups.put(rateGroup, new Group(rateGroup));
+    }
+  }
+
+  /**
+   * Registers a task to run in a rate group. Tasks run in the order they are registered.
+   *
+   * @param group The rate group.
+   * @param task The task.
+   */
+  public static void register(RateGroup group, Runnable task) {
+    groups.get(group).tasks.add(task);
+  }
+
+  /**
+   * Runs the tasks of a rate group once. This is used to step the rate groups when the robot loop
+   * is stepped without the {@link TimedRobot} timing, such as in benchmarks.
+   *
+   * @param group The rate group.
+   */
+  public static void run(RateGroup group) {
+    groups.get(group).run();
+  }
+
+  /**
+   * Starts running the rate groups. Each group's callbacks are offset by half its period so they
+   * are not due at the same time as the robot loop.
+   *
+   * @param robot The robot.
+   */
+  public static void start(TimedRobot robot) {
+    for (Group group : groups.values()) {
+      robot.addPeriodic(group::run, group.period, group.period / 2.0);
+    }
+  }
+
+  private MultiRateScheduler() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
@@ -84,6 +84,17 @@ public class NullMotorAdapter implements MotorController {
   @Override
   public void logTelemetry() {}
 
+  @Override
+  public double getSupplyCurrent() {
+    return 0;
+  }
+
+  @Override
+  public void setSupplyCurrentLimit(double supplyCurrentLimit) {}
+
+  @Override
+  public void setStatorCurrentLimit(double statorCurrentLimit) {}
+
   @Override
   public MotorController apply(MotorConfig config) {
     return this;
@@ -93,4 +104,9 @@ public class NullMotorAdapter implements MotorController {
   public MotorController apply(MotorCurrentConfig config) {
     return this;
   }
+
+  @Override
+  public MotorController apply(MotorConfigBuilder config) {
+    return this;
+  }
 }
@@ -9,22 +9,43 @@ package frc.robot.util;
 
 import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.Pigeon2Configuration;
+import com.ctre.phoenix6.configs.Pigeon2Configurator;
 import com.ctre.phoenix6.hardware.Pigeon2;
 import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.util.sendable.SendableBuilder;
+import edu.wpi.first.wpilibj.DriverStation;
 
 /** A gyro implementation based on the Pigeon 2. */
 public final class Pigeon2Gyro implements Gyro {
   private final Pigeon2 pigeon;
   private final StatusSignal<Angle> yaw;
+  private final StatusSignal<AngularVelocity> yawRate;
   private final StatusSignal<Angle> pitch;
   private final StatusSignal<Angle> roll;
 
+  // The configuration read from the device at construction, reapplied if the device resets.
+  private final Pigeon2Configuration config = new Pigeon2Configuration();
+
   public Pigeon2Gyro(int canID) {
     pigeon = new Pigeon2(canID, CANBus.roboRIO());
     yaw = pigeon.getYaw();
+    yawRate = pigeon.getAngularVelocityZWorld();
     pitch = pigeon.getPitch();
     roll = pigeon.getRoll();
+
+    CANBusPlanner.register(pigeon, CANBusPlanner.LOOP_FREQUENCY, yaw, yawRate, pitch, roll);
+
+    Pigeon2Configurator configurator = pigeon.getConfigurator();
+
+    if (configurator.refresh(config).isOK()) {
+      DeviceHealthMonitor.register(
+          String.format("Pigeon2-%d", canID), pigeon, () -> configurator.apply(config));
+    } else {
+      DriverStation.reportWarning(
+          String.format("Failed to read Pigeon2 ID %d configuration", canID), false);
+    }
   }
 
   @Override
@@ -32,6 +53,11 @@ public final class Pigeon2Gyro implements Gyro {
     return Math.toRadians(yaw.refresh().getValueAsDouble());
   }
 
+  @Override
+  public double getYawRate() {
+    return Math.toRadians(yawRate.refresh().getValueAsDouble());
+  }
+
   @Override
   public double getPitch() {
     return Math.toRadians(pitch.refresh().getValueAsDouble());
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import frc.robot.RobotPreferences;
+import frc.robot.parameters.PoseEstimationStrategy;
+import java.util.EnumSet;
+
+/**
+ * A copy of the robot preferences read on hot paths, updated when a preference changes.
+ *
+ * <p>Reading a preference looks up its value in NetworkTables each time, which is wasteful on
+ * paths that run every loop or every camera frame when the values only change when someone edits
+ * them on the dashboard. Instead, the values are copied into volatile fields when {@link #start()}
+ * is called, and a NetworkTables listener copies them again whenever any preference changes,
+ * whether it was changed from the dashboard or by the robot code. The fields may be read from any
+ * thread.
+ *
+ * <p>Only the preferences read while the robot loop runs are copied. The pose estimation strategy,
+ * odometry override, rumble and right trigger preferences are read every loop or every camera
+ * frame. The intake and feed velocities are read when the intake and roller commands start, which
+ * the operators do many times a match, in the same loop as the button press. The other preferences
+ * are read directly because copying them would not save a lookup in the loop:
+ *
+ * <ul>
+ *   <li>The robot type, field layout, dashboard mode and camera enablement are read once at
+ *       startup, and changing them only takes effect when the robot program restarts.
+ *   <li>The auto-rotation PID controller preference is itself the controller that computes the
+ *       rotation, so it holds no single value to copy.
+ * </ul>
+ */
+public final class PreferenceSnapshot {
+  /** The prefix of the NetworkTables topics of the preferences. */
+  private static final String PREFERENCES_PREFIX = "/Preferences/";
+
+  private static volatile PoseEstimationStrategy poseEstimationStrategy =
+      RobotPreferences.POSE_ESTIMATION_STRATEGY.getValue();
+  private static volatile boolean shouldUpdateOdometry =
+      RobotPreferences.SHOULD_UPDATE_ODOMETRY.getValue();
+  private static volatile boolean isRumbleEnabled = RobotPreferences.ENABLE_RUMBLE.getValue();
+  private static volatile double rightTriggerScalar =
+      RobotPreferences.RIGHT_TRIGGER_SCALAR.getValue();
+  private static volatile double intakeVelocity = RobotPreferences.INTAKE_VELOCITY.getValue();
+  private static volatile double outtakeVelocity = RobotPreferences.OUTTAKE_VELOCITY.getValue();
+  private static volatile double feedVelocity = RobotPreferences.FEED_VELOCITY.getValue();
+  private static volatile double unfeedVelocity = RobotPreferences.UNFEED_VELOCITY.getValue();
+
+  private static int listenerHandle;
+
+  /**
+   * Copies the current preferences and starts listening for changes. This must be called once the
+   * preferences have been loaded.
+   */
+  public static synchronized void start() {
+    if (listenerHandle != 0) {
+      return;
+    }
+
+    update();
+
+    listenerHandle =
+        NetworkTableInstance.getDefault()
+            .addListener(
+                new String[] {PREFERENCES_PREFIX},
+                EnumSet.of(NetworkTableEvent.Kind.kValueAll),
+                (event) -> update());
+  }
+
+  /** Copies the current values of the preferences. */
+  private static void update() {
+    poseEstimationStrategy = RobotPreferences.POSE_ESTIMATION_STRATEGY.getValue();
+    shouldUpdateOdometry = RobotPreferences.SHOULD_UPDATE_ODOMETRY.getValue();
+    isRumbleEnabled = RobotPreferences.ENABLE_RUMBLE.getValue();
+    rightTriggerScalar = RobotPreferences.RIGHT_TRIGGER_SCALAR.getValue();
+    intakeVelocity = RobotPreferences.INTAKE_VELOCITY.getValue();
+    outtakeVelocity = RobotPreferences.OUTTAKE_VELOCITY.getValue();
+    feedVelocity = RobotPreferences.FEED_VELOCITY.getValue();
+    unfeedVelocity = RobotPreferences.UNFEED_VELOCITY.getValue();
+  }
+
+  /** {@return the AprilTag pose estimation strategy} */
+  public static PoseEstimationStrategy getPoseEstimationStrategy() {
+    return poseEstimationStrategy;
+  }
+
+  /** {@return whether to override the odometry with high-confidence vision poses} */
+  public static boolean shouldUpdateOdometry() {
+    return shouldUpdateOdometry;
+  }
+
+  /** {@return whether rumble is enabled on the driver's controller} */
+  public static boolean isRumbleEnabled() {
+    return isRumbleEnabled;
+  }
+
+  /** {@return the speed scale applied when the driver's right trigger is fully pressed} */
+  public static double getRightTriggerScalar() {
+    return rightTriggerScalar;
+  }
+
+  /** {@return the intake velocity} */
+  public static double getIntakeVelocity() {
+    return intakeVelocity;
+  }
+
+  /** {@return the outtake velocity} */
+  public static double getOuttakeVelocity() {
+    return outtakeVelocity;
+  }
+
+  /** {@return the hopper and indexer feed velocity in m/s} */
+  public static double getFeedVelocity() {
+    return feedVelocity;
+  }
+
+  /** {@return the hopper and indexer unfeed velocity in m/s} */
+  public static double getUnfeedVelocity() {
+    return unfeedVelocity;
+  }
+
+  private PreferenceSnapshot() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
@@ -7,7 +7,9 @@
  
 package frc.robot.util;
 
+import com.ctre.phoenix6.CANBus;
 import com.revrobotics.PersistMode;
+import com.revrobotics.REVLibError;
 import com.revrobotics.ResetMode;
 import com.revrobotics.spark.SparkBase;
 import com.revrobotics.spark.SparkFlex;
@@ -20,6 +22,9 @@ import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.util.datalog.DataLog;
 import edu.wpi.first.util.datalog.DoubleLogEntry;
 import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /** A motor controller implementation based on the REV Robotics Spark controllers. */
 public final class SparkAdapter implements MotorController {
@@ -115,11 +120,41 @@ public final class SparkAdapter implements MotorController {
 
   private static final DataLog LOG = DataLogManager.getLog();
 
+  /** The period, in milliseconds, of the status signals read once per robot loop. */
+  private static final int LOOP_SIGNAL_PERIOD = (int) (1000.0 / CANBusPlanner.LOOP_FREQUENCY);
+
+  /** The period, in milliseconds, of the motor temperature. */
+  private static final int SLOW_SIGNAL_PERIOD = (int) (1000.0 / CANBusPlanner.SLOW_FREQUENCY);
+
+  /**
+   * The rate, in frames per second, of the status signals sent, assuming each is sent in its own
+   * frame. The position, velocity, applied output and output current are sent once per loop.
+   */
+  private static final double STATUS_FRAME_RATE =
+      4 * CANBusPlanner.LOOP_FREQUENCY + CANBusPlanner.SLOW_FREQUENCY;
+
   @SuppressWarnings("unused")
   private final String logPrefix;
 
   private final Accessor spark;
 
+  // The distance the mechanism moves per rotation and the ratio of motor rotations to mechanism
+  // rotations, from which the encoder conversion factors are computed.
+  private double distancePerRotation = 1.0;
+  private double sensorToMechanismRatio = 1.0;
+
+  // The most recently requested idle mode, or null if the last request could not be applied.
+  // Requests superseded before they are applied are skipped.
+  private final AtomicReference<MotorIdleMode> requestedIdleMode = new AtomicReference<>();
+
+  // The most recently requested current limits and the number of the last request to change them.
+  // Requests superseded before they are applied are skipped.
+  private volatile double requestedSupplyCurrentLimit =
+      MotorCurrentConfig.DEFAULT_SUPPLY_CURRENT_LIMIT;
+  private volatile double requestedStatorCurrentLimit =
+      MotorCurrentConfig.DEFAULT_STATOR_CURRENT_LIMIT;
+  private final AtomicInteger currentLimitsRequest = new AtomicInteger();
+
   private final DoubleLogEntry logOutputCurrent;
   private final DoubleLogEntry logTemperature;
 
@@ -224,17 +259,34 @@ public final class SparkAdapter implements MotorController {
       MotorDirection direction, MotorIdleMode idleMode, double distancePerRotation) {
     SparkBaseConfig driveMotorConfig = spark.getConfig();
 
-    driveMotorConfig.inverted(direction.isInverted()).idleMode(idleMode.forSpark());
+    synchronized (driveMotorConfig) {
+      driveMotorConfig.inverted(direction.isInverted()).idleMode(idleMode.forSpark());
+
+      driveMotorConfig
+          .encoder
+          .positionConversionFactor(distancePerRotation)
+          .velocityConversionFactor(distancePerRotation);
+
+      // Send the signals the robot code reads at the rate it reads them.
+      driveMotorConfig
+          .signals
+          .primaryEncoderPositionPeriodMs(LOOP_SIGNAL_PERIOD)
+          .primaryEncoderVelocityPeriodMs(LOOP_SIGNAL_PERIOD)
+          .appliedOutputPeriodMs(LOOP_SIGNAL_PERIOD)
+          .outputCurrentPeriodMs(LOOP_SIGNAL_PERIOD)
+          .motorTemperaturePeriodMs(SLOW_SIGNAL_PERIOD);
+
+      spark
+          .get()
+          .configure(
+              driveMotorConfig, ResetMode.kResetSafeParameters, PersistMode.kPersistParameters);
+    }
 
-    driveMotorConfig
-        .encoder
-        .positionConversionFactor(distancePerRotation)
-        .velocityConversionFactor(distancePerRotation);
+    this.requestedIdleMode.set(idleMode);
+    this.distancePerRotation = distancePerRotation;
 
-    spark
-        .get()
-        .configure(
-            driveMotorConfig, ResetMode.kResetSafeParameters, PersistMode.kPersistParameters);
+    CANBusPlanner.register(
+        String.format("Spark-%d", spark.get().getDeviceId()), CANBus.roboRIO(), STATUS_FRAME_RATE);
   }
 
   @Override
@@ -256,9 +308,11 @@ public final class SparkAdapter implements MotorController {
   public void setInverted(boolean isInverted) {
     SparkBaseConfig config = spark.getConfig();
 
-    config.inverted(isInverted);
+    synchronized (config) {
+      config.inverted(isInverted);
 
-    spark.get().configure(config, ResetMode.kResetSafeParameters, PersistMode.kPersistParameters);
+      spark.get().configure(config, ResetMode.kResetSafeParameters, PersistMode.kPersistParameters);
+    }
   }
 
   @Override
@@ -266,15 +320,67 @@ public final class SparkAdapter implements MotorController {
     return spark.getConfigAccessor().getInverted();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The change is sent to the device by the {@link MotorConfigWorker}, so this method does not
+   * wait for the CAN bus. Requesting the idle mode that was last requested does nothing, unless
+   * that request could not be applied.
+   */
   @Override
   public void setIdleMode(MotorIdleMode idleMode) {
+    if (requestedIdleMode.getAndSet(idleMode) == idleMode) {
+      return;
+    }
+
+    MotorConfigWorker.submit(
+        String.format("set idle mode of ID %d", spark.get().getDeviceId()),
+        () -> applyIdleMode(idleMode));
+  }
+
+  /**
+   * Applies an idle mode change on the {@link MotorConfigWorker} thread.
+   *
+   * <p>Only the idle mode is sent to the device rather than the full cached configuration. The
+   * device acknowledges the change before the configure call returns, and the cached configuration
+   * is only changed once it has. Failures are reported to the Driver Station and clear the
+   * requested idle mode so that requesting the same idle mode again retries the change.
+   *
+   * @param idleMode The idle mode to apply.
+   */
+  private void applyIdleMode(MotorIdleMode idleMode) {
+    if (idleMode != requestedIdleMode.get()) {
+      // A newer request has been queued.
+      return;
+    }
+
     SparkBaseConfig config = spark.getConfig();
+    SparkBaseConfig idleModeConfig = spark.newConfig().idleMode(idleMode.forSpark());
+    REVLibError status;
+
+    synchronized (config) {
+      status =
+          spark
+              .get()
+              .configure(
+                  idleModeConfig,
+                  ResetMode.kNoResetSafeParameters,
+                  PersistMode.kNoPersistParameters);
+
+      if (status == REVLibError.kOk) {
+        config.idleMode(idleMode.forSpark());
+      }
+    }
 
-    config.idleMode(idleMode.forSpark());
+    if (status != REVLibError.kOk) {
+      requestedIdleMode.compareAndSet(idleMode, null);
 
-    spark
-        .get()
-        .configure(config, ResetMode.kNoResetSafeParameters, PersistMode.kNoPersistParameters);
+      DriverStation.reportError(
+          String.format(
+              "Failed to set idle mode of ID %d to %s: %s",
+              spark.get().getDeviceId(), idleMode, status),
+          false);
+    }
   }
 
   @Override
@@ -338,13 +444,222 @@ public final class SparkAdapter implements MotorController {
     logTemperature.append(spark.get().getMotorTemperature());
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The Spark only reports its output current, so the supply current is estimated from the
+   * output current and the duty cycle.
+   */
+  @Override
+  public double getSupplyCurrent() {
+    SparkBase device = spark.get();
+
+    return Math.abs(device.getOutputCurrent() * device.getAppliedOutput());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The Spark only limits its output current, so its output current limit is changed to the
+   * lower of the requested supply and stator current limits. The change is sent to the device by
+   * the {@link MotorConfigWorker}. Requesting the limit that was last requested does nothing.
+   */
+  @Override
+  public void setSupplyCurrentLimit(double supplyCurrentLimit) {
+    if (supplyCurrentLimit == requestedSupplyCurrentLimit) {
+      return;
+    }
+
+    requestedSupplyCurrentLimit = supplyCurrentLimit;
+    submitCurrentLimits();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The Spark only limits its output current, so its output current limit is changed to the
+   * lower of the requested supply and stator current limits. The change is sent to the device by
+   * the {@link MotorConfigWorker}. Requesting the limit that was last requested does nothing.
+   */
+  @Override
+  public void setStatorCurrentLimit(double statorCurrentLimit) {
+    if (statorCurrentLimit == requestedStatorCurrentLimit) {
+      return;
+    }
+
+    requestedStatorCurrentLimit = statorCurrentLimit;
+    submitCurrentLimits();
+  }
+
+  /** Queues the requested current limits to be sent to the device. */
+  private void submitCurrentLimits() {
+    int request = currentLimitsRequest.incrementAndGet();
+
+    MotorConfigWorker.submit(
+        String.format("set current limits of ID %d", spark.get().getDeviceId()),
+        () -> applyCurrentLimits(request));
+  }
+
+  /**
+   * Applies the requested current limits on the {@link MotorConfigWorker} thread.
+   *
+   * <p>Only the output current limit is sent to the device rather than the full cached
+   * configuration. The cached configuration is only changed once the device has acknowledged the
+   * change and failures are reported to the Driver Station.
+   *
+   * @param request The number of the request being applied.
+   */
+  private void applyCurrentLimits(int request) {
+    if (request != currentLimitsRequest.get()) {
+      // A newer request has been queued.
+      return;
+    }
+
+    int smartCurrentLimit =
+        toSmartCurrentLimit(requestedSupplyCurrentLimit, requestedStatorCurrentLimit);
+    SparkBaseConfig config = spark.getConfig();
+    SparkBaseConfig currentLimitConfig = spark.newConfig().smartCurrentLimit(smartCurrentLimit);
+    REVLibError status;
+
+    synchronized (config) {
+      status =
+          spark
+              .get()
+              .configure(
+                  currentLimitConfig,
+                  ResetMode.kNoResetSafeParameters,
+                  PersistMode.kNoPersistParameters);
+
+      if (status == REVLibError.kOk) {
+        config.smartCurrentLimit(smartCurrentLimit);
+      }
+    }
+
+    if (status != REVLibError.kOk) {
+      DriverStation.reportError(
+          String.format(
+              "Failed to set current limit of ID %d to %d A: %s",
+              spark.get().getDeviceId(), smartCurrentLimit, status),
+          false);
+    }
+  }
+
   @Override
-  public MotorController apply(MotorConfig config) {
-    throw new UnsupportedOperationException("Unimplemented method 'apply'");
+  public MotorController apply(MotorConfig config) throws MotorConfigException {
+    return configure().with(config).apply();
   }
 
   @Override
-  public MotorController apply(MotorCurrentConfig config) {
-    throw new UnsupportedOperationException("Unimplemented method 'apply'");
+  public MotorController apply(MotorCurrentConfig config) throws MotorConfigException {
+    return configure().with(config).apply();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The staged settings are sent in a new configuration, without resetting the parameters that
+   * are not staged, and merged into the cached configuration only once the Spark has accepted
+   * them. This adapter has no closed-loop control methods, so staging closed-loop gains, Motion
+   * Magic constraints or a peak voltage is rejected.
+   *
+   * <p>The Spark only limits its output current, which is the stator current. Since the supply
+   * current never exceeds the output current, the output current is limited to the lower of the
+   * supply and stator current limits so that both are enforced.
+   */
+  @Override
+  public MotorController apply(MotorConfigBuilder builder) throws MotorConfigException {
+    int deviceID = spark.get().getDeviceId();
+
+    if (builder.getGains() != null
+        || builder.getMotionMagic() != null
+        || !Double.isNaN(builder.getPeakVoltage())) {
+      String errorMessage =
+          String.format(
+              "Failed to configure ID %d: Closed-loop gains, Motion Magic and peak voltage are not"
+                  + " supported by Spark motor controllers",
+              deviceID);
+
+      DriverStation.reportError(errorMessage, true);
+
+      throw new MotorConfigException(errorMessage);
+    }
+
+    SparkBaseConfig config = spark.getConfig();
+
+    synchronized (config) {
+      SparkBaseConfig staged = spark.newConfig();
+      MotorConfig motorConfig = builder.getMotorConfig();
+
+      if (motorConfig != null) {
+        staged
+            .inverted(motorConfig.direction().isInverted())
+            .idleMode(motorConfig.idleMode().forSpark());
+      }
+
+      double newDistancePerRotation =
+          motorConfig != null ? motorConfig.distancePerRotation() : distancePerRotation;
+      double newSensorToMechanismRatio =
+          Double.isNaN(builder.getSensorToMechanismRatio())
+              ? sensorToMechanismRatio
+              : builder.getSensorToMechanismRatio();
+
+      if (motorConfig != null || !Double.isNaN(builder.getSensorToMechanismRatio())) {
+        double conversionFactor = newDistancePerRotation / newSensorToMechanismRatio;
+
+        staged
+            .encoder
+            .positionConversionFactor(conversionFactor)
+            .velocityConversionFactor(conversionFactor);
+      }
+
+      MotorCurrentConfig currentConfig = builder.getCurrentConfig();
+
+      if (currentConfig != null && currentConfig.enableCurrentLimit()) {
+        staged.smartCurrentLimit(
+            toSmartCurrentLimit(
+                currentConfig.supplyCurrentLimit(), currentConfig.statorCurrentLimit()));
+      }
+
+      REVLibError status =
+          spark
+              .get()
+              .configure(staged, ResetMode.kNoResetSafeParameters, PersistMode.kPersistParameters);
+
+      if (status != REVLibError.kOk) {
+        String errorMessage =
+            String.format("Failed to apply configuration to ID %d: %s", deviceID, status);
+
+        DriverStation.reportError(errorMessage, true);
+
+        throw new MotorConfigException(errorMessage);
+      }
+
+      config.apply(staged);
+
+      distancePerRotation = newDistancePerRotation;
+      sensorToMechanismRatio = newSensorToMechanismRatio;
+
+      if (currentConfig != null) {
+        requestedSupplyCurrentLimit = currentConfig.supplyCurrentLimit();
+        requestedStatorCurrentLimit = currentConfig.statorCurrentLimit();
+      }
+
+      if (motorConfig != null) {
+        requestedIdleMode.set(motorConfig.idleMode());
+      }
+    }
+
+    return this;
+  }
+
+  /**
+   * Converts supply and stator current limits to the Spark's output current limit.
+   *
+   * @param supplyCurrentLimit The supply current limit in amps.
+   * @param statorCurrentLimit The stator current limit in amps.
+   * @return The output current limit in whole amps.
+   */
+  private static int toSmartCurrentLimit(double supplyCurrentLimit, double statorCurrentLimit) {
+    return (int) Math.min(supplyCurrentLimit, statorCurrentLimit);
   }
 }
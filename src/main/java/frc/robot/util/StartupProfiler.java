@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Records timed spans for the steps of robot-code startup.
+ *
+ * <p>Each span is logged with its duration and the thread it ran on, so the spans of devices
+ * configured concurrently by the {@link DeviceInitializer} can be told apart from those run on the
+ * main robot thread. The start of each span and the time to ready logged when {@link #ready()} is
+ * called are measured from when the JVM process started, so they include the time spent starting
+ * the JVM and loading the robot classes before any robot code runs.
+ */
+public final class StartupProfiler {
+  private static final DataLog LOG = DataLogManager.getLog();
+
+  // The JVM uptime is only reported in milliseconds, which is precise enough for startup times.
+  private static final long startTime =
+      System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+
+  private static final StringLogEntry logSpans = new StringLogEntry(LOG, "/Startup/Spans");
+  private static final DoubleLogEntry logTimeToReady =
+      new DoubleLogEntry(LOG, "/Startup/Time To Ready");
+
+  private static boolean isReady;
+
+  /**
+   * Runs and times a startup step.
+   *
+   * @param <T> The type of the result.
+   * @param name The name of the step.
+   * @param step The step to run.
+   * @return The result of the step.
+   */
+  public static <T> T span(String name, Supplier<T> step) {
+    long spanStartTime = System.nanoTime();
+
+    try {
+      return step.get();
+    } finally {
+      logSpan(name, spanStartTime);
+    }
+  }
+
+  /**
+   * Runs and times a startup step.
+   *
+   * @param name The name of the step.
+   * @param step The step to run.
+   */
+  public static void span(String name, Runnable step) {
+    long spanStartTime = System.nanoTime();
+
+    try {
+      step.run();
+    } finally {
+      logSpan(name, spanStartTime);
+    }
+  }
+
+  /** Logs the duration of a span. */
+  private static void logSpan(String name, long spanStartTime) {
+    long endTime = System.nanoTime();
+
+    logSpans.append(
+        String.format(
+            "%s: %.1f ms (start %.1f ms, %s)",
+            name,
+            (endTime - spanStartTime) / 1e6,
+            (spanStartTime - startTime) / 1e6,
+            Thread.currentThread().getName()));
+  }
+
+  /** Logs the time to ready. Only the first call has any effect. */
+  public static void ready() {
+    if (isReady) {
+      return;
+    }
+
+    isReady = true;
+
+    double timeToReady = (System.nanoTime() - startTime) / 1e9;
+
+    logTimeToReady.append(timeToReady);
+    DataLogManager.log(String.format("Robot code ready in %.3f s", timeToReady));
+  }
+
+  private StartupProfiler() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
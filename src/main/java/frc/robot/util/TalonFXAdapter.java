@@ -7,9 +7,9 @@
  
 package frc.robot.util;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.StatusCode;
 import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
 import com.ctre.phoenix6.configs.MotorOutputConfigs;
 import com.ctre.phoenix6.configs.ParentConfiguration;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
@@ -20,6 +20,7 @@ import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.ForwardLimitValue;
 import com.ctre.phoenix6.signals.InvertedValue;
 import com.ctre.phoenix6.signals.MotorAlignmentValue;
+import com.ctre.phoenix6.signals.NeutralModeValue;
 import com.ctre.phoenix6.signals.ReverseLimitValue;
 import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Temperature;
@@ -30,12 +31,23 @@ import edu.wpi.first.wpilibj.DataLogManager;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /** A motor controller implementation based on the CTR Electronics TalonFX controller. */
 public final class TalonFXAdapter implements MotorController {
   private static final int NUM_RETRIES = 5;
 
+  /** The time to wait for the device to report its configuration when confirming a change. */
+  private static final double CONFIRM_TIMEOUT = 0.05;
+
+  /** The difference, in amps, within which a current limit read back from the device matches. */
+  private static final double CURRENT_LIMIT_TOLERANCE = 0.1;
+
+  /** The frequency, in Hz, of the leader's output signals that its followers mirror. */
+  private static final double FOLLOWER_UPDATE_FREQUENCY = 100.0;
+
   private static final DataLog LOG = DataLogManager.getLog();
 
   @SuppressWarnings("unused")
@@ -43,6 +55,35 @@ public final class TalonFXAdapter implements MotorController {
 
   private final TalonFX talonFX;
   private double distancePerRotation;
+
+  // The configuration of the TalonFX, read from the device when the adapter is created and updated
+  // as configurations are applied. Staged configurations are merged into it and applied in a single
+  // transaction without reading the configuration back each time, so settings that were never
+  // staged, such as those set with Phoenix Tuner, keep their values. Guarded by `configLock` since
+  // idle mode changes are applied by the MotorConfigWorker.
+  private TalonFXConfiguration config = new TalonFXConfiguration();
+  private final Object configLock = new Object();
+
+  // Whether `config` holds the configuration of the device. Until it does, the configuration is
+  // read before staged configurations are merged into it.
+  private boolean isConfigRead;
+
+  // The most recently requested idle mode, or null if the last request could not be applied.
+  // Requests superseded before they are applied are skipped.
+  private final AtomicReference<MotorIdleMode> requestedIdleMode = new AtomicReference<>();
+
+  // The most recently requested current limits and the number of the last request to change them.
+  // Requests superseded before they are applied are skipped.
+  private volatile double requestedSupplyCurrentLimit = config.CurrentLimits.SupplyCurrentLimit;
+  private volatile double requestedStatorCurrentLimit = config.CurrentLimits.StatorCurrentLimit;
+  private final AtomicInteger currentLimitsRequest = new AtomicInteger();
+
+  // The stator current limit of the applied current configuration, before any derating.
+  private volatile double configuredStatorCurrentLimit = config.CurrentLimits.StatorCurrentLimit;
+
+  // The control request that makes this motor follow its leader, or null if it is not a follower.
+  private volatile Follower followerRequest;
+
   public final StatusSignal<Current> supplyCurrent;
   public final StatusSignal<Current> statorCurrent;
   private final StatusSignal<Temperature> temperature;
@@ -69,7 +110,17 @@ public final class TalonFXAdapter implements MotorController {
     this.statorCurrent = talonFX.getStatorCurrent();
     this.temperature = talonFX.getDeviceTemp();
 
-    BaseStatusSignal.setUpdateFrequencyForAll(50.0, this.supplyCurrent, this.statorCurrent);
+    try {
+      synchronized (configLock) {
+        readConfiguration();
+      }
+    } catch (MotorConfigException e) {
+      // The error has been reported. The configuration is read again when one is staged.
+    }
+
+    CANBusPlanner.register(
+        talonFX, CANBusPlanner.LOOP_FREQUENCY, this.supplyCurrent, this.statorCurrent);
+    CANBusPlanner.register(talonFX, CANBusPlanner.SLOW_FREQUENCY, this.temperature);
 
     String name = String.format("%s/TalonFX-%d", logPrefix, talonFX.getDeviceID());
 
@@ -77,8 +128,14 @@ public final class TalonFXAdapter implements MotorController {
     this.logStatorCurrent = new DoubleLogEntry(LOG, name + "/StatorCurrent");
     this.logTemperature = new DoubleLogEntry(LOG, name + "/Temperature");
 
-    TalonFXAdapter.motorChooser.addOption(name, talonFX.getDeviceID());
-    TalonFXAdapter.motors.put(talonFX.getDeviceID(), this);
+    // Motors may be created concurrently by the DeviceInitializer during startup.
+    synchronized (motors) {
+      TalonFXAdapter.motorChooser.addOption(name, talonFX.getDeviceID());
+      TalonFXAdapter.motors.put(talonFX.getDeviceID(), this);
+    }
+
+    DeviceHealthMonitor.register(name, talonFX, this::reapplyConfiguration);
+    MotorThermalMonitor.register(name, this);
   }
 
   @Override
@@ -99,10 +156,14 @@ public final class TalonFXAdapter implements MotorController {
   @Override
   public void setInverted(boolean isInverted) {
     try {
-      var motorOutputConfigs = getMotorOutputConfig();
-      motorOutputConfigs.Inverted =
-          isInverted ? InvertedValue.Clockwise_Positive : InvertedValue.CounterClockwise_Positive;
-      applyMotorOutputConfig(motorOutputConfigs);
+      synchronized (configLock) {
+        MotorOutputConfigs motorOutputConfigs = new MotorOutputConfigs();
+
+        motorOutputConfigs.deserialize(config.MotorOutput.serialize());
+        motorOutputConfigs.Inverted =
+            isInverted ? InvertedValue.Clockwise_Positive : InvertedValue.CounterClockwise_Positive;
+        applyMotorOutputConfig(motorOutputConfigs);
+      }
     } catch (MotorConfigException e) {
       throw new RuntimeException(e);
     }
@@ -110,26 +171,176 @@ public final class TalonFXAdapter implements MotorController {
 
   @Override
   public boolean getInverted() {
-    MotorOutputConfigs motorOutputConfigs;
-    try {
-      motorOutputConfigs = getMotorOutputConfig();
-      return motorOutputConfigs.Inverted == InvertedValue.Clockwise_Positive;
-    } catch (MotorConfigException e) {
+    synchronized (configLock) {
+      return config.MotorOutput.Inverted == InvertedValue.Clockwise_Positive;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The change is sent to the device by the {@link MotorConfigWorker}, so this method does not
+   * wait for the CAN bus. Requesting the idle mode that was last requested does nothing, unless
+   * that request could not be applied.
+   */
+  @Override
+  public void setIdleMode(MotorIdleMode idleMode) {
+    if (requestedIdleMode.getAndSet(idleMode) == idleMode) {
+      return;
+    }
+
+    MotorConfigWorker.submit(
+        String.format("set idle mode of ID %d", talonFX.getDeviceID()),
+        () -> applyIdleMode(idleMode));
+  }
+
+  /**
+   * Applies an idle mode change on the {@link MotorConfigWorker} thread.
+   *
+   * <p>A copy of the cached motor output configuration with the new idle mode is sent without
+   * waiting for a response and the change is then confirmed by reading the configuration back from
+   * the device. The cached configuration is only changed once the change is confirmed. Failures
+   * are reported to the Driver Station and clear the requested idle mode so that requesting the
+   * same idle mode again retries the change.
+   *
+   * @param idleMode The idle mode to apply.
+   */
+  private void applyIdleMode(MotorIdleMode idleMode) {
+    if (idleMode != requestedIdleMode.get()) {
+      // A newer request has been queued.
+      return;
+    }
+
+    NeutralModeValue neutralMode = idleMode.forTalonFX();
+    MotorOutputConfigs stagedMotorOutputConfigs = new MotorOutputConfigs();
+    MotorOutputConfigs deviceMotorOutputConfigs = new MotorOutputConfigs();
+    StatusCode status = StatusCode.OK;
+
+    for (int i = 0; i < NUM_RETRIES; i++) {
+      synchronized (configLock) {
+        stagedMotorOutputConfigs.deserialize(config.MotorOutput.serialize());
+        stagedMotorOutputConfigs.NeutralMode = neutralMode;
+        status = talonFX.getConfigurator().apply(stagedMotorOutputConfigs, 0);
+      }
+
+      if (status.isOK()) {
+        status = talonFX.getConfigurator().refresh(deviceMotorOutputConfigs, CONFIRM_TIMEOUT);
+
+        if (status.isOK() && deviceMotorOutputConfigs.NeutralMode == neutralMode) {
+          synchronized (configLock) {
+            config.MotorOutput.NeutralMode = neutralMode;
+          }
 
+          return;
+        }
+      }
     }
 
-    return false;
+    requestedIdleMode.compareAndSet(idleMode, null);
+
+    DriverStation.reportError(
+        String.format(
+            "Failed to set idle mode of ID %d to %s: %s",
+            talonFX.getDeviceID(),
+            idleMode,
+            status.isOK() ? "Change not confirmed by device" : status.getDescription()),
+        false);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The change is applied to the cached current limits configuration and sent to the device by
+   * the {@link MotorConfigWorker}. Requesting the limit that was last requested does nothing.
+   */
   @Override
-  public void setIdleMode(MotorIdleMode idleMode) {
-    try {
-      var motorOutputConfigs = getMotorOutputConfig();
-      motorOutputConfigs.NeutralMode = idleMode.forTalonFX();
-      applyMotorOutputConfig(motorOutputConfigs);
-    } catch (MotorConfigException e) {
+  public void setSupplyCurrentLimit(double supplyCurrentLimit) {
+    if (supplyCurrentLimit == requestedSupplyCurrentLimit) {
+      return;
+    }
+
+    requestedSupplyCurrentLimit = supplyCurrentLimit;
+    submitCurrentLimits();
+  }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The change is applied to the cached current limits configuration and sent to the device by
+   * the {@link MotorConfigWorker}. Requesting the limit that was last requested does nothing.
+   */
+  @Override
+  public void setStatorCurrentLimit(double statorCurrentLimit) {
+    if (statorCurrentLimit == requestedStatorCurrentLimit) {
+      return;
     }
+
+    requestedStatorCurrentLimit = statorCurrentLimit;
+    submitCurrentLimits();
+  }
+
+  /** {@return the stator current limit, in amps, of the applied current configuration} */
+  public double getConfiguredStatorCurrentLimit() {
+    return configuredStatorCurrentLimit;
+  }
+
+  /** Queues the requested current limits to be sent to the device. */
+  private void submitCurrentLimits() {
+    int request = currentLimitsRequest.incrementAndGet();
+
+    MotorConfigWorker.submit(
+        String.format("set current limits of ID %d", talonFX.getDeviceID()),
+        () -> applyCurrentLimits(request));
+  }
+
+  /**
+   * Applies the requested current limits on the {@link MotorConfigWorker} thread.
+   *
+   * <p>The cached current limits configuration is sent without waiting for a response and the
+   * change is then confirmed by reading the configuration back from the device. Failures are
+   * reported to the Driver Station.
+   *
+   * @param request The number of the request being applied.
+   */
+  private void applyCurrentLimits(int request) {
+    if (request != currentLimitsRequest.get()) {
+      // A newer request has been queued.
+      return;
+    }
+
+    double supplyCurrentLimit = requestedSupplyCurrentLimit;
+    double statorCurrentLimit = requestedStatorCurrentLimit;
+    CurrentLimitsConfigs deviceCurrentLimitsConfigs = new CurrentLimitsConfigs();
+    StatusCode status = StatusCode.OK;
+
+    for (int i = 0; i < NUM_RETRIES; i++) {
+      synchronized (configLock) {
+        config.CurrentLimits.SupplyCurrentLimit = supplyCurrentLimit;
+        config.CurrentLimits.StatorCurrentLimit = statorCurrentLimit;
+        status = talonFX.getConfigurator().apply(config.CurrentLimits, 0);
+      }
+
+      if (status.isOK()) {
+        status = talonFX.getConfigurator().refresh(deviceCurrentLimitsConfigs, CONFIRM_TIMEOUT);
+
+        if (status.isOK()
+            && Math.abs(deviceCurrentLimitsConfigs.SupplyCurrentLimit - supplyCurrentLimit)
+                < CURRENT_LIMIT_TOLERANCE
+            && Math.abs(deviceCurrentLimitsConfigs.StatorCurrentLimit - statorCurrentLimit)
+                < CURRENT_LIMIT_TOLERANCE) {
+          return;
+        }
+      }
+    }
+
+    DriverStation.reportError(
+        String.format(
+            "Failed to set current limits of ID %d to %.1f A supply and %.1f A stator: %s",
+            talonFX.getDeviceID(),
+            supplyCurrentLimit,
+            statorCurrentLimit,
+            status.isOK() ? "Change not confirmed by device" : status.getDescription()),
+        false);
   }
 
   @Override
@@ -148,8 +359,14 @@ public final class TalonFXAdapter implements MotorController {
     TalonFX follower = new TalonFX(deviceID, talonFX.getNetwork());
     TalonFXAdapter followerAdapter = new TalonFXAdapter(logPrefix, follower);
 
-    // Get the motor output configuration from the leader and apply it to the follower.
-    followerAdapter.applyMotorOutputConfig(getMotorOutputConfig());
+    // Apply a copy of the leader's motor output configuration to the follower.
+    MotorOutputConfigs motorOutputConfigs = new MotorOutputConfigs();
+
+    synchronized (configLock) {
+      motorOutputConfigs.deserialize(config.MotorOutput.serialize());
+    }
+
+    followerAdapter.applyMotorOutputConfig(motorOutputConfigs);
 
     // Configure the follower to follow the leader.
     Follower followerConfig =
@@ -157,11 +374,43 @@ public final class TalonFXAdapter implements MotorController {
             talonFX.getDeviceID(),
             isInvertedFromLeader ? MotorAlignmentValue.Opposed : MotorAlignmentValue.Aligned);
 
+    // The follower mirrors the output the leader reports in its status signals.
+    CANBusPlanner.register(
+        talonFX,
+        FOLLOWER_UPDATE_FREQUENCY,
+        talonFX.getDutyCycle(),
+        talonFX.getMotorVoltage(),
+        talonFX.getTorqueCurrent());
+
+    followerAdapter.followerRequest = followerConfig;
     follower.setControl(followerConfig);
 
     return followerAdapter;
   }
 
+  /**
+   * Reapplies the cached configuration and follower request after the TalonFX has reset. This is
+   * called by the {@link DeviceHealthMonitor} on a background thread, which then has the {@link
+   * CANBusPlanner} reapply the status signal rates.
+   *
+   * @return The status of the last request sent to the TalonFX.
+   */
+  private StatusCode reapplyConfiguration() {
+    StatusCode status;
+
+    synchronized (configLock) {
+      status = talonFX.getConfigurator().apply(config);
+    }
+
+    Follower request = followerRequest;
+
+    if (status.isOK() && request != null) {
+      status = talonFX.setControl(request);
+    }
+
+    return status;
+  }
+
   @Override
   public RelativeEncoder getEncoder() {
     return new TalonFXEncoderAdapter(talonFX, distancePerRotation);
@@ -169,14 +418,22 @@ public final class TalonFXAdapter implements MotorController {
 
   @Override
   public LimitSwitch getForwardLimitSwitch() {
+    StatusSignal<ForwardLimitValue> forwardLimit = talonFX.getForwardLimit();
+
+    CANBusPlanner.register(talonFX, CANBusPlanner.LOOP_FREQUENCY, forwardLimit);
+
     return new TalonFXLimitSwitchAdapter<ForwardLimitValue>(
-        talonFX.getForwardLimit(), ForwardLimitValue.ClosedToGround);
+        forwardLimit, ForwardLimitValue.ClosedToGround);
   }
 
   @Override
   public LimitSwitch getReverseLimitSwitch() {
+    StatusSignal<ReverseLimitValue> reverseLimit = talonFX.getReverseLimit();
+
+    CANBusPlanner.register(talonFX, CANBusPlanner.LOOP_FREQUENCY, reverseLimit);
+
     return new TalonFXLimitSwitchAdapter<ReverseLimitValue>(
-        talonFX.getReverseLimit(), ReverseLimitValue.ClosedToGround);
+        reverseLimit, ReverseLimitValue.ClosedToGround);
   }
 
   @Override
@@ -186,6 +443,21 @@ public final class TalonFXAdapter implements MotorController {
     logTemperature.append(this.temperature.refresh().getValueAsDouble());
   }
 
+  @Override
+  public double getSupplyCurrent() {
+    return supplyCurrent.refresh().getValueAsDouble();
+  }
+
+  /** {@return the stator current in amps} */
+  public double getStatorCurrent() {
+    return statorCurrent.refresh().getValueAsDouble();
+  }
+
+  /** {@return the temperature of the motor in degrees Celsius} */
+  public double getTemperature() {
+    return temperature.refresh().getValueAsDouble();
+  }
+
   /**
    * Sets the MotionMagic voltage
    *
@@ -249,6 +521,20 @@ public final class TalonFXAdapter implements MotorController {
     throw new MotorConfigException(errorMessage);
   }
 
+  /**
+   * Reads the configuration of the TalonFX into the cached configuration. The caller must hold
+   * {@code configLock}.
+   *
+   * @throws MotorConfigException If the configuration cannot be read.
+   */
+  private void readConfiguration() throws MotorConfigException {
+    config = getTalonFXConfiguration();
+    isConfigRead = true;
+    requestedSupplyCurrentLimit = config.CurrentLimits.SupplyCurrentLimit;
+    requestedStatorCurrentLimit = config.CurrentLimits.StatorCurrentLimit;
+    configuredStatorCurrentLimit = config.CurrentLimits.StatorCurrentLimit;
+  }
+
   /**
    * Applies a configuration to the TalonFX with retries and error handling.
    *
@@ -300,7 +586,10 @@ public final class TalonFXAdapter implements MotorController {
    */
   public void applyMotorOutputConfig(MotorOutputConfigs motorOutputConfigs)
       throws MotorConfigException {
-    applyConfig(motorOutputConfigs, talonFX.getConfigurator()::apply);
+    synchronized (configLock) {
+      applyConfig(motorOutputConfigs, talonFX.getConfigurator()::apply);
+      config.MotorOutput = motorOutputConfigs;
+    }
   }
 
   /**
@@ -321,28 +610,106 @@ public final class TalonFXAdapter implements MotorController {
    *     reason.
    */
   public void applyTalonFXConfiguration(TalonFXConfiguration config) throws MotorConfigException {
-    applyConfig(config, talonFX.getConfigurator()::apply);
+    synchronized (configLock) {
+      applyConfig(config, talonFX.getConfigurator()::apply);
+      this.config = config;
+      isConfigRead = true;
+    }
   }
 
   @Override
   public MotorController apply(MotorConfig config) throws MotorConfigException {
-    var talonFXConfig = getTalonFXConfiguration();
-    talonFXConfig.MotorOutput.Inverted = config.direction().forTalonFX();
-    talonFXConfig.MotorOutput.NeutralMode = config.idleMode().forTalonFX();
-    talonFXConfig.Feedback.SensorToMechanismRatio = 1.0;
-    applyTalonFXConfiguration(talonFXConfig);
-    distancePerRotation = config.distancePerRotation();
-    return this;
+    return configure().with(config).apply();
   }
 
   @Override
   public MotorController apply(MotorCurrentConfig config) throws MotorConfigException {
-    var talonFXConfig = getTalonFXConfiguration();
-    talonFXConfig.CurrentLimits.StatorCurrentLimitEnable = config.enableCurrentLimit();
-    talonFXConfig.CurrentLimits.SupplyCurrentLimitEnable = config.enableCurrentLimit();
-    talonFXConfig.CurrentLimits.StatorCurrentLimit = config.statorCurrentLimit();
-    talonFXConfig.CurrentLimits.SupplyCurrentLimit = config.supplyCurrentLimit();
-    applyTalonFXConfiguration(talonFXConfig);
+    return configure().with(config).apply();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The staged settings are merged into a copy of the cached configuration, which was read from
+   * the device, so settings that are not staged keep their values. The copy replaces the cached
+   * configuration only once the TalonFX has accepted it. If the configuration cannot be applied,
+   * the cached configuration and requested limits still match the device.
+   */
+  @Override
+  public MotorController apply(MotorConfigBuilder builder) throws MotorConfigException {
+    synchronized (configLock) {
+      if (!isConfigRead) {
+        readConfiguration();
+      }
+
+      TalonFXConfiguration staged = new TalonFXConfiguration();
+
+      staged.deserialize(config.serialize());
+
+      MotorConfig motorConfig = builder.getMotorConfig();
+
+      if (motorConfig != null) {
+        staged.MotorOutput.Inverted = motorConfig.direction().forTalonFX();
+        staged.MotorOutput.NeutralMode = motorConfig.idleMode().forTalonFX();
+      }
+
+      MotorCurrentConfig currentConfig = builder.getCurrentConfig();
+
+      if (currentConfig != null) {
+        staged.CurrentLimits.StatorCurrentLimitEnable = currentConfig.enableCurrentLimit();
+        staged.CurrentLimits.SupplyCurrentLimitEnable = currentConfig.enableCurrentLimit();
+        staged.CurrentLimits.StatorCurrentLimit = currentConfig.statorCurrentLimit();
+        staged.CurrentLimits.SupplyCurrentLimit = currentConfig.supplyCurrentLimit();
+      }
+
+      double sensorToMechanismRatio = builder.getSensorToMechanismRatio();
+
+      if (!Double.isNaN(sensorToMechanismRatio)) {
+        staged.Feedback.SensorToMechanismRatio = sensorToMechanismRatio;
+      }
+
+      MotorGainsConfig gains = builder.getGains();
+
+      if (gains != null) {
+        staged.Slot0.kP = gains.kP();
+        staged.Slot0.kI = gains.kI();
+        staged.Slot0.kD = gains.kD();
+        staged.Slot0.kS = gains.kS();
+        staged.Slot0.kV = gains.kV();
+        staged.Slot0.kA = gains.kA();
+        staged.Slot0.kG = gains.kG();
+        staged.Slot0.GravityType = gains.gravityType().forTalonFX();
+      }
+
+      MotionMagicConfig motionMagic = builder.getMotionMagic();
+
+      if (motionMagic != null) {
+        staged.MotionMagic.MotionMagicCruiseVelocity = motionMagic.cruiseVelocity();
+        staged.MotionMagic.MotionMagicAcceleration = motionMagic.acceleration();
+        staged.MotionMagic.MotionMagicJerk = motionMagic.jerk();
+      }
+
+      double peakVoltage = builder.getPeakVoltage();
+
+      if (!Double.isNaN(peakVoltage)) {
+        staged.Voltage.PeakForwardVoltage = peakVoltage;
+        staged.Voltage.PeakReverseVoltage = -peakVoltage;
+      }
+
+      applyTalonFXConfiguration(staged);
+
+      if (currentConfig != null) {
+        requestedSupplyCurrentLimit = currentConfig.supplyCurrentLimit();
+        requestedStatorCurrentLimit = currentConfig.statorCurrentLimit();
+        configuredStatorCurrentLimit = currentConfig.statorCurrentLimit();
+      }
+
+      if (motorConfig != null) {
+        distancePerRotation = motorConfig.distancePerRotation();
+        requestedIdleMode.set(motorConfig.idleMode());
+      }
+    }
+
     return this;
   }
 
@@ -33,6 +33,7 @@ public final class TalonFXEncoderAdapter implements RelativeEncoder {
     talonFX = controller;
     position = controller.getPosition();
     velocity = controller.getVelocity();
+    CANBusPlanner.register(controller, CANBusPlanner.LOOP_FREQUENCY, position, velocity);
     this.distancePerRotation = distancePerRotation;
     reset();
   }
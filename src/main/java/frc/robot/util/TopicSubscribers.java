@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.util;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the subscribers of a NetworkTables topic from its {@code $sub$} meta topic.
+ *
+ * <p>The NetworkTables server publishes the subscribers of each topic to a meta topic named {@code
+ * $sub$} followed by the topic name. Its value is a MessagePack array with a map for each
+ * subscriber holding the name of the {@code client}, the {@code subuid} and the subscription
+ * {@code options}. Only the small subset of MessagePack the server writes is decoded.
+ */
+final class TopicSubscribers {
+  /** The prefix of the names of the meta topics listing the subscribers of a topic. */
+  static final String META_TOPIC_PREFIX = "$sub$";
+
+  /**
+   * Returns whether a client other than the robot program receives the values of a topic. The
+   * robot program's own subscriptions have an empty client name, and subscriptions that only
+   * receive the topic announcements, such as a dashboard listing the available topics, are not
+   * counted.
+   *
+   * @param metaValue The value of the topic's {@code $sub$} meta topic.
+   * @return True if a remote client subscribes to the values of the topic.
+   * @throws IllegalArgumentException If the value is not a list of subscribers.
+   */
+  static boolean hasRemoteValueSubscriber(byte[] metaValue) {
+    ByteBuffer buffer = ByteBuffer.wrap(metaValue);
+
+    try {
+      int subscriberCount = readArrayHeader(buffer);
+      boolean hasSubscriber = false;
+
+      for (int i = 0; i < subscriberCount; i++) {
+        String client = "";
+        boolean topicsOnly = false;
+        int fieldCount = readMapHeader(buffer);
+
+        for (int j = 0; j < fieldCount; j++) {
+          switch (readString(buffer)) {
+            case "client":
+              client = readString(buffer);
+              break;
+            case "options":
+              topicsOnly = readTopicsOnly(buffer);
+              break;
+            default:
+              skip(buffer);
+              break;
+          }
+        }
+
+        hasSubscriber |= !client.isEmpty() && !topicsOnly;
+      }
+
+      return hasSubscriber;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated subscriber list", e);
+    }
+  }
+
+  /** Reads the subscription options and returns whether only topic announcements are sent. */
+  private static boolean readTopicsOnly(ByteBuffer buffer) {
+    boolean topicsOnly = false;
+    int optionCount = readMapHeader(buffer);
+
+    for (int i = 0; i < optionCount; i++) {
+      if (readString(buffer).equals("topicsonly")) {
+        topicsOnly = readBoolean(buffer);
+      } else {
+        skip(buffer);
+      }
+    }
+
+    return topicsOnly;
+  }
+
+  private static int readArrayHeader(ByteBuffer buffer) {
+    int type = Byte.toUnsignedInt(buffer.get());
+
+    if ((type & 0xf0) == 0x90) {
+      return type & 0x0f;
+    }
+
+    switch (type) {
+      case 0xdc:
+        return Short.toUnsignedInt(buffer.getShort());
+      case 0xdd:
+        return buffer.getInt();
+      default:
+        throw new IllegalArgumentException("Expected an array but found type " + type);
+    }
+  }
+
+  private static int readMapHeader(ByteBuffer buffer) {
+    int type = Byte.toUnsignedInt(buffer.get());
+
+    if ((type & 0xf0) == 0x80) {
+      return type & 0x0f;
+    }
+
+    switch (type) {
+      case 0xde:
+        return Short.toUnsignedInt(buffer.getShort());
+      case 0xdf:
+        return buffer.getInt();
+      default:
+        throw new IllegalArgumentException("Expected a map but found type " + type);
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int type = Byte.toUnsignedInt(buffer.get());
+    int length;
+
+    if ((type & 0xe0) == 0xa0) {
+      length = type & 0x1f;
+    } else {
+      switch (type) {
+        case 0xd9:
+          length = Byte.toUnsignedInt(buffer.get());
+          break;
+        case 0xda:
+          length = Short.toUnsignedInt(buffer.getShort());
+          break;
+        case 0xdb:
+          length = buffer.getInt();
+          break;
+        default:
+          throw new IllegalArgumentException("Expected a string but found type " + type);
+      }
+    }
+
+    if (length < 0 || length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+
+    byte[] bytes = new byte[length];
+
+    buffer.get(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static boolean readBoolean(ByteBuffer buffer) {
+    int type = Byte.toUnsignedInt(buffer.get());
+
+    switch (type) {
+      case 0xc2:
+        return false;
+      case 0xc3:
+        return true;
+      default:
+        throw new IllegalArgumentException("Expected a boolean but found type " + type);
+    }
+  }
+
+  /** Skips over the next value. */
+  private static void skip(ByteBuffer buffer) {
+    int type = Byte.toUnsignedInt(buffer.get());
+
+    if (type <= 0x7f || type >= 0xe0) {
+      return; // fixint
+    }
+
+    if ((type & 0xf0) == 0x80) {
+      skipValues(buffer, 2 * (type & 0x0f));
+      return;
+    }
+
+    if ((type & 0xf0) == 0x90) {
+      skipValues(buffer, type & 0x0f);
+      return;
+    }
+
+    if ((type & 0xe0) == 0xa0) {
+      skipBytes(buffer, type & 0x1f);
+      return;
+    }
+
+    switch (type) {
+      case 0xc0: // nil
+      case 0xc2: // false
+      case 0xc3: // true
+        break;
+      case 0xc4: // bin 8
+      case 0xd9: // str 8
+        skipBytes(buffer, Byte.toUnsignedInt(buffer.get()));
+        break;
+      case 0xc5: // bin 16
+      case 0xda: // str 16
+        skipBytes(buffer, Short.toUnsignedInt(buffer.getShort()));
+        break;
+      case 0xc6: // bin 32
+      case 0xdb: // str 32
+        skipBytes(buffer, buffer.getInt());
+        break;
+      case 0xcc: // uint 8
+      case 0xd0: // int 8
+        skipBytes(buffer, 1);
+        break;
+      case 0xcd: // uint 16
+      case 0xd1: // int 16
+        skipBytes(buffer, 2);
+        break;
+      case 0xca: // float 32
+      case 0xce: // uint 32
+      case 0xd2: // int 32
+        skipBytes(buffer, 4);
+        break;
+      case 0xcb: // float 64
+      case 0xcf: // uint 64
+      case 0xd3: // int 64
+        skipBytes(buffer, 8);
+        break;
+      case 0xdc: // array 16
+        skipValues(buffer, Short.toUnsignedInt(buffer.getShort()));
+        break;
+      case 0xdd: // array 32
+        skipValues(buffer, buffer.getInt());
+        break;
+      case 0xde: // map 16
+        skipValues(buffer, 2 * Short.toUnsignedInt(buffer.getShort()));
+        break;
+      case 0xdf: // map 32
+        skipValues(buffer, 2 * buffer.getInt());
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported type " + type);
+    }
+  }
+
+  private static void skipValues(ByteBuffer buffer, int count) {
+    for (int i = 0; i < count; i++) {
+      skip(buffer);
+    }
+  }
+
+  private static void skipBytes(ByteBuffer buffer, int count) {
+    if (count < 0 || count > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+
+    buffer.position(buffer.position() + count);
+  }
+
+  private TopicSubscribers() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}
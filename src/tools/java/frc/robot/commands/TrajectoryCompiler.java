@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 Newport Robotics Group. All Rights Reserved.
+ *
+ * Open Source Software; you can modify and/or share it under the terms of
+ * the license file in the root directory of this project.
+ */
+ 
+package frc.robot.commands;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pathplanner.lib.config.RobotConfig;
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.path.PathSegment;
+import com.pathplanner.lib.trajectory.PathPlannerTrajectory;
+import com.pathplanner.lib.trajectory.PathPlannerTrajectoryState;
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.parameters.SwerveDriveParameters;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Precompiles the ideal trajectory of every PathPlanner path into a {@link TrajectoryFile}.
+ *
+ * <p>This is run by the {@code compileTrajectories} Gradle task when the robot code is deployed.
+ * The file is written to the build directory, from where it is deployed to the robot. The first
+ * argument is the output file and the remaining arguments are the names of the {@link
+ * SwerveDriveParameters} to compile the trajectories for. A path is skipped, and generated from its
+ * JSON file on the robot instead, if it has no ideal starting state or has an event marker that is
+ * not a single named command.
+ */
+public final class TrajectoryCompiler {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String PATH_FILE_TYPE = ".path";
+
+  /** An event marker that runs a named command. */
+  private record Marker(double position, String command) {}
+
+  public static void main(String[] args) throws Exception {
+    File outputFile = new File(args[0]);
+    File pathsDir = new File(Filesystem.getDeployDirectory(), "pathplanner/paths");
+    File[] pathFiles = pathsDir.listFiles((dir, name) -> name.endsWith(PATH_FILE_TYPE));
+
+    if (pathFiles == null) {
+      throw new IOException("PathPlanner paths directory not found: " + pathsDir);
+    }
+
+    Arrays.sort(pathFiles);
+
+    List<byte[]> entries = new ArrayList<>();
+
+    for (String parametersName : Arrays.copyOfRange(args, 1, args.length)) {
+      RobotConfig config = SwerveDriveParameters.valueOf(parametersName).getPathplannerConfig();
+      long configHash = TrajectoryFile.hashConfig(config);
+
+      for (File pathFile : pathFiles) {
+        String name = pathFile.getName().substring(0, pathFile.getName().lastIndexOf('.'));
+        Optional<List<Marker>> markers = readMarkers(pathFile);
+
+        if (markers.isEmpty()) {
+          System.out.printf("Skipping %s: unsupported event marker%n", name);
+          continue;
+        }
+
+        long contentHash = TrajectoryFile.hashPathFile(pathFile);
+        PathPlannerPath path = PathPlannerPath.fromPathFile(name);
+
+        for (boolean isMirrored : new boolean[] {false, true}) {
+          PathPlannerPath mirroredPath = isMirrored ? path.mirrorPath() : path;
+          Optional<PathPlannerTrajectory> trajectory = mirroredPath.getIdealTrajectory(config);
+
+          if (trajectory.isEmpty()) {
+            System.out.printf("Skipping %s: no ideal starting state%n", name);
+            break;
+          }
+
+          entries.add(
+              encodeEntry(
+                  configHash, name, isMirrored, contentHash, trajectory.get(), markers.get()));
+        }
+      }
+    }
+
+    File outputDir = outputFile.getAbsoluteFile().getParentFile();
+
+    if (outputDir != null) {
+      outputDir.mkdirs();
+    }
+
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile)))) {
+      out.writeInt(TrajectoryFile.MAGIC);
+      out.writeInt(TrajectoryFile.VERSION);
+      out.writeInt(entries.size());
+
+      for (byte[] entry : entries) {
+        out.write(entry);
+      }
+    }
+
+    System.out.printf("Wrote %d trajectories to %s%n", entries.size(), outputFile);
+  }
+
+  /**
+   * Reads the event markers of a path file.
+   *
+   * @param pathFile The PathPlanner path file.
+   * @return The event markers or an empty value if any marker is not supported.
+   * @throws IOException If the path file cannot be read.
+   */
+  private static Optional<List<Marker>> readMarkers(File pathFile) throws IOException {
+    List<Marker> markers = new ArrayList<>();
+
+    for (JsonNode marker : MAPPER.readTree(pathFile).path("eventMarkers")) {
+      JsonNode command = marker.path("command");
+
+      if (marker.path("endWaypointRelativePos").isNumber()
+          || !command.path("type").asText().equals("named")) {
+        return Optional.empty();
+      }
+
+      markers.add(
+          new Marker(
+              marker.path("waypointRelativePos").asDouble(),
+              command.path("data").path("name").asText()));
+    }
+
+    return Optional.of(markers);
+  }
+
+  /** {@return the encoded trajectory file entry} */
+  private static byte[] encodeEntry(
+      long configHash,
+      String name,
+      boolean isMirrored,
+      long contentHash,
+      PathPlannerTrajectory trajectory,
+      List<Marker> markers)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    out.writeLong(configHash);
+    writeString(out, name);
+    out.writeBoolean(isMirrored);
+    out.writeLong(contentHash);
+
+    List<Marker> sortedMarkers = new ArrayList<>(markers);
+
+    sortedMarkers.sort(Comparator.comparingDouble(Marker::position));
+    out.writeInt(sortedMarkers.size());
+
+    for (Marker marker : sortedMarkers) {
+      out.writeFloat((float) getMarkerTime(trajectory, marker.position()));
+      writeString(out, marker.command());
+    }
+
+    List<PathPlannerTrajectoryState> states = trajectory.getStates();
+
+    out.writeInt(states.size());
+
+    for (PathPlannerTrajectoryState state : states) {
+      out.writeFloat((float) state.timeSeconds);
+      out.writeFloat((float) state.pose.getX());
+      out.writeFloat((float) state.pose.getY());
+      out.writeFloat((float) state.pose.getRotation().getRadians());
+      out.writeFloat((float) state.fieldSpeeds.vxMetersPerSecond);
+      out.writeFloat((float) state.fieldSpeeds.vyMetersPerSecond);
+      out.writeFloat((float) state.fieldSpeeds.omegaRadiansPerSecond);
+      out.writeFloat((float) state.linearVelocity);
+      out.writeFloat((float) state.heading.getRadians());
+      out.writeFloat((float) state.deltaPos);
+      out.writeFloat(state.deltaRot != null ? (float) state.deltaRot.getRadians() : 0.0f);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Returns the time at which the robot reaches an event marker.
+   *
+   * <p>The marker is mapped to a trajectory state the same way PathPlanner maps it when it
+   * generates a trajectory. There is one state per path point and the path points are spaced
+   * {@link PathSegment#RESOLUTION} apart in waypoint-relative position, so the marker's state is
+   * the one whose index is nearest its position divided by the resolution. Mapping to the state
+   * nearest the marker's location instead picks the wrong state where the path passes near itself.
+   *
+   * @param trajectory The trajectory generated from the path.
+   * @param position The waypoint-relative position of the marker.
+   * @return The time, in seconds, from the start of the trajectory.
+   */
+  private static double getMarkerTime(PathPlannerTrajectory trajectory, double position) {
+    List<PathPlannerTrajectoryState> states = trajectory.getStates();
+    int index = (int) Math.round(position / PathSegment.RESOLUTION);
+
+    return states.get(Math.min(Math.max(index, 0), states.size() - 1)).timeSeconds;
+  }
+
+  /** Writes a string as an unsigned short length followed by its UTF-8 bytes. */
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  private TrajectoryCompiler() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+}